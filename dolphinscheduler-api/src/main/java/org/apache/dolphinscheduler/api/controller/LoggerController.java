@@ -31,6 +31,7 @@ import org.apache.dolphinscheduler.dao.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -40,6 +41,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -84,6 +86,54 @@ public class LoggerController extends BaseController {
         return loggerService.queryLog(taskInstanceId, skipNum, limit);
     }
 
+    /**
+     * query task log by byte offset, use the next offset of the response to tail the log incrementally
+     *
+     * @param loginUser login user
+     * @param taskInstanceId task instance id
+     * @param offset the byte offset to start reading from
+     * @param limit the max bytes to read
+     * @return task log content and the next offset
+     */
+    @Operation(summary = "queryLogByOffset", description = "QUERY_TASK_INSTANCE_LOG_BY_OFFSET_NOTES")
+    @Parameters({
+            @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "offset", description = "LOG_OFFSET", required = true, schema = @Schema(implementation = long.class, example = "0")),
+            @Parameter(name = "limit", description = "LIMIT", required = true, schema = @Schema(implementation = int.class, example = "65535"))
+    })
+    @GetMapping(value = "/detail-by-offset")
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public Result<ResponseTaskLog> queryLogByOffset(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                                    @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                                    @RequestParam(value = "offset") long offset,
+                                                    @RequestParam(value = "limit") int limit) {
+        return loggerService.queryLogByOffset(taskInstanceId, offset, limit);
+    }
+
+    /**
+     * subscribe the log of the running task, the appended log is pushed as server-sent events
+     *
+     * @param loginUser login user
+     * @param taskInstanceId task instance id
+     * @param offset the byte offset to start pushing from
+     * @return the emitter of the log
+     */
+    @Operation(summary = "subscribeLog", description = "SUBSCRIBE_TASK_INSTANCE_LOG_NOTES")
+    @Parameters({
+            @Parameter(name = "taskInstanceId", description = "TASK_ID", required = true, schema = @Schema(implementation = int.class, example = "100")),
+            @Parameter(name = "offset", description = "LOG_OFFSET", schema = @Schema(implementation = long.class, example = "0"))
+    })
+    @GetMapping(value = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
+    public SseEmitter subscribeLog(@Parameter(hidden = true) @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                   @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                   @RequestParam(value = "offset", required = false, defaultValue = "0") long offset) {
+        return loggerService.subscribeLog(taskInstanceId, offset);
+    }
+
     /**
      * download log file
      *
@@ -23,6 +23,8 @@ import org.apache.dolphinscheduler.dao.entity.User;
 
 import java.util.Map;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 /**
  * logger service
  */
@@ -38,6 +40,25 @@ public interface LoggerService {
      */
     Result<ResponseTaskLog> queryLog(int taskInstId, int skipLineNum, int limit);
 
+    /**
+     * view log by byte offset, the next offset of the response should be used to query the following log
+     *
+     * @param taskInstId task instance id
+     * @param offset the byte offset to start reading from
+     * @param limit the max bytes to read
+     * @return log string data and the next offset
+     */
+    Result<ResponseTaskLog> queryLogByOffset(int taskInstId, long offset, int limit);
+
+    /**
+     * subscribe the log of the running task, the appended log is pushed to the emitter
+     *
+     * @param taskInstId task instance id
+     * @param offset the byte offset to start pushing from
+     * @return the emitter of the log
+     */
+    SseEmitter subscribeLog(int taskInstId, long offset);
+
     /**
      * get log size
      *
@@ -897,6 +897,9 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
                         int remainingItems = (listDateSize % createCount);
                         int startDateIndex = 0;
                         int endDateIndex = 0;
+                        // create all the complement commands and their dependent commands with batch insert
+                        List<Command> complementCommands = new ArrayList<>();
+                        List<Command> dependentCommands = new ArrayList<>();
 
                         for (int i = 1; i <= createCount; i++) {
                             int extra = (i <= remainingItems) ? 1 : 0;
@@ -914,14 +917,12 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
                             cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_END_DATE,
                                     DateUtils.dateToString(listDate.get(endDateIndex)));
                             command.setCommandParam(JSONUtils.toJsonString(cmdParam));
-                            logger.info("Creating command, commandInfo:{}.", command);
-                            if (commandService.createCommand(command) > 0) {
-                                logger.info("Create {} command complete, processDefinitionCode:{}",
-                                        command.getCommandType().getDescp(), command.getProcessDefinitionCode());
-                            } else {
-                                logger.error("Create {} command error, processDefinitionCode:{}",
-                                        command.getCommandType().getDescp(), command.getProcessDefinitionCode());
+                            Command complementCommand = copyCommand(command);
+                            if (complementCommand == null) {
+                                break;
                             }
+                            logger.info("Creating command, commandInfo:{}.", complementCommand);
+                            complementCommands.add(complementCommand);
                             if (schedules.isEmpty() || complementDependentMode == ComplementDependentMode.OFF_MODE) {
                                 logger.info(
                                         "Complement dependent mode is off mode or Scheduler is empty, so skip create complement dependent command, processDefinitionCode:{}.",
@@ -930,10 +931,15 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
                                 logger.info(
                                         "Complement dependent mode is all dependent and Scheduler is not empty, need create complement dependent command, processDefinitionCode:{}.",
                                         command.getProcessDefinitionCode());
-                                dependentProcessDefinitionCreateCount +=
-                                        createComplementDependentCommand(schedules, command);
+                                dependentCommands.addAll(buildComplementDependentCommands(schedules, command));
                             }
                         }
+                        batchCreateComplementCommands(complementCommands, command);
+                        if (!dependentCommands.isEmpty()) {
+                            logger.info("Creating {} complement dependent commands.", dependentCommands.size());
+                            dependentProcessDefinitionCreateCount +=
+                                    commandService.batchCreateCommand(dependentCommands);
+                        }
                     }
                 }
                 if (StringUtils.isNotEmpty(dateList)) {
@@ -945,18 +951,18 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
                         }
                         logger.info("Complement command run in parallel mode, current expectedParallelismNumber:{}.",
                                 createCount);
+                        List<Command> complementCommands = new ArrayList<>();
                         for (List<String> stringDate : Lists.partition(listDate, createCount)) {
                             cmdParam.put(CMD_PARAM_COMPLEMENT_DATA_SCHEDULE_DATE_LIST, String.join(COMMA, stringDate));
                             command.setCommandParam(JSONUtils.toJsonString(cmdParam));
-                            logger.info("Creating command, commandInfo:{}.", command);
-                            if (commandService.createCommand(command) > 0) {
-                                logger.info("Create {} command complete, processDefinitionCode:{}",
-                                        command.getCommandType().getDescp(), command.getProcessDefinitionCode());
-                            } else {
-                                logger.error("Create {} command error, processDefinitionCode:{}",
-                                        command.getCommandType().getDescp(), command.getProcessDefinitionCode());
+                            Command complementCommand = copyCommand(command);
+                            if (complementCommand == null) {
+                                break;
                             }
+                            logger.info("Creating command, commandInfo:{}.", complementCommand);
+                            complementCommands.add(complementCommand);
                         }
+                        batchCreateComplementCommands(complementCommands, command);
                     }
                 }
                 break;
@@ -969,18 +975,51 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
         return createCount;
     }
 
+    private void batchCreateComplementCommands(List<Command> complementCommands, Command command) {
+        if (complementCommands.isEmpty()) {
+            return;
+        }
+        int insertCount = commandService.batchCreateCommand(complementCommands);
+        if (insertCount == complementCommands.size()) {
+            logger.info("Create {} {} commands complete, processDefinitionCode:{}", insertCount,
+                    command.getCommandType().getDescp(), command.getProcessDefinitionCode());
+        } else {
+            logger.error("Create {} command error, expect count:{}, actual count:{}, processDefinitionCode:{}",
+                    command.getCommandType().getDescp(), complementCommands.size(), insertCount,
+                    command.getProcessDefinitionCode());
+        }
+    }
+
+    /**
+     * The command template is modified for each complement date range, so every command to insert is a copy of it.
+     */
+    private Command copyCommand(Command command) {
+        try {
+            Command copiedCommand = (Command) BeanUtils.cloneBean(command);
+            copiedCommand.setId(null);
+            return copiedCommand;
+        } catch (Exception e) {
+            logger.error("Copy command error.", e);
+            return null;
+        }
+    }
+
     /**
      * create complement dependent command
      */
     public int createComplementDependentCommand(List<Schedule> schedules, Command command) {
-        int dependentProcessDefinitionCreateCount = 0;
-        Command dependentCommand;
+        List<Command> dependentCommands = buildComplementDependentCommands(schedules, command);
+        if (dependentCommands.isEmpty()) {
+            return 0;
+        }
+        return commandService.batchCreateCommand(dependentCommands);
+    }
 
-        try {
-            dependentCommand = (Command) BeanUtils.cloneBean(command);
-        } catch (Exception e) {
-            logger.error("Copy dependent command error.", e);
-            return dependentProcessDefinitionCreateCount;
+    private List<Command> buildComplementDependentCommands(List<Schedule> schedules, Command command) {
+        List<Command> dependentCommands = new ArrayList<>();
+        Command dependentCommand = copyCommand(command);
+        if (dependentCommand == null) {
+            return dependentCommands;
         }
 
         List<DependentProcessDefinition> dependentProcessDefinitionList =
@@ -988,20 +1027,23 @@ public class ExecutorServiceImpl extends BaseServiceImpl implements ExecutorServ
                         CronUtils.getMaxCycle(schedules.get(0).getCrontab()), dependentCommand.getWorkerGroup());
         dependentCommand.setTaskDependType(TaskDependType.TASK_POST);
         for (DependentProcessDefinition dependentProcessDefinition : dependentProcessDefinitionList) {
-            // If the id is Integer, the auto-increment id will be obtained by mybatis-plus
-            // and causing duplicate when clone it.
-            dependentCommand.setId(null);
-            dependentCommand.setProcessDefinitionCode(dependentProcessDefinition.getProcessDefinitionCode());
-            dependentCommand.setProcessDefinitionVersion(dependentProcessDefinition.getProcessDefinitionVersion());
-            dependentCommand.setWorkerGroup(dependentProcessDefinition.getWorkerGroup());
-            Map<String, String> cmdParam = JSONUtils.toMap(dependentCommand.getCommandParam());
+            // each dependent command is a separate row of the batch insert, so don't share the same object
+            Command currentDependentCommand = copyCommand(dependentCommand);
+            if (currentDependentCommand == null) {
+                break;
+            }
+            currentDependentCommand.setProcessDefinitionCode(dependentProcessDefinition.getProcessDefinitionCode());
+            currentDependentCommand
+                    .setProcessDefinitionVersion(dependentProcessDefinition.getProcessDefinitionVersion());
+            currentDependentCommand.setWorkerGroup(dependentProcessDefinition.getWorkerGroup());
+            Map<String, String> cmdParam = JSONUtils.toMap(currentDependentCommand.getCommandParam());
             cmdParam.put(CMD_PARAM_START_NODES, String.valueOf(dependentProcessDefinition.getTaskDefinitionCode()));
-            dependentCommand.setCommandParam(JSONUtils.toJsonString(cmdParam));
-            logger.info("Creating complement dependent command, commandInfo:{}.", command);
-            dependentProcessDefinitionCreateCount += commandService.createCommand(dependentCommand);
+            currentDependentCommand.setCommandParam(JSONUtils.toJsonString(cmdParam));
+            logger.info("Creating complement dependent command, commandInfo:{}.", currentDependentCommand);
+            dependentCommands.add(currentDependentCommand);
         }
 
-        return dependentProcessDefinitionCreateCount;
+        return dependentCommands;
     }
 
     /**
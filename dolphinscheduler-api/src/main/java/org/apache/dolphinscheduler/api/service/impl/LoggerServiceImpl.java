@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogByOffsetResponseCommand;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.service.log.LogClient;
 
@@ -41,11 +42,13 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.google.common.primitives.Bytes;
 
@@ -59,6 +62,8 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
 
     private static final String LOG_HEAD_FORMAT = "[LOG-PATH]: %s, [HOST]:  %s%s";
 
+    private static final long LOG_SUBSCRIPTION_TIMEOUT = 30 * 60 * 1000L;
+
     @Autowired
     private TaskInstanceDao taskInstanceDao;
 
@@ -103,6 +108,105 @@ public class LoggerServiceImpl extends BaseServiceImpl implements LoggerService
         return result;
     }
 
+    /**
+     * view log by byte offset
+     *
+     * @param taskInstId task instance id
+     * @param offset the byte offset to start reading from
+     * @param limit the max bytes to read
+     * @return log string data and the next offset
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Result<ResponseTaskLog> queryLogByOffset(int taskInstId, long offset, int limit) {
+        TaskInstance taskInstance = taskInstanceDao.findTaskInstanceById(taskInstId);
+
+        if (taskInstance == null) {
+            logger.error("Task instance does not exist, taskInstanceId:{}.", taskInstId);
+            return Result.error(Status.TASK_INSTANCE_NOT_FOUND);
+        }
+        if (StringUtils.isBlank(taskInstance.getHost())) {
+            logger.error("Host of task instance is null, taskInstanceId:{}.", taskInstId);
+            return Result.error(Status.TASK_INSTANCE_HOST_IS_NULL);
+        }
+        Host host = Host.of(taskInstance.getHost());
+        logger.info(
+                "Query task instance log by offset, taskInstanceId:{}, taskInstanceName:{}, host:{}, logPath:{}, port:{}",
+                taskInstance.getId(), taskInstance.getName(), host.getIp(), taskInstance.getLogPath(), host.getPort());
+        ViewLogByOffsetResponseCommand logPage = logClient.viewLogByOffset(host.getIp(), host.getPort(),
+                taskInstance.getLogPath(), offset, limit);
+        if (logPage == null) {
+            return Result.error(Status.QUERY_TASK_INSTANCE_LOG_ERROR);
+        }
+        StringBuilder log = new StringBuilder();
+        if (offset == 0) {
+            log.append(String.format(LOG_HEAD_FORMAT, taskInstance.getLogPath(), host,
+                    Constants.SYSTEM_LINE_SEPARATOR));
+        }
+        log.append(logPage.getMsg());
+        Result<ResponseTaskLog> result = new Result<>(Status.SUCCESS.getCode(), Status.SUCCESS.getMsg());
+        int lineNum = log.length() == 0 ? 0 : log.toString().split("\\r?\\n").length;
+        result.setData(new ResponseTaskLog(lineNum, log.toString(), logPage.getNextOffset()));
+        return result;
+    }
+
+    /**
+     * subscribe the log of the running task
+     *
+     * @param taskInstId task instance id
+     * @param offset the byte offset to start pushing from
+     * @return the emitter of the log
+     */
+    @Override
+    public SseEmitter subscribeLog(int taskInstId, long offset) {
+        TaskInstance taskInstance = taskInstanceDao.findTaskInstanceById(taskInstId);
+        if (taskInstance == null) {
+            throw new ServiceException(Status.TASK_INSTANCE_NOT_FOUND);
+        }
+        if (StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException(Status.TASK_INSTANCE_HOST_IS_NULL);
+        }
+        Host host = Host.of(taskInstance.getHost());
+        String subscriptionId = UUID.randomUUID().toString();
+        logger.info("Subscribe task instance log, taskInstanceId:{}, host:{}, logPath:{}, subscriptionId:{}",
+                taskInstance.getId(), host, taskInstance.getLogPath(), subscriptionId);
+
+        SseEmitter emitter = new SseEmitter(LOG_SUBSCRIPTION_TIMEOUT);
+        Runnable unsubscribe = () -> logClient.unsubscribeLog(host.getIp(), host.getPort(), subscriptionId);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(throwable -> unsubscribe.run());
+        if (offset == 0) {
+            sendLog(emitter, unsubscribe, String.format(LOG_HEAD_FORMAT, taskInstance.getLogPath(), host,
+                    Constants.SYSTEM_LINE_SEPARATOR), 0);
+        }
+        boolean subscribed = logClient.subscribeLog(host.getIp(), host.getPort(), taskInstance.getLogPath(), offset,
+                subscriptionId, logChunk -> {
+                    sendLog(emitter, unsubscribe, logChunk.getMsg(), logChunk.getNextOffset());
+                    if (logChunk.isClosed()) {
+                        emitter.complete();
+                    }
+                });
+        if (!subscribed) {
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR);
+        }
+        return emitter;
+    }
+
+    private void sendLog(SseEmitter emitter, Runnable unsubscribe, String log, long nextOffset) {
+        if (StringUtils.isEmpty(log)) {
+            return;
+        }
+        try {
+            emitter.send(new ResponseTaskLog(log.split("\\r?\\n").length, log, nextOffset));
+        } catch (Exception e) {
+            // the client has gone away
+            logger.warn("Send the task instance log to the subscriber error, will unsubscribe the log", e);
+            unsubscribe.run();
+            emitter.completeWithError(e);
+        }
+    }
+
     /**
      * get log size
      *
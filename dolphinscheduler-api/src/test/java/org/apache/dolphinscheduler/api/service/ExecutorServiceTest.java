@@ -20,7 +20,9 @@ package org.apache.dolphinscheduler.api.service;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.RERUN;
 import static org.apache.dolphinscheduler.api.constants.ApiFuncIdentificationConstant.WORKFLOW_START;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -203,6 +205,8 @@ public class ExecutorServiceTest {
         Mockito.when(processService.getTenantForProcess(tenantId, userId)).thenReturn(new Tenant());
         doReturn(1).when(commandService).createCommand(argThat(c -> c.getId() == null));
         doReturn(0).when(commandService).createCommand(argThat(c -> c.getId() != null));
+        doAnswer(invocation -> invocation.<List<Command>>getArgument(0).size()).when(commandService)
+                .batchCreateCommand(anyList());
         Mockito.when(monitorService.getServerListFromRegistry(true)).thenReturn(getMasterServersList());
         Mockito.when(processService.findProcessInstanceDetailById(processInstanceId))
                 .thenReturn(Optional.ofNullable(processInstance));
@@ -371,7 +375,10 @@ public class ExecutorServiceTest {
                 Constants.TEST_FLAG_NO,
                 ComplementDependentMode.OFF_MODE);
         Assertions.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
-        verify(commandService, times(31)).createCommand(any(Command.class));
+        verify(commandService, times(0)).createCommand(any(Command.class));
+        verify(commandService, times(1)).batchCreateCommand(argThat(commands -> commands.size() == 31
+                && commands.stream().allMatch(command -> command.getId() == null)
+                && commands.stream().map(Command::getCommandParam).distinct().count() == 31));
 
     }
 
@@ -394,7 +401,8 @@ public class ExecutorServiceTest {
                 Constants.TEST_FLAG_NO,
                 ComplementDependentMode.OFF_MODE);
         Assertions.assertEquals(Status.SUCCESS, result.get(Constants.STATUS));
-        verify(commandService, times(15)).createCommand(any(Command.class));
+        verify(commandService, times(0)).createCommand(any(Command.class));
+        verify(commandService, times(1)).batchCreateCommand(argThat(commands -> commands.size() == 15));
 
     }
 
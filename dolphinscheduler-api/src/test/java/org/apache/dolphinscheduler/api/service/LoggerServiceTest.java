@@ -26,12 +26,14 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.UserType;
 import org.apache.dolphinscheduler.dao.entity.Project;
+import org.apache.dolphinscheduler.dao.entity.ResponseTaskLog;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
 import org.apache.dolphinscheduler.dao.mapper.ProjectMapper;
 import org.apache.dolphinscheduler.dao.mapper.TaskDefinitionMapper;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogByOffsetResponseCommand;
 import org.apache.dolphinscheduler.service.log.LogClient;
 
 import java.text.MessageFormat;
@@ -103,6 +105,27 @@ public class LoggerServiceTest {
         Assertions.assertEquals(Status.SUCCESS.getCode(), result.getCode().intValue());
     }
 
+    @Test
+    public void testQueryLogByOffset() {
+        TaskInstance taskInstance = new TaskInstance();
+        Mockito.when(taskInstanceDao.findTaskInstanceById(1)).thenReturn(taskInstance);
+        Result<ResponseTaskLog> result = loggerService.queryLogByOffset(2, 0, 1024);
+        Assertions.assertEquals(Status.TASK_INSTANCE_NOT_FOUND.getCode(), result.getCode().intValue());
+
+        result = loggerService.queryLogByOffset(1, 0, 1024);
+        Assertions.assertEquals(Status.TASK_INSTANCE_HOST_IS_NULL.getCode(), result.getCode().intValue());
+
+        taskInstance.setHost("127.0.0.1:8080");
+        taskInstance.setLogPath("/temp/log");
+        Mockito.when(logClient.viewLogByOffset("127.0.0.1", 8080, "/temp/log", 100L, 1024))
+                .thenReturn(new ViewLogByOffsetResponseCommand("line1\nline2\n", 112L, 200L));
+        result = loggerService.queryLogByOffset(1, 100L, 1024);
+        Assertions.assertEquals(Status.SUCCESS.getCode(), result.getCode().intValue());
+        Assertions.assertEquals("line1\nline2\n", result.getData().getMessage());
+        Assertions.assertEquals(2, result.getData().getLineNum());
+        Assertions.assertEquals(112L, result.getData().getNextOffset());
+    }
+
     @Test
     public void testGetLogBytes() {
 
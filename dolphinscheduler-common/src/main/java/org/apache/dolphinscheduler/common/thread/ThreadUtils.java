@@ -17,9 +17,14 @@
 
 package org.apache.dolphinscheduler.common.thread;
 
+import java.lang.reflect.Method;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import lombok.experimental.UtilityClass;
 
@@ -33,6 +38,8 @@ public class ThreadUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(ThreadUtils.class);
 
+    private static final boolean VIRTUAL_THREAD_SUPPORTED = newVirtualThreadFactory("VirtualThreadProbe") != null;
+
     /**
      * Wrapper over newDaemonFixedThreadExecutor.
      *
@@ -45,6 +52,81 @@ public class ThreadUtils {
         return Executors.newFixedThreadPool(threadsNum, threadFactory);
     }
 
+    /**
+     * Wrapper over newDaemonFixedThreadExecutor, the threads are created by the given thread mode.
+     * <p>
+     * In {@link ExecutorThreadMode#VIRTUAL} mode the executor is still a fixed {@link ThreadPoolExecutor}, so the
+     * concurrency is bounded by threadsNum, but the threads are virtual threads which are cheap to block on JDBC,
+     * netty futures or child processes, so threadsNum can be much bigger than the platform mode.
+     *
+     * @param threadName threadName
+     * @param threadsNum threadsNum
+     * @param threadMode threadMode
+     * @return ExecutorService
+     */
+    public static ExecutorService newDaemonFixedThreadExecutor(String threadName, int threadsNum,
+                                                               ExecutorThreadMode threadMode) {
+        return new ThreadPoolExecutor(threadsNum, threadsNum, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                newDaemonThreadFactory(threadName, threadMode));
+    }
+
+    /**
+     * Create a daemon thread factory by the given thread mode, if the virtual thread is not supported by the current
+     * JDK, will fall back to the platform thread.
+     *
+     * @param threadName threadName
+     * @param threadMode threadMode
+     * @return ThreadFactory
+     */
+    public static ThreadFactory newDaemonThreadFactory(String threadName, ExecutorThreadMode threadMode) {
+        if (threadMode == ExecutorThreadMode.VIRTUAL) {
+            ThreadFactory virtualThreadFactory = newVirtualThreadFactory(threadName);
+            if (virtualThreadFactory != null) {
+                return virtualThreadFactory;
+            }
+            logger.warn("The virtual thread is not supported by the current JDK, {} will use platform thread",
+                    threadName);
+        }
+        return new ThreadFactoryBuilder().setDaemon(true).setNameFormat(threadName).build();
+    }
+
+    /**
+     * Whether the virtual thread is supported by the current JDK.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_SUPPORTED;
+    }
+
+    /**
+     * Create the virtual thread factory by reflection, since we still need to compile with JDK 8.
+     *
+     * @return null if the virtual thread is not supported
+     */
+    private static ThreadFactory newVirtualThreadFactory(String threadName) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method nameMethod = builderClass.getMethod("name", String.class);
+            Method factoryMethod = builderClass.getMethod("factory");
+            return (ThreadFactory) factoryMethod.invoke(nameMethod.invoke(builder, threadName));
+        } catch (Throwable throwable) {
+            // NoSuchMethodException on JDK < 19, UnsupportedOperationException on JDK 19/20 without preview
+            return null;
+        }
+    }
+
+    /**
+     * Wrapper over newScheduledThreadPool, the threads are daemon.
+     *
+     * @param threadName threadName
+     * @param threadsNum threadsNum
+     * @return ScheduledExecutorService
+     */
+    public static ScheduledExecutorService newDaemonScheduledExecutorService(String threadName, int threadsNum) {
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat(threadName).build();
+        return Executors.newScheduledThreadPool(threadsNum, threadFactory);
+    }
+
     /**
      * Sleep in given mills, this is not accuracy.
      */
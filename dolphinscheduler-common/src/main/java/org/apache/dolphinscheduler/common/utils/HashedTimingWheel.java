@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * A hashed timing wheel keyed by deadline, used by the master to check the timeout/retry of the workflow and task
+ * instance, and by the time wheel scheduler to fire the schedules.
+ * <p>
+ * The wheel is divided into {@code wheelSize} buckets, each bucket covers {@code tickMillis}, a key is put into the
+ * bucket of its deadline, so each tick only touches the keys in one bucket instead of all the keys. The key whose
+ * deadline is later than one round will stay in the bucket until its round comes.
+ * <p>
+ * Add, remove and contains are O(1), all the methods are thread safe.
+ *
+ * @param <K> the key type, should implement equals and hashCode
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+
+    private final int mask;
+
+    private final Set<K>[] buckets;
+
+    /**
+     * key -> deadline
+     */
+    private final Map<K, Long> deadlines = new HashMap<>();
+
+    /**
+     * The tick of the last advance, all the ticks before it have been expired, the keys of this tick may be not.
+     */
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startTimeMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis should be positive, but is " + tickMillis);
+        }
+        if (wheelSize <= 0 || (wheelSize & (wheelSize - 1)) != 0) {
+            throw new IllegalArgumentException("wheelSize should be a power of two, but is " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new LinkedHashSet<>();
+        }
+        this.currentTick = startTimeMillis / tickMillis;
+    }
+
+    /**
+     * Add the key into the wheel, the key will be expired once its deadline is reached.
+     *
+     * @return false if the key is already in the wheel
+     */
+    public synchronized boolean add(K key, long deadlineMillis) {
+        if (deadlines.containsKey(key)) {
+            return false;
+        }
+        deadlines.put(key, deadlineMillis);
+        buckets[bucketIndex(deadlineMillis)].add(key);
+        return true;
+    }
+
+    /**
+     * Remove the key from the wheel.
+     *
+     * @return true if the key is in the wheel
+     */
+    public synchronized boolean remove(K key) {
+        Long deadline = deadlines.remove(key);
+        if (deadline == null) {
+            return false;
+        }
+        buckets[bucketIndex(deadline)].remove(key);
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return deadlines.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return deadlines.isEmpty();
+    }
+
+    public synchronized void clear() {
+        deadlines.clear();
+        for (Set<K> bucket : buckets) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Advance the wheel to the given time, the keys whose deadline is not after the given time will be expired and
+     * removed from the wheel.
+     *
+     * @return the expired keys
+     */
+    public List<K> advance(long nowMillis) {
+        return advance(nowMillis, null);
+    }
+
+    /**
+     * Same as {@link #advance(long)}, and the deadline of each expired key is passed to the given consumer, e.g. to
+     * measure how late the keys are expired.
+     *
+     * @return the expired keys
+     */
+    public synchronized List<K> advance(long nowMillis, LongConsumer expiredDeadlineConsumer) {
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick < currentTick) {
+            return Collections.emptyList();
+        }
+        if (deadlines.isEmpty()) {
+            currentTick = nowTick;
+            return Collections.emptyList();
+        }
+        List<K> expiredKeys = new ArrayList<>();
+        // the bucket of the current tick is included, since the keys in it may be due before the given time, and each
+        // bucket only need to be visited once even if the wheel fall behind more than one round
+        long ticks = Math.min(nowTick - currentTick + 1, buckets.length);
+        for (long i = 0; i < ticks; i++) {
+            Iterator<K> iterator = buckets[(int) ((currentTick + i) & mask)].iterator();
+            while (iterator.hasNext()) {
+                K key = iterator.next();
+                long deadline = deadlines.get(key);
+                if (deadline <= nowMillis) {
+                    iterator.remove();
+                    deadlines.remove(key);
+                    expiredKeys.add(key);
+                    if (expiredDeadlineConsumer != null) {
+                        expiredDeadlineConsumer.accept(deadline);
+                    }
+                }
+            }
+        }
+        currentTick = nowTick;
+        return expiredKeys;
+    }
+
+    private int bucketIndex(long deadlineMillis) {
+        // the deadline before current tick will be expired at the current tick
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick);
+        return (int) (tick & mask);
+    }
+}
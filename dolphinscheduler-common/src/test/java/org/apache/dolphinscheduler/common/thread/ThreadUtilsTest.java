@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.thread;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ThreadUtilsTest {
+
+    @Test
+    public void testNewDaemonFixedThreadExecutor() throws Exception {
+        for (ExecutorThreadMode threadMode : ExecutorThreadMode.values()) {
+            ExecutorService executorService = ThreadUtils.newDaemonFixedThreadExecutor("TestThread", 2, threadMode);
+            try {
+                Assertions.assertTrue(executorService instanceof ThreadPoolExecutor);
+                Assertions.assertEquals(2, ((ThreadPoolExecutor) executorService).getMaximumPoolSize());
+
+                Thread thread = executorService.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+                Assertions.assertEquals("TestThread", thread.getName());
+                Assertions.assertTrue(thread.isDaemon());
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void testNewDaemonThreadFactory() {
+        Thread thread = ThreadUtils.newDaemonThreadFactory("TestThread", ExecutorThreadMode.VIRTUAL).newThread(() -> {
+        });
+        Assertions.assertEquals("TestThread", thread.getName());
+        Assertions.assertTrue(thread.isDaemon());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.common.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    public void testAdvance() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 8, 0);
+        Assertions.assertTrue(wheel.add(1, 15));
+        Assertions.assertTrue(wheel.add(2, 25));
+        Assertions.assertFalse(wheel.add(1, 35));
+        Assertions.assertEquals(2, wheel.size());
+
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(14));
+        Assertions.assertEquals(Collections.singletonList(1), wheel.advance(15));
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(24));
+        Assertions.assertEquals(Collections.singletonList(2), wheel.advance(30));
+        Assertions.assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testAdvanceInTheSameTick() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 8, 0);
+        wheel.add(1, 12);
+        wheel.add(2, 18);
+        // the deadline equals to the given time should be expired
+        Assertions.assertEquals(Collections.singletonList(1), wheel.advance(12));
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(17));
+        Assertions.assertEquals(Collections.singletonList(2), wheel.advance(18));
+
+        // the key re-added at the current time will be expired at the next advance
+        wheel.add(3, 18);
+        Assertions.assertEquals(Collections.singletonList(3), wheel.advance(18));
+    }
+
+    @Test
+    public void testAdvanceMoreThanOneRound() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 4, 0);
+        // the same bucket in different rounds
+        wheel.add(1, 5);
+        wheel.add(2, 45);
+        wheel.add(3, 85);
+
+        Assertions.assertEquals(Collections.singletonList(1), wheel.advance(10));
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(40));
+        Assertions.assertEquals(Collections.singletonList(2), wheel.advance(50));
+        // fall behind more than one round
+        wheel.add(4, 60);
+        List<Integer> expiredKeys = wheel.advance(500);
+        Collections.sort(expiredKeys);
+        Assertions.assertEquals(Arrays.asList(3, 4), expiredKeys);
+    }
+
+    @Test
+    public void testAdvanceAfterLongPause() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(1000, 8, 0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.add(i, i * 1000L);
+        }
+        // the wheel is stopped more than two rounds, all the keys before now should be expired
+        Assertions.assertEquals(15, wheel.advance(15000).size());
+        Assertions.assertEquals(5, wheel.size());
+        Assertions.assertEquals(5, wheel.advance(100000).size());
+    }
+
+    @Test
+    public void testAdvanceWithExpiredDeadlines() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 8, 0);
+        wheel.add(1, 12);
+        wheel.add(2, 25);
+        wheel.add(3, 45);
+        List<Long> expiredDeadlines = new ArrayList<>();
+        Assertions.assertEquals(Arrays.asList(1, 2), wheel.advance(30, expiredDeadlines::add));
+        Assertions.assertEquals(Arrays.asList(12L, 25L), expiredDeadlines);
+    }
+
+    @Test
+    public void testAddExpiredDeadline() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 8, 100);
+        wheel.add(1, 0);
+        Assertions.assertEquals(Collections.singletonList(1), wheel.advance(110));
+    }
+
+    @Test
+    public void testRemove() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 8, 0);
+        wheel.add(1, 15);
+        Assertions.assertTrue(wheel.contains(1));
+        Assertions.assertTrue(wheel.remove(1));
+        Assertions.assertFalse(wheel.remove(1));
+        Assertions.assertFalse(wheel.contains(1));
+        Assertions.assertEquals(Collections.emptyList(), wheel.advance(100));
+
+        wheel.add(2, 115);
+        wheel.clear();
+        Assertions.assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testIllegalWheelSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(10, 3, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel<>(0, 4, 0));
+    }
+}
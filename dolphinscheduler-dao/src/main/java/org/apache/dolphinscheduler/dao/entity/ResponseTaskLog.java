@@ -29,4 +29,13 @@ public class ResponseTaskLog {
 
     private int lineNum;
     private String message;
+    /**
+     * the byte offset to query the next page of the log, only set when the log is queried by offset
+     */
+    private long nextOffset;
+
+    public ResponseTaskLog(int lineNum, String message) {
+        this.lineNum = lineNum;
+        this.message = message;
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.dao.mapper;
 
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.CommandCount;
+import org.apache.dolphinscheduler.dao.model.CommandSlotRange;
 
 import org.apache.ibatis.annotations.Param;
 
@@ -57,4 +58,22 @@ public interface CommandMapper extends BaseMapper<Command> {
     List<Command> queryCommandPageBySlot(@Param("limit") int limit,
                                          @Param("masterCount") int masterCount,
                                          @Param("thisMasterSlot") int thisMasterSlot);
+
+    /**
+     * query command page by slot ranges, the slot of a command is {@code id % slotCount}
+     * @param limit limit
+     * @param slotCount total slot count
+     * @param slotRanges slot ranges, should not be empty
+     * @return command list
+     */
+    List<Command> queryCommandPageBySlotRanges(@Param("limit") int limit,
+                                               @Param("slotCount") int slotCount,
+                                               @Param("slotRanges") List<CommandSlotRange> slotRanges);
+
+    /**
+     * insert the commands with one statement, the generated ids will be set back to the commands
+     * @param commands commands, should not be empty
+     * @return insert count
+     */
+    int batchInsert(@Param("commands") List<Command> commands);
 }
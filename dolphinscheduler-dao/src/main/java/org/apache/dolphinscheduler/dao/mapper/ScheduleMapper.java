@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.dao.entity.Schedule;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 import org.springframework.cache.annotation.CacheConfig;
@@ -104,4 +105,21 @@ public interface ScheduleMapper extends BaseMapper<Schedule> {
      * @return schedule
      */
     List<Schedule> querySchedulesByProcessDefinitionCodes(@Param("processDefinitionCodeList") List<Long> processDefinitionCodeList);
+
+    /**
+     * query the schedules which have been updated since the given time
+     *
+     * @param updateTime the min update time, query all schedules if it's null
+     * @return schedule list
+     */
+    List<Schedule> querySchedulesByUpdateTime(@Param("updateTime") Date updateTime);
+
+    /**
+     * move the last fire time of the schedule forward, used to create the command of a fire only once
+     *
+     * @param id schedule id
+     * @param fireTime the schedule time of the fire
+     * @return 0 if the fire has already been created, since the last fire time is not before the given fire time
+     */
+    int updateLastFireTime(@Param("id") int id, @Param("fireTime") Date fireTime);
 }
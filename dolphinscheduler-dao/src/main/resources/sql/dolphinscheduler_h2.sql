@@ -833,6 +833,7 @@ CREATE TABLE t_ds_schedules
     environment_code          bigint(20) DEFAULT '-1',
     create_time               datetime     NOT NULL,
     update_time               datetime     NOT NULL,
+    last_fire_time            datetime     DEFAULT NULL,
     PRIMARY KEY (id)
 );
 
@@ -829,6 +829,7 @@ CREATE TABLE `t_ds_schedules` (
   `environment_code` bigint(20) DEFAULT '-1' COMMENT 'environment code',
   `create_time` datetime NOT NULL COMMENT 'create time',
   `update_time` datetime NOT NULL COMMENT 'update time',
+  `last_fire_time` datetime DEFAULT NULL COMMENT 'the schedule time of the last fire created by the time wheel scheduler',
   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8;
 
@@ -735,6 +735,7 @@ CREATE TABLE t_ds_schedules (
   environment_code bigint DEFAULT '-1',
   create_time timestamp NOT NULL ,
   update_time timestamp NOT NULL ,
+  last_fire_time timestamp DEFAULT NULL ,
   PRIMARY KEY (id)
 );
 
@@ -120,3 +120,23 @@ d//
 delimiter ;
 CALL uc_dolphin_T_t_ds_task_instance_R_test_flag;
 DROP PROCEDURE uc_dolphin_T_t_ds_task_instance_R_test_flag;
+
+-- uc_dolphin_T_t_ds_schedules_A_last_fire_time
+drop PROCEDURE if EXISTS uc_dolphin_T_t_ds_schedules_A_last_fire_time;
+delimiter d//
+CREATE PROCEDURE uc_dolphin_T_t_ds_schedules_A_last_fire_time()
+BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_NAME='t_ds_schedules'
+           AND TABLE_SCHEMA=(SELECT DATABASE())
+           AND COLUMN_NAME ='last_fire_time')
+   THEN
+ALTER TABLE t_ds_schedules ADD `last_fire_time` datetime DEFAULT NULL COMMENT 'the schedule time of the last fire created by the time wheel scheduler';
+END IF;
+END;
+
+d//
+
+delimiter ;
+CALL uc_dolphin_T_t_ds_schedules_A_last_fire_time;
+DROP PROCEDURE uc_dolphin_T_t_ds_schedules_A_last_fire_time;
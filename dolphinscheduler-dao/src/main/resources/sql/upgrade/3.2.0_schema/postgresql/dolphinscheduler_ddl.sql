@@ -119,3 +119,24 @@ d//
 delimiter ;
 select uc_dolphin_T_t_ds_task_instance_R_test_flag();
 DROP FUNCTION uc_dolphin_T_t_ds_task_instance_R_test_flag();
+
+-- uc_dolphin_T_t_ds_schedules_A_last_fire_time
+delimiter ;
+DROP FUNCTION IF EXISTS uc_dolphin_T_t_ds_schedules_A_last_fire_time();
+delimiter d//
+CREATE FUNCTION uc_dolphin_T_t_ds_schedules_A_last_fire_time() RETURNS void AS $$
+BEGIN
+       IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+          WHERE TABLE_CATALOG=current_database()
+          AND TABLE_SCHEMA=current_schema()
+          AND TABLE_NAME='t_ds_schedules'
+          AND COLUMN_NAME ='last_fire_time')
+      THEN
+ALTER TABLE t_ds_schedules ADD COLUMN last_fire_time timestamp DEFAULT NULL;
+END IF;
+END;
+$$ LANGUAGE plpgsql;
+d//
+delimiter ;
+select uc_dolphin_T_t_ds_schedules_A_last_fire_time();
+DROP FUNCTION uc_dolphin_T_t_ds_schedules_A_last_fire_time();
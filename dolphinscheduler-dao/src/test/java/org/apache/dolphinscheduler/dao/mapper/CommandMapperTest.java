@@ -30,7 +30,10 @@ import org.apache.dolphinscheduler.dao.BaseDaoTest;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.CommandCount;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.model.CommandSlotRange;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -188,6 +191,39 @@ public class CommandMapperTest extends BaseDaoTest {
         return hit;
     }
 
+    /**
+     * test query command page by slot ranges
+     */
+    @Test
+    public void testQueryCommandPageBySlotRanges() {
+        int slotCount = 4;
+        Command command = createCommand();
+        int slot = command.getId() % slotCount;
+
+        List<Command> commandList = commandMapper.queryCommandPageBySlotRanges(1, slotCount,
+                Collections.singletonList(new CommandSlotRange(slot, slot + 1)));
+        Assertions.assertEquals(command.getId(), commandList.get(0).getId());
+
+        commandList = commandMapper.queryCommandPageBySlotRanges(1, slotCount,
+                Collections.singletonList(new CommandSlotRange((slot + 1) % slotCount, (slot + 1) % slotCount + 1)));
+        commandList.forEach(o -> Assertions.assertNotEquals(command.getId(), o.getId()));
+    }
+
+    @Test
+    public void testBatchInsert() {
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            commands.add(buildCommand(CommandType.SCHEDULER, 1));
+        }
+        Assertions.assertEquals(3, commandMapper.batchInsert(commands));
+        for (Command command : commands) {
+            Assertions.assertNotNull(command.getId());
+            Command actualCommand = commandMapper.selectById(command.getId());
+            Assertions.assertNotNull(actualCommand);
+            Assertions.assertEquals(CommandType.SCHEDULER, actualCommand.getCommandType());
+        }
+    }
+
     /**
      * create command map
      * @param count map count
@@ -258,6 +294,13 @@ public class CommandMapperTest extends BaseDaoTest {
      * @return Command
      */
     private Command createCommand(CommandType commandType, long processDefinitionCode) {
+        Command command = buildCommand(commandType, processDefinitionCode);
+        commandMapper.insert(command);
+
+        return command;
+    }
+
+    private Command buildCommand(CommandType commandType, long processDefinitionCode) {
 
         Command command = new Command();
         command.setCommandType(commandType);
@@ -275,7 +318,6 @@ public class CommandMapperTest extends BaseDaoTest {
         command.setWorkerGroup(Constants.DEFAULT_WORKER_GROUP);
         command.setProcessInstanceId(0);
         command.setProcessDefinitionVersion(0);
-        commandMapper.insert(command);
 
         return command;
     }
@@ -208,4 +208,33 @@ public class ScheduleMapperTest extends BaseDaoTest {
         Schedule schedules = scheduleMapper.queryByProcessDefinitionCode(schedule.getProcessDefinitionCode());
         Assertions.assertNotNull(schedules);
     }
+
+    @Test
+    public void testQuerySchedulesByUpdateTime() {
+        Schedule schedule = insertOne();
+        Date updateTime = schedule.getUpdateTime();
+
+        List<Schedule> schedules = scheduleMapper.querySchedulesByUpdateTime(updateTime);
+        Assertions.assertTrue(schedules.stream().anyMatch(o -> o.getId().equals(schedule.getId())));
+
+        schedules = scheduleMapper.querySchedulesByUpdateTime(new Date(updateTime.getTime() + 60_000));
+        Assertions.assertTrue(schedules.stream().noneMatch(o -> o.getId().equals(schedule.getId())));
+
+        schedules = scheduleMapper.querySchedulesByUpdateTime(null);
+        Assertions.assertTrue(schedules.stream().anyMatch(o -> o.getId().equals(schedule.getId())));
+    }
+
+    @Test
+    public void testUpdateLastFireTime() {
+        Schedule schedule = insertOne();
+        Date fireTime = new Date();
+
+        Assertions.assertEquals(1, scheduleMapper.updateLastFireTime(schedule.getId(), fireTime));
+        // the same fire from another master
+        Assertions.assertEquals(0, scheduleMapper.updateLastFireTime(schedule.getId(), fireTime));
+        Assertions.assertEquals(0,
+                scheduleMapper.updateLastFireTime(schedule.getId(), new Date(fireTime.getTime() - 60_000)));
+        Assertions.assertEquals(1,
+                scheduleMapper.updateLastFireTime(schedule.getId(), new Date(fireTime.getTime() + 60_000)));
+    }
 }
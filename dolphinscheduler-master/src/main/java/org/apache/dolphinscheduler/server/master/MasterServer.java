@@ -24,7 +24,6 @@ import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
 import org.apache.dolphinscheduler.server.master.registry.MasterRegistryClient;
 import org.apache.dolphinscheduler.server.master.rpc.MasterRPCServer;
-import org.apache.dolphinscheduler.server.master.runner.EventExecuteService;
 import org.apache.dolphinscheduler.server.master.runner.FailoverExecuteThread;
 import org.apache.dolphinscheduler.server.master.runner.MasterSchedulerBootstrap;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
@@ -65,9 +64,6 @@ public class MasterServer implements IStoppable {
     @Autowired
     private SchedulerApi schedulerApi;
 
-    @Autowired
-    private EventExecuteService eventExecuteService;
-
     @Autowired
     private FailoverExecuteThread failoverExecuteThread;
 
@@ -97,7 +93,6 @@ public class MasterServer implements IStoppable {
         this.masterSchedulerBootstrap.init();
         this.masterSchedulerBootstrap.start();
 
-        this.eventExecuteService.start();
         this.failoverExecuteThread.start();
 
         this.schedulerApi.start();
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+
+import java.util.function.Supplier;
+
+/**
+ * Master-wide cache of the dependent item results, so the dependent tasks waiting on the same upstream workflow share
+ * one query instead of querying the database each time they are checked.
+ */
+public interface DependentResultCacheManager {
+
+    /**
+     * Get the dependent result of the given upstream workflow/task in the date interval, load it if absent.
+     *
+     * @param definitionCode upstream workflow definition code
+     * @param taskCode       upstream task code, or {@code Constants.DEPENDENT_ALL_TASK_CODE} for the whole workflow
+     * @param dateInterval   date interval
+     * @param testFlag       test flag
+     * @param loader         used to query the result when absent
+     * @return dependent result
+     */
+    DependResult getOrLoad(long definitionCode, long taskCode, DateInterval dateInterval, int testFlag,
+                           Supplier<DependResult> loader);
+
+    /**
+     * Invalidate all the cached results of the given workflow definition, should be called when a workflow/task
+     * instance of it starts or finishes.
+     *
+     * @param definitionCode workflow definition code
+     */
+    void invalidate(long definitionCode);
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * The cache key contains the version of the upstream workflow definition, invalidating a definition only increases its
+ * version, the results of the old version will never be hit and will be evicted after the expire time.
+ * <p>
+ * The finished upstream in other masters invalidate the results by the upstream finished notify, if the notify is lost
+ * the results will be reloaded after {@link MasterConfig#getDependentResultCacheExpireTime()}.
+ */
+@Component
+public class DependentResultCacheManagerImpl implements DependentResultCacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependentResultCacheManagerImpl.class);
+
+    private final boolean enabled;
+
+    private final Cache<DependentResultKey, DependResult> dependentResultCache;
+
+    private final Map<Long, AtomicLong> definitionVersions = new ConcurrentHashMap<>();
+
+    public DependentResultCacheManagerImpl(MasterConfig masterConfig) {
+        long expireMillis = masterConfig.getDependentResultCacheExpireTime().toMillis();
+        this.enabled = expireMillis > 0;
+        this.dependentResultCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(Math.max(expireMillis, 1), TimeUnit.MILLISECONDS)
+                .maximumSize(masterConfig.getDependentResultCacheSize())
+                .build();
+    }
+
+    @Override
+    public DependResult getOrLoad(long definitionCode, long taskCode, DateInterval dateInterval, int testFlag,
+                                  Supplier<DependResult> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        DependentResultKey key = new DependentResultKey(definitionCode, taskCode, dateInterval.getStartTime().getTime(),
+                dateInterval.getEndTime().getTime(), testFlag, getVersion(definitionCode));
+        try {
+            // the concurrent loads of the same key will wait for the first one
+            return dependentResultCache.get(key, loader::get);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("Load dependent result error, key: " + key, e.getCause());
+        }
+    }
+
+    @Override
+    public void invalidate(long definitionCode) {
+        if (!enabled) {
+            return;
+        }
+        definitionVersions.computeIfAbsent(definitionCode, code -> new AtomicLong()).incrementAndGet();
+        logger.debug("Invalidate the dependent results of workflow definition: {}", definitionCode);
+    }
+
+    private long getVersion(long definitionCode) {
+        AtomicLong version = definitionVersions.get(definitionCode);
+        return version == null ? 0 : version.get();
+    }
+
+    @ToString
+    @EqualsAndHashCode
+    private static class DependentResultKey {
+
+        private final long definitionCode;
+        private final long taskCode;
+        private final long startTime;
+        private final long endTime;
+        private final int testFlag;
+        private final long version;
+
+        private DependentResultKey(long definitionCode, long taskCode, long startTime, long endTime, int testFlag,
+                                   long version) {
+            this.definitionCode = definitionCode;
+            this.taskCode = taskCode;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.testFlag = testFlag;
+            this.version = version;
+        }
+    }
+}
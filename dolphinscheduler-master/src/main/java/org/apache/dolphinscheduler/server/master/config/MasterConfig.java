@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.config;
 
 import static org.apache.dolphinscheduler.common.constants.Constants.REGISTRY_DOLPHINSCHEDULER_MASTERS;
 
+import org.apache.dolphinscheduler.common.thread.ExecutorThreadMode;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostSelector;
@@ -49,24 +50,57 @@ public class MasterConfig implements Validator {
      * The master RPC server listen port.
      */
     private int listenPort = 5678;
+    /**
+     * Whether to send the task dispatch and state event commands by the binary codec when the peer supports.
+     */
+    private boolean rpcBinaryCodecEnabled = false;
     /**
      * The max batch size used to fetch command from database.
      */
     private int fetchCommandNum = 10;
+    /**
+     * The max interval to fetch command from database when there is no command insert notify received.
+     * The command loop will be woken up immediately by the api/scheduler notify, this is only a safety net.
+     */
+    private Duration commandFetchInterval = Duration.ofSeconds(10);
     /**
      * The thread number used to prepare processInstance. This number shouldn't bigger than fetchCommandNum.
      */
     private int preExecThreads = 10;
+    /**
+     * The max size of the pending workflow events, the master will stop consuming commands if exceed this value.
+     */
+    private int maxWorkflowEventQueueSize = 1000;
     /**
      * todo: We may need to split the process/task into different thread size.
      * The thread number used to handle processInstance and task event.
      * Will create two thread poll to execute {@link WorkflowExecuteRunnable} and {@link TaskExecuteRunnable}.
      */
     private int execThreads = 10;
+    /**
+     * The max pending event size of one workflow instance mailbox, the task events sent by the worker exceed this
+     * value will be rejected and resent by the worker later. It doesn't bound the events which cannot be resent: the
+     * dispatch events created by the master and all the workflow state events are always accepted, so the state event
+     * mailbox is not bounded by it.
+     */
+    private int eventMailboxCapacity = 10000;
+    /**
+     * The thread mode of the pre exec, dispatch, workflow execute and task execute thread pools.
+     * The virtual thread needs JDK 21+, will fall back to the platform thread on the lower JDK.
+     */
+    private ExecutorThreadMode executorThreadMode = ExecutorThreadMode.PLATFORM;
     /**
      * The task dispatch thread pool size.
      */
     private int dispatchTaskNumber = 3;
+    /**
+     * Whether to dispatch the tasks to the same worker in one request, the worker should support the batch dispatch.
+     */
+    private boolean dispatchBatchEnabled = false;
+    /**
+     * The max task number fetched from the task queue in one batch dispatch.
+     */
+    private int dispatchBatchSize = 100;
     /**
      * Worker select strategy.
      */
@@ -87,6 +121,20 @@ public class MasterConfig implements Validator {
      * state wheel check interval, if this value is bigger, may increase the delay of task/processInstance.
      */
     private Duration stateWheelInterval = Duration.ofMillis(5);
+    /**
+     * The fallback check interval of the dependent tasks, the dependent tasks are woken up once the upstream finished,
+     * this check only covers the lost upstream finished notify.
+     */
+    private Duration dependentCheckInterval = Duration.ofSeconds(30);
+    /**
+     * The expire time of the cached dependent item results, the dependent tasks waiting on the same upstream share
+     * the cached result, 0 means disable the cache.
+     */
+    private Duration dependentResultCacheExpireTime = Duration.ofSeconds(10);
+    /**
+     * The max count of the cached dependent item results.
+     */
+    private int dependentResultCacheSize = 10000;
     private double maxCpuLoadAvg = -1;
     private double reservedMemory = 0.3;
     private Duration failoverInterval = Duration.ofMinutes(10);
@@ -115,15 +163,27 @@ public class MasterConfig implements Validator {
         if (masterConfig.getFetchCommandNum() <= 0) {
             errors.rejectValue("fetch-command-num", null, "should be a positive value");
         }
+        if (masterConfig.getCommandFetchInterval().toMillis() <= 0) {
+            errors.rejectValue("command-fetch-interval", null, "should be a valid duration");
+        }
         if (masterConfig.getPreExecThreads() <= 0) {
             errors.rejectValue("per-exec-threads", null, "should be a positive value");
         }
+        if (masterConfig.getMaxWorkflowEventQueueSize() <= 0) {
+            errors.rejectValue("max-workflow-event-queue-size", null, "should be a positive value");
+        }
         if (masterConfig.getExecThreads() <= 0) {
             errors.rejectValue("exec-threads", null, "should be a positive value");
         }
+        if (masterConfig.getEventMailboxCapacity() <= 0) {
+            errors.rejectValue("event-mailbox-capacity", null, "should be a positive value");
+        }
         if (masterConfig.getDispatchTaskNumber() <= 0) {
             errors.rejectValue("dispatch-task-number", null, "should be a positive value");
         }
+        if (masterConfig.getDispatchBatchSize() <= 0) {
+            errors.rejectValue("dispatch-batch-size", null, "should be a positive value");
+        }
         if (masterConfig.getHeartbeatInterval().toMillis() < 0) {
             errors.rejectValue("heartbeat-interval", null, "should be a valid duration");
         }
@@ -136,6 +196,15 @@ public class MasterConfig implements Validator {
         if (masterConfig.getStateWheelInterval().toMillis() <= 0) {
             errors.rejectValue("state-wheel-interval", null, "should be a valid duration");
         }
+        if (masterConfig.getDependentCheckInterval().toMillis() <= 0) {
+            errors.rejectValue("dependent-check-interval", null, "should be a valid duration");
+        }
+        if (masterConfig.getDependentResultCacheExpireTime().toMillis() < 0) {
+            errors.rejectValue("dependent-result-cache-expire-time", null, "should be a valid duration");
+        }
+        if (masterConfig.getDependentResultCacheSize() <= 0) {
+            errors.rejectValue("dependent-result-cache-size", null, "should be a positive value");
+        }
         if (masterConfig.getFailoverInterval().toMillis() <= 0) {
             errors.rejectValue("failover-interval", null, "should be a valid duration");
         }
@@ -153,15 +222,25 @@ public class MasterConfig implements Validator {
 
     private void printConfig() {
         logger.info("Master config: listenPort -> {} ", listenPort);
+        logger.info("Master config: rpcBinaryCodecEnabled -> {} ", rpcBinaryCodecEnabled);
         logger.info("Master config: fetchCommandNum -> {} ", fetchCommandNum);
+        logger.info("Master config: commandFetchInterval -> {} ", commandFetchInterval);
         logger.info("Master config: preExecThreads -> {} ", preExecThreads);
+        logger.info("Master config: maxWorkflowEventQueueSize -> {} ", maxWorkflowEventQueueSize);
         logger.info("Master config: execThreads -> {} ", execThreads);
+        logger.info("Master config: eventMailboxCapacity -> {} ", eventMailboxCapacity);
+        logger.info("Master config: executorThreadMode -> {} ", executorThreadMode);
         logger.info("Master config: dispatchTaskNumber -> {} ", dispatchTaskNumber);
+        logger.info("Master config: dispatchBatchEnabled -> {} ", dispatchBatchEnabled);
+        logger.info("Master config: dispatchBatchSize -> {} ", dispatchBatchSize);
         logger.info("Master config: hostSelector -> {} ", hostSelector);
         logger.info("Master config: heartbeatInterval -> {} ", heartbeatInterval);
         logger.info("Master config: taskCommitRetryTimes -> {} ", taskCommitRetryTimes);
         logger.info("Master config: taskCommitInterval -> {} ", taskCommitInterval);
         logger.info("Master config: stateWheelInterval -> {} ", stateWheelInterval);
+        logger.info("Master config: dependentCheckInterval -> {} ", dependentCheckInterval);
+        logger.info("Master config: dependentResultCacheExpireTime -> {} ", dependentResultCacheExpireTime);
+        logger.info("Master config: dependentResultCacheSize -> {} ", dependentResultCacheSize);
         logger.info("Master config: maxCpuLoadAvg -> {} ", maxCpuLoadAvg);
         logger.info("Master config: reservedMemory -> {} ", reservedMemory);
         logger.info("Master config: failoverInterval -> {} ", failoverInterval);
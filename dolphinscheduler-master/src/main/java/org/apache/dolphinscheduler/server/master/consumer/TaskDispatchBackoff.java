@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.consumer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exponential backoff of the task dispatch failures, calculated by worker group, so that the tasks of an unavailable
+ * worker group will not block the tasks of other worker groups.
+ */
+public class TaskDispatchBackoff {
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    /**
+     * worker group -> consecutive dispatch failure times
+     */
+    private final Map<String, AtomicInteger> workerGroupFailureTimes = new ConcurrentHashMap<>();
+
+    public TaskDispatchBackoff(long initialBackoffMillis, long maxBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Record a dispatch failure of the worker group.
+     *
+     * @return the backoff millis before retry to dispatch the failed task
+     */
+    public long onDispatchFailed(String workerGroup) {
+        int failureTimes = workerGroupFailureTimes.computeIfAbsent(workerGroup, k -> new AtomicInteger())
+                .incrementAndGet();
+        // avoid overflow, the backoff will reach the max value before 2^20 times of the initial value
+        int exponent = Math.min(failureTimes - 1, 20);
+        return Math.min(initialBackoffMillis << exponent, maxBackoffMillis);
+    }
+
+    /**
+     * Record a dispatch success of the worker group, this will reset the backoff of the worker group.
+     */
+    public void onDispatchSuccess(String workerGroup) {
+        workerGroupFailureTimes.remove(workerGroup);
+    }
+
+    public int getFailureTimes(String workerGroup) {
+        AtomicInteger failureTimes = workerGroupFailureTimes.get(workerGroup);
+        return failureTimes == null ? 0 : failureTimes.get();
+    }
+}
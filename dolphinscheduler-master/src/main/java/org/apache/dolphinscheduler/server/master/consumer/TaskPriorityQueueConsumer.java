@@ -25,7 +25,9 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskBatchDispatchCommand;
 import org.apache.dolphinscheduler.remote.command.TaskDispatchCommand;
+import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.ExecutorDispatcher;
@@ -35,21 +37,28 @@ import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteExce
 import org.apache.dolphinscheduler.server.master.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
 import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 import org.apache.dolphinscheduler.service.queue.TaskPriority;
 import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
 
 import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 
@@ -70,7 +79,7 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
     private static final Logger logger = LoggerFactory.getLogger(TaskPriorityQueueConsumer.class);
 
     /**
-     * taskUpdateQueue
+     * taskUpdateQueue, partitioned by worker group
      */
     @Autowired
     private TaskPriorityQueue<TaskPriority> taskPriorityQueue;
@@ -102,11 +111,27 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
     @Autowired
     private TaskEventService taskEventService;
 
+    @Autowired
+    private ServerNodeManager serverNodeManager;
+
     /**
      * consumer thread pool
      */
     private ThreadPoolExecutor consumerThreadPoolExecutor;
 
+    /**
+     * used to re-submit the dispatch failed tasks to the queue after backoff
+     */
+    private ScheduledExecutorService dispatchRetryExecutor;
+
+    /**
+     * the max park time of a worker group without worker, in case of the worker info change is missed
+     */
+    private static final long WORKER_GROUP_PARK_MILLIS = Constants.SLEEP_TIME_MILLIS * 10;
+
+    private final TaskDispatchBackoff taskDispatchBackoff =
+            new TaskDispatchBackoff(Constants.SLEEP_TIME_MILLIS_SHORT, Constants.SLEEP_TIME_MILLIS * 10);
+
     protected TaskPriorityQueueConsumer() {
         super("TaskPriorityQueueConsumeThread");
     }
@@ -114,7 +139,12 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
     @PostConstruct
     public void init() {
         this.consumerThreadPoolExecutor = (ThreadPoolExecutor) ThreadUtils
-                .newDaemonFixedThreadExecutor("TaskUpdateQueueConsumerThread", masterConfig.getDispatchTaskNumber());
+                .newDaemonFixedThreadExecutor("TaskUpdateQueueConsumerThread", masterConfig.getDispatchTaskNumber(),
+                        masterConfig.getExecutorThreadMode());
+        this.dispatchRetryExecutor = ThreadUtils.newDaemonScheduledExecutorService("TaskDispatchRetryThread", 1);
+        // the capacity of the workers may changed, give the parked worker groups a chance to dispatch
+        serverNodeManager.addWorkerInfoChangeListener(
+                (workerGroups, workerNodeInfo) -> taskPriorityQueue.unparkAllPartitions());
         logger.info("Task priority queue consume thread staring");
         super.start();
         logger.info("Task priority queue consume thread started");
@@ -122,23 +152,53 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
 
     @Override
     public void run() {
-        int fetchTaskNum = masterConfig.getDispatchTaskNumber();
+        if (!masterConfig.isDispatchBatchEnabled()) {
+            // each consumer thread takes the task from the queue and dispatch it continuously
+            for (int i = 0; i < masterConfig.getDispatchTaskNumber(); i++) {
+                consumerThreadPoolExecutor.execute(this::continuousDispatch);
+            }
+            return;
+        }
         while (!ServerLifeCycleManager.isStopped()) {
             try {
-                List<TaskPriority> failedDispatchTasks = this.batchDispatch(fetchTaskNum);
-
+                List<TaskPriority> taskPriorities = pollTaskPriorities(masterConfig.getDispatchBatchSize());
+                List<TaskPriority> failedDispatchTasks = this.batchDispatchByWorker(taskPriorities);
                 if (CollectionUtils.isNotEmpty(failedDispatchTasks)) {
                     logger.info("{} tasks dispatch failed, will retry to dispatch", failedDispatchTasks.size());
-                    TaskMetrics.incTaskDispatchFailed(failedDispatchTasks.size());
-                    for (TaskPriority dispatchFailedTask : failedDispatchTasks) {
-                        taskPriorityQueue.put(dispatchFailedTask);
-                    }
-                    // If the all task dispatch failed, will sleep for 1s to avoid the master cpu higher.
-                    if (fetchTaskNum == failedDispatchTasks.size()) {
-                        logger.info("All tasks dispatch failed, will sleep a while to avoid the master cpu higher");
-                        TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS);
-                    }
+                    failedDispatchTasks.forEach(this::retryDispatchLater);
+                }
+            } catch (InterruptedException interruptedException) {
+                logger.warn("Task priority queue consume thread interrupted, close the loop", interruptedException);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                TaskMetrics.incTaskDispatchError();
+                logger.error("dispatcher task error", e);
+            }
+        }
+    }
+
+    /**
+     * Take the task from the queue and dispatch it until the server stopped, the failed task will be re-submitted to
+     * the queue after the backoff of its worker group, so the consumer thread never sleep because of the failure.
+     */
+    private void continuousDispatch() {
+        while (!ServerLifeCycleManager.isStopped()) {
+            try {
+                TaskPriority taskPriority =
+                        taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(taskPriority)) {
+                    continue;
+                }
+                if (this.dispatchTask(taskPriority)) {
+                    taskDispatchBackoff.onDispatchSuccess(getWorkerGroup(taskPriority));
+                } else {
+                    retryDispatchLater(taskPriority);
                 }
+            } catch (InterruptedException interruptedException) {
+                logger.warn("Task dispatch thread interrupted, close the loop", interruptedException);
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
                 TaskMetrics.incTaskDispatchError();
                 logger.error("dispatcher task error", e);
@@ -147,37 +207,161 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
     }
 
     /**
-     * batch dispatch with thread pool
+     * Re-submit the dispatch failed task to the queue after the backoff of its worker group.
+     * <p>
+     * If the worker group has no worker at all, its partition is parked and the task is put back immediately, the
+     * partition will be unparked once the worker info changed, so the other worker groups will not be blocked.
      */
-    public List<TaskPriority> batchDispatch(int fetchTaskNum) throws TaskPriorityQueueException, InterruptedException {
+    private void retryDispatchLater(TaskPriority taskPriority) {
+        TaskMetrics.incTaskDispatchFailed(1);
+        String workerGroup = getWorkerGroup(taskPriority);
+        long backoffMillis = taskDispatchBackoff.onDispatchFailed(workerGroup);
+        if (CollectionUtils.isEmpty(serverNodeManager.getWorkerGroupNodes(workerGroup))) {
+            logger.info("Task {} dispatch failed, there is no worker in worker group: {}, park the worker group",
+                    taskPriority.getTaskId(), workerGroup);
+            taskPriorityQueue.parkPartition(workerGroup, WORKER_GROUP_PARK_MILLIS);
+            taskPriorityQueue.put(taskPriority);
+            return;
+        }
+        logger.info("Task {} dispatch failed, will retry to dispatch after {}ms, worker group: {}",
+                taskPriority.getTaskId(), backoffMillis, workerGroup);
+        dispatchRetryExecutor.schedule(() -> taskPriorityQueue.put(taskPriority), backoffMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private String getWorkerGroup(TaskPriority taskPriority) {
+        TaskExecutionContext context = taskPriority.getTaskExecutionContext();
+        if (context == null || StringUtils.isEmpty(context.getWorkerGroup())) {
+            return Constants.DEFAULT_WORKER_GROUP;
+        }
+        return context.getWorkerGroup();
+    }
+
+    /**
+     * Poll the tasks from the task queue, will wait for the first task at most 1s, and won't wait for the others.
+     */
+    private List<TaskPriority> pollTaskPriorities(int batchSize) throws TaskPriorityQueueException,
+                                                                   InterruptedException {
+        List<TaskPriority> taskPriorities = new ArrayList<>();
+        TaskPriority taskPriority = taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+        while (taskPriority != null) {
+            taskPriorities.add(taskPriority);
+            if (taskPriorities.size() >= batchSize) {
+                break;
+            }
+            taskPriority = taskPriorityQueue.poll(0, TimeUnit.MILLISECONDS);
+        }
+        return taskPriorities;
+    }
+
+    /**
+     * Group the tasks by the selected worker, and dispatch the tasks of each worker by one request.
+     *
+     * @param taskPriorities the tasks need to dispatch
+     * @return the tasks dispatch failed
+     */
+    public List<TaskPriority> batchDispatchByWorker(List<TaskPriority> taskPriorities) throws InterruptedException {
         List<TaskPriority> failedDispatchTasks = Collections.synchronizedList(new ArrayList<>());
-        CountDownLatch latch = new CountDownLatch(fetchTaskNum);
+        if (CollectionUtils.isEmpty(taskPriorities)) {
+            return failedDispatchTasks;
+        }
+        Set<Integer> finishedTaskInstanceIds = findFinishedTaskInstanceIds(taskPriorities);
 
-        for (int i = 0; i < fetchTaskNum; i++) {
-            TaskPriority taskPriority = taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
-            if (Objects.isNull(taskPriority)) {
-                latch.countDown();
-                continue;
+        Map<Host, List<TaskPriority>> workerTaskPriorities = new HashMap<>();
+        Map<Integer, ExecutionContext> executionContexts = new HashMap<>();
+        for (TaskPriority taskPriority : taskPriorities) {
+            TaskMetrics.incTaskDispatch();
+            try {
+                if (finishedTaskInstanceIds.contains(taskPriority.getTaskId())) {
+                    // when task finish, ignore this task, there is no need to dispatch anymore
+                    logger.info("Task is already finished, no need to dispatch, task instance id: {}",
+                            taskPriority.getTaskId());
+                    continue;
+                }
+                Optional<ExecutionContext> executionContextOptional = createExecutionContext(taskPriority, null);
+                if (!executionContextOptional.isPresent()) {
+                    continue;
+                }
+                ExecutionContext executionContext = executionContextOptional.get();
+                Host host = dispatcher.selectHost(executionContext);
+                if (StringUtils.isEmpty(host.getAddress())) {
+                    logger.warn("Cannot find suitable worker for task: {}, worker group: {}",
+                            taskPriority.getTaskId(), executionContext.getWorkerGroup());
+                    failedDispatchTasks.add(taskPriority);
+                    continue;
+                }
+                executionContexts.put(taskPriority.getTaskId(), executionContext);
+                workerTaskPriorities.computeIfAbsent(host, k -> new ArrayList<>()).add(taskPriority);
+            } catch (RuntimeException e) {
+                logger.error("Master dispatch task to worker error, taskPriority: {}", taskPriority, e);
+                failedDispatchTasks.add(taskPriority);
             }
+        }
 
+        CountDownLatch latch = new CountDownLatch(workerTaskPriorities.size());
+        for (Map.Entry<Host, List<TaskPriority>> entry : workerTaskPriorities.entrySet()) {
             consumerThreadPoolExecutor.submit(() -> {
                 try {
-                    boolean dispatchResult = this.dispatchTask(taskPriority);
-                    if (!dispatchResult) {
-                        failedDispatchTasks.add(taskPriority);
+                    if (!dispatchToWorker(entry.getKey(), entry.getValue(), executionContexts)) {
+                        failedDispatchTasks.addAll(entry.getValue());
                     }
                 } finally {
-                    // make sure the latch countDown
                     latch.countDown();
                 }
             });
         }
-
         latch.await();
-
         return failedDispatchTasks;
     }
 
+    private boolean dispatchToWorker(Host host,
+                                     List<TaskPriority> taskPriorities,
+                                     Map<Integer, ExecutionContext> executionContexts) {
+        List<TaskExecutionContext> taskExecutionContexts = taskPriorities.stream()
+                .map(TaskPriority::getTaskExecutionContext)
+                .collect(Collectors.toList());
+        List<ExecutionContext> workerExecutionContexts = taskPriorities.stream()
+                .map(taskPriority -> executionContexts.get(taskPriority.getTaskId()))
+                .collect(Collectors.toList());
+        TaskBatchDispatchCommand batchDispatchCommand = new TaskBatchDispatchCommand(taskExecutionContexts,
+                masterConfig.getMasterAddress(),
+                host.getAddress(),
+                System.currentTimeMillis());
+        try {
+            dispatcher.batchDispatch(host, batchDispatchCommand.convert2Command(), workerExecutionContexts);
+        } catch (ExecuteException | RuntimeException e) {
+            logger.error("Master failed to batch dispatch tasks to worker: {}, task size: {}", host,
+                    taskPriorities.size(), e);
+            return false;
+        }
+        logger.info("Master success batch dispatch tasks to worker: {}, task size: {}", host, taskPriorities.size());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < taskExecutionContexts.size(); i++) {
+            TaskMetrics.recordTaskDispatchQueueTime(now - taskPriorities.get(i).getSubmitTime());
+            taskDispatchBackoff.onDispatchSuccess(getWorkerGroup(taskPriorities.get(i)));
+            addDispatchEvent(taskExecutionContexts.get(i), workerExecutionContexts.get(i));
+        }
+        return true;
+    }
+
+    /**
+     * Check the task instances final state by one query, only the tasks need to check will be queried.
+     */
+    private Set<Integer> findFinishedTaskInstanceIds(List<TaskPriority> taskPriorities) {
+        List<Integer> needCheckTaskInstanceIds = taskPriorities.stream()
+                .filter(this::isTaskNeedToCheck)
+                .map(TaskPriority::getTaskId)
+                .collect(Collectors.toList());
+        if (needCheckTaskInstanceIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return taskInstanceDao.findTaskInstanceByIdList(needCheckTaskInstanceIds)
+                .stream()
+                .filter(taskInstance -> taskInstance.getState().isFinished())
+                .map(TaskInstance::getId)
+                .collect(Collectors.toSet());
+    }
+
     /**
      * Dispatch task to worker.
      *
@@ -188,25 +372,15 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
         TaskMetrics.incTaskDispatch();
         boolean result = false;
         try {
-            WorkflowExecuteRunnable workflowExecuteRunnable =
-                    processInstanceExecCacheManager.getByProcessInstanceId(taskPriority.getProcessInstanceId());
-            if (workflowExecuteRunnable == null) {
-                logger.error("Cannot find the related processInstance of the task, taskPriority: {}", taskPriority);
-                return true;
-            }
-            Optional<TaskInstance> taskInstanceOptional =
-                    workflowExecuteRunnable.getTaskInstance(taskPriority.getTaskId());
-            if (!taskInstanceOptional.isPresent()) {
-                logger.error("Cannot find the task instance from related processInstance, taskPriority: {}",
-                        taskPriority);
+            TaskExecutionContext context = taskPriority.getTaskExecutionContext();
+            Optional<ExecutionContext> executionContextOptional =
+                    createExecutionContext(taskPriority, toCommand(context));
+            if (!executionContextOptional.isPresent()) {
                 // we return true, so that we will drop this task.
                 return true;
             }
-            TaskInstance taskInstance = taskInstanceOptional.get();
-            TaskExecutionContext context = taskPriority.getTaskExecutionContext();
-            ExecutionContext executionContext =
-                    new ExecutionContext(toCommand(context), ExecutorType.WORKER, context.getWorkerGroup(),
-                            taskInstance);
+            ExecutionContext executionContext = executionContextOptional.get();
+            TaskInstance taskInstance = executionContext.getTaskInstance();
 
             if (isTaskNeedToCheck(taskPriority)) {
                 if (taskInstanceIsFinalState(taskPriority.getTaskId())) {
@@ -223,6 +397,7 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
                 logger.info("Master success dispatch task to worker, taskInstanceId: {}, worker: {}",
                         taskPriority.getTaskId(),
                         executionContext.getHost());
+                TaskMetrics.recordTaskDispatchQueueTime(System.currentTimeMillis() - taskPriority.getSubmitTime());
                 addDispatchEvent(context, executionContext);
             } else {
                 logger.info("Master failed to dispatch task to worker, taskInstanceId: {}, worker: {}",
@@ -235,6 +410,30 @@ public class TaskPriorityQueueConsumer extends BaseDaemonThread {
         return result;
     }
 
+    /**
+     * Create the execution context of the task.
+     *
+     * @return empty if the related workflow or task instance cannot be found, this task should be dropped
+     */
+    private Optional<ExecutionContext> createExecutionContext(TaskPriority taskPriority, Command command) {
+        WorkflowExecuteRunnable workflowExecuteRunnable =
+                processInstanceExecCacheManager.getByProcessInstanceId(taskPriority.getProcessInstanceId());
+        if (workflowExecuteRunnable == null) {
+            logger.error("Cannot find the related processInstance of the task, taskPriority: {}", taskPriority);
+            return Optional.empty();
+        }
+        Optional<TaskInstance> taskInstanceOptional =
+                workflowExecuteRunnable.getTaskInstance(taskPriority.getTaskId());
+        if (!taskInstanceOptional.isPresent()) {
+            logger.error("Cannot find the task instance from related processInstance, taskPriority: {}",
+                    taskPriority);
+            return Optional.empty();
+        }
+        TaskExecutionContext context = taskPriority.getTaskExecutionContext();
+        return Optional.of(new ExecutionContext(command, ExecutorType.WORKER, context.getWorkerGroup(),
+                taskInstanceOptional.get()));
+    }
+
     /**
      * add dispatch event
      */
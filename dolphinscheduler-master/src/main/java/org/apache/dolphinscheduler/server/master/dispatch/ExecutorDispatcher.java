@@ -17,6 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.dispatch;
 
+import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
@@ -24,9 +25,11 @@ import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteExce
 import org.apache.dolphinscheduler.server.master.dispatch.executor.ExecutorManager;
 import org.apache.dolphinscheduler.server.master.dispatch.executor.NettyExecutorManager;
 import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerInFlightTaskTracker;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
@@ -55,6 +58,9 @@ public class ExecutorDispatcher implements InitializingBean {
     @Autowired
     private HostManager hostManager;
 
+    @Autowired
+    private WorkerInFlightTaskTracker workerInFlightTaskTracker;
+
     /**
      * executor manager
      */
@@ -82,7 +88,7 @@ public class ExecutorDispatcher implements InitializingBean {
         }
 
         // host select
-        Host host = hostManager.select(context);
+        Host host = selectHost(context);
         if (StringUtils.isEmpty(host.getAddress())) {
             logger.warn("fail to execute : {} due to no suitable worker, current task needs worker group {} to execute",
                     context.getCommand(), context.getWorkerGroup());
@@ -92,12 +98,54 @@ public class ExecutorDispatcher implements InitializingBean {
         executorManager.beforeExecute(context);
         try {
             // task execute
-            return executorManager.execute(context);
+            Boolean result = executorManager.execute(context);
+            if (Boolean.TRUE.equals(result)) {
+                onTaskDispatched(context);
+            }
+            return result;
         } finally {
             executorManager.afterExecute(context);
         }
     }
 
+    /**
+     * select a worker to execute the task
+     *
+     * @param context context
+     * @return host, the address will be empty if there is no suitable worker
+     */
+    public Host selectHost(final ExecutionContext context) {
+        return hostManager.select(context);
+    }
+
+    /**
+     * dispatch a batch of tasks to the same worker by one request
+     *
+     * @param host the selected worker
+     * @param batchCommand the batch dispatch command which contains all the tasks
+     * @param contexts the execution contexts of the tasks in the batch
+     * @throws ExecuteException if send the batch command failed
+     */
+    public void batchDispatch(final Host host,
+                              final Command batchCommand,
+                              final List<ExecutionContext> contexts) throws ExecuteException {
+        nettyExecutorManager.doExecute(host, batchCommand);
+        for (ExecutionContext context : contexts) {
+            context.setHost(host);
+            // We set the host to taskInstance to avoid when the worker down, this taskInstance may not be
+            // failovered, due to the taskInstance's host is not belongs to the down worker ISSUE-10842.
+            context.getTaskInstance().setHost(host.getAddress());
+            onTaskDispatched(context);
+        }
+    }
+
+    private void onTaskDispatched(ExecutionContext context) {
+        if (context.getTaskInstance() != null && context.getTaskInstance().getId() != null) {
+            workerInFlightTaskTracker.onTaskDispatched(context.getTaskInstance().getId(),
+                    context.getHost().getAddress());
+        }
+    }
+
     /**
      * register init
      * @throws Exception if error throws Exception
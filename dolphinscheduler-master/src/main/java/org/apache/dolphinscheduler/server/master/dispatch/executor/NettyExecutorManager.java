@@ -24,6 +24,7 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
@@ -73,8 +74,9 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean> {
     /**
      * constructor
      */
-    public NettyExecutorManager() {
+    public NettyExecutorManager(MasterConfig masterConfig) {
         final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setBinaryCodecEnabled(masterConfig.isRpcBinaryCodecEnabled());
         this.nettyRemotingClient = new NettyRemotingClient(clientConfig);
     }
 
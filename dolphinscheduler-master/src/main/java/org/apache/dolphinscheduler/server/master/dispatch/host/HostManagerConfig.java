@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.master.dispatch.host;
 
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostSelector;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.PowerOfTwoChoicesSelector;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
@@ -55,6 +56,9 @@ public class HostManagerConfig {
             case LOWER_WEIGHT:
                 hostManager = new LowerWeightHostManager();
                 break;
+            case POWER_OF_TWO_CHOICES:
+                hostManager = new LowerWeightHostManager(new PowerOfTwoChoicesSelector());
+                break;
             default:
                 throw new IllegalArgumentException("unSupport selector " + selector);
         }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.AbstractSelector;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
 import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
@@ -28,9 +29,11 @@ import org.apache.dolphinscheduler.server.master.registry.WorkerInfoChangeListen
 
 import org.apache.commons.collections.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -42,6 +45,7 @@ import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * lower weight host manager
@@ -53,7 +57,10 @@ public class LowerWeightHostManager extends CommonHostManager {
     /**
      * selector
      */
-    private LowerWeightRoundRobin selector;
+    private final AbstractSelector<HostWeight> selector;
+
+    @Autowired
+    private WorkerInFlightTaskTracker workerInFlightTaskTracker;
 
     /**
      * worker host weights
@@ -65,9 +72,16 @@ public class LowerWeightHostManager extends CommonHostManager {
      */
     private Lock lock;
 
+    public LowerWeightHostManager() {
+        this(new LowerWeightRoundRobin());
+    }
+
+    public LowerWeightHostManager(AbstractSelector<HostWeight> selector) {
+        this.selector = selector;
+    }
+
     @PostConstruct
     public void init() {
-        this.selector = new LowerWeightRoundRobin();
         this.workerHostWeightsMap = new ConcurrentHashMap<>();
         this.lock = new ReentrantLock();
         serverNodeManager.addWorkerInfoChangeListener(new WorkerWeightListener());
@@ -83,7 +97,15 @@ public class LowerWeightHostManager extends CommonHostManager {
     public Host select(ExecutionContext context) {
         Set<HostWeight> workerHostWeights = getWorkerHostWeights(context.getWorkerGroup());
         if (CollectionUtils.isNotEmpty(workerHostWeights)) {
-            return selector.select(workerHostWeights).getHost();
+            // blend the in-flight tasks dispatched by this master after the heartbeat, the heartbeat has not reflected
+            // them yet, the shared heartbeat weights are not changed
+            List<HostWeight> selectionHostWeights = new ArrayList<>(workerHostWeights.size());
+            for (HostWeight hostWeight : workerHostWeights) {
+                int inFlightTaskCount = workerInFlightTaskTracker.getInFlightTaskCount(
+                        hostWeight.getHost().getAddress(), hostWeight.getReportTime());
+                selectionHostWeights.add(hostWeight.withInFlightTaskCount(inFlightTaskCount));
+            }
+            return selector.select(selectionHostWeights).getHost();
         }
         return new Host();
     }
@@ -98,6 +120,7 @@ public class LowerWeightHostManager extends CommonHostManager {
         @Override
         public void notify(Map<String, Set<String>> workerGroups, Map<String, WorkerHeartBeat> workerNodeInfo) {
             syncWorkerResources(workerGroups, workerNodeInfo);
+            workerInFlightTaskTracker.removeExpiredTasks();
         }
     }
 
@@ -152,7 +175,8 @@ public class LowerWeightHostManager extends CommonHostManager {
                         heartBeat.getMemoryUsage(),
                         heartBeat.getLoadAverage(),
                         heartBeat.getWorkerWaitingTaskCount(),
-                        heartBeat.getStartupTime()));
+                        heartBeat.getStartupTime(),
+                        heartBeat.getReportTime()));
     }
 
     private void syncWorkerHostWeight(Map<String, Set<HostWeight>> workerHostWeights) {
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Track the tasks which have been dispatched to the workers by this master but have not been reported running or
+ * finished. The worker heartbeat cannot reflect these tasks before the next heartbeat, so the host managers use the
+ * in-flight count to avoid sending all the tasks to the same worker between two heartbeats.
+ */
+@Component
+public class WorkerInFlightTaskTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerInFlightTaskTracker.class);
+
+    /**
+     * The max time of a task in flight, the task is expected to be reported by the worker heartbeat after it.
+     */
+    private static final long IN_FLIGHT_EXPIRE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * taskInstanceId -> in-flight task
+     */
+    private final Map<Integer, InFlightTask> inFlightTasks = new ConcurrentHashMap<>();
+
+    /**
+     * worker address -> (taskInstanceId -> dispatch time) of the in-flight tasks
+     */
+    private final Map<String, Map<Integer, Long>> workerInFlightTasks = new ConcurrentHashMap<>();
+
+    /**
+     * Called when the task has been dispatched to the worker.
+     */
+    public void onTaskDispatched(int taskInstanceId, String workerAddress) {
+        InFlightTask inFlightTask = new InFlightTask(workerAddress, System.currentTimeMillis());
+        InFlightTask previous = inFlightTasks.put(taskInstanceId, inFlightTask);
+        if (previous != null) {
+            removeWorkerInFlightTask(previous.getWorkerAddress(), taskInstanceId);
+        }
+        workerInFlightTasks.compute(workerAddress, (address, tasks) -> {
+            Map<Integer, Long> workerTasks = tasks == null ? new ConcurrentHashMap<>() : tasks;
+            workerTasks.put(taskInstanceId, inFlightTask.getDispatchTime());
+            return workerTasks;
+        });
+    }
+
+    /**
+     * Called when the task has been received by the worker, e.g. the task is running or finished.
+     */
+    public void onTaskReceived(int taskInstanceId) {
+        InFlightTask inFlightTask = inFlightTasks.remove(taskInstanceId);
+        if (inFlightTask != null) {
+            removeWorkerInFlightTask(inFlightTask.getWorkerAddress(), taskInstanceId);
+        }
+    }
+
+    /**
+     * Called when the task has been rejected by the worker, the task will be dispatched again later, maybe to another
+     * worker, so only the in-flight task of the rejecting worker is removed.
+     */
+    public void onTaskRejected(int taskInstanceId, String workerAddress) {
+        InFlightTask inFlightTask = inFlightTasks.get(taskInstanceId);
+        if (inFlightTask != null && inFlightTask.getWorkerAddress().equals(workerAddress)
+                && inFlightTasks.remove(taskInstanceId, inFlightTask)) {
+            removeWorkerInFlightTask(workerAddress, taskInstanceId);
+        }
+    }
+
+    public int getInFlightTaskCount(String workerAddress) {
+        return getInFlightTaskCount(workerAddress, 0);
+    }
+
+    /**
+     * Get the in-flight tasks dispatched to the worker after the given time. The tasks dispatched before the worker
+     * heartbeat is reported are already counted in the waiting task count of the heartbeat, so they should be excluded
+     * by passing the report time of the heartbeat.
+     */
+    public int getInFlightTaskCount(String workerAddress, long dispatchedAfter) {
+        Map<Integer, Long> workerTasks = workerInFlightTasks.get(workerAddress);
+        if (workerTasks == null) {
+            return 0;
+        }
+        int count = 0;
+        for (long dispatchTime : workerTasks.values()) {
+            if (dispatchTime > dispatchedAfter) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove the in-flight tasks which are expired, the worker may be crashed or the report is lost.
+     */
+    public void removeExpiredTasks() {
+        long expireTime = System.currentTimeMillis() - IN_FLIGHT_EXPIRE_MILLIS;
+        inFlightTasks.forEach((taskInstanceId, inFlightTask) -> {
+            if (inFlightTask.getDispatchTime() < expireTime && inFlightTasks.remove(taskInstanceId, inFlightTask)) {
+                logger.warn("The in-flight task {} has not been reported by worker {}, remove it",
+                        taskInstanceId, inFlightTask.getWorkerAddress());
+                removeWorkerInFlightTask(inFlightTask.getWorkerAddress(), taskInstanceId);
+            }
+        });
+    }
+
+    private void removeWorkerInFlightTask(String workerAddress, int taskInstanceId) {
+        workerInFlightTasks.computeIfPresent(workerAddress, (address, workerTasks) -> {
+            workerTasks.remove(taskInstanceId);
+            return workerTasks.isEmpty() ? null : workerTasks;
+        });
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class InFlightTask {
+
+        private final String workerAddress;
+
+        private final long dispatchTime;
+    }
+}
@@ -22,5 +22,7 @@ public enum HostSelector {
 
     ROUND_ROBIN,
 
-    LOWER_WEIGHT
+    LOWER_WEIGHT,
+
+    POWER_OF_TWO_CHOICES
 }
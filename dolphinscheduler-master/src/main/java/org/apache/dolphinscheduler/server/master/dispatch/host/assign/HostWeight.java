@@ -31,6 +31,11 @@ public class HostWeight {
 
     private final int LOAD_AVERAGE_FACTOR = 70;
 
+    /**
+     * a task in flight is expected to increase the load average by one
+     */
+    private final int IN_FLIGHT_TASK_FACTOR = LOAD_AVERAGE_FACTOR;
+
     private final HostWorker hostWorker;
 
     private final double weight;
@@ -39,24 +44,75 @@ public class HostWeight {
 
     private final int waitingTaskCount;
 
+    /**
+     * the report time of the worker heartbeat
+     */
+    private final long reportTime;
+
+    /**
+     * the tasks dispatched by this master but not reported by the worker heartbeat yet
+     */
+    private final int inFlightTaskCount;
+
+    /**
+     * the host weight of the worker heartbeat which this weight is created from, it holds the current weight across
+     * the selections, null if this weight is created from the heartbeat
+     */
+    private final HostWeight heartbeatWeight;
+
     public HostWeight(HostWorker hostWorker, double cpu, double memory, double loadAverage, int waitingTaskCount,
                       long startTime) {
+        this(hostWorker, cpu, memory, loadAverage, waitingTaskCount, startTime, 0);
+    }
+
+    public HostWeight(HostWorker hostWorker, double cpu, double memory, double loadAverage, int waitingTaskCount,
+                      long startTime, long reportTime) {
         this.hostWorker = hostWorker;
         this.weight = calculateWeight(cpu, memory, loadAverage, startTime);
         this.currentWeight = this.weight;
         this.waitingTaskCount = waitingTaskCount;
+        this.reportTime = reportTime;
+        this.inFlightTaskCount = 0;
+        this.heartbeatWeight = null;
+    }
+
+    private HostWeight(HostWeight heartbeatWeight, int inFlightTaskCount) {
+        this.hostWorker = heartbeatWeight.hostWorker;
+        this.weight = heartbeatWeight.weight;
+        this.waitingTaskCount = heartbeatWeight.waitingTaskCount;
+        this.reportTime = heartbeatWeight.reportTime;
+        this.inFlightTaskCount = inFlightTaskCount;
+        this.heartbeatWeight = heartbeatWeight;
     }
 
+    /**
+     * Create the host weight of one selection with the in-flight tasks of this master, the weight of the heartbeat is
+     * shared by the concurrent selections, so it is never changed.
+     *
+     * @param inFlightTaskCount the tasks dispatched to the worker after the heartbeat is reported
+     */
+    public HostWeight withInFlightTaskCount(int inFlightTaskCount) {
+        HostWeight source = heartbeatWeight == null ? this : heartbeatWeight;
+        return new HostWeight(source, inFlightTaskCount);
+    }
+
+    /**
+     * The weight of the heartbeat blended with the in-flight tasks, lower is better.
+     */
     public double getWeight() {
-        return weight;
+        return weight + inFlightTaskCount * IN_FLIGHT_TASK_FACTOR;
     }
 
     public double getCurrentWeight() {
-        return currentWeight;
+        return heartbeatWeight == null ? currentWeight : heartbeatWeight.getCurrentWeight();
     }
 
     public void setCurrentWeight(double currentWeight) {
-        this.currentWeight = currentWeight;
+        if (heartbeatWeight == null) {
+            this.currentWeight = currentWeight;
+        } else {
+            heartbeatWeight.setCurrentWeight(currentWeight);
+        }
     }
 
     public HostWorker getHostWorker() {
@@ -71,6 +127,21 @@ public class HostWeight {
         return waitingTaskCount;
     }
 
+    public long getReportTime() {
+        return reportTime;
+    }
+
+    public int getInFlightTaskCount() {
+        return inFlightTaskCount;
+    }
+
+    /**
+     * The tasks waiting in the worker and the tasks in flight to the worker.
+     */
+    public int getPendingTaskCount() {
+        return waitingTaskCount + inFlightTaskCount;
+    }
+
     @Override
     public String toString() {
         return "HostWeight{"
@@ -78,6 +149,8 @@ public class HostWeight {
                 + ", weight=" + weight
                 + ", currentWeight=" + currentWeight
                 + ", waitingTaskCount=" + waitingTaskCount
+                + ", reportTime=" + reportTime
+                + ", inFlightTaskCount=" + inFlightTaskCount
                 + '}';
     }
 
@@ -63,15 +63,15 @@ public class LowerWeightRoundRobin extends AbstractSelector<HostWeight> {
             return Collections.emptyList();
         }
         List<HostWeight> zeroWaitingTask =
-                sources.stream().filter(h -> h.getWaitingTaskCount() == 0).collect(Collectors.toList());
+                sources.stream().filter(h -> h.getPendingTaskCount() == 0).collect(Collectors.toList());
         if (!zeroWaitingTask.isEmpty()) {
             return zeroWaitingTask;
         }
-        HostWeight hostWeight = sources.stream().min(Comparator.comparing(HostWeight::getWaitingTaskCount)).get();
+        HostWeight hostWeight = sources.stream().min(Comparator.comparing(HostWeight::getPendingTaskCount)).get();
         List<HostWeight> waitingTask = Lists.newArrayList(hostWeight);
         List<HostWeight> equalWaitingTask = sources.stream()
                 .filter(h -> !h.getHost().equals(hostWeight.getHost())
-                        && h.getWaitingTaskCount() == hostWeight.getWaitingTaskCount())
+                        && h.getPendingTaskCount() == hostWeight.getPendingTaskCount())
                 .collect(Collectors.toList());
         if (!equalWaitingTask.isEmpty()) {
             waitingTask.addAll(equalWaitingTask);
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * power of two choices selector, randomly pick two hosts and select the one with lower load.
+ * <p>
+ * Unlike always selecting the lightest host, the masters will not send all the tasks to the same host between two
+ * heartbeats, and the load is still balanced well.
+ */
+public class PowerOfTwoChoicesSelector extends AbstractSelector<HostWeight> {
+
+    private static final Comparator<HostWeight> LOAD_COMPARATOR =
+            Comparator.comparingInt(HostWeight::getPendingTaskCount).thenComparingDouble(HostWeight::getWeight);
+
+    @Override
+    protected HostWeight doSelect(Collection<HostWeight> source) {
+        List<HostWeight> hosts = new ArrayList<>(source);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(hosts.size());
+        // pick the second host from the others
+        int second = random.nextInt(hosts.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        HostWeight firstHost = hosts.get(first);
+        HostWeight secondHost = hosts.get(second);
+        return LOAD_COMPARATOR.compare(firstHost, secondHost) <= 0 ? firstHost : secondHost;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.event;
+
+import org.apache.dolphinscheduler.server.master.metrics.EventMailboxMetrics;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.NonNull;
+
+/**
+ * The mailbox of an event actor, e.g. the state events of a workflow instance or the task events of a workflow
+ * instance. The events in one mailbox are handled serially: the owner is scheduled into the thread pool only when it
+ * is not scheduled, see {@link #markScheduled()}.
+ * <p>
+ * The mailbox is bounded by the capacity, {@link #offer(Object)} will reject the events once the mailbox is full, so
+ * it should only be used for the events which will be resent by the sender, e.g. the task events before the worker is
+ * acked. The events which cannot be resent should use {@link #forceOffer(Object)}. Once the owner is finished the
+ * mailbox should be closed, then all the events will be rejected.
+ */
+public class EventMailbox<E> {
+
+    private final String type;
+
+    private final int capacity;
+
+    private final ConcurrentLinkedQueue<E> events = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private volatile boolean closed = false;
+
+    /**
+     * @param type     mailbox type, used as the metrics tag
+     * @param capacity the max event size of this mailbox
+     */
+    public EventMailbox(@NonNull String type, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The mailbox capacity should be a positive value");
+        }
+        this.type = type;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Add the event into the mailbox if the mailbox is not full.
+     *
+     * @return false if the mailbox is full or closed
+     */
+    public boolean offer(@NonNull E event) {
+        if (closed) {
+            return false;
+        }
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            EventMailboxMetrics.incMailboxRejected(type);
+            return false;
+        }
+        events.add(event);
+        return true;
+    }
+
+    /**
+     * Add the event into the mailbox even if the mailbox is full.
+     *
+     * @return false if the mailbox is closed
+     */
+    public boolean forceOffer(@NonNull E event) {
+        if (closed) {
+            return false;
+        }
+        size.incrementAndGet();
+        events.add(event);
+        return true;
+    }
+
+    public E peek() {
+        return events.peek();
+    }
+
+    public boolean remove(E event) {
+        if (events.remove(event)) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    public void clear() {
+        while (events.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    public boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Mark the owner of this mailbox is scheduled into the thread pool.
+     *
+     * @return true if the caller should schedule the owner, false if the owner is already scheduled
+     */
+    public boolean markScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Clear the scheduled mark, should be called after the events have been handled.
+     */
+    public void clearScheduled() {
+        scheduled.set(false);
+    }
+
+    /**
+     * Close the mailbox, the remaining events will be dropped and the new events will be rejected.
+     */
+    public void close() {
+        closed = true;
+        clear();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public String toString() {
+        return "EventMailbox{type=" + type + ", size=" + size() + ", capacity=" + capacity + ", closed=" + closed + "}";
+    }
+}
@@ -45,6 +45,13 @@ public class WorkflowEventQueue {
         return workflowEventQueue.take();
     }
 
+    /**
+     * Get the size of the pending workflow events, used to apply back pressure to the command loop.
+     */
+    public int size() {
+        return workflowEventQueue.size();
+    }
+
     public void clearWorkflowEventQueue() {
         workflowEventQueue.clear();
     }
@@ -68,6 +68,8 @@ public class WorkflowStartEventHandler implements WorkflowEventHandler {
                         if (processInstance.getTimeout() > 0) {
                             stateWheelExecuteThread.addProcess4TimeoutCheck(processInstance);
                         }
+                        // handle the events which are received before the workflow started
+                        workflowExecuteThreadPool.executeEvent(workflowExecuteRunnable);
                     } else {
                         logger.error("Failed to submit the workflow instance, will resend the workflow start event: {}",
                                 workflowEvent);
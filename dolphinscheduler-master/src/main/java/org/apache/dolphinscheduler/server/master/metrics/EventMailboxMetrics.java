@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the event mailboxes, tagged by the mailbox type rather than the workflow instance to bound the cardinality.
+ */
+@UtilityClass
+public class EventMailboxMetrics {
+
+    private final Map<String, Counter> mailboxRejectedCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> mailboxProcessTimers = new ConcurrentHashMap<>();
+
+    public synchronized void registerMailboxGauge(String type,
+                                                  Supplier<Number> mailboxCountSupplier,
+                                                  Supplier<Number> mailboxDepthSupplier,
+                                                  Supplier<Number> mailboxMaxDepthSupplier) {
+        Gauge.builder("ds.master.mailbox.count", mailboxCountSupplier)
+                .tag("type", type)
+                .description("The number of the alive mailboxes")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.master.mailbox.depth", mailboxDepthSupplier)
+                .tag("type", type)
+                .description("The total number of the pending events in all the mailboxes")
+                .register(Metrics.globalRegistry);
+        Gauge.builder("ds.master.mailbox.depth.max", mailboxMaxDepthSupplier)
+                .tag("type", type)
+                .description("The number of the pending events in the deepest mailbox")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void incMailboxRejected(String type) {
+        mailboxRejectedCounters.computeIfAbsent(type,
+                mailboxType -> Counter.builder("ds.master.mailbox.rejected.count")
+                        .tag("type", mailboxType)
+                        .description("The number of the events rejected because the mailbox is full")
+                        .register(Metrics.globalRegistry))
+                .increment();
+    }
+
+    public void recordMailboxProcessTime(String type, long milliseconds) {
+        mailboxProcessTimers.computeIfAbsent(type,
+                mailboxType -> Timer.builder("ds.master.mailbox.process.time")
+                        .tag("type", mailboxType)
+                        .description("The time cost of handling the events of one mailbox in one schedule")
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .register(Metrics.globalRegistry))
+                .record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -17,9 +17,14 @@
 
 package org.apache.dolphinscheduler.server.master.metrics;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class MasterServerMetrics {
@@ -40,6 +45,14 @@ public class MasterServerMetrics {
                     .description("Master server consume command count")
                     .register(Metrics.globalRegistry);
 
+    /**
+     * Used to measure how late the state wheel checks are executed after their deadline.
+     */
+    private final Timer stateWheelExpireDelayTimer =
+            Timer.builder("ds.master.state.wheel.expire.delay")
+                    .description("The delay from the deadline of the state wheel checks to their execution")
+                    .register(Metrics.globalRegistry);
+
     public void incMasterOverload() {
         masterOverloadCounter.increment();
     }
@@ -48,4 +61,15 @@ public class MasterServerMetrics {
         masterConsumeCommandCounter.increment(commandCount);
     }
 
+    public synchronized void registerStateWheelSizeGauge(String type, Supplier<Number> function) {
+        Gauge.builder("ds.master.state.wheel.size", function)
+                .tag("type", type)
+                .description("The current size of the state wheel")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordStateWheelExpireDelay(long milliseconds) {
+        stateWheelExpireDelayTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
 }
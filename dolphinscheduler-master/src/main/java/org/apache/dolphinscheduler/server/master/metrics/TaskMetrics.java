@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.server.master.metrics;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import lombok.experimental.UtilityClass;
@@ -29,6 +30,7 @@ import com.facebook.presto.jdbc.internal.guava.collect.ImmutableSet;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 
 @UtilityClass
 public class TaskMetrics {
@@ -65,6 +67,12 @@ public class TaskMetrics {
                     .description("Number of errors during task dispatch")
                     .register(Metrics.globalRegistry);
 
+    private final Timer taskDispatchQueueTimer =
+            Timer.builder("ds.task.dispatch.queue.duration")
+                    .description("Task dispatch queue latency, from submitted to the queue to sent to the worker")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .register(Metrics.globalRegistry);
+
     public synchronized void registerTaskPrepared(Supplier<Number> consumer) {
         Gauge.builder("ds.task.prepared", consumer)
                 .description("Task prepared count")
@@ -83,6 +91,10 @@ public class TaskMetrics {
         taskDispatchCounter.increment();
     }
 
+    public void recordTaskDispatchQueueTime(long milliseconds) {
+        taskDispatchQueueTimer.record(milliseconds, TimeUnit.MILLISECONDS);
+    }
+
     public void incTaskInstanceByState(final String state) {
         if (taskInstanceCounters.get(state) == null) {
             return;
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandInsertNotifyCommand;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.master.runner.MasterSchedulerBootstrap;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+
+/**
+ * command insert notify processor, wake up the master command loop when a command is inserted by api/scheduler
+ */
+@Component
+public class CommandInsertNotifyProcessor implements NettyRequestProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(CommandInsertNotifyProcessor.class);
+
+    @Autowired
+    private MasterSchedulerBootstrap masterSchedulerBootstrap;
+
+    @Override
+    public void process(Channel channel, Command command) {
+        Preconditions.checkArgument(CommandType.COMMAND_INSERT_NOTIFY == command.getType(),
+                String.format("invalid command type: %s", command.getType()));
+
+        CommandInsertNotifyCommand notifyCommand =
+                JSONUtils.parseObject(command.getBody(), CommandInsertNotifyCommand.class);
+        if (notifyCommand == null
+                || (notifyCommand.getCommandId() == null && CollectionUtils.isEmpty(notifyCommand.getCommandIds()))) {
+            logger.warn("Received an invalid command insert notify: {}", command);
+            return;
+        }
+        if (CollectionUtils.isNotEmpty(notifyCommand.getCommandIds())) {
+            logger.debug("Received command insert notify, commandIds size: {}", notifyCommand.getCommandIds().size());
+            notifyCommand.getCommandIds().forEach(masterSchedulerBootstrap::notifyCommandInserted);
+            return;
+        }
+        logger.debug("Received command insert notify, commandId: {}", notifyCommand.getCommandId());
+        masterSchedulerBootstrap.notifyCommandInserted(notifyCommand.getCommandId());
+    }
+}
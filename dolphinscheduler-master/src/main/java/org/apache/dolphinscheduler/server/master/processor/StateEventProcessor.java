@@ -19,7 +19,6 @@ package org.apache.dolphinscheduler.server.master.processor;
 
 import org.apache.dolphinscheduler.common.enums.StateEventType;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.WorkflowStateEventChangeCommand;
@@ -55,7 +54,7 @@ public class StateEventProcessor implements NettyRequestProcessor {
                 String.format("invalid command type: %s", command.getType()));
 
         WorkflowStateEventChangeCommand workflowStateEventChangeCommand =
-                JSONUtils.parseObject(command.getBody(), WorkflowStateEventChangeCommand.class);
+                command.parseBody(WorkflowStateEventChangeCommand.class);
         StateEvent stateEvent;
         if (workflowStateEventChangeCommand.getDestTaskInstanceId() == 0) {
             stateEvent = createWorkflowStateEvent(workflowStateEventChangeCommand);
@@ -17,11 +17,11 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteResultCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerInFlightTaskTracker;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.service.utils.LoggerUtils;
@@ -45,6 +45,9 @@ public class TaskExecuteResponseProcessor implements NettyRequestProcessor {
     @Autowired
     private TaskEventService taskEventService;
 
+    @Autowired
+    private WorkerInFlightTaskTracker workerInFlightTaskTracker;
+
     /**
      * task final result response
      * need master process , state persistence
@@ -57,8 +60,8 @@ public class TaskExecuteResponseProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.TASK_EXECUTE_RESULT == command.getType(),
                 String.format("invalid command type : %s", command.getType()));
 
-        TaskExecuteResultCommand taskExecuteResultMessage = JSONUtils.parseObject(command.getBody(),
-                TaskExecuteResultCommand.class);
+        TaskExecuteResultCommand taskExecuteResultMessage = command.parseBody(TaskExecuteResultCommand.class);
+        workerInFlightTaskTracker.onTaskReceived(taskExecuteResultMessage.getTaskInstanceId());
         TaskEvent taskResultEvent = TaskEvent.newResultEvent(taskExecuteResultMessage,
                 channel,
                 taskExecuteResultMessage.getMessageSenderAddress());
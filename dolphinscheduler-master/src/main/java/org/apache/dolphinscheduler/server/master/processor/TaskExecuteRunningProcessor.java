@@ -17,11 +17,11 @@
 
 package org.apache.dolphinscheduler.server.master.processor;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteRunningCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerInFlightTaskTracker;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 
@@ -44,6 +44,9 @@ public class TaskExecuteRunningProcessor implements NettyRequestProcessor {
     @Autowired
     private TaskEventService taskEventService;
 
+    @Autowired
+    private WorkerInFlightTaskTracker workerInFlightTaskTracker;
+
     /**
      * task ack process
      *
@@ -55,8 +58,9 @@ public class TaskExecuteRunningProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.TASK_EXECUTE_RUNNING == command.getType(),
                 String.format("invalid command type : %s", command.getType()));
         TaskExecuteRunningCommand taskExecuteRunningMessage =
-                JSONUtils.parseObject(command.getBody(), TaskExecuteRunningCommand.class);
+                command.parseBody(TaskExecuteRunningCommand.class);
         logger.info("taskExecuteRunningCommand: {}", taskExecuteRunningMessage);
+        workerInFlightTaskTracker.onTaskReceived(taskExecuteRunningMessage.getTaskInstanceId());
 
         TaskEvent taskEvent = TaskEvent.newRunningEvent(taskExecuteRunningMessage,
                 channel,
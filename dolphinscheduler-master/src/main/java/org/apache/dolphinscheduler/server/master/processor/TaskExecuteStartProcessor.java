@@ -65,7 +65,7 @@ public class TaskExecuteStartProcessor implements NettyRequestProcessor {
                     taskExecuteStartCommand.getTaskDefinitionVersion());
             return;
         }
-        streamTaskExecuteThreadPool.execute(new StreamTaskExecuteRunnable(taskDefinition, taskExecuteStartCommand));
+        streamTaskExecuteThreadPool.submitStreamTask(new StreamTaskExecuteRunnable(taskDefinition, taskExecuteStartCommand));
 
         // response
         Command response = new Command(command.getOpaque());
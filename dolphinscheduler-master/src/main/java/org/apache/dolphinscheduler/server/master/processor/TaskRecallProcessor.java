@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.TaskRejectCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerInFlightTaskTracker;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
 import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
 import org.apache.dolphinscheduler.service.utils.LoggerUtils;
@@ -45,6 +46,9 @@ public class TaskRecallProcessor implements NettyRequestProcessor {
     @Autowired
     private TaskEventService taskEventService;
 
+    @Autowired
+    private WorkerInFlightTaskTracker workerInFlightTaskTracker;
+
     /**
      * task ack process
      *
@@ -61,6 +65,8 @@ public class TaskRecallProcessor implements NettyRequestProcessor {
             LoggerUtils.setWorkflowAndTaskInstanceIDMDC(recallCommand.getProcessInstanceId(),
                     recallCommand.getTaskInstanceId());
             logger.info("Receive task recall command: {}", recallCommand);
+            workerInFlightTaskTracker.onTaskRejected(recallCommand.getTaskInstanceId(),
+                    recallCommand.getMessageSenderAddress());
             taskEventService.addEvent(taskEvent);
         } finally {
             LoggerUtils.removeWorkflowAndTaskInstanceIdMDC();
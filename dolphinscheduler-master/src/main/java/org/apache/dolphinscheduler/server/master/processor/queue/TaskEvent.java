@@ -97,6 +97,14 @@ public class TaskEvent {
 
     private int processInstanceId;
 
+    /**
+     * The events received from the worker are resent by the worker until they are acked, the other events, e.g. the
+     * dispatch event created by the master, will never be resent.
+     */
+    public boolean isResentByWorker() {
+        return event == TaskEventType.RUNNING || event == TaskEventType.RESULT || event == TaskEventType.WORKER_REJECT;
+    }
+
     public static TaskEvent newDispatchEvent(int processInstanceId, int taskInstanceId, String workerAddress) {
         TaskEvent event = new TaskEvent();
         event.setProcessInstanceId(processInstanceId);
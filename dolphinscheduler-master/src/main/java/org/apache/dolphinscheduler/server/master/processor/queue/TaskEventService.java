@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.server.master.processor.queue;
 
-import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
 
@@ -25,7 +24,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -56,8 +54,6 @@ public class TaskEventService {
      */
     private Thread taskEventThread;
 
-    private Thread taskEventHandlerThread;
-
     @Autowired
     private TaskExecuteThreadPool taskExecuteThreadPool;
 
@@ -67,25 +63,18 @@ public class TaskEventService {
         logger.info("TaskEvent dispatch thread starting");
         this.taskEventThread.start();
         logger.info("TaskEvent dispatch thread started");
-
-        this.taskEventHandlerThread = new TaskEventHandlerThread();
-        logger.info("TaskEvent handle thread staring");
-        this.taskEventHandlerThread.start();
-        logger.info("TaskEvent handle thread started");
     }
 
     @PreDestroy
     public void stop() {
         try {
             this.taskEventThread.interrupt();
-            this.taskEventHandlerThread.interrupt();
             if (!eventQueue.isEmpty()) {
                 List<TaskEvent> remainEvents = new ArrayList<>(eventQueue.size());
                 eventQueue.drainTo(remainEvents);
                 for (TaskEvent taskEvent : remainEvents) {
                     taskExecuteThreadPool.submitTaskEvent(taskEvent);
                 }
-                taskExecuteThreadPool.eventHandler();
             }
         } catch (Exception e) {
             logger.error("TaskEventService stop error:", e);
@@ -114,7 +103,7 @@ public class TaskEventService {
         public void run() {
             while (!ServerLifeCycleManager.isStopped()) {
                 try {
-                    // if not task event, blocking here
+                    // if not task event, blocking here, the task event will be handled once it is put into the mailbox
                     TaskEvent taskEvent = eventQueue.take();
                     taskExecuteThreadPool.submitTaskEvent(taskEvent);
                 } catch (InterruptedException e) {
@@ -127,31 +116,4 @@ public class TaskEventService {
             logger.info("StateEventResponseWorker stopped");
         }
     }
-
-    /**
-     * event handler thread
-     */
-    class TaskEventHandlerThread extends BaseDaemonThread {
-
-        protected TaskEventHandlerThread() {
-            super("TaskEventHandlerThread");
-        }
-
-        @Override
-        public void run() {
-            logger.info("event handler thread started");
-            while (!ServerLifeCycleManager.isStopped()) {
-                try {
-                    taskExecuteThreadPool.eventHandler();
-                    TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.warn("TaskEvent handle thread interrupted, will return this loop");
-                    break;
-                } catch (Exception e) {
-                    logger.error("event handler thread error", e);
-                }
-            }
-        }
-    }
 }
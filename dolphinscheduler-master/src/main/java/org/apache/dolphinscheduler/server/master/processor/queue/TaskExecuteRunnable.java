@@ -18,19 +18,19 @@
 package org.apache.dolphinscheduler.server.master.processor.queue;
 
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
+import org.apache.dolphinscheduler.server.master.event.EventMailbox;
 import org.apache.dolphinscheduler.server.master.event.TaskEventHandleError;
 import org.apache.dolphinscheduler.server.master.event.TaskEventHandleException;
 import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
 import org.apache.dolphinscheduler.service.utils.LoggerUtils;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * task execute thread
+ * task execute thread, handle the task events of one workflow instance in its mailbox serially
  */
 public class TaskExecuteRunnable implements Runnable {
 
@@ -38,13 +38,18 @@ public class TaskExecuteRunnable implements Runnable {
 
     private final int processInstanceId;
 
-    private final ConcurrentLinkedQueue<TaskEvent> events = new ConcurrentLinkedQueue<>();
+    public static final String MAILBOX_TYPE = "task";
+
+    private final EventMailbox<TaskEvent> events;
 
     private final Map<TaskEventType, TaskEventHandler> taskEventHandlerMap;
 
-    public TaskExecuteRunnable(int processInstanceId, Map<TaskEventType, TaskEventHandler> taskEventHandlerMap) {
+    public TaskExecuteRunnable(int processInstanceId,
+                               Map<TaskEventType, TaskEventHandler> taskEventHandlerMap,
+                               int mailboxCapacity) {
         this.processInstanceId = processInstanceId;
         this.taskEventHandlerMap = taskEventHandlerMap;
+        this.events = new EventMailbox<>(MAILBOX_TYPE, mailboxCapacity);
     }
 
     @Override
@@ -99,7 +104,40 @@ public class TaskExecuteRunnable implements Runnable {
                     event.getTaskInstanceId(), event.getProcessInstanceId(), this.processInstanceId);
             return false;
         }
-        return this.events.add(event);
+        if (!event.isResentByWorker()) {
+            // the event created by the master will never be resent, e.g. if the dispatch event is dropped, the host of
+            // the task instance will not be persisted, then the task cannot be found by the worker failover
+            if (!this.events.forceOffer(event)) {
+                logger.warn("The task event mailbox is closed, the event will be dropped, event: {}", event);
+                return false;
+            }
+            return true;
+        }
+        if (!this.events.offer(event)) {
+            logger.warn("The task event mailbox is full or closed, the event will be resent by the worker, event: {}",
+                    event);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean markScheduled() {
+        return this.events.markScheduled();
+    }
+
+    public void clearScheduled() {
+        this.events.clearScheduled();
+    }
+
+    /**
+     * Close the mailbox after the workflow instance finished, the events received after closed will be rejected.
+     */
+    public void close() {
+        this.events.close();
+    }
+
+    public boolean isClosed() {
+        return this.events.isClosed();
     }
 
 }
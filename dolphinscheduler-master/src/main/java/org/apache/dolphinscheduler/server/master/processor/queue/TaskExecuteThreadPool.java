@@ -18,10 +18,15 @@
 package org.apache.dolphinscheduler.server.master.processor.queue;
 
 import org.apache.dolphinscheduler.common.enums.TaskEventType;
+import org.apache.dolphinscheduler.common.thread.ExecutorThreadMode;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.cache.StreamTaskInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
+import org.apache.dolphinscheduler.server.master.metrics.EventMailboxMetrics;
+import org.apache.dolphinscheduler.server.master.runner.StreamTaskExecuteRunnable;
+import org.apache.dolphinscheduler.server.master.runner.StreamTaskExecuteThreadPool;
 
 import java.util.HashMap;
 import java.util.List;
@@ -43,8 +48,6 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskExecuteThreadPool.class);
 
-    private final ConcurrentHashMap<String, TaskExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
-
     @Autowired
     private MasterConfig masterConfig;
 
@@ -57,10 +60,13 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
     @Autowired
     private StreamTaskInstanceExecCacheManager streamTaskInstanceExecCacheManager;
 
+    @Autowired
+    private StreamTaskExecuteThreadPool streamTaskExecuteThreadPool;
+
     private Map<TaskEventType, TaskEventHandler> taskEventHandlerMap = new HashMap<>();
 
     /**
-     * task event thread map
+     * task event mailbox of each workflow instance, the mailbox will be removed after the workflow instance finished
      */
     private final ConcurrentHashMap<Integer, TaskExecuteRunnable> taskExecuteThreadMap = new ConcurrentHashMap<>();
 
@@ -68,18 +74,30 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
     private void init() {
         this.setDaemon(true);
         this.setThreadNamePrefix("Task-Execute-Thread-");
+        if (masterConfig.getExecutorThreadMode() == ExecutorThreadMode.VIRTUAL) {
+            this.setThreadFactory(
+                    ThreadUtils.newDaemonThreadFactory("Task-Execute-Thread", ExecutorThreadMode.VIRTUAL));
+        }
         this.setMaxPoolSize(masterConfig.getExecThreads());
         this.setCorePoolSize(masterConfig.getExecThreads());
         taskEventHandlerList.forEach(
                 taskEventHandler -> taskEventHandlerMap.put(taskEventHandler.getHandleEventType(), taskEventHandler));
+        EventMailboxMetrics.registerMailboxGauge(TaskExecuteRunnable.MAILBOX_TYPE,
+                taskExecuteThreadMap::size,
+                () -> taskExecuteThreadMap.values().stream().mapToInt(TaskExecuteRunnable::eventSize).sum(),
+                () -> taskExecuteThreadMap.values().stream().mapToInt(TaskExecuteRunnable::eventSize).max()
+                        .orElse(0));
     }
 
     public void submitTaskEvent(TaskEvent taskEvent) {
         // stream task event handle
         if (taskEvent.getProcessInstanceId() == 0
                 && streamTaskInstanceExecCacheManager.contains(taskEvent.getTaskInstanceId())) {
-            streamTaskInstanceExecCacheManager.getByTaskInstanceId(taskEvent.getTaskInstanceId())
-                    .addTaskEvent(taskEvent);
+            StreamTaskExecuteRunnable streamTaskExecuteRunnable =
+                    streamTaskInstanceExecCacheManager.getByTaskInstanceId(taskEvent.getTaskInstanceId());
+            if (streamTaskExecuteRunnable.addTaskEvent(taskEvent)) {
+                streamTaskExecuteThreadPool.executeEvent(streamTaskExecuteRunnable);
+            }
             return;
         }
         if (!processInstanceExecCacheManager.contains(taskEvent.getProcessInstanceId())) {
@@ -87,52 +105,73 @@ public class TaskExecuteThreadPool extends ThreadPoolTaskExecutor {
             return;
         }
         TaskExecuteRunnable taskExecuteRunnable = taskExecuteThreadMap.computeIfAbsent(taskEvent.getProcessInstanceId(),
-                (processInstanceId) -> new TaskExecuteRunnable(processInstanceId, taskEventHandlerMap));
-        taskExecuteRunnable.addEvent(taskEvent);
+                (processInstanceId) -> new TaskExecuteRunnable(processInstanceId, taskEventHandlerMap,
+                        masterConfig.getEventMailboxCapacity()));
+        if (taskExecuteRunnable.addEvent(taskEvent)) {
+            executeEvent(taskExecuteRunnable);
+        }
     }
 
-    public void eventHandler() {
-        for (TaskExecuteRunnable taskExecuteThread : taskExecuteThreadMap.values()) {
-            executeEvent(taskExecuteThread);
+    /**
+     * Close and remove the mailbox of the given workflow instance, should be called after the workflow finished.
+     */
+    public void closeMailbox(int processInstanceId) {
+        TaskExecuteRunnable taskExecuteRunnable = taskExecuteThreadMap.remove(processInstanceId);
+        if (taskExecuteRunnable != null) {
+            taskExecuteRunnable.close();
+            logger.info("[WorkflowInstance-{}] Task event mailbox closed", processInstanceId);
         }
     }
 
+    /**
+     * Handle the task events of the given workflow instance, the runnable will be scheduled only if it is not
+     * scheduled.
+     */
     public void executeEvent(TaskExecuteRunnable taskExecuteThread) {
-        if (taskExecuteThread.isEmpty()) {
+        if (taskExecuteThread.isEmpty() || taskExecuteThread.isClosed()) {
             return;
         }
-        if (multiThreadFilterMap.containsKey(taskExecuteThread.getKey())) {
+        if (!taskExecuteThread.markScheduled()) {
             return;
         }
-        multiThreadFilterMap.put(taskExecuteThread.getKey(), taskExecuteThread);
-        ListenableFuture future = this.submitListenable(taskExecuteThread::run);
+        ListenableFuture future = this.submitListenable(() -> {
+            long startTime = System.currentTimeMillis();
+            try {
+                taskExecuteThread.run();
+            } finally {
+                EventMailboxMetrics.recordMailboxProcessTime(TaskExecuteRunnable.MAILBOX_TYPE,
+                        System.currentTimeMillis() - startTime);
+            }
+        });
         future.addCallback(new ListenableFutureCallback() {
 
             @Override
             public void onFailure(Throwable ex) {
                 Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
                 logger.error("[WorkflowInstance-{}] persist event failed", processInstanceId, ex);
-                if (!processInstanceExecCacheManager.contains(processInstanceId)) {
-                    taskExecuteThreadMap.remove(processInstanceId);
-                    logger.info(
-                            "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
-                            processInstanceId);
-                }
-                multiThreadFilterMap.remove(taskExecuteThread.getKey());
+                afterExecute(taskExecuteThread);
             }
 
             @Override
             public void onSuccess(Object result) {
                 Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
                 logger.info("[WorkflowInstance-{}] persist events succeeded", processInstanceId);
-                if (!processInstanceExecCacheManager.contains(processInstanceId)) {
-                    taskExecuteThreadMap.remove(processInstanceId);
-                    logger.info(
-                            "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
-                            processInstanceId);
-                }
-                multiThreadFilterMap.remove(taskExecuteThread.getKey());
+                afterExecute(taskExecuteThread);
             }
         });
     }
+
+    private void afterExecute(TaskExecuteRunnable taskExecuteThread) {
+        Integer processInstanceId = taskExecuteThread.getProcessInstanceId();
+        taskExecuteThread.clearScheduled();
+        if (!processInstanceExecCacheManager.contains(processInstanceId)) {
+            closeMailbox(processInstanceId);
+            logger.info(
+                    "[WorkflowInstance-{}] Cannot find processInstance from cacheManager, remove process instance from threadMap",
+                    processInstanceId);
+            return;
+        }
+        // the events added during handling will be lost if we don't check again
+        executeEvent(taskExecuteThread);
+    }
 }
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.scheduler.timewheel.SchedulePartitioner;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Assign the schedules to masters by the {@link MasterSlotRing}, the same as the commands, so when a master joins or
+ * leaves, only the schedules near its virtual nodes will be moved to other masters.
+ */
+@Component
+public class MasterSchedulePartitioner implements SchedulePartitioner {
+
+    @Autowired
+    private ServerNodeManager serverNodeManager;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Override
+    public boolean isOwner(int scheduleId) {
+        return masterConfig.getMasterAddress().equals(serverNodeManager.getMasterSlotRing().getOwner(scheduleId));
+    }
+}
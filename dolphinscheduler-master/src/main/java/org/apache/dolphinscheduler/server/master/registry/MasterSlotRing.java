@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.dao.model.CommandSlotRange;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Consistent hash ring used to assign the command slots to masters, the slot of a command is
+ * {@code commandId % SLOT_COUNT}. Each master is placed on the ring with {@link #VIRTUAL_NODE_NUM} virtual nodes and
+ * owns the slots between the previous virtual node (exclusive) and its virtual node (inclusive), so when a master
+ * joins or leaves, only the slots near its virtual nodes will be remapped.
+ */
+public class MasterSlotRing {
+
+    public static final int SLOT_COUNT = 1024;
+
+    public static final int VIRTUAL_NODE_NUM = 16;
+
+    private static final MasterSlotRing EMPTY = new MasterSlotRing(Collections.emptyList());
+
+    /**
+     * virtual node position -> master address
+     */
+    private final TreeMap<Integer, String> virtualNodes = new TreeMap<>();
+
+    public MasterSlotRing(Collection<String> masterAddresses) {
+        // sort the addresses so that all masters build the same ring when the virtual node positions collide
+        for (String masterAddress : new TreeSet<>(masterAddresses)) {
+            for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
+                virtualNodes.putIfAbsent(position(masterAddress + "#" + i), masterAddress);
+            }
+        }
+    }
+
+    public static MasterSlotRing empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return virtualNodes.isEmpty();
+    }
+
+    public static int getSlot(int commandId) {
+        return Math.floorMod(commandId, SLOT_COUNT);
+    }
+
+    /**
+     * Get the master address which owns the given command.
+     *
+     * @return master address, null if there is no master
+     */
+    public String getOwner(int commandId) {
+        if (virtualNodes.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Integer, String> entry = virtualNodes.ceilingEntry(getSlot(commandId));
+        if (entry == null) {
+            entry = virtualNodes.firstEntry();
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Get the slot ranges owned by the given master, the adjacent ranges will be merged.
+     */
+    public List<CommandSlotRange> getSlotRanges(String masterAddress) {
+        List<CommandSlotRange> slotRanges = new ArrayList<>();
+        if (virtualNodes.isEmpty()) {
+            return slotRanges;
+        }
+        int previousPosition = virtualNodes.lastKey() - SLOT_COUNT;
+        for (Map.Entry<Integer, String> virtualNode : virtualNodes.entrySet()) {
+            int position = virtualNode.getKey();
+            if (masterAddress.equals(virtualNode.getValue())) {
+                if (previousPosition < 0) {
+                    // the range wraps around the ring
+                    addSlotRange(slotRanges, previousPosition + 1 + SLOT_COUNT, SLOT_COUNT);
+                    addSlotRange(slotRanges, 0, position + 1);
+                } else {
+                    addSlotRange(slotRanges, previousPosition + 1, position + 1);
+                }
+            }
+            previousPosition = position;
+        }
+        slotRanges.sort((o1, o2) -> Integer.compare(o1.getStart(), o2.getStart()));
+        List<CommandSlotRange> mergedSlotRanges = new ArrayList<>();
+        for (CommandSlotRange slotRange : slotRanges) {
+            CommandSlotRange last =
+                    mergedSlotRanges.isEmpty() ? null : mergedSlotRanges.get(mergedSlotRanges.size() - 1);
+            if (last != null && last.getEnd() == slotRange.getStart()) {
+                last.setEnd(slotRange.getEnd());
+            } else {
+                mergedSlotRanges.add(slotRange);
+            }
+        }
+        return mergedSlotRanges;
+    }
+
+    private static void addSlotRange(List<CommandSlotRange> slotRanges, int start, int end) {
+        if (start < end) {
+            slotRanges.add(new CommandSlotRange(start, end));
+        }
+    }
+
+    private static int position(String key) {
+        return Math.floorMod(Hashing.murmur3_32_fixed().hashString(key, StandardCharsets.UTF_8).asInt(), SLOT_COUNT);
+    }
+}
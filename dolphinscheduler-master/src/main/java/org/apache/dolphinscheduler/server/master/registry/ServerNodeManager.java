@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.enums.NodeType;
 import org.apache.dolphinscheduler.common.model.Server;
 import org.apache.dolphinscheduler.common.model.WorkerHeartBeat;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.dao.AlertDao;
 import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
 import org.apache.dolphinscheduler.dao.mapper.WorkerGroupMapper;
@@ -116,6 +117,8 @@ public class ServerNodeManager implements InitializingBean {
 
     private volatile int totalSlot = 0;
 
+    private volatile MasterSlotRing masterSlotRing = MasterSlotRing.empty();
+
     public int getSlot() {
         return currentSlot;
     }
@@ -124,6 +127,25 @@ public class ServerNodeManager implements InitializingBean {
         return totalSlot;
     }
 
+    /**
+     * Get the consistent hash ring of the command slots, the ring will be rebuilt when the master nodes changed.
+     */
+    public MasterSlotRing getMasterSlotRing() {
+        return masterSlotRing;
+    }
+
+    /**
+     * Get the addresses of the active master nodes, including the current master.
+     */
+    public Set<String> getMasterNodes() {
+        masterLock.lock();
+        try {
+            return Collections.unmodifiableSet(new HashSet<>(masterNodes));
+        } finally {
+            masterLock.unlock();
+        }
+    }
+
     @Override
     public void afterPropertiesSet() {
 
@@ -236,6 +258,7 @@ public class ServerNodeManager implements InitializingBean {
     private void updateMasterNodes() {
         currentSlot = 0;
         totalSlot = 0;
+        masterSlotRing = MasterSlotRing.empty();
         this.masterNodes.clear();
         String nodeLock = Constants.REGISTRY_DOLPHINSCHEDULER_LOCK_MASTERS;
         try {
@@ -310,6 +333,9 @@ public class ServerNodeManager implements InitializingBean {
             if (index >= 0) {
                 totalSlot = nodes.size();
                 currentSlot = index;
+                masterSlotRing = new MasterSlotRing(masterNodes.stream()
+                        .map(server -> NetUtils.getAddr(server.getHost(), server.getPort()))
+                        .collect(Collectors.toList()));
             } else {
                 logger.warn("Current master is not in active master list");
             }
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.UpstreamFinishedNotifyCommand;
+import org.apache.dolphinscheduler.remote.processor.StateEventCallbackService;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wake up the dependent tasks once their upstream workflow/task instance finished.
+ * <p>
+ * The dependent task subscribes the workflow definitions and task codes it depends on when it is submitted, when an
+ * upstream instance finished in this master, the subscribed dependent tasks in this master are woken up directly and
+ * the other masters are notified by {@link UpstreamFinishedNotifyCommand}. The notifies are sent by a separate thread
+ * every {@link #NOTIFY_INTERVAL_MILLIS}, all the upstream instances finished in the interval are merged into one
+ * command per master, so the workflow event threads never wait for the rpc. The state wheel still checks the dependent
+ * tasks every {@link MasterConfig#getDependentCheckInterval()}, in case of the notify is lost.
+ */
+@Component
+public class DependentWakeUpManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependentWakeUpManager.class);
+
+    private static final long NOTIFY_INTERVAL_MILLIS = 100;
+
+    /**
+     * taskInstanceId -> subscriber
+     */
+    private final Map<Integer, DependentSubscriber> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * upstream definitionCode -> the taskInstanceIds of the subscribers
+     */
+    private final Map<Long, Set<Integer>> definitionSubscribers = new ConcurrentHashMap<>();
+
+    /**
+     * upstream definitionCode -> the finished task codes which are not notified to the other masters yet
+     */
+    private final Map<Long, Set<Long>> pendingNotifies = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Autowired
+    private DependentResultCacheManager dependentResultCacheManager;
+
+    @Autowired
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Autowired
+    private ServerNodeManager serverNodeManager;
+
+    @Autowired
+    private StateEventCallbackService stateEventCallbackService;
+
+    @Lazy
+    @Autowired
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    private ScheduledExecutorService notifyExecutor;
+
+    @PostConstruct
+    public void init() {
+        notifyExecutor = ThreadUtils.newDaemonScheduledExecutorService("DependentNotifyThread", 1);
+        notifyExecutor.scheduleWithFixedDelay(this::notifyOtherMasters, NOTIFY_INTERVAL_MILLIS,
+                NOTIFY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribe the upstream of the dependent task.
+     *
+     * @param processInstanceId the workflow instance of the dependent task
+     * @param taskInstanceId the dependent task instance
+     * @param taskCode the task code of the dependent task
+     * @param dependItems upstream definitionCode -> upstream task codes,
+     *                    {@link Constants#DEPENDENT_ALL_TASK_CODE} means the whole workflow
+     */
+    public void subscribe(int processInstanceId, int taskInstanceId, long taskCode, Map<Long, Set<Long>> dependItems) {
+        unsubscribe(taskInstanceId);
+        subscribers.put(taskInstanceId,
+                new DependentSubscriber(processInstanceId, taskInstanceId, taskCode, dependItems));
+        for (Long definitionCode : dependItems.keySet()) {
+            definitionSubscribers.computeIfAbsent(definitionCode, code -> ConcurrentHashMap.newKeySet())
+                    .add(taskInstanceId);
+        }
+        logger.info("Dependent task instance {} subscribed the upstream workflows: {}", taskInstanceId,
+                dependItems.keySet());
+    }
+
+    public void unsubscribe(int taskInstanceId) {
+        DependentSubscriber subscriber = subscribers.remove(taskInstanceId);
+        if (subscriber == null) {
+            return;
+        }
+        for (Long definitionCode : subscriber.getDependItems().keySet()) {
+            definitionSubscribers.computeIfPresent(definitionCode, (code, taskInstanceIds) -> {
+                taskInstanceIds.remove(taskInstanceId);
+                return taskInstanceIds.isEmpty() ? null : taskInstanceIds;
+            });
+        }
+        logger.info("Dependent task instance {} unsubscribed the upstream workflows", taskInstanceId);
+    }
+
+    /**
+     * A new instance of the workflow may change the last instance found by the dependent tasks, but it will not make
+     * any dependent task finished, so only the cached results in this master are invalidated.
+     */
+    public void onUpstreamStarted(long definitionCode) {
+        dependentResultCacheManager.invalidate(definitionCode);
+    }
+
+    /**
+     * The workflow/task instance finished in this master.
+     *
+     * @param definitionCode the workflow definition of the finished instance
+     * @param taskCode the finished task, {@link Constants#DEPENDENT_ALL_TASK_CODE} if the workflow instance finished
+     */
+    public void onUpstreamFinished(long definitionCode, long taskCode) {
+        handleUpstreamFinished(definitionCode, taskCode);
+        // the set is only changed inside compute, so the notify thread never misses a task code added after its remove
+        pendingNotifies.compute(definitionCode, (code, taskCodes) -> {
+            Set<Long> pendingTaskCodes = taskCodes == null ? new HashSet<>() : taskCodes;
+            pendingTaskCodes.add(taskCode);
+            return pendingTaskCodes;
+        });
+    }
+
+    /**
+     * The workflow/task instance finished in other master, see {@link #onUpstreamFinished(long, long)}.
+     */
+    public void onRemoteUpstreamFinished(long definitionCode, long taskCode) {
+        handleUpstreamFinished(definitionCode, taskCode);
+    }
+
+    private void handleUpstreamFinished(long definitionCode, long taskCode) {
+        dependentResultCacheManager.invalidate(definitionCode);
+        Set<Integer> taskInstanceIds = definitionSubscribers.getOrDefault(definitionCode, Collections.emptySet());
+        for (Integer taskInstanceId : taskInstanceIds) {
+            DependentSubscriber subscriber = subscribers.get(taskInstanceId);
+            if (subscriber == null || !subscriber.isInterested(definitionCode, taskCode)) {
+                continue;
+            }
+            if (processInstanceExecCacheManager.getByProcessInstanceId(subscriber.getProcessInstanceId()) == null) {
+                // the workflow is not running in this master anymore, e.g. it has been failover
+                unsubscribe(taskInstanceId);
+                continue;
+            }
+            TaskStateEvent stateEvent = TaskStateEvent.builder()
+                    .processInstanceId(subscriber.getProcessInstanceId())
+                    .taskInstanceId(subscriber.getTaskInstanceId())
+                    .taskCode(subscriber.getTaskCode())
+                    .type(StateEventType.TASK_STATE_CHANGE)
+                    .status(TaskExecutionStatus.RUNNING_EXECUTION)
+                    .build();
+            workflowExecuteThreadPool.submitStateEvent(stateEvent);
+        }
+    }
+
+    private void notifyOtherMasters() {
+        if (pendingNotifies.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, Set<Long>> finishedTaskCodes = new HashMap<>();
+            for (Long definitionCode : pendingNotifies.keySet()) {
+                Set<Long> taskCodes = pendingNotifies.remove(definitionCode);
+                if (taskCodes == null) {
+                    continue;
+                }
+                // the workflow finished wakes up all the subscribers of the workflow, the finished tasks are redundant
+                finishedTaskCodes.put(definitionCode, taskCodes.contains(Constants.DEPENDENT_ALL_TASK_CODE)
+                        ? Collections.singleton(Constants.DEPENDENT_ALL_TASK_CODE)
+                        : taskCodes);
+            }
+            List<String> otherMasters = serverNodeManager.getMasterNodes().stream()
+                    .filter(masterAddress -> !masterAddress.equals(masterConfig.getMasterAddress()))
+                    .collect(Collectors.toList());
+            if (finishedTaskCodes.isEmpty() || otherMasters.isEmpty()) {
+                return;
+            }
+            Command command = new UpstreamFinishedNotifyCommand(finishedTaskCodes).convert2Command();
+            for (String masterAddress : otherMasters) {
+                try {
+                    stateEventCallbackService.sendResult(Host.of(masterAddress), command);
+                } catch (Exception e) {
+                    logger.warn(
+                            "Notify upstream finished to master {} error, the dependent tasks will be checked later",
+                            masterAddress, e);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Notify upstream finished to other masters error", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class DependentSubscriber {
+
+        private final int processInstanceId;
+        private final int taskInstanceId;
+        private final long taskCode;
+        private final Map<Long, Set<Long>> dependItems;
+
+        private boolean isInterested(long definitionCode, long finishedTaskCode) {
+            Set<Long> taskCodes = dependItems.get(definitionCode);
+            if (taskCodes == null) {
+                return false;
+            }
+            // the workflow finished may change the result of any dependent item of this workflow
+            return finishedTaskCode == Constants.DEPENDENT_ALL_TASK_CODE || taskCodes.contains(finishedTaskCode);
+        }
+    }
+}
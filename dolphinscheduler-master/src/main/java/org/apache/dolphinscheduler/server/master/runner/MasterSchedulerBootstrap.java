@@ -26,6 +26,7 @@ import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.model.CommandSlotRange;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
@@ -38,6 +39,7 @@ import org.apache.dolphinscheduler.server.master.event.WorkflowEventType;
 import org.apache.dolphinscheduler.server.master.exception.MasterException;
 import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.metrics.ProcessInstanceMetrics;
+import org.apache.dolphinscheduler.server.master.registry.MasterSlotRing;
 import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.command.CommandService;
@@ -47,11 +49,16 @@ import org.apache.dolphinscheduler.service.utils.LoggerUtils;
 
 import org.apache.commons.collections4.CollectionUtils;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -81,6 +88,9 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     @Autowired
     private TaskDefinitionLogDao taskDefinitionLogDao;
 
+    @Autowired
+    private DependentWakeUpManager dependentWakeUpManager;
+
     @Autowired
     private MasterConfig masterConfig;
 
@@ -115,6 +125,22 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
 
     private String masterAddress;
 
+    /**
+     * Released when a command owned by this master is inserted or a handling command finished, the command loop will
+     * wait on it when there is no command, so that we don't need to poll the database frequently.
+     */
+    private final Semaphore commandLoopSignal = new Semaphore(0);
+
+    /**
+     * The commands which are being transformed to workflow instance, these commands will not be fetched again.
+     */
+    private final Set<Integer> handlingCommandIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Limit the handling commands, so that the commands will not pile up in the prepare exec service.
+     */
+    private Semaphore commandHandlePermits;
+
     protected MasterSchedulerBootstrap() {
         super("MasterCommandLoopThread");
     }
@@ -124,7 +150,10 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
      */
     public void init() {
         this.masterPrepareExecService = (ThreadPoolExecutor) ThreadUtils
-                .newDaemonFixedThreadExecutor("MasterPreExecThread", masterConfig.getPreExecThreads());
+                .newDaemonFixedThreadExecutor("MasterPreExecThread", masterConfig.getPreExecThreads(),
+                        masterConfig.getExecutorThreadMode());
+        this.commandHandlePermits =
+                new Semaphore(Math.max(masterConfig.getPreExecThreads(), masterConfig.getFetchCommandNum()));
         this.masterAddress = NetUtils.getAddr(masterConfig.getListenPort());
     }
 
@@ -155,7 +184,6 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                             this.masterAddress);
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                 }
-                // todo: if the workflow event queue is much, we need to handle the back pressure
                 boolean isOverload =
                         OSUtils.isOverload(masterConfig.getMaxCpuLoadAvg(), masterConfig.getReservedMemory());
                 if (isOverload) {
@@ -164,46 +192,41 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
                     Thread.sleep(Constants.SLEEP_TIME_MILLIS);
                     continue;
                 }
-                List<Command> commands = findCommands();
-                if (CollectionUtils.isEmpty(commands)) {
-                    // indicate that no command ,sleep for 1s
-                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                // back pressure: the workflow event looper cannot catch up, stop generating new workflow instances
+                int workflowEventQueueSize = workflowEventQueue.size();
+                if (workflowEventQueueSize >= masterConfig.getMaxWorkflowEventQueueSize()) {
+                    logger.warn(
+                            "The current server {} workflow event queue size: {} is too large, cannot consumes commands.",
+                            this.masterAddress, workflowEventQueueSize);
+                    MasterServerMetrics.incMasterOverload();
+                    Thread.sleep(Constants.SLEEP_TIME_MILLIS_SHORT);
                     continue;
                 }
-
-                List<ProcessInstance> processInstances = command2ProcessInstance(commands);
-                if (CollectionUtils.isEmpty(processInstances)) {
-                    // indicate that the command transform to processInstance error, sleep for 1s
-                    Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                // drain the signal before fetching, the notify received during fetching will trigger the next loop
+                commandLoopSignal.drainPermits();
+                // take the snapshot before fetching, the command finished after the snapshot has been deleted
+                // from the database before it removed from the handling set, so it will never be fetched again
+                Set<Integer> handlingCommandSnapshot = new HashSet<>(handlingCommandIds);
+                List<Command> fetchedCommands = findCommands();
+                List<Command> commands = fetchedCommands.stream()
+                        .filter(command -> !handlingCommandSnapshot.contains(command.getId()))
+                        .collect(Collectors.toList());
+                if (CollectionUtils.isEmpty(commands)) {
+                    // indicate that no command, wait until a command is inserted/handled or the fetch interval is
+                    // reached
+                    waitForCommandLoopSignal();
                     continue;
                 }
+                // the page is full, there may be more commands behind it in the database
+                CommandFetchRound commandFetchRound = new CommandFetchRound(commands.size(),
+                        fetchedCommands.size() >= masterConfig.getFetchCommandNum());
+                for (Command command : commands) {
+                    // bounded the handling commands, the loop will be blocked until a handling command finished
+                    commandHandlePermits.acquire();
+                    handlingCommandIds.add(command.getId());
+                    masterPrepareExecService.execute(() -> handleCommand(command, commandFetchRound));
+                }
                 MasterServerMetrics.incMasterConsumeCommand(commands.size());
-
-                processInstances.forEach(processInstance -> {
-                    try {
-                        LoggerUtils.setWorkflowInstanceIdMDC(processInstance.getId());
-                        if (processInstanceExecCacheManager.contains(processInstance.getId())) {
-                            logger.error(
-                                    "The workflow instance is already been cached, this case shouldn't be happened");
-                        }
-                        WorkflowExecuteRunnable workflowRunnable = new WorkflowExecuteRunnable(processInstance,
-                                commandService,
-                                processService,
-                                processInstanceDao,
-                                nettyExecutorManager,
-                                processAlertManager,
-                                masterConfig,
-                                stateWheelExecuteThread,
-                                curingGlobalParamsService,
-                                taskInstanceDao,
-                                taskDefinitionLogDao);
-                        processInstanceExecCacheManager.cache(processInstance.getId(), workflowRunnable);
-                        workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW,
-                                processInstance.getId()));
-                    } finally {
-                        LoggerUtils.removeWorkflowInstanceIdMDC();
-                    }
-                });
             } catch (InterruptedException interruptedException) {
                 logger.warn("Master schedule bootstrap interrupted, close the loop", interruptedException);
                 Thread.currentThread().interrupt();
@@ -216,67 +239,128 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         }
     }
 
-    private List<ProcessInstance> command2ProcessInstance(List<Command> commands) throws InterruptedException {
+    /**
+     * Notify the command loop that a command has been inserted, only the master owns the command slot will be woken up.
+     *
+     * @param commandId the inserted command id
+     */
+    public void notifyCommandInserted(int commandId) {
+        String owner = serverNodeManager.getMasterSlotRing().getOwner(commandId);
+        if (owner == null || !owner.equals(masterAddress)) {
+            return;
+        }
+        signalCommandLoop();
+    }
+
+    private void signalCommandLoop() {
+        if (commandLoopSignal.availablePermits() == 0) {
+            commandLoopSignal.release();
+        }
+    }
+
+    private void waitForCommandLoopSignal() throws InterruptedException {
+        boolean notified = commandLoopSignal.tryAcquire(masterConfig.getCommandFetchInterval().toMillis(),
+                TimeUnit.MILLISECONDS);
+        if (notified) {
+            logger.debug("Master schedule bootstrap is woken up by command notify");
+        }
+    }
+
+    /**
+     * Transform the command to workflow instance and submit it to the workflow event queue, each command is handled
+     * independently, so a slow command will not block the others.
+     */
+    private void handleCommand(Command command, CommandFetchRound commandFetchRound) {
         long commandTransformStartTime = System.currentTimeMillis();
-        logger.info("Master schedule bootstrap transforming command to ProcessInstance, commandSize: {}",
-                commands.size());
-        List<ProcessInstance> processInstances = Collections.synchronizedList(new ArrayList<>(commands.size()));
-        CountDownLatch latch = new CountDownLatch(commands.size());
-        for (final Command command : commands) {
-            masterPrepareExecService.execute(() -> {
-                try {
-                    // Note: this check is not safe, the slot may change after command transform.
-                    // We use the database transaction in `handleCommand` so that we can guarantee the command will
-                    // always be executed
-                    // by only one master
-                    SlotCheckState slotCheckState = slotCheck(command);
-                    if (slotCheckState.equals(SlotCheckState.CHANGE) || slotCheckState.equals(SlotCheckState.INJECT)) {
-                        logger.info("Master handle command {} skip, slot check state: {}", command.getId(),
-                                slotCheckState);
-                        return;
-                    }
-                    ProcessInstance processInstance = processService.handleCommand(masterAddress, command);
-                    if (processInstance != null) {
-                        processInstances.add(processInstance);
-                        logger.info("Master handle command {} end, create process instance {}", command.getId(),
-                                processInstance.getId());
-                    }
-                } catch (Exception e) {
-                    logger.error("Master handle command {} error ", command.getId(), e);
-                    commandService.moveToErrorCommand(command, e.toString());
-                } finally {
-                    latch.countDown();
-                }
-            });
+        // signal the loop at once when the command has been removed from the database, the skipped commands only
+        // signal the loop once their fetch round finished, otherwise the loop would fetch them again and again
+        boolean commandConsumed = false;
+        try {
+            // Note: this check is not safe, the slot may change after command transform.
+            // We use the database transaction in `handleCommand` so that we can guarantee the command will
+            // always be executed
+            // by only one master
+            SlotCheckState slotCheckState = slotCheck(command);
+            if (slotCheckState.equals(SlotCheckState.CHANGE) || slotCheckState.equals(SlotCheckState.INJECT)) {
+                logger.info("Master handle command {} skip, slot check state: {}", command.getId(),
+                        slotCheckState);
+                // the slot ring has changed, the next fetch will use the new slot ranges
+                commandFetchRound.markCommandsLeftBehind();
+                return;
+            }
+            ProcessInstance processInstance = processService.handleCommand(masterAddress, command);
+            // the command has been deleted or moved to the error table even if no workflow instance is created
+            commandConsumed = true;
+            if (processInstance == null) {
+                return;
+            }
+            logger.info("Master handle command {} end, create process instance {}", command.getId(),
+                    processInstance.getId());
+            ProcessInstanceMetrics
+                    .recordProcessInstanceGenerateTime(System.currentTimeMillis() - commandTransformStartTime);
+            submitWorkflowInstance(processInstance);
+        } catch (Exception e) {
+            logger.error("Master handle command {} error ", command.getId(), e);
+            commandService.moveToErrorCommand(command, e.toString());
+            commandConsumed = true;
+        } finally {
+            handlingCommandIds.remove(command.getId());
+            commandHandlePermits.release();
+            boolean commandsLeftBehind = commandFetchRound.finishCommand();
+            if (commandConsumed || commandsLeftBehind) {
+                signalCommandLoop();
+            }
         }
+    }
 
-        // make sure to finish handling command each time before next scan
-        latch.await();
-        logger.info(
-                "Master schedule bootstrap transformed command to ProcessInstance, commandSize: {}, processInstanceSize: {}",
-                commands.size(), processInstances.size());
-        ProcessInstanceMetrics
-                .recordProcessInstanceGenerateTime(System.currentTimeMillis() - commandTransformStartTime);
-        return processInstances;
+    private void submitWorkflowInstance(ProcessInstance processInstance) {
+        try {
+            LoggerUtils.setWorkflowInstanceIdMDC(processInstance.getId());
+            if (processInstanceExecCacheManager.contains(processInstance.getId())) {
+                logger.error(
+                        "The workflow instance is already been cached, this case shouldn't be happened");
+            }
+            WorkflowExecuteRunnable workflowRunnable = new WorkflowExecuteRunnable(processInstance,
+                    commandService,
+                    processService,
+                    processInstanceDao,
+                    nettyExecutorManager,
+                    processAlertManager,
+                    masterConfig,
+                    stateWheelExecuteThread,
+                    curingGlobalParamsService,
+                    taskInstanceDao,
+                    taskDefinitionLogDao,
+                    dependentWakeUpManager);
+            processInstanceExecCacheManager.cache(processInstance.getId(), workflowRunnable);
+            workflowEventQueue.addEvent(new WorkflowEvent(WorkflowEventType.START_WORKFLOW,
+                    processInstance.getId()));
+        } finally {
+            LoggerUtils.removeWorkflowInstanceIdMDC();
+        }
     }
 
     private List<Command> findCommands() throws MasterException {
         try {
             long scheduleStartTime = System.currentTimeMillis();
-            int thisMasterSlot = serverNodeManager.getSlot();
-            int masterCount = serverNodeManager.getMasterSize();
-            if (masterCount <= 0) {
-                logger.warn("Master count: {} is invalid, the current slot: {}", masterCount, thisMasterSlot);
+            MasterSlotRing masterSlotRing = serverNodeManager.getMasterSlotRing();
+            if (masterSlotRing.isEmpty()) {
+                logger.warn("Master slot ring is empty, the current master: {}", masterAddress);
+                return Collections.emptyList();
+            }
+            List<CommandSlotRange> slotRanges = masterSlotRing.getSlotRanges(masterAddress);
+            if (CollectionUtils.isEmpty(slotRanges)) {
+                logger.warn("The current master: {} doesn't own any command slot", masterAddress);
                 return Collections.emptyList();
             }
             int pageSize = masterConfig.getFetchCommandNum();
             final List<Command> result =
-                    commandService.findCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
+                    commandService.findCommandPageBySlotRanges(pageSize, MasterSlotRing.SLOT_COUNT, slotRanges);
             if (CollectionUtils.isNotEmpty(result)) {
                 long cost = System.currentTimeMillis() - scheduleStartTime;
                 logger.info(
-                        "Master schedule bootstrap loop command success, fetch command size: {}, cost: {}ms, current slot: {}, total slot size: {}",
-                        result.size(), cost, thisMasterSlot, masterCount);
+                        "Master schedule bootstrap loop command success, fetch command size: {}, cost: {}ms, current slot ranges: {}",
+                        result.size(), cost, slotRanges);
                 ProcessInstanceMetrics.recordCommandQueryTime(cost);
             }
             return result;
@@ -286,12 +370,11 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
     }
 
     private SlotCheckState slotCheck(Command command) {
-        int slot = serverNodeManager.getSlot();
-        int masterSize = serverNodeManager.getMasterSize();
+        MasterSlotRing masterSlotRing = serverNodeManager.getMasterSlotRing();
         SlotCheckState state;
-        if (masterSize <= 0) {
+        if (masterSlotRing.isEmpty()) {
             state = SlotCheckState.CHANGE;
-        } else if (command.getId() % masterSize == slot) {
+        } else if (masterAddress.equals(masterSlotRing.getOwner(command.getId()))) {
             state = SlotCheckState.PASS;
         } else {
             state = SlotCheckState.INJECT;
@@ -299,4 +382,32 @@ public class MasterSchedulerBootstrap extends BaseDaemonThread implements AutoCl
         return state;
     }
 
+    /**
+     * The commands fetched in one loop. When the last command of the round finished, the loop will be signalled if the
+     * round left commands behind, e.g. the fetched page is full or some commands are skipped by the slot check, so that
+     * these commands will be fetched without waiting for the fetch interval.
+     */
+    private static final class CommandFetchRound {
+
+        private final AtomicInteger unfinishedCommands;
+
+        private volatile boolean commandsLeftBehind;
+
+        CommandFetchRound(int commandSize, boolean pageFull) {
+            this.unfinishedCommands = new AtomicInteger(commandSize);
+            this.commandsLeftBehind = pageFull;
+        }
+
+        void markCommandsLeftBehind() {
+            commandsLeftBehind = true;
+        }
+
+        /**
+         * @return true if this is the last command of the round and the round left commands behind
+         */
+        boolean finishCommand() {
+            return unfinishedCommands.decrementAndGet() == 0 && commandsLeftBehind;
+        }
+    }
+
 }
@@ -23,7 +23,7 @@ import org.apache.dolphinscheduler.common.enums.TimeoutFlag;
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
 import org.apache.dolphinscheduler.common.lifecycle.ServerLifeCycleManager;
 import org.apache.dolphinscheduler.common.thread.BaseDaemonThread;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.HashedTimingWheel;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -32,11 +32,14 @@ import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheM
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
 import org.apache.dolphinscheduler.server.master.event.WorkflowStateEvent;
+import org.apache.dolphinscheduler.server.master.metrics.MasterServerMetrics;
 import org.apache.dolphinscheduler.server.master.runner.task.TaskInstanceKey;
 import org.apache.dolphinscheduler.service.utils.LoggerUtils;
 
+import java.util.Date;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 
 import javax.annotation.PostConstruct;
 
@@ -51,34 +54,39 @@ import org.springframework.stereotype.Component;
 /**
  * Check thread
  * 1. timeout task check
- * 2. dependent task state check
+ * 2. dependent task state check, the fallback of {@link DependentWakeUpManager}
  * 3. retry task check
  * 4. timeout process check
+ * <p>
+ * Each check is backed by a {@link HashedTimingWheel} keyed by the next check time, so each tick only touches the
+ * instances need to be checked at this tick rather than all the instances.
  */
 @Component
 public class StateWheelExecuteThread extends BaseDaemonThread {
 
     private static final Logger logger = LoggerFactory.getLogger(StateWheelExecuteThread.class);
 
+    private static final int WHEEL_SIZE = 512;
+
     /**
-     * ProcessInstance timeout check list, element is the processInstanceId.
+     * ProcessInstance timeout check wheel, element is the processInstanceId.
      */
-    private final ConcurrentLinkedQueue<Integer> processInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<Integer> processInstanceTimeoutCheckWheel;
 
     /**
-     * task time out check list
+     * task time out check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceTimeoutCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceTimeoutCheckWheel;
 
     /**
-     * task retry check list
+     * task retry check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceRetryCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceRetryCheckWheel;
 
     /**
-     * task state check list
+     * task state check wheel
      */
-    private final ConcurrentLinkedQueue<TaskInstanceKey> taskInstanceStateCheckList = new ConcurrentLinkedQueue<>();
+    private HashedTimingWheel<TaskInstanceKey> taskInstanceStateCheckWheel;
 
     @Autowired
     private MasterConfig masterConfig;
@@ -90,24 +98,39 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     @Autowired
     private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
 
+    private long checkInterval;
+
+    private long dependentCheckInterval;
+
     protected StateWheelExecuteThread() {
         super("StateWheelExecuteThread");
     }
 
     @PostConstruct
     public void startWheelThread() {
+        checkInterval = masterConfig.getStateWheelInterval().toMillis();
+        dependentCheckInterval = Math.max(checkInterval, masterConfig.getDependentCheckInterval().toMillis());
+        long now = System.currentTimeMillis();
+        processInstanceTimeoutCheckWheel = new HashedTimingWheel<>(checkInterval, WHEEL_SIZE, now);
+        taskInstanceTimeoutCheckWheel = new HashedTimingWheel<>(checkInterval, WHEEL_SIZE, now);
+        taskInstanceRetryCheckWheel = new HashedTimingWheel<>(checkInterval, WHEEL_SIZE, now);
+        taskInstanceStateCheckWheel = new HashedTimingWheel<>(checkInterval, WHEEL_SIZE, now);
+        MasterServerMetrics.registerStateWheelSizeGauge("workflow_timeout", processInstanceTimeoutCheckWheel::size);
+        MasterServerMetrics.registerStateWheelSizeGauge("task_timeout", taskInstanceTimeoutCheckWheel::size);
+        MasterServerMetrics.registerStateWheelSizeGauge("task_retry", taskInstanceRetryCheckWheel::size);
+        MasterServerMetrics.registerStateWheelSizeGauge("task_state", taskInstanceStateCheckWheel::size);
         super.start();
     }
 
     @Override
     public void run() {
-        final long checkInterval = masterConfig.getStateWheelInterval().toMillis();
         while (!ServerLifeCycleManager.isStopped()) {
+            long now = System.currentTimeMillis();
             try {
-                checkTask4Timeout();
-                checkTask4Retry();
-                checkTask4State();
-                checkProcess4Timeout();
+                checkTask4Timeout(now);
+                checkTask4Retry(now);
+                checkTask4State(now);
+                checkProcess4Timeout(now);
             } catch (Exception e) {
                 logger.error("state wheel thread check error:", e);
             }
@@ -121,23 +144,29 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
         }
     }
 
+    /**
+     * Record how late the expired checks are executed after their deadline.
+     */
+    private LongConsumer expireDelayRecorder(long now) {
+        return deadline -> MasterServerMetrics.recordStateWheelExpireDelay(now - deadline);
+    }
+
     public void addProcess4TimeoutCheck(ProcessInstance processInstance) {
-        processInstanceTimeoutCheckList.add(processInstance.getId());
+        long deadline = getDeadline(processInstance.getStartTime(),
+                (long) processInstance.getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT, System.currentTimeMillis());
+        processInstanceTimeoutCheckWheel.add(processInstance.getId(), deadline);
         logger.info("Success add workflow instance {} into timeout check list", processInstance.getId());
     }
 
     public void removeProcess4TimeoutCheck(int processInstanceId) {
-        boolean removeFlag = processInstanceTimeoutCheckList.remove(processInstanceId);
+        boolean removeFlag = processInstanceTimeoutCheckWheel.remove(processInstanceId);
         if (removeFlag) {
             logger.info("Success remove workflow instance {} from timeout check list", processInstanceId);
         }
     }
 
-    private void checkProcess4Timeout() {
-        if (processInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (Integer processInstanceId : processInstanceTimeoutCheckList) {
+    private void checkProcess4Timeout(long now) {
+        for (Integer processInstanceId : processInstanceTimeoutCheckWheel.advance(now, expireDelayRecorder(now))) {
             try {
                 LoggerUtils.setWorkflowInstanceIdMDC(processInstanceId);
                 WorkflowExecuteRunnable workflowExecuteThread = processInstanceExecCacheManager.getByProcessInstanceId(
@@ -145,7 +174,6 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 if (workflowExecuteThread == null) {
                     logger.warn(
                             "Check workflow timeout failed, can not find workflowExecuteThread from cache manager, will remove this workflowInstance from check list");
-                    processInstanceTimeoutCheckList.remove(processInstanceId);
                     continue;
                 }
                 ProcessInstance processInstance = workflowExecuteThread.getProcessInstance();
@@ -153,17 +181,18 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     logger.warn("Check workflow timeout failed, the workflowInstance is null");
                     continue;
                 }
-                long timeRemain = DateUtils.getRemainTime(processInstance.getStartTime(),
-                        (long) processInstance.getTimeout()
-                                * Constants.SEC_2_MINUTES_TIME_UNIT);
-                if (timeRemain < 0) {
-                    logger.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
-                    addProcessTimeoutEvent(processInstance);
-                    processInstanceTimeoutCheckList.remove(processInstance.getId());
-                    logger.info("Workflow instance timeout, added timeout event");
+                long deadline = getDeadline(processInstance.getStartTime(),
+                        (long) processInstance.getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT, now);
+                if (deadline > now) {
+                    processInstanceTimeoutCheckWheel.add(processInstanceId, deadline);
+                    continue;
                 }
+                logger.info("Workflow instance {} timeout, adding timeout event", processInstance.getId());
+                addProcessTimeoutEvent(processInstance);
+                logger.info("Workflow instance timeout, added timeout event");
             } catch (Exception ex) {
-                logger.error("Check workflow instance timeout error");
+                logger.error("Check workflow instance timeout error, will check it again at the next tick", ex);
+                processInstanceTimeoutCheckWheel.add(processInstanceId, now + checkInterval);
             } finally {
                 LoggerUtils.removeWorkflowInstanceIdMDC();
             }
@@ -173,7 +202,7 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
     public void addTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
         logger.info("Adding task instance into timeout check list");
-        if (taskInstanceTimeoutCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceTimeoutCheckWheel.contains(taskInstanceKey)) {
             logger.warn("Task instance is already in timeout check list");
             return;
         }
@@ -182,26 +211,26 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             logger.error("Failed to add task instance into timeout check list, taskDefinition is null");
             return;
         }
+        // only the task whose timeout flag is open need to be checked, including the dependent and sub process task
         if (TimeoutFlag.OPEN == taskDefinition.getTimeoutFlag()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
+            long deadline = getDeadline(taskInstance.getStartTime(),
+                    (long) taskDefinition.getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT,
+                    System.currentTimeMillis());
+            taskInstanceTimeoutCheckWheel.add(taskInstanceKey, deadline);
             logger.info("Timeout flag is open, added task instance into timeout check list");
         }
-        if (taskInstance.isDependTask() || taskInstance.isSubProcess()) {
-            taskInstanceTimeoutCheckList.add(taskInstanceKey);
-            logger.info("task instance is dependTask orSubProcess, added task instance into timeout check list");
-        }
     }
 
     public void removeTask4TimeoutCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+        taskInstanceTimeoutCheckWheel.remove(taskInstanceKey);
         logger.info("remove task instance from timeout check list");
     }
 
     public void addTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         logger.info("Adding task instance into retry check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceRetryCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceRetryCheckWheel.contains(taskInstanceKey)) {
             logger.warn("Task instance is already in retry check list");
             return;
         }
@@ -210,48 +239,45 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
             logger.error("Add task instance into retry check list error, taskDefinition is null");
             return;
         }
-        taskInstanceRetryCheckList.add(taskInstanceKey);
+        taskInstanceRetryCheckWheel.add(taskInstanceKey, System.currentTimeMillis());
         logger.info("[WorkflowInstance-{}][TaskInstanceKey-{}:{}] Added task instance into retry check list",
                 processInstance.getId(), taskInstance.getTaskCode(), taskInstance.getTaskDefinitionVersion());
     }
 
     public void removeTask4RetryCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceRetryCheckList.remove(taskInstanceKey);
+        taskInstanceRetryCheckWheel.remove(taskInstanceKey);
         logger.info("remove task instance from retry check list");
     }
 
     public void addTask4StateCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         logger.info("Adding task instance into state check list");
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        if (taskInstanceStateCheckList.contains(taskInstanceKey)) {
+        if (taskInstanceStateCheckWheel.contains(taskInstanceKey)) {
             logger.warn("Task instance is already in state check list");
             return;
         }
         if (taskInstance.isDependTask() || taskInstance.isSubProcess()) {
-            taskInstanceStateCheckList.add(taskInstanceKey);
+            taskInstanceStateCheckWheel.add(taskInstanceKey, System.currentTimeMillis());
             logger.info("Added task instance into state check list");
         }
     }
 
     public void removeTask4StateCheck(@NonNull ProcessInstance processInstance, @NonNull TaskInstance taskInstance) {
         TaskInstanceKey taskInstanceKey = TaskInstanceKey.getTaskInstanceKey(processInstance, taskInstance);
-        taskInstanceStateCheckList.remove(taskInstanceKey);
+        taskInstanceStateCheckWheel.remove(taskInstanceKey);
         logger.info("Removed task instance from state check list");
     }
 
     public void clearAllTasks() {
-        processInstanceTimeoutCheckList.clear();
-        taskInstanceTimeoutCheckList.clear();
-        taskInstanceRetryCheckList.clear();
-        taskInstanceStateCheckList.clear();
+        processInstanceTimeoutCheckWheel.clear();
+        taskInstanceTimeoutCheckWheel.clear();
+        taskInstanceRetryCheckWheel.clear();
+        taskInstanceStateCheckWheel.clear();
     }
 
-    private void checkTask4Timeout() {
-        if (taskInstanceTimeoutCheckList.isEmpty()) {
-            return;
-        }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckList) {
+    private void checkTask4Timeout(long now) {
+        for (TaskInstanceKey taskInstanceKey : taskInstanceTimeoutCheckWheel.advance(now, expireDelayRecorder(now))) {
             try {
                 int processInstanceId = taskInstanceKey.getProcessInstanceId();
                 LoggerUtils.setWorkflowInstanceIdMDC(processInstanceId);
@@ -262,7 +288,6 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 if (workflowExecuteThread == null) {
                     logger.warn(
                             "Check task instance timeout failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
                     continue;
                 }
                 Optional<TaskInstance> taskInstanceOptional =
@@ -272,34 +297,33 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                             "Check task instance timeout failed, can not get taskInstance from workflowExecuteThread, taskCode: {}"
                                     + "will remove this check task",
                             taskCode);
-                    taskInstanceTimeoutCheckList.remove(taskInstanceKey);
                     continue;
                 }
                 TaskInstance taskInstance = taskInstanceOptional.get();
                 if (TimeoutFlag.OPEN == taskInstance.getTaskDefine().getTimeoutFlag()) {
-                    long timeRemain = DateUtils.getRemainTime(taskInstance.getStartTime(),
-                            (long) taskInstance.getTaskDefine().getTimeout()
-                                    * Constants.SEC_2_MINUTES_TIME_UNIT);
-                    if (timeRemain < 0) {
-                        logger.info("Task instance is timeout, adding task timeout event and remove the check");
-                        addTaskTimeoutEvent(taskInstance);
-                        taskInstanceTimeoutCheckList.remove(taskInstanceKey);
+                    long deadline = getDeadline(taskInstance.getStartTime(),
+                            (long) taskInstance.getTaskDefine().getTimeout() * Constants.SEC_2_MINUTES_TIME_UNIT,
+                            now);
+                    if (deadline > now) {
+                        // the task start time may be changed, check it again at the new deadline
+                        taskInstanceTimeoutCheckWheel.add(taskInstanceKey, deadline);
+                        continue;
                     }
+                    logger.info("Task instance is timeout, adding task timeout event and remove the check");
+                    addTaskTimeoutEvent(taskInstance);
                 }
             } catch (Exception ex) {
-                logger.error("Check task timeout error, taskInstanceKey: {}", taskInstanceKey, ex);
+                logger.error("Check task timeout error, will check it again at the next tick, taskInstanceKey: {}",
+                        taskInstanceKey, ex);
+                taskInstanceTimeoutCheckWheel.add(taskInstanceKey, now + checkInterval);
             } finally {
                 LoggerUtils.removeWorkflowInstanceIdMDC();
             }
         }
     }
 
-    private void checkTask4Retry() {
-        if (taskInstanceRetryCheckList.isEmpty()) {
-            return;
-        }
-
-        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckList) {
+    private void checkTask4Retry(long now) {
+        for (TaskInstanceKey taskInstanceKey : taskInstanceRetryCheckWheel.advance(now, expireDelayRecorder(now))) {
             int processInstanceId = taskInstanceKey.getProcessInstanceId();
             long taskCode = taskInstanceKey.getTaskCode();
             try {
@@ -312,7 +336,6 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     logger.warn(
                             "Task instance retry check failed, can not find workflowExecuteThread from cache manager, "
                                     + "will remove this check task");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
                     continue;
                 }
 
@@ -324,14 +347,12 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     logger.warn(
                             "The process instance is ready to stop, will send process stop event and remove the check task");
                     addProcessStopEvent(processInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
-                    break;
+                    continue;
                 }
 
                 if (!taskInstanceOptional.isPresent()) {
                     logger.warn(
                             "Task instance retry check failed, can not find taskInstance from workflowExecuteThread, will remove this check");
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
                     continue;
                 }
 
@@ -350,21 +371,22 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                     taskInstance.setState(TaskExecutionStatus.SUBMITTED_SUCCESS);
 
                     addTaskRetryEvent(taskInstance);
-                    taskInstanceRetryCheckList.remove(taskInstanceKey);
+                    continue;
                 }
+                // the workflow may be stopped during the retry interval, so check it again at the next tick
+                taskInstanceRetryCheckWheel.add(taskInstanceKey, now + checkInterval);
             } catch (Exception ex) {
-                logger.error("Check task retry error, taskInstanceKey: {}", taskInstanceKey, ex);
+                logger.error("Check task retry error, will check it again at the next tick, taskInstanceKey: {}",
+                        taskInstanceKey, ex);
+                taskInstanceRetryCheckWheel.add(taskInstanceKey, now + checkInterval);
             } finally {
                 LoggerUtils.removeWorkflowInstanceIdMDC();
             }
         }
     }
 
-    private void checkTask4State() {
-        if (taskInstanceStateCheckList.isEmpty()) {
-            return;
-        }
-        for (TaskInstanceKey taskInstanceKey : taskInstanceStateCheckList) {
+    private void checkTask4State(long now) {
+        for (TaskInstanceKey taskInstanceKey : taskInstanceStateCheckWheel.advance(now, expireDelayRecorder(now))) {
             int processInstanceId = taskInstanceKey.getProcessInstanceId();
             long taskCode = taskInstanceKey.getTaskCode();
 
@@ -375,7 +397,6 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 if (workflowExecuteThread == null) {
                     logger.warn(
                             "Task instance state check failed, can not find workflowExecuteThread from cache manager, will remove this check task");
-                    taskInstanceStateCheckList.remove(taskInstanceKey);
                     continue;
                 }
                 Optional<TaskInstance> taskInstanceOptional =
@@ -383,22 +404,38 @@ public class StateWheelExecuteThread extends BaseDaemonThread {
                 if (!taskInstanceOptional.isPresent()) {
                     logger.warn(
                             "Task instance state check failed, can not find taskInstance from workflowExecuteThread, will remove this check event");
-                    taskInstanceStateCheckList.remove(taskInstanceKey);
                     continue;
                 }
                 TaskInstance taskInstance = taskInstanceOptional.get();
+                // the state of the dependent and sub process task need to be checked periodically until removed, the
+                // dependent task is woken up by the upstream finished notify, so it can be checked less frequently
+                long nextCheckInterval = taskInstance.isDependTask() ? dependentCheckInterval : checkInterval;
+                taskInstanceStateCheckWheel.add(taskInstanceKey, now + nextCheckInterval);
                 if (taskInstance.getState().isFinished()) {
                     continue;
                 }
                 addTaskStateChangeEvent(taskInstance);
             } catch (Exception ex) {
-                logger.error("Task state check error, taskInstanceKey: {}", taskInstanceKey, ex);
+                logger.error("Task state check error, will check it again at the next tick, taskInstanceKey: {}",
+                        taskInstanceKey, ex);
+                taskInstanceStateCheckWheel.add(taskInstanceKey, now + checkInterval);
             } finally {
                 LoggerUtils.removeWorkflowInstanceIdMDC();
             }
         }
     }
 
+    /**
+     * Get the deadline of the given base time and interval, if the base time is not set, the deadline will be the
+     * next tick, so it can be checked again.
+     */
+    private long getDeadline(Date baseTime, long intervalSeconds, long now) {
+        if (baseTime == null) {
+            return now + checkInterval;
+        }
+        return baseTime.getTime() + TimeUnit.SECONDS.toMillis(intervalSeconds);
+    }
+
     private void addTaskStateChangeEvent(TaskInstance taskInstance) {
         TaskStateEvent stateEvent = TaskStateEvent.builder()
                 .processInstanceId(taskInstance.getProcessInstanceId())
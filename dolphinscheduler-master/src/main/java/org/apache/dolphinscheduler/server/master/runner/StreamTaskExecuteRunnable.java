@@ -71,6 +71,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -113,7 +114,12 @@ public class StreamTaskExecuteRunnable implements Runnable {
      */
     private final ConcurrentLinkedQueue<TaskEvent> taskEvents = new ConcurrentLinkedQueue<>();
 
-    private TaskRunnableStatus taskRunnableStatus = TaskRunnableStatus.CREATED;
+    private volatile TaskRunnableStatus taskRunnableStatus = TaskRunnableStatus.CREATED;
+
+    /**
+     * whether this stream task is waiting in or running from the run queue of {@link StreamTaskExecuteThreadPool}
+     */
+    private final AtomicBoolean inRunQueue = new AtomicBoolean(false);
 
     public StreamTaskExecuteRunnable(TaskDefinition taskDefinition, TaskExecuteStartCommand taskExecuteStartCommand) {
         this.processService = SpringApplicationContext.getBean(ProcessService.class);
@@ -209,6 +215,14 @@ public class StreamTaskExecuteRunnable implements Runnable {
         return this.taskEvents.size();
     }
 
+    public boolean markInRunQueue() {
+        return inRunQueue.compareAndSet(false, true);
+    }
+
+    public void clearInRunQueue() {
+        inRunQueue.set(false);
+    }
+
     /**
      * handle event
      */
@@ -50,12 +50,26 @@ public class StreamTaskExecuteThreadPool extends ThreadPoolTaskExecutor {
     }
 
     /**
-     * Handle the events belong to the given stream task
+     * Start the given stream task, the events received before it started will be handled after started.
+     */
+    public void submitStreamTask(final StreamTaskExecuteRunnable streamTaskExecuteRunnable) {
+        this.execute(() -> {
+            streamTaskExecuteRunnable.run();
+            executeEvent(streamTaskExecuteRunnable);
+        });
+    }
+
+    /**
+     * Handle the events belong to the given stream task, the stream task will be enqueued only if it is not in the
+     * run queue.
      */
     public void executeEvent(final StreamTaskExecuteRunnable streamTaskExecuteRunnable) {
         if (!streamTaskExecuteRunnable.isStart() || streamTaskExecuteRunnable.eventSize() == 0) {
             return;
         }
+        if (!streamTaskExecuteRunnable.markInRunQueue()) {
+            return;
+        }
         int taskInstanceId = streamTaskExecuteRunnable.getTaskInstance().getId();
         ListenableFuture<?> future = this.submitListenable(streamTaskExecuteRunnable::handleEvents);
         future.addCallback(new ListenableFutureCallback() {
@@ -65,6 +79,8 @@ public class StreamTaskExecuteThreadPool extends ThreadPoolTaskExecutor {
                 LoggerUtils.setTaskInstanceIdMDC(taskInstanceId);
                 logger.error("Stream task instance events handle failed", ex);
                 LoggerUtils.removeTaskInstanceIdMDC();
+                streamTaskExecuteRunnable.clearInRunQueue();
+                executeEvent(streamTaskExecuteRunnable);
             }
 
             @Override
@@ -72,6 +88,8 @@ public class StreamTaskExecuteThreadPool extends ThreadPoolTaskExecutor {
                 LoggerUtils.setTaskInstanceIdMDC(taskInstanceId);
                 logger.info("Stream task instance is finished.");
                 LoggerUtils.removeTaskInstanceIdMDC();
+                streamTaskExecuteRunnable.clearInRunQueue();
+                executeEvent(streamTaskExecuteRunnable);
             }
         });
     }
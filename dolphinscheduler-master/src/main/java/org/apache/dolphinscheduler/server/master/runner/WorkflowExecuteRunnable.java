@@ -68,6 +68,7 @@ import org.apache.dolphinscheduler.remote.command.HostUpdateCommand;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.executor.NettyExecutorManager;
+import org.apache.dolphinscheduler.server.master.event.EventMailbox;
 import org.apache.dolphinscheduler.server.master.event.StateEvent;
 import org.apache.dolphinscheduler.server.master.event.StateEventHandleError;
 import org.apache.dolphinscheduler.server.master.event.StateEventHandleException;
@@ -95,6 +96,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -110,7 +112,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -140,6 +141,8 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
 
     private TaskDefinitionLogDao taskDefinitionLogDao;
 
+    private final DependentWakeUpManager dependentWakeUpManager;
+
     private final ProcessAlertManager processAlertManager;
 
     private final NettyExecutorManager nettyExecutorManager;
@@ -155,7 +158,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
      */
     private String key;
 
-    private WorkflowRunnableStatus workflowRunnableStatus = WorkflowRunnableStatus.CREATED;
+    private volatile WorkflowRunnableStatus workflowRunnableStatus = WorkflowRunnableStatus.CREATED;
 
     /**
      * submit failure nodes
@@ -206,15 +209,43 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
      */
     private final Map<String, TaskNode> skipTaskNodeMap = new ConcurrentHashMap<>();
 
+    /**
+     * the dependencies of the task node, the forbidden dependencies are replaced by their dependencies, code as key
+     */
+    private final Map<String, List<String>> indirectDepNodesMap = new ConcurrentHashMap<>();
+
+    /**
+     * the reverse of indirectDepNodesMap, code as key, the task nodes depend on this node as value
+     */
+    private final Map<String, List<String>> indirectPostNodesMap = new ConcurrentHashMap<>();
+
+    /**
+     * the number of the dependencies neither completed nor skipped of the task node, code as key,
+     * updated when the task is added into or removed from completeTaskMap, or is skipped
+     */
+    private final Map<String, Integer> remainingDepCountMap = new ConcurrentHashMap<>();
+
+    /**
+     * the skipped task nodes which have been counted in remainingDepCountMap, code as key
+     */
+    private final Set<String> countedSkipTaskNodeSet = Sets.newConcurrentHashSet();
+
+    /**
+     * the read only view of the complete task instances, taskCode as key
+     */
+    private final Map<String, TaskInstance> completeTaskInstanceMap = new CompleteTaskInstanceMap();
+
     /**
      * complement date list
      */
     private List<Date> complementListDate = Lists.newLinkedList();
 
+    public static final String MAILBOX_TYPE = "state";
+
     /**
-     * state event queue
+     * state event mailbox
      */
-    private final ConcurrentLinkedQueue<StateEvent> stateEvents = new ConcurrentLinkedQueue<>();
+    private final EventMailbox<StateEvent> stateEvents;
 
     /**
      * The StandBy task list, will be executed, need to know, the taskInstance in this queue may doesn't have id.
@@ -253,7 +284,8 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                                    @NonNull StateWheelExecuteThread stateWheelExecuteThread,
                                    @NonNull CuringParamsService curingParamsService,
                                    @NonNull TaskInstanceDao taskInstanceDao,
-                                   @NonNull TaskDefinitionLogDao taskDefinitionLogDao) {
+                                   @NonNull TaskDefinitionLogDao taskDefinitionLogDao,
+                                   @NonNull DependentWakeUpManager dependentWakeUpManager) {
         this.processService = processService;
         this.commandService = commandService;
         this.processInstanceDao = processInstanceDao;
@@ -264,7 +296,9 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         this.curingParamsService = curingParamsService;
         this.taskInstanceDao = taskInstanceDao;
         this.taskDefinitionLogDao = taskDefinitionLogDao;
+        this.dependentWakeUpManager = dependentWakeUpManager;
         this.masterAddress = NetUtils.getAddr(masterConfig.getListenPort());
+        this.stateEvents = new EventMailbox<>(MAILBOX_TYPE, masterConfig.getEventMailboxCapacity());
         TaskMetrics.registerTaskPrepared(readyToSubmitTaskQueue::size);
     }
 
@@ -342,7 +376,12 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
             logger.info("state event would be abounded :{}", stateEvent);
             return false;
         }
-        this.stateEvents.add(stateEvent);
+        // the state events are sent after the worker or the other master has been acked, or by the master itself,
+        // none of them will be resent, so they are never rejected by the capacity
+        if (!this.stateEvents.forceOffer(stateEvent)) {
+            logger.warn("The state event mailbox is closed, state event would be abounded: {}", stateEvent);
+            return false;
+        }
         return true;
     }
 
@@ -350,6 +389,30 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         return this.stateEvents.size();
     }
 
+    /**
+     * Mark this workflow as enqueued in the run queue.
+     *
+     * @return true if the caller should enqueue this workflow, false if it is already in the run queue
+     */
+    public boolean markInRunQueue() {
+        return stateEvents.markScheduled();
+    }
+
+    /**
+     * Clear the run queue mark, should be called after the events have been handled.
+     */
+    public void clearInRunQueue() {
+        stateEvents.clearScheduled();
+    }
+
+    /**
+     * Close the state event mailbox after the workflow is removed from the cache, the events received after closed
+     * will be rejected.
+     */
+    public void closeMailbox() {
+        stateEvents.close();
+    }
+
     public ProcessInstance getProcessInstance() {
         return this.processInstance;
     }
@@ -394,9 +457,12 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
             stateWheelExecuteThread.removeTask4TimeoutCheck(processInstance, taskInstance);
             stateWheelExecuteThread.removeTask4RetryCheck(processInstance, taskInstance);
             stateWheelExecuteThread.removeTask4StateCheck(processInstance, taskInstance);
+            // wake up the downstream dependent tasks waiting on this task
+            dependentWakeUpManager.onUpstreamFinished(processInstance.getProcessDefinitionCode(),
+                    taskInstance.getTaskCode());
 
             if (taskInstance.getState().isSuccess()) {
-                completeTaskMap.put(taskInstance.getTaskCode(), taskInstance.getId());
+                addCompleteTask(taskInstance.getTaskCode(), taskInstance.getId());
                 // todo: merge the last taskInstance
                 processInstance.setVarPool(taskInstance.getVarPool());
                 processInstanceDao.upsertProcessInstance(processInstance);
@@ -408,7 +474,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                 logger.info("Retry taskInstance taskInstance state: {}", taskInstance.getState());
                 retryTaskInstance(taskInstance);
             } else if (taskInstance.getState().isFailure()) {
-                completeTaskMap.put(taskInstance.getTaskCode(), taskInstance.getId());
+                addCompleteTask(taskInstance.getTaskCode(), taskInstance.getId());
                 errorTaskMap.put(taskInstance.getTaskCode(), taskInstance.getId());
                 // There are child nodes and the failure policy is: CONTINUE
                 if (processInstance.getFailureStrategy() == FailureStrategy.CONTINUE && DagHelper.haveAllNodeAfterNode(
@@ -422,7 +488,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                 }
             } else if (taskInstance.getState().isFinished()) {
                 // todo: when the task instance type is pause, then it should not in completeTaskMap
-                completeTaskMap.put(taskInstance.getTaskCode(), taskInstance.getId());
+                addCompleteTask(taskInstance.getTaskCode(), taskInstance.getId());
             }
             logger.info("TaskInstance finished will try to update the workflow instance state, task code:{} state:{}",
                     taskInstance.getTaskCode(),
@@ -431,7 +497,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         } catch (Exception ex) {
             logger.error("Task finish failed, get a exception, will remove this taskInstance from completeTaskMap", ex);
             // remove the task from complete map, so that we can finish in the next time.
-            completeTaskMap.remove(taskInstance.getTaskCode());
+            removeCompleteTask(taskInstance.getTaskCode());
             throw ex;
         }
     }
@@ -451,7 +517,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                             .taskInstanceId(nextTaskInstance.getId())
                             .type(StateEventType.WAIT_TASK_GROUP)
                             .build();
-                    this.stateEvents.add(nextEvent);
+                    this.stateEvents.forceOffer(nextEvent);
                 } else {
                     ProcessInstance processInstance =
                             this.processService.findProcessInstanceById(nextTaskInstance.getProcessInstanceId());
@@ -692,6 +758,8 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         try {
             LoggerUtils.setWorkflowInstanceIdMDC(processInstance.getId());
             if (workflowRunnableStatus == WorkflowRunnableStatus.CREATED) {
+                // a new instance of the workflow may change the last instance found by the dependent tasks
+                dependentWakeUpManager.onUpstreamStarted(processInstance.getProcessDefinitionCode());
                 buildFlowDag();
                 workflowRunnableStatus = WorkflowRunnableStatus.INITIALIZE_DAG;
                 logger.info("workflowStatue changed to :{}", workflowRunnableStatus);
@@ -803,9 +871,92 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         }
         // generate process dag
         dag = DagHelper.buildDagGraph(processDag);
+        initIndirectDependencies(processDag.getNodes());
         logger.info("Build dag success, dag: {}", dag);
     }
 
+    /**
+     * Build the indirect dependencies of all the task nodes and their remaining dependency count, so the dependency
+     * check of a task node do not need to walk the dag again.
+     */
+    private void initIndirectDependencies(List<TaskNode> taskNodes) {
+        indirectDepNodesMap.clear();
+        indirectPostNodesMap.clear();
+        if (CollectionUtils.isEmpty(taskNodes)) {
+            resetRemainingDepCount();
+            return;
+        }
+        for (TaskNode taskNode : taskNodes) {
+            String taskCode = Long.toString(taskNode.getCode());
+            List<String> indirectDepCodeList = new ArrayList<>();
+            setIndirectDepList(taskCode, indirectDepCodeList);
+            List<String> depNodes = indirectDepCodeList.stream()
+                    .filter(dag::containsNode)
+                    .distinct()
+                    .collect(Collectors.toList());
+            indirectDepNodesMap.put(taskCode, depNodes);
+            for (String depNode : depNodes) {
+                indirectPostNodesMap.computeIfAbsent(depNode, k -> new ArrayList<>()).add(taskCode);
+            }
+        }
+        resetRemainingDepCount();
+    }
+
+    private void resetRemainingDepCount() {
+        remainingDepCountMap.clear();
+        countedSkipTaskNodeSet.clear();
+        countedSkipTaskNodeSet.addAll(skipTaskNodeMap.keySet());
+        indirectDepNodesMap.forEach((taskCode, depNodes) -> remainingDepCountMap.put(taskCode,
+                (int) depNodes.stream()
+                        .filter(depNode -> !completeTaskMap.containsKey(Long.parseLong(depNode))
+                                && !countedSkipTaskNodeSet.contains(depNode))
+                        .count()));
+    }
+
+    private void addCompleteTask(long taskCode, Integer taskInstanceId) {
+        if (completeTaskMap.put(taskCode, taskInstanceId) == null
+                && !countedSkipTaskNodeSet.contains(Long.toString(taskCode))) {
+            updateRemainingDepCount(taskCode, -1);
+        }
+    }
+
+    private void removeCompleteTask(long taskCode) {
+        if (completeTaskMap.remove(taskCode) != null && !countedSkipTaskNodeSet.contains(Long.toString(taskCode))) {
+            updateRemainingDepCount(taskCode, 1);
+        }
+    }
+
+    /**
+     * The task nodes are skipped inside DagHelper, count the newly skipped nodes as the completed dependencies. The
+     * skipped nodes are never removed from skipTaskNodeMap, so comparing the size is enough to find the change.
+     */
+    private void countSkipTaskNodes() {
+        if (countedSkipTaskNodeSet.size() == skipTaskNodeMap.size()) {
+            return;
+        }
+        for (String skipTaskNode : skipTaskNodeMap.keySet()) {
+            if (countedSkipTaskNodeSet.add(skipTaskNode)
+                    && !completeTaskMap.containsKey(Long.parseLong(skipTaskNode))) {
+                updateRemainingDepCount(Long.parseLong(skipTaskNode), -1);
+            }
+        }
+    }
+
+    private void clearCompleteTask() {
+        completeTaskMap.clear();
+        resetRemainingDepCount();
+    }
+
+    private void updateRemainingDepCount(long completeTaskCode, int delta) {
+        List<String> postNodes = indirectPostNodesMap.get(Long.toString(completeTaskCode));
+        if (postNodes == null) {
+            return;
+        }
+        for (String postNode : postNodes) {
+            remainingDepCountMap.merge(postNode, delta, Integer::sum);
+        }
+    }
+
     /**
      * init task queue
      */
@@ -814,7 +965,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         taskFailedSubmit = false;
         activeTaskProcessorMaps.clear();
         dependFailedTaskSet.clear();
-        completeTaskMap.clear();
+        clearCompleteTask();
         errorTaskMap.clear();
 
         if (!isNewProcessInstance()) {
@@ -849,7 +1000,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
 
                     if (task.isTaskComplete()) {
                         logger.info("TaskInstance is already complete.");
-                        completeTaskMap.put(task.getTaskCode(), task.getId());
+                        addCompleteTask(task.getTaskCode(), task.getId());
                         continue;
                     }
                     if (task.isConditionsTask() || DagHelper.haveConditionsAfterNode(Long.toString(task.getTaskCode()),
@@ -1009,7 +1160,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                             .status(taskProcessor.taskInstance().getState())
                             .type(StateEventType.PROCESS_BLOCKED)
                             .build();
-                    this.stateEvents.add(processBlockEvent);
+                    this.stateEvents.forceOffer(processBlockEvent);
                 }
                 TaskStateEvent taskStateChangeEvent = TaskStateEvent.builder()
                         .processInstanceId(processInstance.getId())
@@ -1017,7 +1168,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                         .status(taskProcessor.taskInstance().getState())
                         .type(StateEventType.TASK_STATE_CHANGE)
                         .build();
-                this.stateEvents.add(taskStateChangeEvent);
+                this.stateEvents.forceOffer(taskStateChangeEvent);
             }
             return Optional.of(taskInstance);
         } catch (Exception e) {
@@ -1055,11 +1206,14 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
      * @return TaskInstance
      */
     private TaskInstance findTaskIfExists(Long taskCode, int taskVersion) {
-        List<TaskInstance> validTaskInstanceList = getValidTaskList();
-        for (TaskInstance taskInstance : validTaskInstanceList) {
-            if (taskInstance.getTaskCode() == taskCode && taskInstance.getTaskDefinitionVersion() == taskVersion) {
-                return taskInstance;
-            }
+        // only one taskInstance per taskCode is valid
+        Integer taskInstanceId = validTaskMap.get(taskCode);
+        if (taskInstanceId == null) {
+            return null;
+        }
+        TaskInstance taskInstance = taskInstanceMap.get(taskInstanceId);
+        if (taskInstance != null && taskInstance.getTaskDefinitionVersion() == taskVersion) {
+            return taskInstance;
         }
         return null;
     }
@@ -1292,21 +1446,6 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
      * get complete task instance map, taskCode as key
      */
     private Map<String, TaskInstance> getCompleteTaskInstanceMap() {
-        Map<String, TaskInstance> completeTaskInstanceMap = new HashMap<>();
-        for (Map.Entry<Long, Integer> entry : completeTaskMap.entrySet()) {
-            Long taskConde = entry.getKey();
-            Integer taskInstanceId = entry.getValue();
-            TaskInstance taskInstance = taskInstanceMap.get(taskInstanceId);
-            if (taskInstance == null) {
-                logger.warn("Cannot find the taskInstance from taskInstanceMap, taskInstanceId: {}, taskConde: {}",
-                        taskInstanceId,
-                        taskConde);
-                // This case will happen when we submit to db failed, then the taskInstanceId is 0
-                continue;
-            }
-            completeTaskInstanceMap.put(Long.toString(taskInstance.getTaskCode()), taskInstance);
-
-        }
         return completeTaskInstanceMap;
     }
 
@@ -1322,8 +1461,14 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
     }
 
     private void submitPostNode(String parentNodeCode) throws StateEventHandleException {
+        int skipTaskNodeCount = skipTaskNodeMap.size();
         Set<String> submitTaskNodeList =
                 DagHelper.parsePostNodes(parentNodeCode, skipTaskNodeMap, dag, getCompleteTaskInstanceMap());
+        if (skipTaskNodeMap.size() != skipTaskNodeCount) {
+            // the skipped nodes may change the dependencies of any task in the standby list
+            countSkipTaskNodes();
+            readyToSubmitTaskQueue.markAllDirty();
+        }
         List<TaskInstance> taskInstances = new ArrayList<>();
         for (String taskNode : submitTaskNodeList) {
             TaskNode taskNodeObject = dag.getNode(taskNode);
@@ -1355,7 +1500,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         // if previous node success , post node submit
         for (TaskInstance task : taskInstances) {
 
-            if (readyToSubmitTaskQueue.contains(task)) {
+            if (readyToSubmitTaskQueue.markDirty(task)) {
                 logger.warn("Task is already at submit queue, taskInstanceId: {}", task.getId());
                 continue;
             }
@@ -1387,9 +1532,17 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
         if (startNodes.contains(taskCode)) {
             return DependResult.SUCCESS;
         }
+        // the condition/switch task of the previous check may skip some nodes
+        countSkipTaskNodes();
+        if (remainingDepCountMap.getOrDefault(taskCode, 0) > 0) {
+            return DependResult.WAITING;
+        }
         TaskNode taskNode = dag.getNode(taskCode);
-        List<String> indirectDepCodeList = new ArrayList<>();
-        setIndirectDepList(taskCode, indirectDepCodeList);
+        List<String> indirectDepCodeList = indirectDepNodesMap.get(taskCode);
+        if (indirectDepCodeList == null) {
+            indirectDepCodeList = new ArrayList<>();
+            setIndirectDepList(taskCode, indirectDepCodeList);
+        }
         for (String depsNode : indirectDepCodeList) {
             if (dag.containsNode(depsNode) && !skipTaskNodeMap.containsKey(depsNode)) {
                 // dependencies must be fully completed
@@ -1418,7 +1571,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
             }
         }
         logger.info("The dependTasks of task all success, currentTaskCode: {}, dependTaskCodes: {}",
-                taskCode, Arrays.toString(completeTaskMap.keySet().toArray()));
+                taskCode, indirectDepCodeList);
         return DependResult.SUCCESS;
     }
 
@@ -1680,7 +1833,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                     .type(StateEventType.PROCESS_STATE_CHANGE)
                     .build();
             // replace with `stateEvents`, make sure `WorkflowExecuteThread` can be deleted to avoid memory leaks
-            this.stateEvents.add(stateEvent);
+            this.stateEvents.forceOffer(stateEvent);
         } else {
             logger.info("There is no need to update the workflow instance state, origin state: {}, target state: {}",
                     processInstance.getState(),
@@ -1715,6 +1868,10 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                 processInstance.setEndTime(null);
                 throw new StateEventHandleException("Update process instance status to DB error", ex);
             }
+            if (newStates.isFinished()) {
+                dependentWakeUpManager.onUpstreamFinished(processInstance.getProcessDefinitionCode(),
+                        Constants.DEPENDENT_ALL_TASK_CODE);
+            }
         }
     }
 
@@ -1734,7 +1891,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
      * @param taskInstance task instance
      */
     public void addTaskToStandByList(TaskInstance taskInstance) {
-        if (readyToSubmitTaskQueue.contains(taskInstance)) {
+        if (readyToSubmitTaskQueue.markDirty(taskInstance)) {
             logger.warn("Task already exists in ready submit queue, no need to add again, task code:{}",
                     taskInstance.getTaskCode());
             return;
@@ -1800,7 +1957,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                         .status(taskProcessor.taskInstance().getState())
                         .type(StateEventType.TASK_STATE_CHANGE)
                         .build();
-                this.addStateEvent(taskStateEvent);
+                this.stateEvents.forceOffer(taskStateEvent);
             }
         }
     }
@@ -1810,13 +1967,13 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
     }
 
     /**
-     * handling the list of tasks to be submitted
+     * handling the list of tasks to be submitted, only the dirty tasks whose dependencies may be changed will be
+     * re-evaluated, in priority order
      */
     public void submitStandByTask() throws StateEventHandleException {
-        int length = readyToSubmitTaskQueue.size();
-        for (int i = 0; i < length; i++) {
-            TaskInstance task = readyToSubmitTaskQueue.peek();
-            if (task == null) {
+        for (TaskInstance task : readyToSubmitTaskQueue.pollDirtyTaskInstances()) {
+            if (!readyToSubmitTaskQueue.contains(task)) {
+                // the task has been handled by the nested submit
                 continue;
             }
             // stop tasks which is retrying if forced success happens
@@ -1828,7 +1985,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                             "Task {} has been forced success, put it into complete task list and stop retrying, taskInstanceId: {}",
                             task.getName(), task.getId());
                     removeTaskFromStandbyList(task);
-                    completeTaskMap.put(task.getTaskCode(), task.getId());
+                    addCompleteTask(task.getTaskCode(), task.getId());
                     taskInstanceMap.put(task.getId(), task);
                     submitPostNode(Long.toString(task.getTaskCode()));
                     continue;
@@ -1853,7 +2010,7 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
                                 processInstance.getId(),
                                 task.getTaskCode());
                     }
-                    completeTaskMap.put(task.getTaskCode(), task.getId());
+                    addCompleteTask(task.getTaskCode(), task.getId());
                     taskInstanceMap.put(task.getId(), task);
                     errorTaskMap.put(task.getTaskCode(), task.getId());
                     activeTaskProcessorMaps.remove(task.getTaskCode());
@@ -2048,4 +2205,41 @@ public class WorkflowExecuteRunnable implements Callable<WorkflowSubmitStatue> {
 
     }
 
+    /**
+     * A read only view of the complete task instances, taskCode as key. The get and containsKey is O(1), so it is
+     * not need to rebuild the whole map when check the dependencies.
+     */
+    private class CompleteTaskInstanceMap extends AbstractMap<String, TaskInstance> {
+
+        @Override
+        public TaskInstance get(Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            Integer taskInstanceId = completeTaskMap.get(NumberUtils.toLong((String) key));
+            if (taskInstanceId == null) {
+                return null;
+            }
+            // This case will happen when we submit to db failed, then the taskInstanceId is 0
+            return taskInstanceMap.get(taskInstanceId);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<String, TaskInstance>> entrySet() {
+            Map<String, TaskInstance> completeTaskInstances = new HashMap<>();
+            for (Integer taskInstanceId : completeTaskMap.values()) {
+                TaskInstance taskInstance = taskInstanceMap.get(taskInstanceId);
+                if (taskInstance != null) {
+                    completeTaskInstances.put(Long.toString(taskInstance.getTaskCode()), taskInstance);
+                }
+            }
+            return Collections.unmodifiableMap(completeTaskInstances).entrySet();
+        }
+    }
+
 }
@@ -19,6 +19,8 @@ package org.apache.dolphinscheduler.server.master.runner;
 
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.common.thread.ExecutorThreadMode;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -30,11 +32,12 @@ import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheM
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.event.StateEvent;
 import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
+import org.apache.dolphinscheduler.server.master.metrics.EventMailboxMetrics;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskExecuteThreadPool;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.utils.LoggerUtils;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.PostConstruct;
 
@@ -52,6 +55,9 @@ import com.google.common.base.Strings;
 
 /**
  * Used to execute {@link WorkflowExecuteRunnable}.
+ * <p>
+ * The workflow is signal driven: a workflow is enqueued into the run queue of this pool only when it receives a state
+ * event, and at most once at a time, see {@link WorkflowExecuteRunnable#markInRunQueue()}.
  */
 @Component
 public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
@@ -73,17 +79,25 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
     @Autowired
     private StateWheelExecuteThread stateWheelExecuteThread;
 
-    /**
-     * multi-thread filter, avoid handling workflow at the same time
-     */
-    private ConcurrentHashMap<String, WorkflowExecuteRunnable> multiThreadFilterMap = new ConcurrentHashMap<>();
+    @Autowired
+    private TaskExecuteThreadPool taskExecuteThreadPool;
 
     @PostConstruct
     private void init() {
         this.setDaemon(true);
         this.setThreadNamePrefix("WorkflowExecuteThread-");
+        if (masterConfig.getExecutorThreadMode() == ExecutorThreadMode.VIRTUAL) {
+            this.setThreadFactory(
+                    ThreadUtils.newDaemonThreadFactory("WorkflowExecuteThread", ExecutorThreadMode.VIRTUAL));
+        }
         this.setMaxPoolSize(masterConfig.getExecThreads());
         this.setCorePoolSize(masterConfig.getExecThreads());
+        EventMailboxMetrics.registerMailboxGauge(WorkflowExecuteRunnable.MAILBOX_TYPE,
+                () -> processInstanceExecCacheManager.getAll().size(),
+                () -> processInstanceExecCacheManager.getAll().stream().mapToInt(WorkflowExecuteRunnable::eventSize)
+                        .sum(),
+                () -> processInstanceExecCacheManager.getAll().stream().mapToInt(WorkflowExecuteRunnable::eventSize)
+                        .max().orElse(0));
     }
 
     /**
@@ -97,24 +111,35 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                     stateEvent);
             return;
         }
-        workflowExecuteThread.addStateEvent(stateEvent);
+        if (!workflowExecuteThread.addStateEvent(stateEvent)) {
+            logger.warn("Submit state event error, the workflow doesn't accept the event, stateEvent: {}", stateEvent);
+            return;
+        }
+        executeEvent(workflowExecuteThread);
         logger.info("Submit state event success, stateEvent: {}", stateEvent);
     }
 
     /**
-     * Handle the events belong to the given workflow.
+     * Handle the events belong to the given workflow, this should be called after a state event is added to the
+     * workflow or after the workflow is started. The workflow will be enqueued only if it is not in the run queue.
      */
     public void executeEvent(final WorkflowExecuteRunnable workflowExecuteThread) {
         if (!workflowExecuteThread.isStart() || workflowExecuteThread.eventSize() == 0) {
             return;
         }
-        if (multiThreadFilterMap.containsKey(workflowExecuteThread.getKey())) {
-            logger.warn("The workflow has been executed by another thread");
+        if (!workflowExecuteThread.markInRunQueue()) {
             return;
         }
-        multiThreadFilterMap.put(workflowExecuteThread.getKey(), workflowExecuteThread);
         int processInstanceId = workflowExecuteThread.getProcessInstance().getId();
-        ListenableFuture<?> future = this.submitListenable(workflowExecuteThread::handleEvents);
+        ListenableFuture<?> future = this.submitListenable(() -> {
+            long startTime = System.currentTimeMillis();
+            try {
+                workflowExecuteThread.handleEvents();
+            } finally {
+                EventMailboxMetrics.recordMailboxProcessTime(WorkflowExecuteRunnable.MAILBOX_TYPE,
+                        System.currentTimeMillis() - startTime);
+            }
+        });
         future.addCallback(new ListenableFutureCallback() {
 
             @Override
@@ -123,10 +148,12 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                 try {
                     logger.error("Workflow instance events handle failed", ex);
                     notifyProcessChanged(workflowExecuteThread.getProcessInstance());
-                    multiThreadFilterMap.remove(workflowExecuteThread.getKey());
                 } finally {
+                    workflowExecuteThread.clearInRunQueue();
                     LoggerUtils.removeWorkflowInstanceIdMDC();
                 }
+                // the events added during handling will be lost if we don't check again
+                executeEvent(workflowExecuteThread);
             }
 
             @Override
@@ -137,16 +164,22 @@ public class WorkflowExecuteThreadPool extends ThreadPoolTaskExecutor {
                         stateWheelExecuteThread
                                 .removeProcess4TimeoutCheck(workflowExecuteThread.getProcessInstance().getId());
                         processInstanceExecCacheManager.removeByProcessInstanceId(processInstanceId);
+                        workflowExecuteThread.closeMailbox();
+                        taskExecuteThreadPool.closeMailbox(processInstanceId);
                         notifyProcessChanged(workflowExecuteThread.getProcessInstance());
                         logger.info("Workflow instance is finished.");
                     }
                 } catch (Exception e) {
                     logger.error("Workflow instance is finished, but notify changed error", e);
                 } finally {
-                    // make sure the process has been removed from multiThreadFilterMap
-                    multiThreadFilterMap.remove(workflowExecuteThread.getKey());
+                    // make sure the process has been removed from the run queue
+                    workflowExecuteThread.clearInRunQueue();
                     LoggerUtils.removeWorkflowInstanceIdMDC();
                 }
+                if (!workflowExecuteThread.workFlowFinish()) {
+                    // the events added during handling will be lost if we don't check again
+                    executeEvent(workflowExecuteThread);
+                }
             }
         });
     }
@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.plugin.task.api.model.DependentItem;
 import org.apache.dolphinscheduler.plugin.task.api.model.DependentTaskModel;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DependentParameters;
 import org.apache.dolphinscheduler.plugin.task.api.utils.DependentUtils;
+import org.apache.dolphinscheduler.server.master.runner.DependentWakeUpManager;
 import org.apache.dolphinscheduler.server.master.utils.DependentExecute;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.utils.LogUtils;
@@ -66,6 +67,9 @@ public class DependentTaskProcessor extends BaseTaskProcessor {
 
     private final ProjectMapper projectMapper = SpringApplicationContext.getBean(ProjectMapper.class);
 
+    private final DependentWakeUpManager dependentWakeUpManager =
+            SpringApplicationContext.getBean(DependentWakeUpManager.class);
+
     /**
      * dependent task list
      */
@@ -176,11 +180,14 @@ public class DependentTaskProcessor extends BaseTaskProcessor {
         Set<Long> projectCodes = new HashSet<>();
         Set<Long> processDefinitionCodes = new HashSet<>();
         Set<Long> taskDefinitionCodes = new HashSet<>();
+        Map<Long, Set<Long>> dependItems = new HashMap<>();
         dependTaskList.forEach(dependentTaskModel -> {
             dependentTaskModel.getDependItemList().forEach(dependentItem -> {
                 projectCodes.add(dependentItem.getProjectCode());
                 processDefinitionCodes.add(dependentItem.getDefinitionCode());
                 taskDefinitionCodes.add(dependentItem.getDepTaskCode());
+                dependItems.computeIfAbsent(dependentItem.getDefinitionCode(), code -> new HashSet<>())
+                        .add(dependentItem.getDepTaskCode());
             });
         });
         projectCodeMap = projectMapper.queryByCodes(projectCodes).stream()
@@ -225,10 +232,14 @@ public class DependentTaskProcessor extends BaseTaskProcessor {
             }
             this.dependentTaskList.add(new DependentExecute(taskModel.getDependItemList(), taskModel.getRelation()));
         }
+        // be woken up once the upstream finished, rather than waiting for the next state check
+        dependentWakeUpManager.subscribe(processInstance.getId(), taskInstance.getId(), taskInstance.getTaskCode(),
+                dependItems);
     }
 
     @Override
     protected boolean pauseTask() {
+        dependentWakeUpManager.unsubscribe(taskInstance.getId());
         this.taskInstance.setState(TaskExecutionStatus.PAUSE);
         this.taskInstance.setEndTime(new Date());
         taskInstanceDao.upsertTaskInstance(taskInstance);
@@ -237,6 +248,7 @@ public class DependentTaskProcessor extends BaseTaskProcessor {
 
     @Override
     protected boolean killTask() {
+        dependentWakeUpManager.unsubscribe(taskInstance.getId());
         this.taskInstance.setState(TaskExecutionStatus.KILL);
         this.taskInstance.setEndTime(new Date());
         taskInstanceDao.upsertTaskInstance(taskInstance);
@@ -288,6 +300,7 @@ public class DependentTaskProcessor extends BaseTaskProcessor {
     private void endTask() {
         TaskExecutionStatus status;
         status = (result == DependResult.SUCCESS) ? TaskExecutionStatus.SUCCESS : TaskExecutionStatus.FAILURE;
+        dependentWakeUpManager.unsubscribe(taskInstance.getId());
         taskInstance.setState(status);
         taskInstance.setEndTime(new Date());
         taskInstanceDao.upsertTaskInstance(taskInstance);
@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
 import org.apache.dolphinscheduler.plugin.task.api.model.DependentItem;
 import org.apache.dolphinscheduler.plugin.task.api.utils.DependentUtils;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
@@ -51,6 +52,9 @@ public class DependentExecute {
 
     private final TaskInstanceDao taskInstanceDao = SpringApplicationContext.getBean(TaskInstanceDao.class);
 
+    private final DependentResultCacheManager dependentResultCacheManager =
+            SpringApplicationContext.getBean(DependentResultCacheManager.class);
+
     /**
      * depend item list
      */
@@ -113,17 +117,10 @@ public class DependentExecute {
 
         DependResult result = DependResult.FAILED;
         for (DateInterval dateInterval : dateIntervals) {
-            ProcessInstance processInstance = findLastProcessInterval(dependentItem.getDefinitionCode(),
-                    dateInterval, testFlag);
-            if (processInstance == null) {
-                return DependResult.WAITING;
-            }
-            // need to check workflow for updates, so get all task and check the task state
-            if (dependentItem.getDepTaskCode() == Constants.DEPENDENT_ALL_TASK_CODE) {
-                result = dependResultByProcessInstance(processInstance);
-            } else {
-                result = getDependTaskResult(dependentItem.getDepTaskCode(), processInstance, testFlag);
-            }
+            // the dependent tasks waiting on the same upstream share the result
+            result = dependentResultCacheManager.getOrLoad(dependentItem.getDefinitionCode(),
+                    dependentItem.getDepTaskCode(), dateInterval, testFlag,
+                    () -> calculateResultForInterval(dependentItem, dateInterval, testFlag));
             if (result != DependResult.SUCCESS) {
                 break;
             }
@@ -131,6 +128,21 @@ public class DependentExecute {
         return result;
     }
 
+    private DependResult calculateResultForInterval(DependentItem dependentItem,
+                                                    DateInterval dateInterval,
+                                                    int testFlag) {
+        ProcessInstance processInstance = findLastProcessInterval(dependentItem.getDefinitionCode(),
+                dateInterval, testFlag);
+        if (processInstance == null) {
+            return DependResult.WAITING;
+        }
+        // need to check workflow for updates, so get all task and check the task state
+        if (dependentItem.getDepTaskCode() == Constants.DEPENDENT_ALL_TASK_CODE) {
+            return dependResultByProcessInstance(processInstance);
+        }
+        return getDependTaskResult(dependentItem.getDepTaskCode(), processInstance, testFlag);
+    }
+
     /**
      * depend type = depend_all
      *
@@ -33,7 +33,10 @@ import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.plugin.task.api.model.DependentItem;
 import org.apache.dolphinscheduler.plugin.task.api.model.DependentTaskModel;
 import org.apache.dolphinscheduler.plugin.task.api.parameters.DependentParameters;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.impl.DependentResultCacheManagerImpl;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.runner.DependentWakeUpManager;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.model.TaskNode;
 import org.apache.dolphinscheduler.service.process.ProcessService;
@@ -98,6 +101,13 @@ public class DependentTaskTest {
         config.setTaskCommitInterval(Duration.ofSeconds(1));
         Mockito.when(applicationContext.getBean(MasterConfig.class)).thenReturn(config);
 
+        // the upstream state is changed by the mocks during a test case, so don't cache the dependent results
+        config.setDependentResultCacheExpireTime(Duration.ZERO);
+        Mockito.when(applicationContext.getBean(DependentResultCacheManager.class))
+                .thenReturn(new DependentResultCacheManagerImpl(config));
+        Mockito.when(applicationContext.getBean(DependentWakeUpManager.class))
+                .thenReturn(Mockito.mock(DependentWakeUpManager.class));
+
         processService = Mockito.mock(ProcessService.class);
         Mockito.when(applicationContext.getBean(ProcessService.class)).thenReturn(processService);
 
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
+import org.apache.dolphinscheduler.plugin.task.api.model.DateInterval;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DependentResultCacheManagerImplTest {
+
+    private DependentResultCacheManagerImpl dependentResultCacheManager;
+
+    private final DateInterval dateInterval = new DateInterval(new Date(0), new Date(86400000L));
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    @BeforeEach
+    public void before() {
+        dependentResultCacheManager = new DependentResultCacheManagerImpl(new MasterConfig());
+        loadCount.set(0);
+    }
+
+    @Test
+    public void testGetOrLoad() {
+        Assertions.assertEquals(DependResult.WAITING, load(1L, 2L, DependResult.WAITING));
+        // the same upstream is loaded only once
+        Assertions.assertEquals(DependResult.WAITING, load(1L, 2L, DependResult.SUCCESS));
+        Assertions.assertEquals(1, loadCount.get());
+
+        // different task code
+        Assertions.assertEquals(DependResult.SUCCESS, load(1L, 3L, DependResult.SUCCESS));
+        Assertions.assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        load(1L, 2L, DependResult.WAITING);
+        load(4L, 2L, DependResult.WAITING);
+
+        dependentResultCacheManager.invalidate(1L);
+
+        Assertions.assertEquals(DependResult.SUCCESS, load(1L, 2L, DependResult.SUCCESS));
+        // other workflow definitions are not affected
+        Assertions.assertEquals(DependResult.WAITING, load(4L, 2L, DependResult.SUCCESS));
+        Assertions.assertEquals(3, loadCount.get());
+    }
+
+    @Test
+    public void testDisabled() {
+        MasterConfig masterConfig = new MasterConfig();
+        masterConfig.setDependentResultCacheExpireTime(Duration.ZERO);
+        dependentResultCacheManager = new DependentResultCacheManagerImpl(masterConfig);
+
+        load(1L, 2L, DependResult.WAITING);
+        Assertions.assertEquals(DependResult.SUCCESS, load(1L, 2L, DependResult.SUCCESS));
+        Assertions.assertEquals(2, loadCount.get());
+    }
+
+    private DependResult load(long definitionCode, long taskCode, DependResult result) {
+        return dependentResultCacheManager.getOrLoad(definitionCode, taskCode, dateInterval, 0, () -> {
+            loadCount.incrementAndGet();
+            return result;
+        });
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.consumer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TaskDispatchBackoffTest {
+
+    @Test
+    public void testBackoffByWorkerGroup() {
+        TaskDispatchBackoff taskDispatchBackoff = new TaskDispatchBackoff(100, 1000);
+        Assertions.assertEquals(100, taskDispatchBackoff.onDispatchFailed("group1"));
+        Assertions.assertEquals(200, taskDispatchBackoff.onDispatchFailed("group1"));
+        Assertions.assertEquals(400, taskDispatchBackoff.onDispatchFailed("group1"));
+        Assertions.assertEquals(800, taskDispatchBackoff.onDispatchFailed("group1"));
+        Assertions.assertEquals(1000, taskDispatchBackoff.onDispatchFailed("group1"));
+
+        // the other worker group is not affected
+        Assertions.assertEquals(100, taskDispatchBackoff.onDispatchFailed("group2"));
+
+        taskDispatchBackoff.onDispatchSuccess("group1");
+        Assertions.assertEquals(0, taskDispatchBackoff.getFailureTimes("group1"));
+        Assertions.assertEquals(100, taskDispatchBackoff.onDispatchFailed("group1"));
+    }
+
+    @Test
+    public void testBackoffNotOverflow() {
+        TaskDispatchBackoff taskDispatchBackoff = new TaskDispatchBackoff(100, 10000);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertTrue(taskDispatchBackoff.onDispatchFailed("group1") > 0);
+        }
+        Assertions.assertEquals(10000, taskDispatchBackoff.onDispatchFailed("group1"));
+    }
+}
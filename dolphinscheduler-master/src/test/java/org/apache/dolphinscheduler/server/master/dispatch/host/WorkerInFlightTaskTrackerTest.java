@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WorkerInFlightTaskTrackerTest {
+
+    @Test
+    public void testInFlightTaskCount() {
+        WorkerInFlightTaskTracker tracker = new WorkerInFlightTaskTracker();
+        tracker.onTaskDispatched(1, "127.0.0.1:1234");
+        tracker.onTaskDispatched(2, "127.0.0.1:1234");
+        tracker.onTaskDispatched(3, "127.0.0.2:1234");
+        Assertions.assertEquals(2, tracker.getInFlightTaskCount("127.0.0.1:1234"));
+        Assertions.assertEquals(1, tracker.getInFlightTaskCount("127.0.0.2:1234"));
+
+        // the running and result report of the same task only decrease once
+        tracker.onTaskReceived(1);
+        tracker.onTaskReceived(1);
+        Assertions.assertEquals(1, tracker.getInFlightTaskCount("127.0.0.1:1234"));
+
+        // dispatch again to another worker
+        tracker.onTaskDispatched(2, "127.0.0.2:1234");
+        Assertions.assertEquals(0, tracker.getInFlightTaskCount("127.0.0.1:1234"));
+        Assertions.assertEquals(2, tracker.getInFlightTaskCount("127.0.0.2:1234"));
+
+        tracker.removeExpiredTasks();
+        Assertions.assertEquals(2, tracker.getInFlightTaskCount("127.0.0.2:1234"));
+    }
+
+    @Test
+    public void testInFlightTaskRejected() {
+        WorkerInFlightTaskTracker tracker = new WorkerInFlightTaskTracker();
+        tracker.onTaskDispatched(1, "127.0.0.1:1234");
+        tracker.onTaskRejected(1, "127.0.0.1:1234");
+        Assertions.assertEquals(0, tracker.getInFlightTaskCount("127.0.0.1:1234"));
+
+        // the reject of the old worker arrives after the task is dispatched to another worker
+        tracker.onTaskDispatched(2, "127.0.0.2:1234");
+        tracker.onTaskRejected(2, "127.0.0.1:1234");
+        Assertions.assertEquals(1, tracker.getInFlightTaskCount("127.0.0.2:1234"));
+    }
+
+    @Test
+    public void testInFlightTaskCountAfterHeartbeat() throws InterruptedException {
+        WorkerInFlightTaskTracker tracker = new WorkerInFlightTaskTracker();
+        tracker.onTaskDispatched(1, "127.0.0.1:1234");
+        Thread.sleep(5);
+        long heartbeatReportTime = System.currentTimeMillis();
+        Thread.sleep(5);
+        tracker.onTaskDispatched(2, "127.0.0.1:1234");
+
+        // the task dispatched before the heartbeat is counted in the waiting task count of the heartbeat
+        Assertions.assertEquals(2, tracker.getInFlightTaskCount("127.0.0.1:1234"));
+        Assertions.assertEquals(1, tracker.getInFlightTaskCount("127.0.0.1:1234", heartbeatReportTime));
+
+        tracker.onTaskReceived(2);
+        Assertions.assertEquals(0, tracker.getInFlightTaskCount("127.0.0.1:1234", heartbeatReportTime));
+    }
+}
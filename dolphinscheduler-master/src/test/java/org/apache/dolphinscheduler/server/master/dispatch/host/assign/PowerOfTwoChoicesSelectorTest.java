@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PowerOfTwoChoicesSelectorTest {
+
+    @Test
+    public void testSelect() {
+        long startTime = System.currentTimeMillis() - 60 * 60 * 1000;
+        HostWeight busyHost =
+                new HostWeight(HostWorker.of("192.158.2.1:11", 100, "default"), 0.06, 0.44, 3.84, 3, startTime);
+        HostWeight idleHost =
+                new HostWeight(HostWorker.of("192.158.2.2:22", 100, "default"), 0.06, 0.44, 3.84, 0, startTime);
+        List<HostWeight> sources = new ArrayList<>();
+        sources.add(busyHost);
+        sources.add(idleHost);
+
+        PowerOfTwoChoicesSelector selector = new PowerOfTwoChoicesSelector();
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("192.158.2.2", selector.select(sources).getHost().getIp());
+        }
+
+        // the in-flight tasks make the idle host busier
+        sources.set(1, idleHost.withInFlightTaskCount(5));
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("192.158.2.1", selector.select(sources).getHost().getIp());
+        }
+    }
+
+    @Test
+    public void testSelectLowerWeightWhenSamePendingTasks() {
+        long startTime = System.currentTimeMillis() - 60 * 60 * 1000;
+        List<HostWeight> sources = new ArrayList<>();
+        sources.add(new HostWeight(HostWorker.of("192.158.2.1:11", 100, "default"), 0.06, 0.44, 3.84, 0, startTime));
+        sources.add(new HostWeight(HostWorker.of("192.158.2.2:22", 100, "default"), 0.06, 0.44, 1.24, 0, startTime));
+
+        PowerOfTwoChoicesSelector selector = new PowerOfTwoChoicesSelector();
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("192.158.2.2", selector.select(sources).getHost().getIp());
+        }
+    }
+
+    @Test
+    public void testWithInFlightTaskCount() {
+        long startTime = System.currentTimeMillis() - 60 * 60 * 1000;
+        HostWeight heartbeatWeight =
+                new HostWeight(HostWorker.of("192.158.2.1:11", 100, "default"), 0.06, 0.44, 3.84, 1, startTime);
+        HostWeight selectionWeight = heartbeatWeight.withInFlightTaskCount(2);
+
+        // the weight of the heartbeat is not changed
+        Assertions.assertEquals(0, heartbeatWeight.getInFlightTaskCount());
+        Assertions.assertEquals(1, heartbeatWeight.getPendingTaskCount());
+        Assertions.assertEquals(3, selectionWeight.getPendingTaskCount());
+        Assertions.assertTrue(selectionWeight.getWeight() > heartbeatWeight.getWeight());
+
+        // the current weight of the round robin is kept in the weight of the heartbeat
+        selectionWeight.setCurrentWeight(100);
+        Assertions.assertEquals(100.0, heartbeatWeight.getCurrentWeight());
+        Assertions.assertEquals(100.0, heartbeatWeight.withInFlightTaskCount(0).getCurrentWeight());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.event;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EventMailboxTest {
+
+    @Test
+    public void testOfferWhenFull() {
+        EventMailbox<String> mailbox = new EventMailbox<>("test", 2);
+        Assertions.assertTrue(mailbox.offer("1"));
+        Assertions.assertTrue(mailbox.offer("2"));
+        Assertions.assertFalse(mailbox.offer("3"));
+        Assertions.assertEquals(2, mailbox.size());
+
+        // the events generated by the owner should not be rejected
+        Assertions.assertTrue(mailbox.forceOffer("3"));
+        Assertions.assertEquals(3, mailbox.size());
+
+        Assertions.assertEquals("1", mailbox.peek());
+        Assertions.assertTrue(mailbox.remove("1"));
+        Assertions.assertFalse(mailbox.remove("1"));
+        Assertions.assertEquals(2, mailbox.size());
+        Assertions.assertFalse(mailbox.offer("4"));
+    }
+
+    @Test
+    public void testClose() {
+        EventMailbox<String> mailbox = new EventMailbox<>("test", 2);
+        mailbox.offer("1");
+        mailbox.close();
+        Assertions.assertTrue(mailbox.isClosed());
+        Assertions.assertTrue(mailbox.isEmpty());
+        Assertions.assertEquals(0, mailbox.size());
+        Assertions.assertFalse(mailbox.offer("2"));
+        Assertions.assertFalse(mailbox.forceOffer("2"));
+    }
+
+    @Test
+    public void testMarkScheduled() {
+        EventMailbox<String> mailbox = new EventMailbox<>("test", 2);
+        Assertions.assertTrue(mailbox.markScheduled());
+        Assertions.assertFalse(mailbox.markScheduled());
+        mailbox.clearScheduled();
+        Assertions.assertTrue(mailbox.markScheduled());
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new EventMailbox<String>("test", 0));
+    }
+}
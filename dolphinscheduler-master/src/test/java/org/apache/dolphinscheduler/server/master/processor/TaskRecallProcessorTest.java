@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.enums.TaskEventType;
+import org.apache.dolphinscheduler.remote.command.TaskRejectCommand;
+import org.apache.dolphinscheduler.server.master.dispatch.host.WorkerInFlightTaskTracker;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEventService;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.netty.channel.Channel;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskRecallProcessorTest {
+
+    @InjectMocks
+    private TaskRecallProcessor taskRecallProcessor;
+
+    @Mock
+    private TaskEventService taskEventService;
+
+    @Mock
+    private WorkerInFlightTaskTracker workerInFlightTaskTracker;
+
+    @Test
+    public void testProcess() {
+        TaskRejectCommand taskRejectCommand =
+                new TaskRejectCommand("127.0.0.1:1234", "127.0.0.1:5678", System.currentTimeMillis());
+        taskRejectCommand.setTaskInstanceId(1);
+        taskRejectCommand.setProcessInstanceId(2);
+
+        taskRecallProcessor.process(Mockito.mock(Channel.class), taskRejectCommand.convert2Command());
+
+        // the rejected task is not in flight on the worker anymore
+        Mockito.verify(workerInFlightTaskTracker).onTaskRejected(1, "127.0.0.1:1234");
+        ArgumentCaptor<TaskEvent> taskEventCaptor = ArgumentCaptor.forClass(TaskEvent.class);
+        Mockito.verify(taskEventService).addEvent(taskEventCaptor.capture());
+        Assertions.assertEquals(TaskEventType.WORKER_REJECT, taskEventCaptor.getValue().getEvent());
+        Assertions.assertEquals(1, taskEventCaptor.getValue().getTaskInstanceId());
+    }
+}
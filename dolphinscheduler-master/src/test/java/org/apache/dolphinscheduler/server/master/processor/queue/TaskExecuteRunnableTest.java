@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor.queue;
+
+import org.apache.dolphinscheduler.common.enums.TaskEventType;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResultCommand;
+import org.apache.dolphinscheduler.server.master.event.TaskEventHandler;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.netty.channel.Channel;
+
+public class TaskExecuteRunnableTest {
+
+    private static final int PROCESS_INSTANCE_ID = 1;
+
+    private final List<TaskEvent> handledEvents = new ArrayList<>();
+
+    private TaskExecuteRunnable taskExecuteRunnable;
+
+    @BeforeEach
+    public void before() throws Exception {
+        Map<TaskEventType, TaskEventHandler> taskEventHandlerMap = new EnumMap<>(TaskEventType.class);
+        for (TaskEventType taskEventType : TaskEventType.values()) {
+            TaskEventHandler taskEventHandler = Mockito.mock(TaskEventHandler.class);
+            Mockito.doAnswer(invocation -> handledEvents.add(invocation.getArgument(0)))
+                    .when(taskEventHandler).handleTaskEvent(Mockito.any(TaskEvent.class));
+            taskEventHandlerMap.put(taskEventType, taskEventHandler);
+        }
+        taskExecuteRunnable = new TaskExecuteRunnable(PROCESS_INSTANCE_ID, taskEventHandlerMap, 1);
+    }
+
+    @Test
+    public void testRejectWorkerEventWhenMailboxIsFull() {
+        Assertions.assertTrue(taskExecuteRunnable.addEvent(createResultEvent(1)));
+        // the worker will resend the result until it's acked
+        Assertions.assertFalse(taskExecuteRunnable.addEvent(createResultEvent(2)));
+        Assertions.assertEquals(1, taskExecuteRunnable.eventSize());
+    }
+
+    @Test
+    public void testKeepDispatchEventWhenMailboxIsFull() {
+        Assertions.assertTrue(taskExecuteRunnable.addEvent(createResultEvent(1)));
+
+        TaskEvent dispatchEvent = TaskEvent.newDispatchEvent(PROCESS_INSTANCE_ID, 2, "127.0.0.1:1234");
+        Assertions.assertTrue(taskExecuteRunnable.addEvent(dispatchEvent));
+        Assertions.assertEquals(2, taskExecuteRunnable.eventSize());
+
+        taskExecuteRunnable.run();
+        Assertions.assertEquals(2, handledEvents.size());
+        Assertions.assertSame(dispatchEvent, handledEvents.get(1));
+        Assertions.assertTrue(taskExecuteRunnable.isEmpty());
+    }
+
+    @Test
+    public void testRejectDispatchEventWhenMailboxIsClosed() {
+        taskExecuteRunnable.close();
+
+        Assertions.assertFalse(
+                taskExecuteRunnable.addEvent(TaskEvent.newDispatchEvent(PROCESS_INSTANCE_ID, 2, "127.0.0.1:1234")));
+    }
+
+    private TaskEvent createResultEvent(int taskInstanceId) {
+        TaskExecuteResultCommand command = new TaskExecuteResultCommand("127.0.0.1:1234", "127.0.0.1:5678",
+                System.currentTimeMillis());
+        command.setProcessInstanceId(PROCESS_INSTANCE_ID);
+        command.setTaskInstanceId(taskInstanceId);
+        return TaskEvent.newResultEvent(command, Mockito.mock(Channel.class), "127.0.0.1:1234");
+    }
+}
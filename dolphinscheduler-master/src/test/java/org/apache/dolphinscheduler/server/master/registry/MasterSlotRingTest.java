@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.master.registry;
+
+import org.apache.dolphinscheduler.dao.model.CommandSlotRange;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MasterSlotRingTest {
+
+    @Test
+    public void testEmptyRing() {
+        MasterSlotRing masterSlotRing = MasterSlotRing.empty();
+        Assertions.assertTrue(masterSlotRing.isEmpty());
+        Assertions.assertNull(masterSlotRing.getOwner(1));
+        Assertions.assertTrue(masterSlotRing.getSlotRanges("127.0.0.1:5678").isEmpty());
+    }
+
+    @Test
+    public void testSingleMasterOwnsAllSlots() {
+        MasterSlotRing masterSlotRing = new MasterSlotRing(Collections.singletonList("127.0.0.1:5678"));
+        List<CommandSlotRange> slotRanges = masterSlotRing.getSlotRanges("127.0.0.1:5678");
+        Assertions.assertEquals(1, slotRanges.size());
+        Assertions.assertEquals(0, slotRanges.get(0).getStart());
+        Assertions.assertEquals(MasterSlotRing.SLOT_COUNT, slotRanges.get(0).getEnd());
+        Assertions.assertEquals("127.0.0.1:5678", masterSlotRing.getOwner(100));
+    }
+
+    @Test
+    public void testSlotRangesMatchOwner() {
+        List<String> masters = Arrays.asList("127.0.0.1:5678", "127.0.0.2:5678", "127.0.0.3:5678");
+        MasterSlotRing masterSlotRing = new MasterSlotRing(masters);
+        for (int commandId = 0; commandId < MasterSlotRing.SLOT_COUNT * 2; commandId++) {
+            int slot = MasterSlotRing.getSlot(commandId);
+            String owner = masterSlotRing.getOwner(commandId);
+            for (String master : masters) {
+                boolean inRange = masterSlotRing.getSlotRanges(master).stream()
+                        .anyMatch(slotRange -> slotRange.contains(slot));
+                Assertions.assertEquals(master.equals(owner), inRange);
+            }
+        }
+    }
+
+    @Test
+    public void testAddMasterOnlyRemapsPartOfSlots() {
+        MasterSlotRing before = new MasterSlotRing(Arrays.asList("127.0.0.1:5678", "127.0.0.2:5678"));
+        MasterSlotRing after =
+                new MasterSlotRing(Arrays.asList("127.0.0.1:5678", "127.0.0.2:5678", "127.0.0.3:5678"));
+        int remapped = 0;
+        for (int commandId = 0; commandId < MasterSlotRing.SLOT_COUNT; commandId++) {
+            String newOwner = after.getOwner(commandId);
+            if (!newOwner.equals(before.getOwner(commandId))) {
+                // the remapped command should only move to the new master
+                Assertions.assertEquals("127.0.0.3:5678", newOwner);
+                remapped++;
+            }
+        }
+        Assertions.assertTrue(remapped < MasterSlotRing.SLOT_COUNT);
+    }
+}
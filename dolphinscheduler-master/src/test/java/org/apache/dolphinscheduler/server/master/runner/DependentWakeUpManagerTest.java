@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.UpstreamFinishedNotifyCommand;
+import org.apache.dolphinscheduler.remote.processor.StateEventCallbackService;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.cache.DependentResultCacheManager;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.StateEvent;
+import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.collect.Sets;
+
+@ExtendWith(MockitoExtension.class)
+public class DependentWakeUpManagerTest {
+
+    @InjectMocks
+    private DependentWakeUpManager dependentWakeUpManager;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Mock
+    private DependentResultCacheManager dependentResultCacheManager;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    @Mock
+    private StateEventCallbackService stateEventCallbackService;
+
+    @Mock
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @BeforeEach
+    public void before() {
+        Map<Long, Set<Long>> dependItems = new HashMap<>();
+        dependItems.put(1L, Sets.newHashSet(11L));
+        dependItems.put(2L, Sets.newHashSet(Constants.DEPENDENT_ALL_TASK_CODE));
+        dependentWakeUpManager.subscribe(100, 1000, 10L, dependItems);
+    }
+
+    @Test
+    public void testWakeUpByUpstreamTask() {
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(100))
+                .thenReturn(Mockito.mock(WorkflowExecuteRunnable.class));
+
+        dependentWakeUpManager.onRemoteUpstreamFinished(1L, 12L);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.never()).submitStateEvent(Mockito.any(StateEvent.class));
+
+        dependentWakeUpManager.onRemoteUpstreamFinished(1L, 11L);
+        ArgumentCaptor<StateEvent> stateEventCaptor = ArgumentCaptor.forClass(StateEvent.class);
+        Mockito.verify(workflowExecuteThreadPool).submitStateEvent(stateEventCaptor.capture());
+        TaskStateEvent stateEvent = (TaskStateEvent) stateEventCaptor.getValue();
+        Assertions.assertEquals(100, stateEvent.getProcessInstanceId());
+        Assertions.assertEquals(1000, stateEvent.getTaskInstanceId());
+        Assertions.assertEquals(10L, stateEvent.getTaskCode());
+        Mockito.verify(dependentResultCacheManager, Mockito.times(2)).invalidate(1L);
+    }
+
+    @Test
+    public void testWakeUpByUpstreamWorkflow() {
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(100))
+                .thenReturn(Mockito.mock(WorkflowExecuteRunnable.class));
+
+        dependentWakeUpManager.onRemoteUpstreamFinished(2L, 21L);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.never()).submitStateEvent(Mockito.any(StateEvent.class));
+
+        dependentWakeUpManager.onRemoteUpstreamFinished(2L, Constants.DEPENDENT_ALL_TASK_CODE);
+        Mockito.verify(workflowExecuteThreadPool).submitStateEvent(Mockito.any(StateEvent.class));
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        dependentWakeUpManager.unsubscribe(1000);
+
+        dependentWakeUpManager.onRemoteUpstreamFinished(1L, 11L);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.never()).submitStateEvent(Mockito.any(StateEvent.class));
+    }
+
+    @Test
+    public void testUnsubscribeWhenWorkflowNotInCache() {
+        dependentWakeUpManager.onRemoteUpstreamFinished(1L, 11L);
+        dependentWakeUpManager.onRemoteUpstreamFinished(1L, 11L);
+
+        Mockito.verify(processInstanceExecCacheManager).getByProcessInstanceId(100);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.never()).submitStateEvent(Mockito.any(StateEvent.class));
+    }
+
+    @Test
+    public void testNotifyOtherMasters() {
+        Mockito.when(masterConfig.getMasterAddress()).thenReturn("127.0.0.1:5678");
+        Mockito.when(serverNodeManager.getMasterNodes())
+                .thenReturn(Sets.newHashSet("127.0.0.1:5678", "127.0.0.2:5678"));
+
+        dependentWakeUpManager.onUpstreamFinished(3L, 31L);
+        // the other masters are notified by the notify thread
+        Mockito.verify(stateEventCallbackService, Mockito.never()).sendResult(Mockito.any(Host.class),
+                Mockito.any(Command.class));
+        Mockito.verify(dependentResultCacheManager).invalidate(3L);
+
+        ReflectionTestUtils.invokeMethod(dependentWakeUpManager, "notifyOtherMasters");
+        ArgumentCaptor<Host> hostCaptor = ArgumentCaptor.forClass(Host.class);
+        Mockito.verify(stateEventCallbackService).sendResult(hostCaptor.capture(), Mockito.any(Command.class));
+        Assertions.assertEquals("127.0.0.2:5678", hostCaptor.getValue().getAddress());
+
+        // nothing is pending anymore
+        ReflectionTestUtils.invokeMethod(dependentWakeUpManager, "notifyOtherMasters");
+        Mockito.verify(stateEventCallbackService).sendResult(Mockito.any(Host.class), Mockito.any(Command.class));
+    }
+
+    @Test
+    public void testNotifyOtherMastersInBatch() {
+        Mockito.when(masterConfig.getMasterAddress()).thenReturn("127.0.0.1:5678");
+        Mockito.when(serverNodeManager.getMasterNodes())
+                .thenReturn(Sets.newHashSet("127.0.0.1:5678", "127.0.0.2:5678", "127.0.0.3:5678"));
+
+        dependentWakeUpManager.onUpstreamFinished(3L, 31L);
+        dependentWakeUpManager.onUpstreamFinished(3L, 32L);
+        dependentWakeUpManager.onUpstreamFinished(4L, 41L);
+        dependentWakeUpManager.onUpstreamFinished(4L, Constants.DEPENDENT_ALL_TASK_CODE);
+        ReflectionTestUtils.invokeMethod(dependentWakeUpManager, "notifyOtherMasters");
+
+        // one command per master carries all the finished upstreams
+        ArgumentCaptor<Command> commandCaptor = ArgumentCaptor.forClass(Command.class);
+        Mockito.verify(stateEventCallbackService, Mockito.times(2)).sendResult(Mockito.any(Host.class),
+                commandCaptor.capture());
+        UpstreamFinishedNotifyCommand notifyCommand =
+                JSONUtils.parseObject(commandCaptor.getValue().getBody(), UpstreamFinishedNotifyCommand.class);
+        Assertions.assertEquals(Sets.newHashSet(31L, 32L), notifyCommand.getFinishedTaskCodes().get(3L));
+        Assertions.assertEquals(Sets.newHashSet(Constants.DEPENDENT_ALL_TASK_CODE),
+                notifyCommand.getFinishedTaskCodes().get(4L));
+    }
+
+    @Test
+    public void testNotNotifyWithoutOtherMasters() {
+        Mockito.when(masterConfig.getMasterAddress()).thenReturn("127.0.0.1:5678");
+        Mockito.when(serverNodeManager.getMasterNodes()).thenReturn(Sets.newHashSet("127.0.0.1:5678"));
+
+        dependentWakeUpManager.onUpstreamFinished(3L, 31L);
+        ReflectionTestUtils.invokeMethod(dependentWakeUpManager, "notifyOtherMasters");
+
+        Mockito.verify(stateEventCallbackService, Mockito.never()).sendResult(Mockito.any(Host.class),
+                Mockito.any(Command.class));
+    }
+
+    @Test
+    public void testUpstreamStarted() {
+        dependentWakeUpManager.onUpstreamStarted(1L);
+
+        Mockito.verify(dependentResultCacheManager).invalidate(1L);
+        Mockito.verify(workflowExecuteThreadPool, Mockito.never()).submitStateEvent(Mockito.any(StateEvent.class));
+    }
+}
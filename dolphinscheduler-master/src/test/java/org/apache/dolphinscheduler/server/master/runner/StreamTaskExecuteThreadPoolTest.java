@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskEvent;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Test the run queue handoff of {@link StreamTaskExecuteThreadPool}, the stream task is mocked but the event queue
+ * and the {@link StreamTaskExecuteRunnable#markInRunQueue()} are the real ones.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class StreamTaskExecuteThreadPoolTest {
+
+    private static final int TASK_INSTANCE_ID = 1;
+
+    @InjectMocks
+    private StreamTaskExecuteThreadPool streamTaskExecuteThreadPool;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    private final ConcurrentLinkedQueue<TaskEvent> taskEvents = new ConcurrentLinkedQueue<>();
+
+    private StreamTaskExecuteRunnable streamTaskExecuteRunnable;
+
+    private final AtomicInteger handledEventCount = new AtomicInteger();
+
+    private final AtomicInteger runningDrainCount = new AtomicInteger();
+
+    private final AtomicInteger maxRunningDrainCount = new AtomicInteger();
+
+    private final AtomicInteger drainCount = new AtomicInteger();
+
+    @BeforeEach
+    public void before() throws Exception {
+        masterConfig.setExecThreads(4);
+        Method init = StreamTaskExecuteThreadPool.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(streamTaskExecuteThreadPool);
+        streamTaskExecuteThreadPool.initialize();
+
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId(TASK_INSTANCE_ID);
+        streamTaskExecuteRunnable = Mockito.mock(StreamTaskExecuteRunnable.class, Mockito.CALLS_REAL_METHODS);
+        setField(streamTaskExecuteRunnable, "taskInstance", taskInstance);
+        setField(streamTaskExecuteRunnable, "taskEvents", taskEvents);
+        setField(streamTaskExecuteRunnable, "inRunQueue", new AtomicBoolean(false));
+        Mockito.doReturn(true).when(streamTaskExecuteRunnable).isStart();
+    }
+
+    @AfterEach
+    public void after() {
+        streamTaskExecuteThreadPool.shutdown();
+    }
+
+    @Test
+    public void testAddTaskEventsConcurrently() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            drainEvents();
+            return null;
+        }).when(streamTaskExecuteRunnable).handleEvents();
+
+        int producerCount = 4;
+        int eventCountPerProducer = 2000;
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            producers.add(new Thread(() -> {
+                for (int j = 0; j < eventCountPerProducer; j++) {
+                    addTaskEvent();
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        awaitUntil(() -> handledEventCount.get() == producerCount * eventCountPerProducer);
+        // the events of one stream task are never handled by two threads at the same time
+        Assertions.assertEquals(1, maxRunningDrainCount.get());
+        Assertions.assertTrue(taskEvents.isEmpty());
+    }
+
+    @Test
+    public void testAddTaskEventDuringDrain() throws Exception {
+        CountDownLatch drained = new CountDownLatch(1);
+        CountDownLatch finishDrain = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            drainEvents();
+            if (drainCount.get() == 1) {
+                // the drain is finished but the stream task is still marked in the run queue
+                drained.countDown();
+                finishDrain.await();
+            }
+            return null;
+        }).when(streamTaskExecuteRunnable).handleEvents();
+
+        addTaskEvent();
+        Assertions.assertTrue(drained.await(10, TimeUnit.SECONDS));
+
+        addTaskEvent();
+        Assertions.assertFalse(streamTaskExecuteRunnable.markInRunQueue());
+        Assertions.assertEquals(1, taskEvents.size());
+
+        // the event added during the drain is handled after the run queue mark is cleared
+        finishDrain.countDown();
+        awaitUntil(() -> handledEventCount.get() == 2);
+        Assertions.assertEquals(2, drainCount.get());
+    }
+
+    private void addTaskEvent() {
+        TaskEvent taskEvent = new TaskEvent();
+        taskEvent.setTaskInstanceId(TASK_INSTANCE_ID);
+        if (streamTaskExecuteRunnable.addTaskEvent(taskEvent)) {
+            streamTaskExecuteThreadPool.executeEvent(streamTaskExecuteRunnable);
+        }
+    }
+
+    private void drainEvents() {
+        drainCount.incrementAndGet();
+        int running = runningDrainCount.incrementAndGet();
+        maxRunningDrainCount.accumulateAndGet(running, Math::max);
+        try {
+            while (taskEvents.poll() != null) {
+                handledEventCount.incrementAndGet();
+            }
+        } finally {
+            runningDrainCount.decrementAndGet();
+        }
+    }
+
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Wait for the events to be handled timeout");
+            Thread.sleep(10);
+        }
+    }
+
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = StreamTaskExecuteRunnable.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
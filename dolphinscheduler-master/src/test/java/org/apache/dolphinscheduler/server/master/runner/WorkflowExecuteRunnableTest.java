@@ -33,17 +33,22 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.repository.ProcessInstanceDao;
 import org.apache.dolphinscheduler.dao.repository.TaskDefinitionLogDao;
 import org.apache.dolphinscheduler.dao.repository.TaskInstanceDao;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DependResult;
+import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.executor.NettyExecutorManager;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.expand.CuringParamsService;
+import org.apache.dolphinscheduler.service.model.TaskNode;
 import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.utils.DagHelper;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -119,7 +124,7 @@ public class WorkflowExecuteRunnableTest {
                 new WorkflowExecuteRunnable(processInstance, commandService, processService, processInstanceDao,
                         nettyExecutorManager,
                         processAlertManager, config, stateWheelExecuteThread, curingGlobalParamsService,
-                        taskInstanceDao, taskDefinitionLogDao));
+                        taskInstanceDao, taskDefinitionLogDao, Mockito.mock(DependentWakeUpManager.class)));
         Field dag = WorkflowExecuteRunnable.class.getDeclaredField("dag");
         dag.setAccessible(true);
         dag.set(workflowExecuteThread, new DAG());
@@ -258,6 +263,136 @@ public class WorkflowExecuteRunnableTest {
         }
     }
 
+    @Test
+    public void testRemainingDepCountDecreasedOnTaskComplete() throws Exception {
+        // 1 -> 2 -> 3, 1 -> 3
+        initDag(createTaskNode(1), createTaskNode(2, 1), createTaskNode(3, 1, 2));
+        Assertions.assertEquals(2, getRemainingDepCount(3));
+
+        addCompleteTask(1, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(0, getRemainingDepCount(2));
+        Assertions.assertEquals(1, getRemainingDepCount(3));
+        Assertions.assertEquals(DependResult.WAITING, isTaskDepsComplete(3));
+
+        // the same task completed again should not be counted twice
+        addCompleteTask(1, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(1, getRemainingDepCount(3));
+
+        addCompleteTask(2, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(0, getRemainingDepCount(3));
+        Assertions.assertEquals(DependResult.SUCCESS, isTaskDepsComplete(3));
+
+        invokePrivate("removeCompleteTask", new Class[]{long.class}, 2L);
+        Assertions.assertEquals(1, getRemainingDepCount(3));
+        Assertions.assertEquals(DependResult.WAITING, isTaskDepsComplete(3));
+    }
+
+    @Test
+    public void testRemainingDepCountWithForbiddenTaskNode() throws Exception {
+        // 1 -> 2(forbidden) -> 3, 4 -> 3
+        TaskNode forbiddenTaskNode = createTaskNode(2, 1);
+        getField("forbiddenTaskMap", Map.class).put(2L, forbiddenTaskNode);
+        initDag(createTaskNode(1), forbiddenTaskNode, createTaskNode(3, 2, 4), createTaskNode(4));
+        // the forbidden task is replaced by its dependencies
+        Assertions.assertEquals(2, getRemainingDepCount(3));
+
+        addCompleteTask(1, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(1, getRemainingDepCount(3));
+        addCompleteTask(4, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(0, getRemainingDepCount(3));
+        Assertions.assertEquals(DependResult.SUCCESS, isTaskDepsComplete(3));
+    }
+
+    @Test
+    public void testRemainingDepCountWithSkippedTaskNode() throws Exception {
+        // 1 -> 3, 2 -> 3
+        TaskNode skippedTaskNode = createTaskNode(2);
+        initDag(createTaskNode(1), skippedTaskNode, createTaskNode(3, 1, 2));
+        addCompleteTask(1, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(DependResult.WAITING, isTaskDepsComplete(3));
+
+        // the node is skipped by the condition or switch task inside DagHelper
+        getField("skipTaskNodeMap", Map.class).put("2", skippedTaskNode);
+        Assertions.assertEquals(DependResult.SUCCESS, isTaskDepsComplete(3));
+        Assertions.assertEquals(0, getRemainingDepCount(3));
+
+        // the skipped node is not counted again when it is completed or removed
+        addCompleteTask(2, TaskExecutionStatus.SUCCESS);
+        invokePrivate("removeCompleteTask", new Class[]{long.class}, 2L);
+        Assertions.assertEquals(0, getRemainingDepCount(3));
+    }
+
+    @Test
+    public void testRemainingDepCountOnRecovery() throws Exception {
+        // 1 -> 3, 2 -> 3
+        initDag(createTaskNode(1), createTaskNode(2), createTaskNode(3, 1, 2));
+        addCompleteTask(1, TaskExecutionStatus.SUCCESS);
+        addCompleteTask(2, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(0, getRemainingDepCount(3));
+
+        // the task queue is rebuilt from the valid task instances when the workflow is recovered by failover
+        invokePrivate("clearCompleteTask", new Class[0]);
+        Assertions.assertEquals(2, getRemainingDepCount(3));
+        addCompleteTask(1, TaskExecutionStatus.SUCCESS);
+        Assertions.assertEquals(1, getRemainingDepCount(3));
+
+        // the dag is rebuilt after some tasks are completed
+        initDag(createTaskNode(1), createTaskNode(2), createTaskNode(3, 1, 2));
+        Assertions.assertEquals(1, getRemainingDepCount(3));
+        addCompleteTask(2, TaskExecutionStatus.FAILURE);
+        Assertions.assertEquals(DependResult.FAILED, isTaskDepsComplete(3));
+    }
+
+    private TaskNode createTaskNode(long code, long... preTaskCodes) {
+        TaskNode taskNode = new TaskNode();
+        taskNode.setCode(code);
+        taskNode.setName("task-" + code);
+        taskNode.setType("SHELL");
+        List<String> depList = new ArrayList<>();
+        for (long preTaskCode : preTaskCodes) {
+            depList.add(Long.toString(preTaskCode));
+        }
+        taskNode.setDepList(depList);
+        return taskNode;
+    }
+
+    private void initDag(TaskNode... taskNodes) throws Exception {
+        List<TaskNode> taskNodeList = Arrays.asList(taskNodes);
+        Field dag = WorkflowExecuteRunnable.class.getDeclaredField("dag");
+        dag.setAccessible(true);
+        dag.set(workflowExecuteThread, DagHelper.buildDagGraph(DagHelper.getProcessDag(taskNodeList)));
+        invokePrivate("initIndirectDependencies", new Class[]{List.class}, taskNodeList);
+    }
+
+    private void addCompleteTask(long taskCode, TaskExecutionStatus state) throws Exception {
+        TaskInstance taskInstance = new TaskInstance();
+        taskInstance.setId((int) taskCode);
+        taskInstance.setTaskCode(taskCode);
+        taskInstance.setState(state);
+        getField("taskInstanceMap", Map.class).put(taskInstance.getId(), taskInstance);
+        invokePrivate("addCompleteTask", new Class[]{long.class, Integer.class}, taskCode, taskInstance.getId());
+    }
+
+    private DependResult isTaskDepsComplete(long taskCode) throws Exception {
+        return (DependResult) invokePrivate("isTaskDepsComplete", new Class[]{String.class}, Long.toString(taskCode));
+    }
+
+    private int getRemainingDepCount(long taskCode) throws Exception {
+        return (int) getField("remainingDepCountMap", Map.class).get(Long.toString(taskCode));
+    }
+
+    private Object invokePrivate(String methodName, Class<?>[] parameterTypes, Object... args) throws Exception {
+        Method method = WorkflowExecuteRunnable.class.getDeclaredMethod(methodName, parameterTypes);
+        method.setAccessible(true);
+        return method.invoke(workflowExecuteThread, args);
+    }
+
+    private <T> T getField(String fieldName, Class<T> fieldType) throws Exception {
+        Field field = WorkflowExecuteRunnable.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return fieldType.cast(field.get(workflowExecuteThread));
+    }
+
     private List<Schedule> zeroSchedulerList() {
         return Collections.emptyList();
     }
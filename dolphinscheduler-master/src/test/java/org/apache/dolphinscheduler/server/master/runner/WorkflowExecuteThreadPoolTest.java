@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.StateEventType;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.remote.processor.StateEventCallbackService;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.event.EventMailbox;
+import org.apache.dolphinscheduler.server.master.event.StateEvent;
+import org.apache.dolphinscheduler.server.master.event.TaskStateEvent;
+import org.apache.dolphinscheduler.server.master.processor.queue.TaskExecuteThreadPool;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+/**
+ * Test the run queue handoff of {@link WorkflowExecuteThreadPool}, the workflow is mocked but the mailbox and the
+ * {@link WorkflowExecuteRunnable#markInRunQueue()} are the real ones.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class WorkflowExecuteThreadPoolTest {
+
+    private static final int PROCESS_INSTANCE_ID = 1;
+
+    @InjectMocks
+    private WorkflowExecuteThreadPool workflowExecuteThreadPool;
+
+    @Spy
+    private MasterConfig masterConfig = new MasterConfig();
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private StateEventCallbackService stateEventCallbackService;
+
+    @Mock
+    private StateWheelExecuteThread stateWheelExecuteThread;
+
+    @Mock
+    private TaskExecuteThreadPool taskExecuteThreadPool;
+
+    private EventMailbox<StateEvent> stateEvents;
+
+    private WorkflowExecuteRunnable workflowExecuteRunnable;
+
+    private final AtomicInteger handledEventCount = new AtomicInteger();
+
+    private final AtomicInteger runningDrainCount = new AtomicInteger();
+
+    private final AtomicInteger maxRunningDrainCount = new AtomicInteger();
+
+    private final AtomicInteger drainCount = new AtomicInteger();
+
+    @BeforeEach
+    public void before() throws Exception {
+        masterConfig.setExecThreads(4);
+        Method init = WorkflowExecuteThreadPool.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(workflowExecuteThreadPool);
+        workflowExecuteThreadPool.initialize();
+
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(PROCESS_INSTANCE_ID);
+        stateEvents = new EventMailbox<>(WorkflowExecuteRunnable.MAILBOX_TYPE, 100000);
+        workflowExecuteRunnable = Mockito.mock(WorkflowExecuteRunnable.class, Mockito.CALLS_REAL_METHODS);
+        setField(workflowExecuteRunnable, "processInstance", processInstance);
+        setField(workflowExecuteRunnable, "stateEvents", stateEvents);
+        Mockito.doReturn(true).when(workflowExecuteRunnable).isStart();
+        Mockito.doReturn(false).when(workflowExecuteRunnable).workFlowFinish();
+        Mockito.when(processInstanceExecCacheManager.getByProcessInstanceId(PROCESS_INSTANCE_ID))
+                .thenReturn(workflowExecuteRunnable);
+    }
+
+    @AfterEach
+    public void after() {
+        workflowExecuteThreadPool.shutdown();
+    }
+
+    @Test
+    public void testSubmitStateEventsConcurrently() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            drainEvents();
+            return null;
+        }).when(workflowExecuteRunnable).handleEvents();
+
+        int producerCount = 4;
+        int eventCountPerProducer = 2000;
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            producers.add(new Thread(() -> {
+                for (int j = 0; j < eventCountPerProducer; j++) {
+                    workflowExecuteThreadPool.submitStateEvent(createStateEvent(j));
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        awaitUntil(() -> handledEventCount.get() == producerCount * eventCountPerProducer);
+        // the events of one workflow are never handled by two threads at the same time
+        Assertions.assertEquals(1, maxRunningDrainCount.get());
+        Assertions.assertEquals(0, stateEvents.size());
+    }
+
+    @Test
+    public void testSubmitStateEventDuringDrain() throws Exception {
+        CountDownLatch drained = new CountDownLatch(1);
+        CountDownLatch finishDrain = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            drainEvents();
+            if (drainCount.get() == 1) {
+                // the drain is finished but the workflow is still marked in the run queue
+                drained.countDown();
+                finishDrain.await();
+            }
+            return null;
+        }).when(workflowExecuteRunnable).handleEvents();
+
+        workflowExecuteThreadPool.submitStateEvent(createStateEvent(1));
+        Assertions.assertTrue(drained.await(10, TimeUnit.SECONDS));
+
+        // the workflow is in the run queue, so the submit will not enqueue it again
+        workflowExecuteThreadPool.submitStateEvent(createStateEvent(2));
+        Assertions.assertFalse(workflowExecuteRunnable.markInRunQueue());
+        Assertions.assertEquals(1, stateEvents.size());
+
+        // the event added during the drain is handled after the run queue mark is cleared
+        finishDrain.countDown();
+        awaitUntil(() -> handledEventCount.get() == 2);
+        Assertions.assertEquals(2, drainCount.get());
+        Assertions.assertEquals(1, maxRunningDrainCount.get());
+    }
+
+    @Test
+    public void testSubmitStateEventWhenMailboxIsFull() throws Exception {
+        stateEvents = new EventMailbox<>(WorkflowExecuteRunnable.MAILBOX_TYPE, 1);
+        setField(workflowExecuteRunnable, "stateEvents", stateEvents);
+        CountDownLatch finishDrain = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            finishDrain.await();
+            drainEvents();
+            return null;
+        }).when(workflowExecuteRunnable).handleEvents();
+
+        // the state events cannot be resent, so they are accepted even if the mailbox is full
+        for (int i = 0; i < 3; i++) {
+            workflowExecuteThreadPool.submitStateEvent(createStateEvent(i));
+        }
+        Assertions.assertEquals(3, stateEvents.size());
+
+        finishDrain.countDown();
+        awaitUntil(() -> handledEventCount.get() == 3);
+
+        // the closed mailbox rejects the events
+        stateEvents.close();
+        Assertions.assertFalse(workflowExecuteRunnable.addStateEvent(createStateEvent(4)));
+    }
+
+    private void drainEvents() {
+        drainCount.incrementAndGet();
+        int running = runningDrainCount.incrementAndGet();
+        maxRunningDrainCount.accumulateAndGet(running, Math::max);
+        try {
+            StateEvent stateEvent;
+            while ((stateEvent = stateEvents.peek()) != null) {
+                stateEvents.remove(stateEvent);
+                handledEventCount.incrementAndGet();
+            }
+        } finally {
+            runningDrainCount.decrementAndGet();
+        }
+    }
+
+    private StateEvent createStateEvent(int taskInstanceId) {
+        return TaskStateEvent.builder()
+                .processInstanceId(PROCESS_INSTANCE_ID)
+                .taskInstanceId(taskInstanceId)
+                .type(StateEventType.TASK_STATE_CHANGE)
+                .build();
+    }
+
+    private void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Wait for the events to be handled timeout");
+            Thread.sleep(10);
+        }
+    }
+
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = WorkflowExecuteRunnable.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.master;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.event.EventMailbox;
+import org.apache.dolphinscheduler.server.master.runner.WorkflowExecuteRunnable;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Workflow event dispatch JMH test, compare the latency of dispatching one state event when the master scans all the
+ * active workflows with the latency when the workflow is enqueued into a run queue once it receives an event.
+ * <p>
+ * Each workflow holds the {@link EventMailbox} used by {@link WorkflowExecuteRunnable}, the run queue dispatch uses
+ * the same scheduled mark as {@link WorkflowExecuteRunnable#markInRunQueue()}.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class WorkflowEventDispatchBenchmark extends AbstractBaseBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    private int activeWorkflowCount;
+
+    private Workflow[] workflows;
+
+    private Queue<Workflow> runQueue;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        workflows = new Workflow[activeWorkflowCount];
+        for (int i = 0; i < activeWorkflowCount; i++) {
+            workflows[i] = new Workflow(new EventMailbox<>(WorkflowExecuteRunnable.MAILBOX_TYPE, 10000));
+        }
+        runQueue = new ArrayDeque<>();
+        next = 0;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int scanDispatchTest() {
+        nextWorkflow().addEvent();
+        int handled = 0;
+        for (Workflow workflow : workflows) {
+            if (workflow.eventSize() == 0) {
+                continue;
+            }
+            handled += workflow.handleEvents();
+        }
+        return handled;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int runQueueDispatchTest() {
+        Workflow workflow = nextWorkflow();
+        workflow.addEvent();
+        if (workflow.markInRunQueue()) {
+            runQueue.offer(workflow);
+        }
+        int handled = 0;
+        Workflow readyWorkflow;
+        while ((readyWorkflow = runQueue.poll()) != null) {
+            handled += readyWorkflow.handleEvents();
+            readyWorkflow.clearInRunQueue();
+        }
+        return handled;
+    }
+
+    private Workflow nextWorkflow() {
+        Workflow workflow = workflows[next];
+        next = (next + 1) % activeWorkflowCount;
+        return workflow;
+    }
+
+    private static class Workflow {
+
+        private final EventMailbox<Object> stateEvents;
+
+        Workflow(EventMailbox<Object> stateEvents) {
+            this.stateEvents = stateEvents;
+        }
+
+        void addEvent() {
+            stateEvents.offer(Boolean.TRUE);
+        }
+
+        int eventSize() {
+            return stateEvents.size();
+        }
+
+        int handleEvents() {
+            int handled = 0;
+            Object event;
+            while ((event = stateEvents.peek()) != null) {
+                stateEvents.remove(event);
+                handled++;
+            }
+            return handled;
+        }
+
+        boolean markInRunQueue() {
+            return stateEvents.markScheduled();
+        }
+
+        void clearInRunQueue() {
+            stateEvents.clearScheduled();
+        }
+    }
+}
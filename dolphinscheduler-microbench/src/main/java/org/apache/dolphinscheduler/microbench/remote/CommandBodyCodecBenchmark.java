@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.remote;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.remote.codec.CommandBodyCodec;
+import org.apache.dolphinscheduler.remote.command.TaskDispatchCommand;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Command body codec JMH test, compare the latency and the size of encoding and decoding the task dispatch command by
+ * json with the binary codec, the sizes are printed when setting up.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class CommandBodyCodecBenchmark extends AbstractBaseBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandBodyCodecBenchmark.class);
+
+    /**
+     * the number of the params and the resources in the task execution context
+     */
+    @Param({"10", "100", "1000"})
+    private int paramSize;
+
+    private TaskDispatchCommand taskDispatchCommand;
+
+    private byte[] jsonBody;
+
+    private byte[] binaryBody;
+
+    @Setup
+    public void setUp() {
+        taskDispatchCommand = new TaskDispatchCommand(newTaskExecutionContext(paramSize),
+                "127.0.0.1:5678", "127.0.0.1:1234", System.currentTimeMillis());
+        jsonBody = JSONUtils.toJsonByteArray(taskDispatchCommand);
+        binaryBody = CommandBodyCodec.serialize(taskDispatchCommand);
+        logger.info("paramSize: {}, json body size: {} bytes, binary body size: {} bytes",
+                paramSize, jsonBody.length, binaryBody.length);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] jsonEncodeTest() {
+        return JSONUtils.toJsonByteArray(taskDispatchCommand);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] binaryEncodeTest() {
+        return CommandBodyCodec.serialize(taskDispatchCommand);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TaskDispatchCommand jsonDecodeTest() {
+        return JSONUtils.parseObject(jsonBody, TaskDispatchCommand.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TaskDispatchCommand binaryDecodeTest() {
+        return CommandBodyCodec.deserialize(binaryBody, TaskDispatchCommand.class);
+    }
+
+    private TaskExecutionContext newTaskExecutionContext(int paramSize) {
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(1);
+        taskExecutionContext.setTaskName("benchmark-task");
+        taskExecutionContext.setTaskType("SHELL");
+        taskExecutionContext.setProcessInstanceId(1);
+        taskExecutionContext.setProcessDefineCode(1L);
+        taskExecutionContext.setTenantCode("default");
+        taskExecutionContext.setWorkerGroup("default");
+        taskExecutionContext.setExecutePath("/tmp/dolphinscheduler/exec/process/1/1/1/1");
+        taskExecutionContext.setLogPath("/opt/dolphinscheduler/logs/20221017/1/1/1/1.log");
+        taskExecutionContext.setTaskParams("{\"rawScript\":\"echo ${param_0}\",\"localParams\":[],\"resourceList\":[]}");
+        Map<String, Property> prepareParamsMap = new HashMap<>();
+        Map<String, String> definedParams = new HashMap<>();
+        Map<String, String> resources = new HashMap<>();
+        for (int i = 0; i < paramSize; i++) {
+            prepareParamsMap.put("param_" + i, new Property("param_" + i, Direct.IN, DataType.VARCHAR, "value_" + i));
+            definedParams.put("param_" + i, "value_" + i);
+            resources.put("/dolphinscheduler/default/resources/file_" + i + ".sh", "default");
+        }
+        taskExecutionContext.setPrepareParamsMap(prepareParamsMap);
+        taskExecutionContext.setDefinedParams(definedParams);
+        taskExecutionContext.setResources(resources);
+        return taskExecutionContext;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.scheduler;
+
+import org.apache.dolphinscheduler.common.utils.HashedTimingWheel;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.service.cron.CronUtils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.simpl.RAMJobStore;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.spi.TriggerFiredResult;
+
+import com.cronutils.model.time.ExecutionTime;
+
+/**
+ * Schedule fire JMH test, all the schedules fire at the same second, one operation fires all of them, so the fires per
+ * second is the ops/s multiplied by scheduleCount.
+ * <p>
+ * The quartz test acquires, fires and completes the triggers with the in-memory job store, the time wheel test expires
+ * the bucket and computes the next fire time of each schedule. Both don't include the database: the JDBC job store
+ * additionally takes the QRTZ_LOCKS row lock and updates the trigger rows for each acquisition, and the quartz plugin
+ * queries the schedule and workflow and inserts one command for each fire, while the time wheel scheduler does two
+ * queries and one batch insert for each tick.
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+public class ScheduleFireBenchmark extends AbstractBaseBenchmark {
+
+    private static final String CRONTAB = "0 * * * * ? *";
+
+    @Param({"1000", "10000", "40000"})
+    private int scheduleCount;
+
+    private RAMJobStore jobStore;
+
+    private long quartzNoLaterThan;
+
+    private HashedTimingWheel<ScheduleEntry> timeWheel;
+
+    private ExecutionTime executionTime;
+
+    private long timeWheelNow;
+
+    @Setup
+    public void setUp() throws Exception {
+        long startTime = System.currentTimeMillis();
+        setUpQuartz(startTime);
+        setUpTimeWheel(startTime);
+    }
+
+    private void setUpQuartz(long startTime) throws SchedulerException {
+        jobStore = new RAMJobStore();
+        jobStore.initialize(null, new NoopSchedulerSignaler());
+        for (int i = 0; i < scheduleCount; i++) {
+            JobDetail jobDetail = JobBuilder.newJob(NoopJob.class).withIdentity("job_" + i, "jobgroup").build();
+            Trigger trigger = TriggerBuilder.newTrigger()
+                    .withIdentity("job_" + i, "jobgroup")
+                    .startAt(new Date(startTime))
+                    .withSchedule(CronScheduleBuilder.cronSchedule(CRONTAB)
+                            .withMisfireHandlingInstructionFireAndProceed())
+                    .forJob(jobDetail)
+                    .build();
+            jobStore.storeJobAndTrigger(jobDetail, (OperableTrigger) trigger);
+        }
+        // the triggers are never misfired, since the acquisition doesn't wait for the fire time
+        quartzNoLaterThan = startTime + TimeUnit.DAYS.toMillis(365 * 100);
+    }
+
+    private void setUpTimeWheel(long startTime) throws Exception {
+        executionTime = ExecutionTime.forCron(CronUtils.parse2Cron(CRONTAB));
+        timeWheel = new HashedTimingWheel<>(1000, 512, startTime);
+        long firstFireTime = nextFireTime(startTime);
+        for (int i = 0; i < scheduleCount; i++) {
+            ScheduleEntry scheduleEntry = new ScheduleEntry(i);
+            scheduleEntry.nextFireTime = firstFireTime;
+            timeWheel.add(scheduleEntry, firstFireTime);
+        }
+        timeWheelNow = firstFireTime;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int quartzFireTest() throws SchedulerException {
+        List<OperableTrigger> triggers = jobStore.acquireNextTriggers(quartzNoLaterThan, scheduleCount, 0);
+        List<TriggerFiredResult> firedResults = jobStore.triggersFired(triggers);
+        for (TriggerFiredResult firedResult : firedResults) {
+            jobStore.triggeredJobComplete(firedResult.getTriggerFiredBundle().getTrigger(),
+                    firedResult.getTriggerFiredBundle().getJobDetail(),
+                    Trigger.CompletedExecutionInstruction.NOOP);
+        }
+        return firedResults.size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public int timeWheelFireTest() {
+        List<ScheduleEntry> expiredEntries = timeWheel.advance(timeWheelNow);
+        long nextTickTime = Long.MAX_VALUE;
+        for (ScheduleEntry scheduleEntry : expiredEntries) {
+            scheduleEntry.nextFireTime = nextFireTime(scheduleEntry.nextFireTime);
+            timeWheel.add(scheduleEntry, scheduleEntry.nextFireTime);
+            nextTickTime = Math.min(nextTickTime, scheduleEntry.nextFireTime);
+        }
+        timeWheelNow = nextTickTime;
+        return expiredEntries.size();
+    }
+
+    private long nextFireTime(long afterMillis) {
+        ZonedDateTime after = ZonedDateTime.ofInstant(Instant.ofEpochMilli(afterMillis), ZoneId.systemDefault());
+        return executionTime.nextExecution(after).get().toInstant().toEpochMilli();
+    }
+
+    private static final class ScheduleEntry {
+
+        private final int scheduleId;
+
+        private long nextFireTime;
+
+        private ScheduleEntry(int scheduleId) {
+            this.scheduleId = scheduleId;
+        }
+    }
+
+    public static class NoopJob implements org.quartz.Job {
+
+        @Override
+        public void execute(org.quartz.JobExecutionContext context) {
+            // do nothing
+        }
+    }
+
+    private static final class NoopSchedulerSignaler implements SchedulerSignaler {
+
+        @Override
+        public void notifyTriggerListenersMisfired(Trigger trigger) {
+        }
+
+        @Override
+        public void notifySchedulerListenersFinalized(Trigger trigger) {
+        }
+
+        @Override
+        public void notifySchedulerListenersJobDeleted(JobKey jobKey) {
+        }
+
+        @Override
+        public void signalSchedulingChange(long candidateNewNextFireTime) {
+        }
+
+        @Override
+        public void notifySchedulerListenersError(String message, SchedulerException jpe) {
+        }
+    }
+}
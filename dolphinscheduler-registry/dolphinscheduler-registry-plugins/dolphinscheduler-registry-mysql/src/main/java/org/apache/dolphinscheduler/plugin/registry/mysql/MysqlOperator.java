@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.plugin.registry.mysql;
 
 import org.apache.dolphinscheduler.plugin.registry.mysql.model.DataType;
 import org.apache.dolphinscheduler.plugin.registry.mysql.model.MysqlRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.mysql.model.MysqlRegistryEvent;
 import org.apache.dolphinscheduler.plugin.registry.mysql.model.MysqlRegistryLock;
 
 import org.apache.commons.lang3.StringUtils;
@@ -32,12 +33,15 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Lists;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 
@@ -48,12 +52,16 @@ public class MysqlOperator implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(MysqlOperator.class);
 
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final HikariDataSource dataSource;
     private final long expireTimeWindow;
+    private final long eventRetention;
 
     public MysqlOperator(MysqlRegistryProperties registryProperties) {
         this.expireTimeWindow =
                 registryProperties.getTermExpireTimes() * registryProperties.getTermRefreshInterval().toMillis();
+        this.eventRetention = registryProperties.getEventRetention().toMillis();
 
         HikariConfig hikariConfig = registryProperties.getHikariConfig();
         hikariConfig.setPoolName("MysqlRegistryDataSourcePool");
@@ -79,96 +87,101 @@ public class MysqlOperator implements AutoCloseable {
                 ResultSet resultSet = preparedStatement.executeQuery()) {
             List<MysqlRegistryData> result = new ArrayList<>(resultSet.getFetchSize());
             while (resultSet.next()) {
-                MysqlRegistryData mysqlRegistryData = MysqlRegistryData.builder()
-                        .id(resultSet.getLong("id"))
-                        .key(resultSet.getString("key"))
-                        .data(resultSet.getString("data"))
-                        .type(resultSet.getInt("type"))
-                        .createTime(resultSet.getTimestamp("create_time"))
-                        .lastUpdateTime(resultSet.getTimestamp("last_update_time"))
-                        .build();
-                result.add(mysqlRegistryData);
+                result.add(toMysqlRegistryData(resultSet));
             }
             return result;
         }
     }
 
+    private MysqlRegistryData toMysqlRegistryData(ResultSet resultSet) throws SQLException {
+        return MysqlRegistryData.builder()
+                .id(resultSet.getLong("id"))
+                .key(resultSet.getString("key"))
+                .data(resultSet.getString("data"))
+                .type(resultSet.getInt("type"))
+                .createTime(resultSet.getTimestamp("create_time"))
+                .lastUpdateTime(resultSet.getTimestamp("last_update_time"))
+                .build();
+    }
+
     public long insertOrUpdateEphemeralData(String key, String value) throws SQLException {
-        String sql =
-                "INSERT INTO t_ds_mysql_registry_data (`key`, data, type, create_time, last_update_time) VALUES (?, ?, ?, current_timestamp, current_timestamp)"
-                        +
-                        "ON DUPLICATE KEY UPDATE data=?, last_update_time=current_timestamp";
-        // put a ephemeralData
-        try (
-                Connection connection = dataSource.getConnection();
-                PreparedStatement preparedStatement =
-                        connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            preparedStatement.setString(1, key);
-            preparedStatement.setString(2, value);
-            preparedStatement.setInt(3, DataType.EPHEMERAL.getTypeValue());
-            preparedStatement.setString(4, value);
-            int insertCount = preparedStatement.executeUpdate();
-            ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-            if (insertCount < 1 || !generatedKeys.next()) {
-                throw new SQLException("Insert or update ephemeral data error");
-            }
-            return generatedKeys.getLong(1);
-        }
+        return insertOrUpdateData(key, value, DataType.EPHEMERAL);
     }
 
     public long insertOrUpdatePersistentData(String key, String value) throws SQLException {
+        return insertOrUpdateData(key, value, DataType.PERSISTENT);
+    }
+
+    private long insertOrUpdateData(String key, String value, DataType dataType) throws SQLException {
         String sql =
                 "INSERT INTO t_ds_mysql_registry_data (`key`, data, type, create_time, last_update_time) VALUES (?, ?, ?, current_timestamp, current_timestamp)"
                         +
                         "ON DUPLICATE KEY UPDATE data=?, last_update_time=current_timestamp";
-        // put a persistent Data
-        try (
-                Connection connection = dataSource.getConnection();
-                PreparedStatement preparedStatement =
-                        connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            preparedStatement.setString(1, key);
-            preparedStatement.setString(2, value);
-            preparedStatement.setInt(3, DataType.PERSISTENT.getTypeValue());
-            preparedStatement.setString(4, value);
-            int insertCount = preparedStatement.executeUpdate();
-            ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-            if (insertCount < 1 || !generatedKeys.next()) {
-                throw new SQLException("Insert or update persistent data error");
+        // put the data and record the change event in one transaction
+        return executeInTransaction(connection -> {
+            long dataId;
+            try (PreparedStatement preparedStatement =
+                    connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                preparedStatement.setString(1, key);
+                preparedStatement.setString(2, value);
+                preparedStatement.setInt(3, dataType.getTypeValue());
+                preparedStatement.setString(4, value);
+                int insertCount = preparedStatement.executeUpdate();
+                try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                    if (insertCount < 1 || !generatedKeys.next()) {
+                        throw new SQLException("Insert or update " + dataType.name().toLowerCase() + " data error");
+                    }
+                    dataId = generatedKeys.getLong(1);
+                }
             }
-            return generatedKeys.getLong(1);
-        }
+            insertEvents(connection, Collections.singletonList(key));
+            return dataId;
+        });
     }
 
     public void deleteEphemeralData(String key) throws SQLException {
-        String sql = "DELETE from t_ds_mysql_registry_data where `key` = ? and type = ?";
-        try (
-                Connection connection = dataSource.getConnection();
-                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, key);
-            preparedStatement.setInt(2, DataType.EPHEMERAL.getTypeValue());
-            preparedStatement.execute();
-        }
+        deleteData(key, DataType.EPHEMERAL);
     }
 
     public void deleteEphemeralData(long ephemeralNodeId) throws SQLException {
-        String sql = "DELETE from t_ds_mysql_registry_data where `id` = ?";
-        try (
-                Connection connection = dataSource.getConnection();
-                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setLong(1, ephemeralNodeId);
-            preparedStatement.execute();
-        }
+        String selectSql = "SELECT `key` from t_ds_mysql_registry_data where `id` = ?";
+        String deleteSql = "DELETE from t_ds_mysql_registry_data where `id` = ?";
+        executeInTransaction(connection -> {
+            String key;
+            try (PreparedStatement preparedStatement = connection.prepareStatement(selectSql)) {
+                preparedStatement.setLong(1, ephemeralNodeId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return null;
+                    }
+                    key = resultSet.getString("key");
+                }
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(deleteSql)) {
+                preparedStatement.setLong(1, ephemeralNodeId);
+                preparedStatement.executeUpdate();
+            }
+            insertEvents(connection, Collections.singletonList(key));
+            return null;
+        });
     }
 
     public void deletePersistentData(String key) throws SQLException {
+        deleteData(key, DataType.PERSISTENT);
+    }
+
+    private void deleteData(String key, DataType dataType) throws SQLException {
         String sql = "DELETE from t_ds_mysql_registry_data where `key` = ? and type = ?";
-        try (
-                Connection connection = dataSource.getConnection();
-                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, key);
-            preparedStatement.setInt(2, DataType.PERSISTENT.getTypeValue());
-            preparedStatement.execute();
-        }
+        executeInTransaction(connection -> {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                preparedStatement.setString(1, key);
+                preparedStatement.setInt(2, dataType.getTypeValue());
+                if (preparedStatement.executeUpdate() > 0) {
+                    insertEvents(connection, Collections.singletonList(key));
+                }
+            }
+            return null;
+        });
     }
 
     public void clearExpireLock() {
@@ -188,21 +201,145 @@ public class MysqlOperator implements AutoCloseable {
     }
 
     public void clearExpireEphemeralDate() {
-        String sql = "delete from t_ds_mysql_registry_data where last_update_time < ? and type = ?";
+        String selectSql = "select id, `key` from t_ds_mysql_registry_data where last_update_time < ? and type = ?";
+        try {
+            int i = executeInTransaction(connection -> {
+                Timestamp expireTime = new Timestamp(System.currentTimeMillis() - expireTimeWindow);
+                Map<Long, String> expiredData = new HashMap<>();
+                try (PreparedStatement preparedStatement = connection.prepareStatement(selectSql)) {
+                    preparedStatement.setTimestamp(1, expireTime);
+                    preparedStatement.setInt(2, DataType.EPHEMERAL.getTypeValue());
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            expiredData.put(resultSet.getLong("id"), resultSet.getString("key"));
+                        }
+                    }
+                }
+                if (expiredData.isEmpty()) {
+                    return 0;
+                }
+                // the term may be refreshed after the select, so check the last_update_time again
+                int deleteCount = 0;
+                for (List<Long> ids : Lists.partition(new ArrayList<>(expiredData.keySet()), MAX_BATCH_SIZE)) {
+                    String deleteSql = "delete from t_ds_mysql_registry_data where id in (" + placeholders(ids.size())
+                            + ") and last_update_time < ?";
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(deleteSql)) {
+                        int index = 1;
+                        for (Long id : ids) {
+                            preparedStatement.setLong(index++, id);
+                        }
+                        preparedStatement.setTimestamp(index, expireTime);
+                        deleteCount += preparedStatement.executeUpdate();
+                    }
+                }
+                // the event only tells the subscriber to reload the key, so it's fine to record a key not deleted
+                insertEvents(connection, expiredData.values());
+                return deleteCount;
+            });
+            if (i > 0) {
+                logger.info("clear expire ephemeral data, size:{}", i);
+            }
+        } catch (Exception ex) {
+            logger.warn("Clear expire ephemeral data from mysql registry error", ex);
+        }
+    }
+
+    public void clearExpireEvents() {
+        String sql = "delete from t_ds_mysql_registry_event where create_time < ?";
         try (
                 Connection connection = dataSource.getConnection();
                 PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setTimestamp(1, new Timestamp(System.currentTimeMillis() - expireTimeWindow));
-            preparedStatement.setInt(2, DataType.EPHEMERAL.getTypeValue());
+            preparedStatement.setTimestamp(1, new Timestamp(System.currentTimeMillis() - eventRetention));
             int i = preparedStatement.executeUpdate();
             if (i > 0) {
-                logger.info("clear expire ephemeral data, size:{}", i);
+                logger.debug("Clear expire event, size: {}", i);
             }
         } catch (Exception ex) {
-            logger.warn("Clear expire ephemeral data from mysql registry error", ex);
+            logger.warn("Clear expire event from mysql registry error", ex);
+        }
+    }
+
+    private void insertEvents(Connection connection, Collection<String> keys) throws SQLException {
+        String sql = "INSERT INTO t_ds_mysql_registry_event (`key`, create_time) VALUES (?, current_timestamp)";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            for (String key : keys) {
+                preparedStatement.setString(1, key);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
         }
     }
 
+    /**
+     * Get the latest revision of the registry, return 0 if there is no event.
+     */
+    public long getMaxRevision() throws SQLException {
+        return queryLong("SELECT max(id) FROM t_ds_mysql_registry_event");
+    }
+
+    /**
+     * Get the oldest revision which has not been cleared, return 0 if there is no event.
+     */
+    public long getMinRevision() throws SQLException {
+        return queryLong("SELECT min(id) FROM t_ds_mysql_registry_event");
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sql);
+                ResultSet resultSet = preparedStatement.executeQuery()) {
+            // max/min will return null if the table is empty, and getLong will return 0
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Query the events whose revision is greater than the given revision, ordered by the revision.
+     */
+    public List<MysqlRegistryEvent> queryEvents(long revision, int limit) throws SQLException {
+        String sql = "SELECT id, `key`, create_time FROM t_ds_mysql_registry_event WHERE id > ? ORDER BY id LIMIT ?";
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setLong(1, revision);
+            preparedStatement.setInt(2, limit);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                List<MysqlRegistryEvent> result = new ArrayList<>();
+                while (resultSet.next()) {
+                    result.add(MysqlRegistryEvent.builder()
+                            .id(resultSet.getLong("id"))
+                            .key(resultSet.getString("key"))
+                            .createTime(resultSet.getTimestamp("create_time"))
+                            .build());
+                }
+                return result;
+            }
+        }
+    }
+
+    public List<MysqlRegistryData> queryMysqlRegistryData(Collection<String> keys) throws SQLException {
+        List<MysqlRegistryData> result = new ArrayList<>(keys.size());
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<String> partition : Lists.partition(new ArrayList<>(keys), MAX_BATCH_SIZE)) {
+                String sql =
+                        "SELECT id, `key`, data, type, create_time, last_update_time FROM t_ds_mysql_registry_data WHERE `key` IN ("
+                                + placeholders(partition.size()) + ")";
+                try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < partition.size(); i++) {
+                        preparedStatement.setString(i + 1, partition.get(i));
+                    }
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            result.add(toMysqlRegistryData(resultSet));
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
     public MysqlRegistryData getData(String key) throws SQLException {
         String sql =
                 "SELECT id, `key`, data, type, create_time, last_update_time FROM t_ds_mysql_registry_data WHERE `key` = ?";
@@ -214,14 +351,7 @@ public class MysqlOperator implements AutoCloseable {
                 if (!resultSet.next()) {
                     return null;
                 }
-                return MysqlRegistryData.builder()
-                        .id(resultSet.getLong("id"))
-                        .key(resultSet.getString("key"))
-                        .data(resultSet.getString("data"))
-                        .type(resultSet.getInt("type"))
-                        .createTime(resultSet.getTimestamp("create_time"))
-                        .lastUpdateTime(resultSet.getTimestamp("last_update_time"))
-                        .build();
+                return toMysqlRegistryData(resultSet);
             }
         }
     }
@@ -322,28 +452,65 @@ public class MysqlOperator implements AutoCloseable {
     }
 
     public boolean updateEphemeralDataTerm(Collection<Long> ephemeralDateIds) throws SQLException {
-        String sql = "update t_ds_mysql_registry_data set `last_update_time` = current_timestamp() where `id` IN (?)";
-        String ids = ephemeralDateIds.stream().map(String::valueOf).collect(Collectors.joining(","));
-        try (
-                Connection connection = dataSource.getConnection();
-                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, ids);
-            return preparedStatement.executeUpdate() > 0;
-        }
+        return updateTerm(
+                "update t_ds_mysql_registry_data set `last_update_time` = current_timestamp() where `id` IN (%s)",
+                ephemeralDateIds);
     }
 
     public boolean updateLockTerm(List<Long> lockIds) throws SQLException {
-        String sql =
-                "update t_ds_mysql_registry_lock set `last_term` = current_timestamp and `last_update_time` = current_timestamp where `id` IN (?)";
-        String ids = lockIds.stream().map(String::valueOf).collect(Collectors.joining(","));
-        try (
-                Connection connection = dataSource.getConnection();
-                PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, ids);
-            return preparedStatement.executeUpdate() > 0;
+        return updateTerm(
+                "update t_ds_mysql_registry_lock set `last_term` = current_timestamp, `last_update_time` = current_timestamp where `id` IN (%s)",
+                lockIds);
+    }
+
+    // Refresh the term of all the given ids with one statement per batch, rather than one statement per id.
+    private boolean updateTerm(String sqlTemplate, Collection<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return true;
+        }
+        int updateCount = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            for (List<Long> partition : Lists.partition(new ArrayList<>(ids), MAX_BATCH_SIZE)) {
+                try (
+                        PreparedStatement preparedStatement =
+                                connection.prepareStatement(String.format(sqlTemplate, placeholders(partition.size())))) {
+                    for (int i = 0; i < partition.size(); i++) {
+                        preparedStatement.setLong(i + 1, partition.get(i));
+                    }
+                    updateCount += preparedStatement.executeUpdate();
+                }
+            }
+        }
+        return updateCount > 0;
+    }
+
+    private static String placeholders(int size) {
+        return String.join(",", Collections.nCopies(size, "?"));
+    }
+
+    private <T> T executeInTransaction(SqlFunction<T> function) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = function.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
         }
     }
 
+    @FunctionalInterface
+    private interface SqlFunction<T> {
+
+        T apply(Connection connection) throws SQLException;
+    }
+
     @Override
     public void close() throws Exception {
         if (!dataSource.isClosed()) {
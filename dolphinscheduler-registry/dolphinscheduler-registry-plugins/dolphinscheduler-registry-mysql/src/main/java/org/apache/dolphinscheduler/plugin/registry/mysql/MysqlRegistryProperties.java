@@ -42,6 +42,11 @@ public class MysqlRegistryProperties {
      * e.g. if you set 2, and latest two refresh error, then the ephemeral data/lock will be expire.
      */
     private int termExpireTimes = 3;
+    /**
+     * How long the change events will be kept, the subscriber which falls behind more than this will reload the
+     * full registry data.
+     */
+    private Duration eventRetention = Duration.ofMinutes(10);
     private HikariConfig hikariConfig;
 
 }
@@ -85,10 +85,14 @@ public class EphemeralDateManager implements AutoCloseable {
 
     @Override
     public void close() throws SQLException {
-        ephemeralDateIds.clear();
         connectionListeners.clear();
         scheduledExecutorService.shutdownNow();
-        for (Long ephemeralDateId : ephemeralDateIds) {
+        List<Long> ids;
+        synchronized (ephemeralDateIds) {
+            ids = new ArrayList<>(ephemeralDateIds);
+            ephemeralDateIds.clear();
+        }
+        for (Long ephemeralDateId : ids) {
             mysqlOperator.deleteEphemeralData(ephemeralDateId);
         }
     }
@@ -146,6 +150,7 @@ public class EphemeralDateManager implements AutoCloseable {
                     updateEphemeralDateTerm();
                 }
                 mysqlOperator.clearExpireEphemeralDate();
+                mysqlOperator.clearExpireEvents();
                 return ConnectionState.CONNECTED;
             } catch (Exception ex) {
                 LOGGER.error("Get connection state error, meet an unknown exception", ex);
@@ -154,8 +159,13 @@ public class EphemeralDateManager implements AutoCloseable {
         }
 
         private void updateEphemeralDateTerm() throws SQLException {
-            if (!mysqlOperator.updateEphemeralDataTerm(ephemeralDateIds)) {
-                LOGGER.warn("Update mysql registry ephemeral data: {} term error", ephemeralDateIds);
+            // refresh all the ephemeral data of this server in batch
+            List<Long> ids;
+            synchronized (ephemeralDateIds) {
+                ids = new ArrayList<>(ephemeralDateIds);
+            }
+            if (!mysqlOperator.updateEphemeralDataTerm(ids)) {
+                LOGGER.warn("Update mysql registry ephemeral data: {} term error", ids);
             }
         }
 
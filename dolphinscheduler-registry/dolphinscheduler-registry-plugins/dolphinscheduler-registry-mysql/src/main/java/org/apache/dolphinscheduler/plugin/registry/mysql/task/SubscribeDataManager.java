@@ -20,12 +20,17 @@ package org.apache.dolphinscheduler.plugin.registry.mysql.task;
 import org.apache.dolphinscheduler.plugin.registry.mysql.MysqlOperator;
 import org.apache.dolphinscheduler.plugin.registry.mysql.MysqlRegistryProperties;
 import org.apache.dolphinscheduler.plugin.registry.mysql.model.MysqlRegistryData;
+import org.apache.dolphinscheduler.plugin.registry.mysql.model.MysqlRegistryEvent;
 import org.apache.dolphinscheduler.registry.api.Event;
 import org.apache.dolphinscheduler.registry.api.SubscribeListener;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -33,15 +38,13 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import lombok.RequiredArgsConstructor;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
- * Used to refresh if the subscribe path has been changed.
+ * Used to refresh if the subscribe path has been changed, the changes are fetched from the event table by revision.
  */
 public class SubscribeDataManager implements AutoCloseable {
 
@@ -64,7 +67,8 @@ public class SubscribeDataManager implements AutoCloseable {
 
     public void start() {
         dataSubscribeCheckThreadPool.scheduleWithFixedDelay(
-                new RegistrySubscribeDataCheckTask(dataSubScribeMap, mysqlOperator, mysqlRegistryDataMap),
+                new RegistrySubscribeDataCheckTask(dataSubScribeMap, mysqlOperator, mysqlRegistryDataMap,
+                        registryProperties),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 registryProperties.getTermRefreshInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
@@ -92,52 +96,144 @@ public class SubscribeDataManager implements AutoCloseable {
         dataSubScribeMap.clear();
     }
 
-    @RequiredArgsConstructor
+    /**
+     * Load the full registry data at the first time, after that only fetch the change events since the last revision,
+     * and reload the changed keys.
+     */
     static class RegistrySubscribeDataCheckTask implements Runnable {
 
+        private static final int MAX_EVENT_FETCH_SIZE = 1000;
+
         private final Map<String, List<SubscribeListener>> dataSubScribeMap;
         private final MysqlOperator mysqlOperator;
         private final Map<String, MysqlRegistryData> mysqlRegistryDataMap;
+        private final long gapTimeoutMillis;
+
+        // the revision before which all events have been handled, -1 means need to load the full data
+        private long revision = -1;
+        // the events which are greater than revision but have been handled, since there is a gap before them
+        private final Set<Long> handledRevisions = new HashSet<>();
+        private long gapFoundTime;
+
+        RegistrySubscribeDataCheckTask(Map<String, List<SubscribeListener>> dataSubScribeMap,
+                                       MysqlOperator mysqlOperator,
+                                       Map<String, MysqlRegistryData> mysqlRegistryDataMap,
+                                       MysqlRegistryProperties registryProperties) {
+            this.dataSubScribeMap = dataSubScribeMap;
+            this.mysqlOperator = mysqlOperator;
+            this.mysqlRegistryDataMap = mysqlRegistryDataMap;
+            this.gapTimeoutMillis =
+                    registryProperties.getTermExpireTimes() * registryProperties.getTermRefreshInterval().toMillis();
+        }
 
         @Override
         public void run() {
-            // query the full data from database, and update the mysqlRegistryDataMap
             try {
-                Map<String, MysqlRegistryData> currentMysqlDataMap = mysqlOperator.queryAllMysqlRegistryData()
+                if (revision < 0) {
+                    fullSync();
+                } else {
+                    incrementalSync();
+                }
+            } catch (Exception e) {
+                LOGGER.error("Query data from mysql registry error", e);
+            }
+        }
+
+        private void fullSync() throws SQLException {
+            // get the revision first, the events after it will be replayed, replaying a key is idempotent
+            long latestRevision = mysqlOperator.getMaxRevision();
+            Map<String, MysqlRegistryData> currentMysqlDataMap = mysqlOperator.queryAllMysqlRegistryData()
+                    .stream()
+                    .collect(Collectors.toMap(MysqlRegistryData::getKey, Function.identity()));
+            Set<String> keys = new HashSet<>(mysqlRegistryDataMap.keySet());
+            keys.addAll(currentMysqlDataMap.keySet());
+            refresh(keys, currentMysqlDataMap);
+            revision = latestRevision;
+            handledRevisions.clear();
+            gapFoundTime = 0;
+        }
+
+        private void incrementalSync() throws SQLException {
+            List<MysqlRegistryEvent> events = mysqlOperator.queryEvents(revision, MAX_EVENT_FETCH_SIZE);
+            if (events.isEmpty()) {
+                return;
+            }
+            Set<String> changedKeys = new HashSet<>();
+            for (MysqlRegistryEvent event : events) {
+                if (handledRevisions.add(event.getId())) {
+                    changedKeys.add(event.getKey());
+                }
+            }
+            if (!changedKeys.isEmpty()) {
+                Map<String, MysqlRegistryData> currentMysqlDataMap = mysqlOperator.queryMysqlRegistryData(changedKeys)
                         .stream()
                         .collect(Collectors.toMap(MysqlRegistryData::getKey, Function.identity()));
-                // find the different
-                List<MysqlRegistryData> addedData = new ArrayList<>();
-                List<MysqlRegistryData> deletedData = new ArrayList<>();
-                List<MysqlRegistryData> updatedData = new ArrayList<>();
-                for (Map.Entry<String, MysqlRegistryData> entry : currentMysqlDataMap.entrySet()) {
-                    MysqlRegistryData newData = entry.getValue();
-                    MysqlRegistryData oldData = mysqlRegistryDataMap.get(entry.getKey());
-                    if (oldData == null) {
-                        addedData.add(newData);
-                    } else {
-                        if (!entry.getValue().getLastUpdateTime().equals(oldData.getLastUpdateTime())) {
-                            updatedData.add(newData);
-                        }
+                refresh(changedKeys, currentMysqlDataMap);
+            }
+            advanceRevision(events);
+        }
+
+        /**
+         * The auto increment id is allocated before the transaction commit, so a smaller revision may become visible
+         * after a greater one, or never become visible if the transaction rollback. We only move the revision over
+         * the continuous events, and skip the gap if it still exists after the expire time window.
+         */
+        private void advanceRevision(List<MysqlRegistryEvent> events) throws SQLException {
+            for (MysqlRegistryEvent event : events) {
+                if (event.getId() != revision + 1) {
+                    long now = System.currentTimeMillis();
+                    if (gapFoundTime == 0) {
+                        gapFoundTime = now;
+                    }
+                    if (now - gapFoundTime < gapTimeoutMillis) {
+                        return;
+                    }
+                    if (mysqlOperator.getMinRevision() > revision + 1) {
+                        // the events in the gap may have been cleared, so we cannot know what has been changed
+                        LOGGER.warn(
+                                "The mysql registry events after revision: {} have been cleared, will reload all data",
+                                revision);
+                        revision = -1;
+                        return;
                     }
+                    LOGGER.warn("Skip the missing mysql registry events from revision: {} to {}", revision + 1,
+                            event.getId() - 1);
                 }
-                for (Map.Entry<String, MysqlRegistryData> entry : mysqlRegistryDataMap.entrySet()) {
-                    if (!currentMysqlDataMap.containsKey(entry.getKey())) {
-                        deletedData.add(entry.getValue());
+                gapFoundTime = 0;
+                revision = event.getId();
+                handledRevisions.remove(revision);
+            }
+        }
+
+        private void refresh(Collection<String> keys, Map<String, MysqlRegistryData> currentMysqlDataMap) {
+            // find the different
+            List<MysqlRegistryData> addedData = new ArrayList<>();
+            List<MysqlRegistryData> deletedData = new ArrayList<>();
+            List<MysqlRegistryData> updatedData = new ArrayList<>();
+            for (String key : keys) {
+                MysqlRegistryData newData = currentMysqlDataMap.get(key);
+                MysqlRegistryData oldData = mysqlRegistryDataMap.get(key);
+                if (newData == null) {
+                    if (oldData != null) {
+                        deletedData.add(oldData);
+                        mysqlRegistryDataMap.remove(key);
                     }
+                    continue;
                 }
-                mysqlRegistryDataMap.clear();
-                mysqlRegistryDataMap.putAll(currentMysqlDataMap);
-                // trigger listener
-                for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
-                    String subscribeKey = entry.getKey();
-                    List<SubscribeListener> subscribeListeners = entry.getValue();
-                    triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
-                    triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
-                    triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
+                if (oldData == null) {
+                    addedData.add(newData);
+                } else if (!newData.getLastUpdateTime().equals(oldData.getLastUpdateTime())) {
+                    updatedData.add(newData);
                 }
-            } catch (Exception e) {
-                LOGGER.error("Query data from mysql registry error");
+                mysqlRegistryDataMap.put(key, newData);
+            }
+            // trigger listener
+            for (Map.Entry<String, List<SubscribeListener>> entry : dataSubScribeMap.entrySet()) {
+                String subscribeKey = entry.getKey();
+                List<SubscribeListener> subscribeListeners = entry.getValue();
+                triggerListener(addedData, subscribeKey, subscribeListeners, Event.Type.ADD);
+                triggerListener(deletedData, subscribeKey, subscribeListeners, Event.Type.REMOVE);
+                triggerListener(updatedData, subscribeKey, subscribeListeners, Event.Type.UPDATE);
             }
         }
 
@@ -45,3 +45,15 @@ CREATE TABLE `t_ds_mysql_registry_lock`
     unique (`key`)
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8;
+
+
+DROP TABLE IF EXISTS `t_ds_mysql_registry_event`;
+CREATE TABLE `t_ds_mysql_registry_event`
+(
+    `id`          bigint(11)   NOT NULL AUTO_INCREMENT COMMENT 'primary key, the revision of the change',
+    `key`         varchar(200) NOT NULL COMMENT 'the changed key in t_ds_mysql_registry_data',
+    `create_time` timestamp    NULL COMMENT 'event create time',
+    PRIMARY KEY (`id`),
+    KEY `idx_create_time` (`create_time`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8;
@@ -28,7 +28,9 @@ import org.apache.dolphinscheduler.remote.exceptions.RemotingTooMuchRequestExcep
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
+import org.apache.dolphinscheduler.remote.handler.FlushBatchingHandler;
 import org.apache.dolphinscheduler.remote.handler.NettyClientHandler;
+import org.apache.dolphinscheduler.remote.metrics.RemotingClientMetrics;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.CallerThreadExecutePolicy;
 import org.apache.dolphinscheduler.remote.utils.Constants;
@@ -46,6 +48,8 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,7 +72,9 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final Bootstrap bootstrap = new Bootstrap();
 
-    private final NettyEncoder encoder = new NettyEncoder();
+    private final Lock connectLock = new ReentrantLock();
+
+    private final NettyEncoder encoder;
 
     private final ConcurrentHashMap<Host, Channel> channels = new ConcurrentHashMap<>(128);
 
@@ -78,7 +84,10 @@ public class NettyRemotingClient implements AutoCloseable {
 
     private final NettyClientConfig clientConfig;
 
-    private final Semaphore asyncSemaphore = new Semaphore(200, true);
+    /**
+     * limit the async requests waiting for response to each host, so that a slow host doesn't block the others
+     */
+    private final ConcurrentHashMap<Host, Semaphore> hostAsyncSemaphores = new ConcurrentHashMap<>(128);
 
     private final ExecutorService callbackExecutor;
 
@@ -88,6 +97,7 @@ public class NettyRemotingClient implements AutoCloseable {
 
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
+        this.encoder = new NettyEncoder(clientConfig.isBinaryCodecEnabled());
         if (Epoll.isAvailable()) {
             this.workerGroup =
                     new EpollEventLoopGroup(clientConfig.getWorkerThreads(), new NamedThreadFactory("NettyClient"));
@@ -128,8 +138,15 @@ public class NettyRemotingClient implements AutoCloseable {
                         ch.pipeline()
                                 .addLast("client-idle-handler",
                                         new IdleStateHandler(Constants.NETTY_CLIENT_HEART_BEAT_TIME, 0, 0,
-                                                TimeUnit.MILLISECONDS))
-                                .addLast(new NettyDecoder(), clientHandler, encoder);
+                                                TimeUnit.MILLISECONDS));
+                        if (clientConfig.getMaxFlushBatchSize() > 1) {
+                            ch.pipeline().addLast("client-flush-batching-handler",
+                                    new FlushBatchingHandler(clientConfig.getMaxFlushBatchSize(),
+                                            clientConfig.getMaxFlushDelayMillis()));
+                        }
+                        ch.pipeline()
+                                .addLast(new NettyDecoder(clientConfig.isBinaryCodecEnabled()), clientHandler,
+                                        encoder);
                     }
                 });
         this.responseFutureExecutor.scheduleAtFixedRate(ResponseFuture::scanFutureTable, 5000, 1000,
@@ -159,19 +176,33 @@ public class NettyRemotingClient implements AutoCloseable {
         /*
          * control concurrency number
          */
-        boolean acquired = this.asyncSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        final Semaphore asyncSemaphore = hostAsyncSemaphores.computeIfAbsent(host,
+                key -> new Semaphore(clientConfig.getMaxInFlightRequestsPerHost()));
+        boolean acquired = asyncSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
         if (acquired) {
-            final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(this.asyncSemaphore);
+            RemotingClientMetrics.incInFlightRequestCount();
+            final ReleaseSemaphore releaseSemaphore =
+                    new ReleaseSemaphore(asyncSemaphore, RemotingClientMetrics::decInFlightRequestCount);
 
             /*
              * response future
              */
+            final CommandType commandType = command.getType();
+            final long sendTime = System.nanoTime();
             final ResponseFuture responseFuture = new ResponseFuture(opaque,
                     timeoutMillis,
-                    invokeCallback,
+                    future -> {
+                        if (future.getResponseCommand() != null) {
+                            RemotingClientMetrics.recordRoundTripTime(commandType, System.nanoTime() - sendTime);
+                        }
+                        if (invokeCallback != null) {
+                            invokeCallback.operationComplete(future);
+                        }
+                    },
                     releaseSemaphore);
             try {
                 channel.writeAndFlush(command).addListener(future -> {
+                    RemotingClientMetrics.recordQueueWaitTime(commandType, System.nanoTime() - sendTime);
                     if (future.isSuccess()) {
                         responseFuture.setSendOk(true);
                         return;
@@ -194,8 +225,9 @@ public class NettyRemotingClient implements AutoCloseable {
             }
         } else {
             String message = String.format(
-                    "try to acquire async semaphore timeout: %d, waiting thread num: %d, total permits: %d",
-                    timeoutMillis, asyncSemaphore.getQueueLength(), asyncSemaphore.availablePermits());
+                    "try to acquire async semaphore of host: %s timeout: %d, waiting thread num: %d, total permits: %d",
+                    host, timeoutMillis, asyncSemaphore.getQueueLength(),
+                    clientConfig.getMaxInFlightRequestsPerHost());
             throw new RemotingTooMuchRequestException(message);
         }
     }
@@ -215,8 +247,10 @@ public class NettyRemotingClient implements AutoCloseable {
             throw new RemotingException(String.format("connect to : %s fail", host));
         }
         final long opaque = command.getOpaque();
+        final long sendTime = System.nanoTime();
         final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis, null, null);
         channel.writeAndFlush(command).addListener(future -> {
+            RemotingClientMetrics.recordQueueWaitTime(command.getType(), System.nanoTime() - sendTime);
             if (future.isSuccess()) {
                 responseFuture.setSendOk(true);
                 return;
@@ -238,6 +272,7 @@ public class NettyRemotingClient implements AutoCloseable {
                 throw new RemotingException(host.toString(), responseFuture.getCause());
             }
         }
+        RemotingClientMetrics.recordRoundTripTime(command.getType(), System.nanoTime() - sendTime);
         return result;
     }
 
@@ -253,7 +288,9 @@ public class NettyRemotingClient implements AutoCloseable {
             throw new RemotingException(String.format("connect to : %s fail", host));
         }
         try {
+            final long sendTime = System.nanoTime();
             ChannelFuture future = channel.writeAndFlush(command).await();
+            RemotingClientMetrics.recordQueueWaitTime(command.getType(), System.nanoTime() - sendTime);
             if (future.isSuccess()) {
                 logger.debug("send command : {} , to : {} successfully.", command, host.getAddress());
             } else {
@@ -313,8 +350,12 @@ public class NettyRemotingClient implements AutoCloseable {
     public Channel createChannel(Host host, boolean isSync) {
         ChannelFuture future;
         try {
-            synchronized (bootstrap) {
+            // use lock rather than synchronized, avoid pinning the carrier thread when running in virtual thread
+            connectLock.lock();
+            try {
                 future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
+            } finally {
+                connectLock.unlock();
             }
             if (isSync) {
                 future.sync();
@@ -163,8 +163,8 @@ public class NettyRemotingServer {
      */
     private void initNettyChannel(SocketChannel ch) {
         ch.pipeline()
-                .addLast("encoder", new NettyEncoder())
-                .addLast("decoder", new NettyDecoder())
+                .addLast("encoder", new NettyEncoder(serverConfig.isBinaryCodecEnabled()))
+                .addLast("decoder", new NettyDecoder(serverConfig.isBinaryCodecEnabled()))
                 .addLast("server-idle-handle",
                         new IdleStateHandler(0, 0, Constants.NETTY_SERVER_HEART_BEAT_TIME, TimeUnit.MILLISECONDS))
                 .addLast("handler", serverHandler);
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.codec;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandContext;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.rpc.serializer.RpcSerializer;
+import org.apache.dolphinscheduler.rpc.serializer.Serializer;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+/**
+ * The binary codec of the command body.
+ * <p>
+ * The command body is serialized by json by default, the hot command types between master and worker can be serialized
+ * by protostuff instead, which is smaller and faster. The codec is negotiated on each channel: the peer which enables
+ * the binary codec puts {@link #BINARY_CODEC_CONTEXT_KEY} into the context of the json commands it sends, once the
+ * decoder receives such a command or a binary command, the encoder of the channel will send the hot commands with
+ * {@link Command#BINARY_VERSION}, so the peers which don't support the binary codec will always receive json. The
+ * decoder also replies a heart beat at that time, so the peer which only sends commands on the channel learns it too.
+ */
+public class CommandBodyCodec {
+
+    /**
+     * the context key to tell the peer that the binary codec is supported
+     */
+    public static final String BINARY_CODEC_CONTEXT_KEY = "binaryCodec";
+
+    /**
+     * the negotiate heart beat doesn't respond to any request
+     */
+    private static final long NEGOTIATE_OPAQUE = -1;
+
+    private static final AttributeKey<Boolean> PEER_BINARY_CODEC_SUPPORTED =
+            AttributeKey.valueOf("peerBinaryCodecSupported");
+
+    /**
+     * the command types which can be serialized by the binary codec, the processors of them must parse the body by
+     * {@link Command#parseBody(Class)}
+     */
+    private static final Set<CommandType> BINARY_COMMAND_TYPES = EnumSet.of(
+            CommandType.TASK_DISPATCH_REQUEST,
+            CommandType.TASK_BATCH_DISPATCH_REQUEST,
+            CommandType.TASK_EXECUTE_RUNNING,
+            CommandType.TASK_EXECUTE_RESULT,
+            CommandType.STATE_EVENT_REQUEST);
+
+    private static final Serializer SERIALIZER = RpcSerializer.getSerializerByType(RpcSerializer.PROTOSTUFF.getType());
+
+    private CommandBodyCodec() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static boolean isBinaryCommandType(CommandType commandType) {
+        return commandType != null && BINARY_COMMAND_TYPES.contains(commandType);
+    }
+
+    public static boolean isPeerBinaryCodecSupported(Channel channel) {
+        return Boolean.TRUE.equals(channel.attr(PEER_BINARY_CODEC_SUPPORTED).get());
+    }
+
+    /**
+     * mark the peer of the channel supports the binary codec if the command is a binary command or the peer tells so
+     *
+     * @return true if the peer is marked as supported by this command
+     */
+    public static boolean negotiate(Channel channel, byte version, CommandContext context) {
+        if (isPeerBinaryCodecSupported(channel)) {
+            return false;
+        }
+        if (version == Command.BINARY_VERSION
+                || (context != null && context.get(BINARY_CODEC_CONTEXT_KEY) != null)) {
+            channel.attr(PEER_BINARY_CODEC_SUPPORTED).set(Boolean.TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * the heart beat to tell the peer that the binary codec is supported, so that the peer which only sends commands on
+     * the channel, e.g. the master dispatches tasks to the worker, can also use the binary codec
+     */
+    public static Command newNegotiateHeartBeat() {
+        Command heartBeat = new Command(NEGOTIATE_OPAQUE);
+        heartBeat.setType(CommandType.HEART_BEAT);
+        heartBeat.setBody(new byte[0]);
+        return heartBeat;
+    }
+
+    public static byte[] serialize(Object body) {
+        return SERIALIZER.serialize(body);
+    }
+
+    public static <T> T deserialize(byte[] body, Class<T> clazz) {
+        return SERIALIZER.deserialize(body, clazz);
+    }
+}
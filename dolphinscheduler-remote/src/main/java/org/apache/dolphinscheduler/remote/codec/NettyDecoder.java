@@ -38,8 +38,18 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
 
     private static final Logger logger = LoggerFactory.getLogger(NettyDecoder.class);
 
+    /**
+     * whether the binary codec is enabled by the encoder of the channel
+     */
+    private final boolean binaryCodecEnabled;
+
     public NettyDecoder() {
+        this(false);
+    }
+
+    public NettyDecoder(boolean binaryCodecEnabled) {
         super(State.MAGIC);
+        this.binaryCodecEnabled = binaryCodecEnabled;
     }
 
     private final CommandHeader commandHeader = new CommandHeader();
@@ -59,7 +69,9 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
                 checkpoint(State.VERSION);
                 // fallthru
             case VERSION:
-                checkVersion(in.readByte());
+                byte version = in.readByte();
+                checkVersion(version);
+                commandHeader.setVersion(version);
                 checkpoint(State.COMMAND);
                 // fallthru
             case COMMAND:
@@ -91,8 +103,13 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
                 Command packet = new Command();
                 packet.setType(commandType(commandHeader.getType()));
                 packet.setOpaque(commandHeader.getOpaque());
+                packet.setVersion(commandHeader.getVersion());
                 packet.setContext(CommandContext.valueOf(commandHeader.getContext()));
                 packet.setBody(body);
+                if (CommandBodyCodec.negotiate(ctx.channel(), packet.getVersion(), packet.getContext())
+                        && binaryCodecEnabled) {
+                    ctx.channel().writeAndFlush(CommandBodyCodec.newNegotiateHeartBeat());
+                }
                 out.add(packet);
                 //
                 checkpoint(State.MAGIC);
@@ -131,7 +148,7 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
      * check version
      */
     private void checkVersion(byte version) {
-        if (version != Command.VERSION) {
+        if (version != Command.VERSION && version != Command.BINARY_VERSION) {
             throw new IllegalArgumentException("illegal protocol [version]" + version);
         }
     }
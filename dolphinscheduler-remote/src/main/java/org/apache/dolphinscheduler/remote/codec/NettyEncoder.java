@@ -18,6 +18,7 @@
 package org.apache.dolphinscheduler.remote.codec;
 
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandContext;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 
 import io.netty.buffer.ByteBuf;
@@ -31,6 +32,19 @@ import io.netty.handler.codec.MessageToByteEncoder;
 @Sharable
 public class NettyEncoder extends MessageToByteEncoder<Command> {
 
+    /**
+     * whether to send the hot commands by the binary codec when the peer supports
+     */
+    private final boolean binaryCodecEnabled;
+
+    public NettyEncoder() {
+        this(false);
+    }
+
+    public NettyEncoder(boolean binaryCodecEnabled) {
+        this.binaryCodecEnabled = binaryCodecEnabled;
+    }
+
     /**
      * encode
      *
@@ -43,17 +57,37 @@ public class NettyEncoder extends MessageToByteEncoder<Command> {
         if (msg == null) {
             throw new RemotingException("encode msg is null");
         }
+        byte version = Command.VERSION;
+        byte[] body;
+        if (binaryCodecEnabled
+                && msg.getBodyObject() != null
+                && CommandBodyCodec.isBinaryCommandType(msg.getType())
+                && CommandBodyCodec.isPeerBinaryCodecSupported(ctx.channel())) {
+            version = Command.BINARY_VERSION;
+            body = CommandBodyCodec.serialize(msg.getBodyObject());
+        } else {
+            body = msg.getBody();
+        }
         out.writeByte(Command.MAGIC);
-        out.writeByte(Command.VERSION);
+        out.writeByte(version);
         out.writeByte(msg.getType().ordinal());
         out.writeLong(msg.getOpaque());
-        writeContext(msg, out);
-        out.writeInt(msg.getBody().length);
-        out.writeBytes(msg.getBody());
+        writeContext(msg, version, out);
+        out.writeInt(body.length);
+        out.writeBytes(body);
     }
 
-    private void writeContext(Command msg, ByteBuf out) {
-        byte[] headerBytes = msg.getContext().toBytes();
+    private void writeContext(Command msg, byte version, ByteBuf out) {
+        CommandContext context = msg.getContext();
+        if (binaryCodecEnabled && version == Command.VERSION) {
+            // tell the peer that the binary codec is supported, write a copy since the command may be resent to other
+            // channels concurrently by this shared encoder
+            CommandContext negotiatedContext = new CommandContext();
+            negotiatedContext.getItems().putAll(context.getItems());
+            negotiatedContext.put(CommandBodyCodec.BINARY_CODEC_CONTEXT_KEY, Boolean.TRUE.toString());
+            context = negotiatedContext;
+        }
+        byte[] headerBytes = context.toBytes();
         out.writeInt(headerBytes.length);
         out.writeBytes(headerBytes);
     }
@@ -17,6 +17,9 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.codec.CommandBodyCodec;
+
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -33,6 +36,11 @@ public class Command implements Serializable {
     public static final byte MAGIC = (byte) 0xbabe;
     public static final byte VERSION = 0;
 
+    /**
+     * the protocol version whose body is serialized by the {@link CommandBodyCodec}
+     */
+    public static final byte BINARY_VERSION = 1;
+
     public Command() {
         this.opaque = REQUEST_ID.getAndIncrement();
     }
@@ -61,6 +69,17 @@ public class Command implements Serializable {
      */
     private byte[] body;
 
+    /**
+     * the object of the data body, if set, the body is serialized from it when being sent, so that it can be
+     * serialized by the binary codec if the peer supports
+     */
+    private transient Object bodyObject;
+
+    /**
+     * the protocol version of the received command
+     */
+    private byte version = VERSION;
+
     public CommandType getType() {
         return type;
     }
@@ -78,6 +97,9 @@ public class Command implements Serializable {
     }
 
     public byte[] getBody() {
+        if (body == null && bodyObject != null) {
+            body = JSONUtils.toJsonByteArray(bodyObject);
+        }
         return body;
     }
 
@@ -85,6 +107,36 @@ public class Command implements Serializable {
         this.body = body;
     }
 
+    public Object getBodyObject() {
+        return bodyObject;
+    }
+
+    public void setBodyObject(Object bodyObject) {
+        this.bodyObject = bodyObject;
+        this.body = null;
+    }
+
+    public byte getVersion() {
+        return version;
+    }
+
+    public void setVersion(byte version) {
+        this.version = version;
+    }
+
+    /**
+     * parse the body by the codec of the protocol version
+     *
+     * @param clazz body class
+     * @return body
+     */
+    public <T> T parseBody(Class<T> clazz) {
+        if (version == BINARY_VERSION) {
+            return CommandBodyCodec.deserialize(body, clazz);
+        }
+        return JSONUtils.parseObject(body, clazz);
+    }
+
     public CommandContext getContext() {
         return context;
     }
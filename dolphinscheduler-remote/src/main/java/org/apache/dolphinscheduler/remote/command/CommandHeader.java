@@ -27,6 +27,11 @@ import lombok.Data;
 @Data
 public class CommandHeader implements Serializable {
 
+    /**
+     * protocol version
+     */
+    private byte version;
+
     /**
      * type
      */
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.remote.command;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * command insert notify, from api/scheduler to master, used to wake up the master command loop
+ */
+@Data
+@NoArgsConstructor
+public class CommandInsertNotifyCommand implements Serializable {
+
+    /**
+     * the id of the inserted workflow command, used by the master to check whether it owns the command slot
+     */
+    private Integer commandId;
+
+    /**
+     * the ids of the commands inserted in one batch, the master will be woken up if it owns any of them
+     */
+    private List<Integer> commandIds;
+
+    public CommandInsertNotifyCommand(Integer commandId) {
+        this.commandId = commandId;
+    }
+
+    public CommandInsertNotifyCommand(List<Integer> commandIds) {
+        this.commandIds = commandIds;
+    }
+
+    /**
+     * package request command
+     *
+     * @return command
+     */
+    public Command convert2Command() {
+        Command command = new Command();
+        command.setType(CommandType.COMMAND_INSERT_NOTIFY);
+        byte[] body = JSONUtils.toJsonByteArray(this);
+        command.setBody(body);
+        return command;
+    }
+}
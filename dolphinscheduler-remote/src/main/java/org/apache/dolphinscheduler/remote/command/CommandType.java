@@ -38,6 +38,27 @@ public enum CommandType {
 
     GET_LOG_BYTES_RESPONSE,
 
+    VIEW_LOG_BY_OFFSET_REQUEST,
+
+    VIEW_LOG_BY_OFFSET_RESPONSE,
+
+    /**
+     * subscribe the appended log of a log file, from api to worker
+     */
+    LOG_SUBSCRIBE_REQUEST,
+
+    LOG_SUBSCRIBE_RESPONSE,
+
+    /**
+     * cancel the log subscription, from api to worker
+     */
+    LOG_UNSUBSCRIBE_REQUEST,
+
+    /**
+     * push the appended log to the subscriber, from worker to api
+     */
+    LOG_CHUNK_PUSH,
+
     WORKER_REQUEST,
     MASTER_RESPONSE,
 
@@ -51,6 +72,11 @@ public enum CommandType {
      */
     TASK_DISPATCH_REQUEST,
 
+    /**
+     * dispatch a batch of tasks to the same worker, from master to worker
+     */
+    TASK_BATCH_DISPATCH_REQUEST,
+
     /**
      * task execute running, from worker to master
      */
@@ -134,5 +160,15 @@ public enum CommandType {
     /**
      * workflow executing data response, from master to api
      */
-    WORKFLOW_EXECUTING_DATA_RESPONSE;
+    WORKFLOW_EXECUTING_DATA_RESPONSE,
+
+    /**
+     * workflow command inserted notify, from api/scheduler to master
+     */
+    COMMAND_INSERT_NOTIFY,
+
+    /**
+     * workflow or task instance finished notify, from master to master
+     */
+    UPSTREAM_FINISHED_NOTIFY;
 }
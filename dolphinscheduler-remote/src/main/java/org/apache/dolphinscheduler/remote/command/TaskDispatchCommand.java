@@ -17,7 +17,6 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 
 import lombok.Data;
@@ -49,8 +48,7 @@ public class TaskDispatchCommand extends BaseCommand {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.TASK_DISPATCH_REQUEST);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 
@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.remote.command;
 
 import org.apache.dolphinscheduler.common.enums.WorkflowExecutionStatus;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 
 import java.io.Serializable;
 
@@ -70,8 +69,7 @@ public class WorkflowStateEventChangeCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.STATE_EVENT_REQUEST);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        command.setBodyObject(this);
         return command;
     }
 
@@ -40,6 +40,20 @@ public class GetLogBytesRequestCommand implements Serializable {
      */
     private String path;
 
+    /**
+     *  the byte offset to start reading from
+     */
+    private long offset;
+
+    /**
+     *  the max bytes to read, read to the end of the file if it is not positive
+     */
+    private int limit;
+
+    public GetLogBytesRequestCommand(String path) {
+        this.path = path;
+    }
+
     /**
      * package request command
      *
@@ -40,6 +40,15 @@ public class GetLogBytesResponseCommand implements Serializable {
      */
     private byte[] data;
 
+    /**
+     *  the byte offset to read the next chunk from
+     */
+    private long nextOffset;
+
+    public GetLogBytesResponseCommand(byte[] data) {
+        this.data = data;
+    }
+
     /**
      * package response command
      *
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.command.log;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ *  the appended log pushed to the subscriber
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogChunkPushCommand implements Serializable {
+
+    /**
+     *  the push command is not the response of any request, use a negative opaque so that it will never be matched
+     *  with a pending request of the subscriber
+     */
+    private static final long PUSH_OPAQUE = -1L;
+
+    /**
+     *  the subscription id
+     */
+    private String subscriptionId;
+
+    /**
+     *  the appended log
+     */
+    private String msg;
+
+    /**
+     *  the byte offset of this chunk, used by the subscriber to reorder the chunks
+     */
+    private long offset;
+
+    /**
+     *  the byte offset after this chunk
+     */
+    private long nextOffset;
+
+    /**
+     *  whether the subscription has been closed by the server, e.g. the log file has been removed
+     */
+    private boolean closed;
+
+    /**
+     * package push command
+     *
+     * @return command
+     */
+    public Command convert2Command() {
+        Command command = new Command(PUSH_OPAQUE);
+        command.setType(CommandType.LOG_CHUNK_PUSH);
+        byte[] body = JSONUtils.toJsonByteArray(this);
+        command.setBody(body);
+        return command;
+    }
+}
@@ -66,4 +66,28 @@ public class NettyClientConfig {
     @Builder.Default
     private int connectTimeoutMillis = 3000;
 
+    /**
+     * whether to send the hot commands by the binary codec when the peer supports
+     */
+    @Builder.Default
+    private boolean binaryCodecEnabled = false;
+
+    /**
+     * max async requests waiting for response to one host
+     */
+    @Builder.Default
+    private int maxInFlightRequestsPerHost = 200;
+
+    /**
+     * max flushes consolidated into one flush, the flushes will not be consolidated if it is not greater than 1
+     */
+    @Builder.Default
+    private int maxFlushBatchSize = 16;
+
+    /**
+     * max delay millis of the consolidated flush, if it is 0, flush after the tasks already queued in the event loop
+     */
+    @Builder.Default
+    private long maxFlushDelayMillis = 0;
+
 }
@@ -58,6 +58,11 @@ public class NettyServerConfig {
      */
     private int listenPort = 12346;
 
+    /**
+     * whether to send the hot commands by the binary codec when the peer supports
+     */
+    private boolean binaryCodecEnabled = false;
+
     public int getListenPort() {
         return listenPort;
     }
@@ -106,6 +111,14 @@ public class NettyServerConfig {
         this.receiveBufferSize = receiveBufferSize;
     }
 
+    public boolean isBinaryCodecEnabled() {
+        return binaryCodecEnabled;
+    }
+
+    public void setBinaryCodecEnabled(boolean binaryCodecEnabled) {
+        this.binaryCodecEnabled = binaryCodecEnabled;
+    }
+
     public int getWorkerThread() {
         return workerThread;
     }
@@ -28,14 +28,27 @@ public class ReleaseSemaphore {
 
     private final AtomicBoolean released;
 
+    /**
+     * called after the semaphore is released, can be null
+     */
+    private final Runnable releaseListener;
+
     public ReleaseSemaphore(Semaphore semaphore) {
+        this(semaphore, null);
+    }
+
+    public ReleaseSemaphore(Semaphore semaphore, Runnable releaseListener) {
         this.semaphore = semaphore;
         this.released = new AtomicBoolean(false);
+        this.releaseListener = releaseListener;
     }
 
     public void release() {
         if (this.released.compareAndSet(false, true)) {
             this.semaphore.release();
+            if (releaseListener != null) {
+                releaseListener.run();
+            }
         }
     }
 }
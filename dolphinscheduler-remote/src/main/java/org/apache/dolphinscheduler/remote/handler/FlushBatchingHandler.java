@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.handler;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.Future;
+
+/**
+ * Consolidate the flushes of the channel, so that a burst of commands can be written to the socket by one flush.
+ * <p>
+ * The flush is delayed until {@link #maxFlushBatchSize} flushes are requested, or the {@link #maxFlushDelayMillis} is
+ * reached. If the max delay is 0, the flush is executed after the tasks which are already queued in the event loop, the
+ * commands sent by the other threads at the same time are in these tasks, so no extra latency is introduced.
+ * <p>
+ * The handler holds the state of the channel, so it can't be shared.
+ */
+public class FlushBatchingHandler extends ChannelDuplexHandler {
+
+    private final int maxFlushBatchSize;
+
+    private final long maxFlushDelayMillis;
+
+    private int pendingFlushCount;
+
+    private Future<?> scheduledFlush;
+
+    public FlushBatchingHandler(int maxFlushBatchSize, long maxFlushDelayMillis) {
+        this.maxFlushBatchSize = maxFlushBatchSize;
+        this.maxFlushDelayMillis = maxFlushDelayMillis;
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (++pendingFlushCount >= maxFlushBatchSize) {
+            flushNow(ctx);
+            return;
+        }
+        if (scheduledFlush == null) {
+            Runnable flushTask = () -> flushNow(ctx);
+            scheduledFlush = maxFlushDelayMillis > 0
+                    ? ctx.executor().schedule(flushTask, maxFlushDelayMillis, TimeUnit.MILLISECONDS)
+                    : ctx.executor().submit(flushTask);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (!ctx.channel().isWritable()) {
+            // the outbound buffer is full, write it out as soon as possible
+            flushNow(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushNow(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        flushNow(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        flushNow(ctx);
+    }
+
+    private void flushNow(ChannelHandlerContext ctx) {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pendingFlushCount > 0) {
+            pendingFlushCount = 0;
+            ctx.flush();
+        }
+    }
+}
@@ -132,6 +132,10 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
      * @param command command
      */
     private void processReceived(final Channel channel, final Command command) {
+        if (CommandType.HEART_BEAT.equals(command.getType())) {
+            // the server only sends heart beat to negotiate the codec
+            return;
+        }
         ResponseFuture future = ResponseFuture.getFuture(command.getOpaque());
         if (future != null) {
             future.setResponseCommand(command);
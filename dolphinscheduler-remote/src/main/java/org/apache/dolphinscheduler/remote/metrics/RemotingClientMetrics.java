@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.metrics;
+
+import org.apache.dolphinscheduler.remote.command.CommandType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.experimental.UtilityClass;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+@UtilityClass
+public class RemotingClientMetrics {
+
+    private final AtomicInteger inFlightRequestCount = new AtomicInteger(0);
+
+    private final Map<CommandType, Timer> queueWaitTimers = new ConcurrentHashMap<>();
+
+    private final Map<CommandType, Timer> roundTripTimers = new ConcurrentHashMap<>();
+
+    private final Gauge inFlightRequestGauge =
+            Gauge.builder("ds.rpc.client.inflight", inFlightRequestCount::get)
+                    .description("number of the async requests waiting for response on rpc clients")
+                    .register(Metrics.globalRegistry);
+
+    public void incInFlightRequestCount() {
+        inFlightRequestCount.incrementAndGet();
+    }
+
+    public void decInFlightRequestCount() {
+        inFlightRequestCount.decrementAndGet();
+    }
+
+    public void recordQueueWaitTime(final CommandType commandType, final long nanos) {
+        queueWaitTimers.computeIfAbsent(commandType,
+                type -> Timer.builder("ds.rpc.client.queue.wait")
+                        .tag("commandType", String.valueOf(type))
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("time cost from sending a command to the command being written to the socket")
+                        .register(Metrics.globalRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRoundTripTime(final CommandType commandType, final long nanos) {
+        roundTripTimers.computeIfAbsent(commandType,
+                type -> Timer.builder("ds.rpc.client.rtt")
+                        .tag("commandType", String.valueOf(type))
+                        .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                        .description("time cost from sending a request to receiving the response")
+                        .register(Metrics.globalRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
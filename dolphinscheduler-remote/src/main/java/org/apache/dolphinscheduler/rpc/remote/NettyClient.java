@@ -36,6 +36,8 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,6 +87,8 @@ public class NettyClient {
      */
     private final Bootstrap bootstrap = new Bootstrap();
 
+    private final Lock connectLock = new ReentrantLock();
+
     /**
      * started flag
      */
@@ -116,8 +120,12 @@ public class NettyClient {
     public Channel createChannel(Host host, boolean isSync) {
         ChannelFuture future;
         try {
-            synchronized (bootstrap) {
+            // use lock rather than synchronized, avoid pinning the carrier thread when running in virtual thread
+            connectLock.lock();
+            try {
                 future = bootstrap.connect(new InetSocketAddress(host.getIp(), host.getPort()));
+            } finally {
+                connectLock.unlock();
             }
             if (isSync) {
                 future.sync();
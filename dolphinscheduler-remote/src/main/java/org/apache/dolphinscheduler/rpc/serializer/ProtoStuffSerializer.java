@@ -25,7 +25,11 @@ import io.protostuff.runtime.RuntimeSchema;
 
 public class ProtoStuffSerializer implements Serializer {
 
-    private static LinkedBuffer buffer = LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE);
+    /**
+     * the buffer can't be shared by the threads which serialize at the same time
+     */
+    private static final ThreadLocal<LinkedBuffer> BUFFER =
+            ThreadLocal.withInitial(() -> LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
 
     private static Map<Class<?>, Schema<?>> schemaCache = new ConcurrentHashMap<>();
 
@@ -38,6 +42,7 @@ public class ProtoStuffSerializer implements Serializer {
     public <T> byte[] serialize(T obj) {
         Class<T> clazz = (Class<T>) obj.getClass();
         Schema<T> schema = getSchema(clazz);
+        LinkedBuffer buffer = BUFFER.get();
         byte[] data;
         try {
             data = ProtostuffIOUtil.toByteArray(obj, schema, buffer);
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.codec;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.plugin.task.api.enums.DataType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
+import org.apache.dolphinscheduler.plugin.task.api.enums.ResourceType;
+import org.apache.dolphinscheduler.plugin.task.api.enums.UdfType;
+import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.AbstractResourceParameters;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.DataSourceParameters;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.ResourceParametersHelper;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.resource.UdfFuncParameters;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskDispatchCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResultCommand;
+import org.apache.dolphinscheduler.spi.enums.DbType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class CommandBodyCodecTest {
+
+    @Test
+    public void testNegotiateBinaryCodec() {
+        EmbeddedChannel sender = new EmbeddedChannel(new NettyEncoder(true), new NettyDecoder(true));
+        EmbeddedChannel receiver = new EmbeddedChannel(new NettyEncoder(true), new NettyDecoder(true));
+
+        // the first command is sent by json, and tells the receiver that the binary codec is supported
+        Command received = transfer(sender, receiver, newResultCommand().convert2Command());
+        Assertions.assertEquals(Command.VERSION, received.getVersion());
+        Assertions.assertNotNull(received.getContext().get(CommandBodyCodec.BINARY_CODEC_CONTEXT_KEY));
+        Assertions.assertEquals(newResultCommand(), received.parseBody(TaskExecuteResultCommand.class));
+        Assertions.assertTrue(CommandBodyCodec.isPeerBinaryCodecSupported(receiver));
+
+        // the receiver replies a heart beat, then the sender knows the binary codec is supported
+        ByteBuf heartBeat = receiver.readOutbound();
+        Assertions.assertNotNull(heartBeat);
+        sender.writeInbound(heartBeat);
+        Command receivedHeartBeat = sender.readInbound();
+        Assertions.assertEquals(CommandType.HEART_BEAT, receivedHeartBeat.getType());
+        Assertions.assertTrue(CommandBodyCodec.isPeerBinaryCodecSupported(sender));
+
+        received = transfer(sender, receiver, newResultCommand().convert2Command());
+        Assertions.assertEquals(Command.BINARY_VERSION, received.getVersion());
+        Assertions.assertEquals(newResultCommand(), received.parseBody(TaskExecuteResultCommand.class));
+    }
+
+    @Test
+    public void testBinaryCodecDisabled() {
+        EmbeddedChannel sender = new EmbeddedChannel(new NettyEncoder(), new NettyDecoder());
+        EmbeddedChannel receiver = new EmbeddedChannel(new NettyEncoder(true), new NettyDecoder(true));
+
+        Command received = transfer(sender, receiver, newResultCommand().convert2Command());
+        Assertions.assertEquals(Command.VERSION, received.getVersion());
+        Assertions.assertNull(received.getContext().get(CommandBodyCodec.BINARY_CODEC_CONTEXT_KEY));
+        Assertions.assertFalse(CommandBodyCodec.isPeerBinaryCodecSupported(receiver));
+        Assertions.assertNull(receiver.readOutbound());
+        Assertions.assertEquals(newResultCommand(), received.parseBody(TaskExecuteResultCommand.class));
+    }
+
+    @Test
+    public void testNotModifyCommandContext() {
+        EmbeddedChannel sender = new EmbeddedChannel(new NettyEncoder(true), new NettyDecoder(true));
+        EmbeddedChannel receiver = new EmbeddedChannel(new NettyEncoder(true), new NettyDecoder(true));
+
+        // the command may be resent to other channels, the negotiation of this channel should not be kept in it
+        Command command = newResultCommand().convert2Command();
+        Command received = transfer(sender, receiver, command);
+        Assertions.assertNotNull(received.getContext().get(CommandBodyCodec.BINARY_CODEC_CONTEXT_KEY));
+        Assertions.assertNull(command.getContext().get(CommandBodyCodec.BINARY_CODEC_CONTEXT_KEY));
+    }
+
+    @Test
+    public void testTaskDispatchCommandByBinaryCodec() {
+        EmbeddedChannel sender = new EmbeddedChannel(new NettyEncoder(true), new NettyDecoder(true));
+        EmbeddedChannel receiver = new EmbeddedChannel(new NettyEncoder(true), new NettyDecoder(true));
+        transfer(sender, receiver, newResultCommand().convert2Command());
+        sender.writeInbound((ByteBuf) receiver.readOutbound());
+        sender.readInbound();
+
+        TaskExecutionContext taskExecutionContext = newTaskExecutionContext();
+        Command received = transfer(sender, receiver, new TaskDispatchCommand(taskExecutionContext,
+                "127.0.0.1:5678", "127.0.0.1:1234", 1000L).convert2Command());
+        Assertions.assertEquals(Command.BINARY_VERSION, received.getVersion());
+
+        TaskExecutionContext receivedContext =
+                received.parseBody(TaskDispatchCommand.class).getTaskExecutionContext();
+        Assertions.assertEquals(taskExecutionContext.getTaskInstanceId(), receivedContext.getTaskInstanceId());
+        Assertions.assertEquals(taskExecutionContext.getTaskParams(), receivedContext.getTaskParams());
+        Assertions.assertEquals(taskExecutionContext.getDefinedParams(), receivedContext.getDefinedParams());
+        Assertions.assertEquals(taskExecutionContext.getPrepareParamsMap(), receivedContext.getPrepareParamsMap());
+        Assertions.assertEquals(taskExecutionContext.getResources(), receivedContext.getResources());
+
+        // the parameters declared by the abstract type keep their concrete type
+        ResourceParametersHelper resourceParametersHelper = receivedContext.getResourceParametersHelper();
+        AbstractResourceParameters dataSourceParameters =
+                resourceParametersHelper.getResourceParameters(ResourceType.DATASOURCE, 1);
+        Assertions.assertTrue(dataSourceParameters instanceof DataSourceParameters);
+        Assertions.assertEquals(DbType.MYSQL, ((DataSourceParameters) dataSourceParameters).getType());
+        Assertions.assertEquals("{\"address\":\"jdbc:mysql://127.0.0.1:3306\"}",
+                ((DataSourceParameters) dataSourceParameters).getConnectionParams());
+        Assertions.assertEquals(
+                taskExecutionContext.getResourceParametersHelper().getResourceParameters(ResourceType.UDF, 2),
+                resourceParametersHelper.getResourceParameters(ResourceType.UDF, 2));
+    }
+
+    private Command transfer(EmbeddedChannel sender, EmbeddedChannel receiver, Command command) {
+        sender.writeOutbound(command);
+        ByteBuf byteBuf = sender.readOutbound();
+        receiver.writeInbound(byteBuf);
+        return receiver.readInbound();
+    }
+
+    private TaskExecuteResultCommand newResultCommand() {
+        TaskExecuteResultCommand taskExecuteResultCommand =
+                new TaskExecuteResultCommand("127.0.0.1:1234", "127.0.0.1:5678", 1000L);
+        taskExecuteResultCommand.setTaskInstanceId(1);
+        taskExecuteResultCommand.setProcessInstanceId(2);
+        taskExecuteResultCommand.setStatus(7);
+        taskExecuteResultCommand.setLogPath("/tmp/dolphinscheduler/1.log");
+        taskExecuteResultCommand.setVarPool("[{\"prop\":\"a\",\"value\":\"1\"}]");
+        return taskExecuteResultCommand;
+    }
+
+    private TaskExecutionContext newTaskExecutionContext() {
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        taskExecutionContext.setTaskInstanceId(1);
+        taskExecutionContext.setTaskType("SQL");
+        taskExecutionContext.setTaskParams("{\"sql\":\"select 1\"}");
+
+        Map<String, String> definedParams = new HashMap<>();
+        definedParams.put("a", "1");
+        taskExecutionContext.setDefinedParams(definedParams);
+        Map<String, Property> prepareParamsMap = new HashMap<>();
+        prepareParamsMap.put("b", new Property("b", Direct.IN, DataType.VARCHAR, "2"));
+        taskExecutionContext.setPrepareParamsMap(prepareParamsMap);
+        Map<String, String> resources = new HashMap<>();
+        resources.put("/test/1.sh", "tenant");
+        taskExecutionContext.setResources(resources);
+
+        ResourceParametersHelper resourceParametersHelper = new ResourceParametersHelper();
+        DataSourceParameters dataSourceParameters = new DataSourceParameters();
+        dataSourceParameters.setType(DbType.MYSQL);
+        dataSourceParameters.setConnectionParams("{\"address\":\"jdbc:mysql://127.0.0.1:3306\"}");
+        resourceParametersHelper.put(ResourceType.DATASOURCE, 1, dataSourceParameters);
+        UdfFuncParameters udfFuncParameters = new UdfFuncParameters();
+        udfFuncParameters.setId(2);
+        udfFuncParameters.setFuncName("test_udf");
+        udfFuncParameters.setClassName("org.apache.test.TestUdf");
+        udfFuncParameters.setType(UdfType.HIVE);
+        resourceParametersHelper.put(ResourceType.UDF, 2, udfFuncParameters);
+        taskExecutionContext.setResourceParametersHelper(resourceParametersHelper);
+        return taskExecutionContext;
+    }
+}
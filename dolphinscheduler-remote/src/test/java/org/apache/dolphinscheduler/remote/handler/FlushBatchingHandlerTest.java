@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.handler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class FlushBatchingHandlerTest {
+
+    @Test
+    public void testFlushAfterQueuedTasks() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FlushBatchingHandler(16, 0));
+        channel.pipeline().write("command-1");
+        channel.pipeline().flush();
+        channel.pipeline().write("command-2");
+        channel.pipeline().flush();
+        Assertions.assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.runPendingTasks();
+        Assertions.assertEquals(2, channel.outboundMessages().size());
+        Assertions.assertEquals("command-1", channel.readOutbound());
+        Assertions.assertEquals("command-2", channel.readOutbound());
+    }
+
+    @Test
+    public void testFlushWhenBatchIsFull() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FlushBatchingHandler(2, 60_000));
+        channel.pipeline().write("command-1");
+        channel.pipeline().flush();
+        Assertions.assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.pipeline().write("command-2");
+        channel.pipeline().flush();
+        Assertions.assertEquals(2, channel.outboundMessages().size());
+    }
+
+    @Test
+    public void testFlushWhenClose() {
+        EmbeddedChannel channel = new EmbeddedChannel(new FlushBatchingHandler(16, 60_000));
+        channel.pipeline().write("command-1");
+        channel.pipeline().flush();
+        Assertions.assertTrue(channel.outboundMessages().isEmpty());
+
+        channel.close();
+        Assertions.assertEquals("command-1", channel.readOutbound());
+    }
+}
@@ -24,7 +24,6 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.scheduler.quartz.utils.QuartzTaskUtils;
-import org.apache.dolphinscheduler.service.command.CommandService;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import org.apache.commons.lang3.StringUtils;
@@ -50,8 +49,9 @@ public class ProcessScheduleTask extends QuartzJobBean {
     @Autowired
     private ProcessService processService;
 
-    @Autowired
-    private CommandService commandService;
+    // absent when quartz is not the configured scheduler
+    @Autowired(required = false)
+    private ScheduleCommandBatchWriter scheduleCommandBatchWriter;
 
     @Counted(value = "ds.master.quartz.job.executed")
     @Timed(value = "ds.master.quartz.job.execution.time", percentiles = {0.5, 0.75, 0.95, 0.99}, histogram = true)
@@ -68,6 +68,13 @@ public class ProcessScheduleTask extends QuartzJobBean {
 
         logger.info("scheduled fire time :{}, fire time :{}, scheduleId :{}", scheduledFireTime, fireTime, scheduleId);
 
+        if (scheduleCommandBatchWriter == null) {
+            // the schedules are fired by another scheduler plugin, don't create the command twice
+            logger.warn("Quartz is not the configured scheduler, skip the job, projectId:{}, scheduleId:{}",
+                    projectId, scheduleId);
+            return;
+        }
+
         // query schedule
         Schedule schedule = processService.querySchedule(scheduleId);
         if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
@@ -105,7 +112,8 @@ public class ProcessScheduleTask extends QuartzJobBean {
         command.setProcessInstancePriority(schedule.getProcessInstancePriority());
         command.setProcessDefinitionVersion(processDefinition.getVersion());
 
-        commandService.createCommand(command);
+        // the commands of the jobs fired at the same time will be inserted together
+        scheduleCommandBatchWriter.write(command);
     }
 
     private void deleteJob(JobExecutionContext context, int projectId, int scheduleId) {
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The quartz auto configuration still creates the quartz scheduler when another scheduler plugin is selected, since
+ * quartz is on the classpath. Never start it in that case, otherwise the jobs left in the {@code QRTZ_} tables would
+ * create commands besides the selected scheduler.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "time-wheel")
+public class QuartzDisabledConfiguration {
+
+    @Bean
+    public SchedulerFactoryBeanCustomizer disableQuartzAutoStartup() {
+        return schedulerFactoryBean -> schedulerFactoryBean.setAutoStartup(false);
+    }
+}
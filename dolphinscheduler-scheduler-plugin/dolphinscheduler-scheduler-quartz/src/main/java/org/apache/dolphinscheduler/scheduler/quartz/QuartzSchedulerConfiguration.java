@@ -18,15 +18,24 @@
 package org.apache.dolphinscheduler.scheduler.quartz;
 
 import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+import org.apache.dolphinscheduler.service.command.CommandService;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "quartz", matchIfMissing = true)
 public class QuartzSchedulerConfiguration {
 
     @Bean
     public SchedulerApi schedulerApi() {
         return new QuartzScheduler();
     }
+
+    @Bean(destroyMethod = "close")
+    public ScheduleCommandBatchWriter scheduleCommandBatchWriter(CommandService commandService,
+                                                                 QuartzSchedulerProperties quartzSchedulerProperties) {
+        return new ScheduleCommandBatchWriter(commandService, quartzSchedulerProperties);
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "quartz", matchIfMissing = true)
+@ConfigurationProperties(prefix = "scheduler.quartz")
+public class QuartzSchedulerProperties {
+
+    /**
+     * The commands created by the jobs fired within this window are inserted together, the job thread waits until its
+     * command is written. Set to 0 to insert the command directly in the job thread.
+     */
+    private Duration commandBatchWindow = Duration.ofMillis(20);
+    /**
+     * The max count of commands inserted in one batch, a batch is written once it's full without waiting the window.
+     */
+    private int commandBatchSize = 100;
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.service.command.CommandService;
+import org.apache.dolphinscheduler.service.exceptions.ServiceException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesce the commands created by the quartz jobs fired at the same time, so that they are written by one multi-row
+ * insert instead of one insert for each job.
+ * <p>
+ * The first command starts a window of {@link QuartzSchedulerProperties#getCommandBatchWindow()}, the commands arrived
+ * in the window are written together by the writer thread. The job thread is blocked until its command is written, so
+ * a fired trigger is still completed only after its command has been saved.
+ */
+public class ScheduleCommandBatchWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleCommandBatchWriter.class);
+
+    private final CommandService commandService;
+    private final long commandBatchWindowMillis;
+    private final int commandBatchSize;
+
+    private final BlockingQueue<PendingCommand> pendingCommands = new LinkedBlockingQueue<>();
+    private volatile ExecutorService writerThread;
+    private volatile boolean closed;
+
+    public ScheduleCommandBatchWriter(CommandService commandService, QuartzSchedulerProperties properties) {
+        this.commandService = commandService;
+        this.commandBatchWindowMillis = properties.getCommandBatchWindow().toMillis();
+        this.commandBatchSize = Math.max(1, properties.getCommandBatchSize());
+    }
+
+    private synchronized void start() {
+        if (closed || writerThread != null) {
+            return;
+        }
+        writerThread = ThreadUtils.newDaemonFixedThreadExecutor("ScheduleCommandBatchWriterThread", 1);
+        writerThread.execute(this::writeLoop);
+        logger.info("Schedule command batch writer started, commandBatchWindow: {} ms, commandBatchSize: {}",
+                commandBatchWindowMillis, commandBatchSize);
+    }
+
+    /**
+     * Write the command, and wait until it has been inserted.
+     *
+     * @param command command
+     * @return insert count
+     */
+    public int write(Command command) {
+        if (!isBatchEnabled() || closed) {
+            return commandService.createCommand(command);
+        }
+        if (writerThread == null) {
+            // only the server running quartz jobs needs the writer thread
+            start();
+        }
+        PendingCommand pendingCommand = new PendingCommand(command);
+        pendingCommands.add(pendingCommand);
+        if (closed) {
+            // the writer thread may have exited before the command is added
+            writePendingCommandsOneByOne();
+        }
+        try {
+            return pendingCommand.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while waiting for the schedule command to be written", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ServiceException("Write schedule command error", e.getCause());
+        }
+    }
+
+    private boolean isBatchEnabled() {
+        return commandBatchWindowMillis > 0 && commandBatchSize > 1;
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            try {
+                List<PendingCommand> batch = takeBatch();
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                logger.error("Schedule command batch writer loop error", e);
+            }
+        }
+        writePendingCommandsOneByOne();
+    }
+
+    private List<PendingCommand> takeBatch() throws InterruptedException {
+        List<PendingCommand> batch = new ArrayList<>();
+        PendingCommand first = pendingCommands.take();
+        batch.add(first);
+        long deadline = System.currentTimeMillis() + commandBatchWindowMillis;
+        while (batch.size() < commandBatchSize) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingCommand pendingCommand = pendingCommands.poll(remaining, TimeUnit.MILLISECONDS);
+            if (pendingCommand == null) {
+                break;
+            }
+            batch.add(pendingCommand);
+        }
+        return batch;
+    }
+
+    private void writeBatch(List<PendingCommand> batch) {
+        if (batch.size() == 1) {
+            writeOne(batch.get(0));
+            return;
+        }
+        List<Command> commands = batch.stream().map(pendingCommand -> pendingCommand.command)
+                .collect(Collectors.toList());
+        int insertCount;
+        try {
+            insertCount = commandService.batchCreateCommand(commands);
+        } catch (Exception e) {
+            // the multi-row insert is a single statement, retry one by one so that one bad command doesn't fail others
+            logger.error("Batch insert {} schedule commands error, will insert them one by one", batch.size(), e);
+            batch.forEach(this::writeOne);
+            return;
+        }
+        if (insertCount != batch.size()) {
+            logger.warn("Batch insert schedule commands, expect count: {}, actual count: {}", batch.size(),
+                    insertCount);
+        }
+        for (PendingCommand pendingCommand : batch) {
+            pendingCommand.result.complete(pendingCommand.command.getId() == null ? 0 : 1);
+        }
+    }
+
+    private void writeOne(PendingCommand pendingCommand) {
+        try {
+            pendingCommand.result.complete(commandService.createCommand(pendingCommand.command));
+        } catch (Throwable e) {
+            pendingCommand.result.completeExceptionally(e);
+        }
+    }
+
+    private void writePendingCommandsOneByOne() {
+        PendingCommand pendingCommand;
+        while ((pendingCommand = pendingCommands.poll()) != null) {
+            writeOne(pendingCommand);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (writerThread != null) {
+            writerThread.shutdownNow();
+        }
+        writePendingCommandsOneByOne();
+    }
+
+    private static class PendingCommand {
+
+        private final Command command;
+        private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        private PendingCommand(Command command) {
+            this.command = command;
+        }
+    }
+}
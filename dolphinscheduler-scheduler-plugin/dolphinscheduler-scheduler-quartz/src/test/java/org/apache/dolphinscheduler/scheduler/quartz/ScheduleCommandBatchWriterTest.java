@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.quartz;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ScheduleCommandBatchWriterTest {
+
+    @Mock
+    private CommandService commandService;
+
+    private ScheduleCommandBatchWriter scheduleCommandBatchWriter;
+
+    @AfterEach
+    public void after() {
+        if (scheduleCommandBatchWriter != null) {
+            scheduleCommandBatchWriter.close();
+        }
+    }
+
+    @Test
+    public void testWriteWithoutWindow() {
+        QuartzSchedulerProperties properties = new QuartzSchedulerProperties();
+        properties.setCommandBatchWindow(Duration.ZERO);
+        scheduleCommandBatchWriter = new ScheduleCommandBatchWriter(commandService, properties);
+        Mockito.when(commandService.createCommand(any(Command.class))).thenReturn(1);
+
+        Assertions.assertEquals(1, scheduleCommandBatchWriter.write(new Command()));
+        Mockito.verify(commandService, Mockito.never()).batchCreateCommand(anyList());
+    }
+
+    @Test
+    public void testWriteInBatch() throws Exception {
+        int commandCount = 10;
+        QuartzSchedulerProperties properties = new QuartzSchedulerProperties();
+        properties.setCommandBatchWindow(Duration.ofSeconds(10));
+        properties.setCommandBatchSize(commandCount);
+        scheduleCommandBatchWriter = new ScheduleCommandBatchWriter(commandService, properties);
+        Mockito.when(commandService.batchCreateCommand(anyList())).thenAnswer(invocation -> {
+            List<Command> commands = invocation.getArgument(0);
+            for (int i = 0; i < commands.size(); i++) {
+                commands.get(i).setId(i + 1);
+            }
+            return commands.size();
+        });
+
+        ExecutorService jobThreads = Executors.newFixedThreadPool(commandCount);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < commandCount; i++) {
+                results.add(jobThreads.submit(() -> scheduleCommandBatchWriter.write(new Command())));
+            }
+            // the batch is full before the window ends
+            for (Future<Integer> result : results) {
+                Assertions.assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            jobThreads.shutdownNow();
+        }
+        Mockito.verify(commandService, Mockito.times(1))
+                .batchCreateCommand(Mockito.argThat(commands -> commands.size() == commandCount));
+        Mockito.verify(commandService, Mockito.never()).createCommand(any(Command.class));
+    }
+
+    @Test
+    public void testFallbackToSingleInsertWhenBatchFailed() throws Exception {
+        QuartzSchedulerProperties properties = new QuartzSchedulerProperties();
+        properties.setCommandBatchWindow(Duration.ofSeconds(10));
+        properties.setCommandBatchSize(2);
+        scheduleCommandBatchWriter = new ScheduleCommandBatchWriter(commandService, properties);
+        Mockito.when(commandService.batchCreateCommand(anyList())).thenThrow(new RuntimeException("batch error"));
+        Mockito.when(commandService.createCommand(any(Command.class))).thenReturn(1);
+
+        ExecutorService jobThreads = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = jobThreads.submit(() -> scheduleCommandBatchWriter.write(new Command()));
+            Future<Integer> second = jobThreads.submit(() -> scheduleCommandBatchWriter.write(new Command()));
+            Assertions.assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, second.get(5, TimeUnit.SECONDS));
+        } finally {
+            jobThreads.shutdownNow();
+        }
+        Mockito.verify(commandService, Mockito.times(2)).createCommand(any(Command.class));
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.timewheel;
+
+/**
+ * Decide which master fires a schedule, all the masters load the whole schedules into their time wheel, but only the
+ * owner of a schedule creates the command, so when a master is down, its schedules will be fired by the new owner
+ * at the next fire time.
+ * <p>
+ * Each master decides the owner by its own view of the cluster, so the ownership of a schedule may overlap or be
+ * missing for a moment while the masters are changing.
+ */
+public interface SchedulePartitioner {
+
+    /**
+     * @param scheduleId schedule id
+     * @return true if the current server should fire the given schedule.
+     */
+    boolean isOwner(int scheduleId);
+}
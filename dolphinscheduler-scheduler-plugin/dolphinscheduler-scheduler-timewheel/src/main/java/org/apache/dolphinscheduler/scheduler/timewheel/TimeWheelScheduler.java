@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.timewheel;
+
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.common.enums.CommandType;
+import org.apache.dolphinscheduler.common.enums.ReleaseState;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.HashedTimingWheel;
+import org.apache.dolphinscheduler.dao.entity.Command;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
+import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerException;
+import org.apache.dolphinscheduler.service.command.CommandService;
+import org.apache.dolphinscheduler.service.cron.CronUtils;
+import org.apache.dolphinscheduler.service.exceptions.CronParseException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cronutils.model.time.ExecutionTime;
+import com.google.common.collect.Lists;
+
+/**
+ * A scheduler which keeps the next fire time of all the online schedules in an in-memory {@link HashedTimingWheel}.
+ * <p>
+ * The schedules are loaded from database when the scheduler starts, and the updated schedules are reloaded every
+ * {@link TimeWheelSchedulerProperties#getScheduleRefreshInterval()}. All the schedules firing in the same tick are
+ * checked with one query and their commands are inserted in batch, only the schedules owned by this master (decided by
+ * {@link SchedulePartitioner}) will be fired.
+ * <p>
+ * While the masters are joining or leaving, two masters may both own a schedule and fire it, the command of a fire is
+ * only created once since the last fire time of the schedule is moved forward in the same transaction as the insert,
+ * see {@link CommandService#batchCreateScheduleCommands(Map)}. A fire is still lost if its master crashes before the
+ * command is inserted.
+ */
+public class TimeWheelScheduler implements SchedulerApi {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeWheelScheduler.class);
+
+    private static final int QUERY_BATCH_SIZE = 1000;
+
+    private final TimeWheelSchedulerProperties properties;
+    private final ScheduleMapper scheduleMapper;
+    private final ProcessDefinitionMapper processDefinitionMapper;
+    private final CommandService commandService;
+    private final SchedulePartitioner schedulePartitioner;
+
+    // the operations submitted by other threads, will be executed by the scheduler thread at the next tick
+    private final Queue<Runnable> pendingOperations = new ConcurrentLinkedQueue<>();
+
+    // the fields below are only accessed by the scheduler thread
+    private final Map<Integer, ScheduleTrigger> triggers = new HashMap<>();
+    // scheduleId -> next fire time
+    private HashedTimingWheel<Integer> timeWheel;
+    private long lastRefreshTime;
+
+    private ScheduledExecutorService schedulerThread;
+    private volatile boolean started;
+
+    public TimeWheelScheduler(TimeWheelSchedulerProperties properties,
+                              ScheduleMapper scheduleMapper,
+                              ProcessDefinitionMapper processDefinitionMapper,
+                              CommandService commandService,
+                              SchedulePartitioner schedulePartitioner) {
+        this.properties = properties;
+        this.scheduleMapper = scheduleMapper;
+        this.processDefinitionMapper = processDefinitionMapper;
+        this.commandService = commandService;
+        this.schedulePartitioner = schedulePartitioner;
+    }
+
+    @Override
+    public synchronized void start() throws SchedulerException {
+        if (started) {
+            return;
+        }
+        try {
+            long tickDurationMillis = properties.getTickDuration().toMillis();
+            long refreshIntervalMillis = properties.getScheduleRefreshInterval().toMillis();
+            long now = System.currentTimeMillis();
+            timeWheel = new HashedTimingWheel<>(tickDurationMillis, roundUpToPowerOfTwo(properties.getTicksPerWheel()),
+                    now);
+            schedulerThread = ThreadUtils.newDaemonScheduledExecutorService("TimeWheelSchedulerThread", 1);
+            // both tasks run in the same thread, so the triggers don't need to be thread safe
+            schedulerThread.scheduleWithFixedDelay(this::refreshSchedules, 0, refreshIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+            // align the tick with the tick boundary, so the schedule will not be fired later than its fire time
+            schedulerThread.scheduleAtFixedRate(this::tick, tickDurationMillis - now % tickDurationMillis,
+                    tickDurationMillis, TimeUnit.MILLISECONDS);
+            started = true;
+            logger.info("Time wheel scheduler started, tickDuration: {}, ticksPerWheel: {}, refreshInterval: {}",
+                    properties.getTickDuration(), properties.getTicksPerWheel(),
+                    properties.getScheduleRefreshInterval());
+        } catch (Exception e) {
+            throw new SchedulerException("Failed to start time wheel scheduler ", e);
+        }
+    }
+
+    @Override
+    public void insertOrUpdateScheduleTask(int projectId, Schedule schedule) throws SchedulerException {
+        // the schedule has already been saved into database, the masters will load it at the next refresh, if the
+        // scheduler is running in this server, apply it to the time wheel directly
+        if (!started) {
+            return;
+        }
+        pendingOperations.add(() -> upsertTrigger(schedule, System.currentTimeMillis()));
+    }
+
+    @Override
+    public void deleteScheduleTask(int projectId, int scheduleId) throws SchedulerException {
+        if (!started) {
+            return;
+        }
+        pendingOperations.add(() -> removeTrigger(scheduleId));
+    }
+
+    @Override
+    public synchronized void close() {
+        started = false;
+        if (schedulerThread != null) {
+            schedulerThread.shutdownNow();
+        }
+    }
+
+    private void refreshSchedules() {
+        try {
+            long refreshTime = System.currentTimeMillis();
+            boolean fullLoad = lastRefreshTime == 0;
+            // query with an overlap, since the update time is set by the api server before the transaction commit
+            Date updateTime = fullLoad ? null
+                    : new Date(lastRefreshTime - properties.getScheduleRefreshInterval().toMillis());
+            List<Schedule> schedules = scheduleMapper.querySchedulesByUpdateTime(updateTime);
+            for (Schedule schedule : schedules) {
+                // the fires missed before this master starts will not be replayed, the new online schedule will fire
+                // from its update time, so it will not miss the fire before it's loaded
+                long fireFrom = fullLoad || schedule.getUpdateTime() == null ? refreshTime
+                        : Math.min(schedule.getUpdateTime().getTime(), refreshTime);
+                upsertTrigger(schedule, fireFrom);
+            }
+            lastRefreshTime = refreshTime;
+            if (fullLoad) {
+                logger.info("Time wheel scheduler loaded {} schedules, {} of them are online", schedules.size(),
+                        triggers.size());
+            }
+        } catch (Exception e) {
+            logger.error("Time wheel scheduler refresh schedules error", e);
+        }
+    }
+
+    private void tick() {
+        try {
+            Runnable operation;
+            while ((operation = pendingOperations.poll()) != null) {
+                operation.run();
+            }
+            long now = System.currentTimeMillis();
+            List<Integer> expiredScheduleIds = timeWheel.advance(now);
+            if (expiredScheduleIds.isEmpty()) {
+                return;
+            }
+            // scheduleId -> scheduled fire time
+            Map<Integer, Date> scheduledFireTimes = new LinkedHashMap<>();
+            for (Integer scheduleId : expiredScheduleIds) {
+                ScheduleTrigger trigger = triggers.get(scheduleId);
+                if (trigger == null) {
+                    continue;
+                }
+                Date scheduledFireTime = trigger.nextFireTime;
+                if (schedulePartitioner.isOwner(trigger.scheduleId)) {
+                    scheduledFireTimes.put(trigger.scheduleId, scheduledFireTime);
+                }
+                // fire the misfired schedule once, and then proceed from now
+                if (trigger.computeNextFireTime(Math.max(scheduledFireTime.getTime(), now))) {
+                    timeWheel.add(trigger.scheduleId, trigger.nextFireTime.getTime());
+                } else {
+                    triggers.remove(trigger.scheduleId);
+                }
+            }
+            if (!scheduledFireTimes.isEmpty()) {
+                fireSchedules(scheduledFireTimes, new Date(now));
+            }
+        } catch (Exception e) {
+            logger.error("Time wheel scheduler tick error", e);
+        }
+    }
+
+    private void fireSchedules(Map<Integer, Date> scheduledFireTimes, Date fireTime) {
+        // check the schedules and workflows in batch instead of querying them for each fire
+        Map<Integer, Schedule> schedules = new HashMap<>();
+        for (List<Integer> scheduleIds : Lists.partition(new ArrayList<>(scheduledFireTimes.keySet()),
+                QUERY_BATCH_SIZE)) {
+            scheduleMapper.selectBatchIds(scheduleIds).forEach(schedule -> schedules.put(schedule.getId(), schedule));
+        }
+        List<Long> processDefinitionCodes = schedules.values().stream()
+                .map(Schedule::getProcessDefinitionCode)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, ProcessDefinition> processDefinitions = new HashMap<>();
+        for (List<Long> codes : Lists.partition(processDefinitionCodes, QUERY_BATCH_SIZE)) {
+            processDefinitionMapper.queryByCodes(codes)
+                    .forEach(processDefinition -> processDefinitions.put(processDefinition.getCode(),
+                            processDefinition));
+        }
+
+        Map<Integer, Command> commands = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Date> entry : scheduledFireTimes.entrySet()) {
+            int scheduleId = entry.getKey();
+            Schedule schedule = schedules.get(scheduleId);
+            if (schedule == null || ReleaseState.OFFLINE == schedule.getReleaseState()) {
+                logger.warn(
+                        "process schedule does not exist in db or process schedule offline, remove it from time wheel, scheduleId:{}",
+                        scheduleId);
+                removeTrigger(scheduleId);
+                continue;
+            }
+            ProcessDefinition processDefinition = processDefinitions.get(schedule.getProcessDefinitionCode());
+            if (processDefinition == null || ReleaseState.OFFLINE == processDefinition.getReleaseState()) {
+                logger.warn(
+                        "process definition does not exist in db or offline, need not to create command, scheduleId:{}, processDefinitionCode:{}",
+                        scheduleId, schedule.getProcessDefinitionCode());
+                continue;
+            }
+            commands.put(scheduleId, createCommand(schedule, processDefinition, entry.getValue(), fireTime));
+        }
+        int insertCount = commands.isEmpty() ? 0 : commandService.batchCreateScheduleCommands(commands);
+        logger.info("Time wheel scheduler fired {} schedules, created {} commands, fire time: {}",
+                scheduledFireTimes.size(), insertCount, fireTime);
+    }
+
+    private Command createCommand(Schedule schedule,
+                                  ProcessDefinition processDefinition,
+                                  Date scheduledFireTime,
+                                  Date fireTime) {
+        Command command = new Command();
+        command.setCommandType(CommandType.SCHEDULER);
+        command.setExecutorId(schedule.getUserId());
+        command.setFailureStrategy(schedule.getFailureStrategy());
+        command.setProcessDefinitionCode(schedule.getProcessDefinitionCode());
+        command.setScheduleTime(scheduledFireTime);
+        command.setStartTime(fireTime);
+        command.setWarningGroupId(schedule.getWarningGroupId());
+        String workerGroup = StringUtils.isEmpty(schedule.getWorkerGroup()) ? Constants.DEFAULT_WORKER_GROUP
+                : schedule.getWorkerGroup();
+        command.setWorkerGroup(workerGroup);
+        command.setEnvironmentCode(schedule.getEnvironmentCode());
+        command.setWarningType(schedule.getWarningType());
+        command.setProcessInstancePriority(schedule.getProcessInstancePriority());
+        command.setProcessDefinitionVersion(processDefinition.getVersion());
+        return command;
+    }
+
+    private void upsertTrigger(Schedule schedule, long fireFrom) {
+        ScheduleTrigger oldTrigger = triggers.get(schedule.getId());
+        if (oldTrigger != null && oldTrigger.isSameVersion(schedule)) {
+            return;
+        }
+        removeTrigger(schedule.getId());
+        if (ReleaseState.ONLINE != schedule.getReleaseState()) {
+            return;
+        }
+        ScheduleTrigger trigger;
+        try {
+            trigger = new ScheduleTrigger(schedule);
+        } catch (CronParseException e) {
+            logger.error("Parse the crontab of schedule error, scheduleId: {}, crontab: {}", schedule.getId(),
+                    schedule.getCrontab(), e);
+            return;
+        }
+        // the schedule which was already in the wheel has been fired before, so don't fire the past time again
+        long computeFrom = oldTrigger == null ? fireFrom : System.currentTimeMillis();
+        if (!trigger.computeNextFireTime(computeFrom)) {
+            logger.info("The schedule will not be fired anymore, scheduleId: {}, endTime: {}", schedule.getId(),
+                    schedule.getEndTime());
+            return;
+        }
+        triggers.put(schedule.getId(), trigger);
+        timeWheel.add(schedule.getId(), trigger.nextFireTime.getTime());
+    }
+
+    private void removeTrigger(int scheduleId) {
+        if (triggers.remove(scheduleId) != null) {
+            timeWheel.remove(scheduleId);
+        }
+    }
+
+    private static int roundUpToPowerOfTwo(int ticksPerWheel) {
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+        return wheelSize;
+    }
+
+    private static final class ScheduleTrigger {
+
+        private final int scheduleId;
+        private final Date updateTime;
+        private final ExecutionTime executionTime;
+        private final ZoneId zoneId;
+        private final Date startTime;
+        private final Date endTime;
+
+        private Date nextFireTime;
+
+        private ScheduleTrigger(Schedule schedule) throws CronParseException {
+            this.scheduleId = schedule.getId();
+            this.updateTime = schedule.getUpdateTime();
+            this.executionTime = ExecutionTime.forCron(CronUtils.parse2Cron(schedule.getCrontab()));
+            String timezoneId = schedule.getTimezoneId();
+            TimeZone timeZone = DateUtils.getTimezone(timezoneId);
+            this.zoneId = timeZone == null ? ZoneId.systemDefault() : timeZone.toZoneId();
+            // same as the quartz scheduler, recover the start/end time saved in server default timezone
+            this.startTime = DateUtils.transformTimezoneDate(schedule.getStartTime(), timezoneId);
+            this.endTime = DateUtils.transformTimezoneDate(schedule.getEndTime(), timezoneId);
+        }
+
+        private boolean isSameVersion(Schedule schedule) {
+            return updateTime != null && updateTime.equals(schedule.getUpdateTime());
+        }
+
+        /**
+         * Compute the first fire time after the given time, return false if there is no fire time before the end time.
+         */
+        private boolean computeNextFireTime(long afterMillis) {
+            long from = startTime == null ? afterMillis : Math.max(afterMillis, startTime.getTime() - 1);
+            Optional<ZonedDateTime> nextExecution =
+                    executionTime.nextExecution(ZonedDateTime.ofInstant(Instant.ofEpochMilli(from), zoneId));
+            if (!nextExecution.isPresent()) {
+                nextFireTime = null;
+                return false;
+            }
+            Date next = Date.from(nextExecution.get().toInstant());
+            if (endTime != null && next.after(endTime)) {
+                nextFireTime = null;
+                return false;
+            }
+            nextFireTime = next;
+            return true;
+        }
+    }
+}
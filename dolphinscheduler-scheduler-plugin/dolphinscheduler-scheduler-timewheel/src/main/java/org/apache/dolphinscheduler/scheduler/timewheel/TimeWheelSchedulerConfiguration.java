@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.timewheel;
+
+import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
+import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.scheduler.api.SchedulerApi;
+import org.apache.dolphinscheduler.service.command.CommandService;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "time-wheel")
+public class TimeWheelSchedulerConfiguration {
+
+    @Bean
+    public SchedulerApi schedulerApi(TimeWheelSchedulerProperties timeWheelSchedulerProperties,
+                                     ScheduleMapper scheduleMapper,
+                                     ProcessDefinitionMapper processDefinitionMapper,
+                                     CommandService commandService,
+                                     ObjectProvider<SchedulePartitioner> schedulePartitioner) {
+        // the api server never starts the scheduler, so it doesn't need a partitioner
+        return new TimeWheelScheduler(timeWheelSchedulerProperties, scheduleMapper, processDefinitionMapper,
+                commandService, schedulePartitioner.getIfAvailable(() -> scheduleId -> true));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.scheduler.timewheel;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConditionalOnProperty(prefix = "scheduler", name = "type", havingValue = "time-wheel")
+@ConfigurationProperties(prefix = "scheduler.time-wheel")
+public class TimeWheelSchedulerProperties {
+
+    /**
+     * The precision of the fire time, all the schedules firing in the same tick will create their commands in batch.
+     */
+    private Duration tickDuration = Duration.ofSeconds(1);
+    /**
+     * The bucket size of the time wheel, will be rounded up to a power of two.
+     */
+    private int ticksPerWheel = 512;
+    /**
+     * Used to load the updated schedules from database, the schedules set online/offline by api server will take
+     * effect after this interval.
+     */
+    private Duration scheduleRefreshInterval = Duration.ofSeconds(10);
+
+}
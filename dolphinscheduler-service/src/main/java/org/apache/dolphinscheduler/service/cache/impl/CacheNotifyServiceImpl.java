@@ -113,7 +113,7 @@ public class CacheNotifyServiceImpl implements CacheNotifyService {
      */
     @Override
     public void notifyMaster(Command command) {
-        logger.info("send result, command:{}", command.toString());
+        logger.debug("send result, command:{}", command);
         try {
             List<Server> serverList = registryClient.getServerList(NodeType.MASTER);
             if (CollectionUtils.isEmpty(serverList)) {
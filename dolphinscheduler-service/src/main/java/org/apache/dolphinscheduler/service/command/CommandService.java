@@ -21,8 +21,10 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.dao.model.CommandSlotRange;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Command Service
@@ -44,6 +46,23 @@ public interface CommandService {
      */
     int createCommand(Command command);
 
+    /**
+     * Create new commands with multi-row insert, the masters will be notified once for each batch rather than once
+     * for each command.
+     * @param commands commands
+     * @return insert count
+     */
+    int batchCreateCommand(List<Command> commands);
+
+    /**
+     * Create the commands of the schedule fires, each fire is created only once even if it's fired by more than one
+     * master. The last fire time of each schedule is moved forward in the same transaction as the insert, the fire
+     * whose schedule time is not after the last fire time will be skipped.
+     * @param scheduleCommands schedule id -> the command of its fire, the schedule time of the command is the fire time
+     * @return insert count
+     */
+    int batchCreateScheduleCommands(Map<Integer, Command> scheduleCommands);
+
     /**
      * Get command page
      * @param pageSize page size
@@ -53,6 +72,15 @@ public interface CommandService {
      */
     List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot);
 
+    /**
+     * Get command page by slot ranges
+     * @param pageSize page size
+     * @param slotCount total slot count, the slot of a command is {@code id % slotCount}
+     * @param slotRanges the slot ranges owned by this master
+     * @return command page
+     */
+    List<Command> findCommandPageBySlotRanges(int pageSize, int slotCount, List<CommandSlotRange> slotRanges);
+
     /**
      * check the input command exists in queue list
      *
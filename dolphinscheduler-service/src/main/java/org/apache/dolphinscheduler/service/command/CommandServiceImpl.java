@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.TaskDependType;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ErrorCommand;
@@ -37,24 +38,39 @@ import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ErrorCommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.dao.model.CommandSlotRange;
 import org.apache.dolphinscheduler.plugin.task.api.enums.Direct;
 import org.apache.dolphinscheduler.plugin.task.api.model.Property;
+import org.apache.dolphinscheduler.remote.command.CommandInsertNotifyCommand;
+import org.apache.dolphinscheduler.service.cache.CacheNotifyService;
 import org.apache.dolphinscheduler.service.utils.ParamUtils;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
@@ -68,6 +84,8 @@ public class CommandServiceImpl implements CommandService {
 
     private final Logger logger = LoggerFactory.getLogger(CommandServiceImpl.class);
 
+    private static final int BATCH_INSERT_SIZE = 1000;
+
     @Autowired
     private ErrorCommandMapper errorCommandMapper;
 
@@ -80,6 +98,19 @@ public class CommandServiceImpl implements CommandService {
     @Autowired
     private ProcessDefinitionMapper processDefineMapper;
 
+    @Autowired
+    private CacheNotifyService cacheNotifyService;
+
+    /**
+     * the ids of the inserted commands which have not been notified to the masters
+     */
+    private final Queue<Integer> pendingNotifyCommandIds = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean commandInsertNotifyScheduled = new AtomicBoolean(false);
+
+    private final ExecutorService commandInsertNotifyExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("CommandInsertNotifyThread", 1);
+
     @Override
     public void moveToErrorCommand(Command command, String message) {
         ErrorCommand errorCommand = new ErrorCommand(command, message);
@@ -105,9 +136,133 @@ public class CommandServiceImpl implements CommandService {
         }
         command.setId(null);
         result = commandMapper.insert(command);
+        if (result > 0) {
+            notifyCommandInserted(command);
+        }
         return result;
     }
 
+    @Override
+    public int batchCreateCommand(List<Command> commands) {
+        if (CollectionUtils.isEmpty(commands)) {
+            return 0;
+        }
+        // add command timezone, query the schedules of all the workflows at once
+        Map<Long, Schedule> scheduleMap = new HashMap<>();
+        List<Long> processDefinitionCodes = commands.stream()
+                .map(Command::getProcessDefinitionCode)
+                .distinct()
+                .collect(Collectors.toList());
+        for (List<Long> codes : Lists.partition(processDefinitionCodes, BATCH_INSERT_SIZE)) {
+            for (Schedule schedule : scheduleMapper.querySchedulesByProcessDefinitionCodes(codes)) {
+                scheduleMap.putIfAbsent(schedule.getProcessDefinitionCode(), schedule);
+            }
+        }
+        for (Command command : commands) {
+            Schedule schedule = scheduleMap.get(command.getProcessDefinitionCode());
+            if (schedule != null) {
+                Map<String, String> commandParams =
+                        StringUtils.isNotBlank(command.getCommandParam()) ? JSONUtils.toMap(command.getCommandParam())
+                                : new HashMap<>();
+                commandParams.put(Constants.SCHEDULE_TIMEZONE, schedule.getTimezoneId());
+                command.setCommandParam(JSONUtils.toJsonString(commandParams));
+            }
+            command.setId(null);
+        }
+        int result = 0;
+        for (List<Command> batch : Lists.partition(commands, BATCH_INSERT_SIZE)) {
+            int insertCount = commandMapper.batchInsert(batch);
+            if (insertCount > 0) {
+                notifyCommandsInserted(batch);
+            }
+            result += insertCount;
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public int batchCreateScheduleCommands(Map<Integer, Command> scheduleCommands) {
+        List<Command> commands = new ArrayList<>(scheduleCommands.size());
+        // update the schedules in the order of id, so the masters firing the same schedules will not deadlock
+        for (Map.Entry<Integer, Command> entry : new TreeMap<>(scheduleCommands).entrySet()) {
+            Command command = entry.getValue();
+            if (scheduleMapper.updateLastFireTime(entry.getKey(), command.getScheduleTime()) > 0) {
+                commands.add(command);
+            } else {
+                logger.warn("The schedule fire has already been created, scheduleId: {}, scheduleTime: {}",
+                        entry.getKey(), command.getScheduleTime());
+            }
+        }
+        return batchCreateCommand(commands);
+    }
+
+    /**
+     * Notify the masters that a new command has been inserted, so that the owner master can consume it immediately
+     * instead of waiting for the next command fetch interval. If we are inside a transaction, the notification will
+     * be sent after commit, otherwise the master may not see the command.
+     */
+    private void notifyCommandInserted(Command command) {
+        if (command.getId() == null) {
+            return;
+        }
+        sendCommandInsertNotify(Collections.singletonList(command.getId()));
+    }
+
+    private void notifyCommandsInserted(List<Command> commands) {
+        List<Integer> commandIds = commands.stream()
+                .map(Command::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        if (commandIds.isEmpty()) {
+            return;
+        }
+        sendCommandInsertNotify(commandIds);
+    }
+
+    private void sendCommandInsertNotify(List<Integer> commandIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    submitCommandInsertNotify(commandIds);
+                }
+            });
+        } else {
+            submitCommandInsertNotify(commandIds);
+        }
+    }
+
+    /**
+     * The notify is sent by the notify thread rather than the inserting thread, since it needs to look up the masters
+     * from the registry and send to each of them. The commands inserted while a notify is being sent are coalesced
+     * into the next notify.
+     */
+    private void submitCommandInsertNotify(List<Integer> commandIds) {
+        pendingNotifyCommandIds.addAll(commandIds);
+        if (commandInsertNotifyScheduled.compareAndSet(false, true)) {
+            commandInsertNotifyExecutor.execute(this::flushCommandInsertNotify);
+        }
+    }
+
+    private void flushCommandInsertNotify() {
+        // reset the flag before draining, so the ids added after draining will schedule a new notify
+        commandInsertNotifyScheduled.set(false);
+        List<Integer> commandIds = new ArrayList<>();
+        Integer commandId;
+        while ((commandId = pendingNotifyCommandIds.poll()) != null) {
+            commandIds.add(commandId);
+        }
+        for (List<Integer> batch : Lists.partition(commandIds, BATCH_INSERT_SIZE)) {
+            try {
+                cacheNotifyService.notifyMaster(new CommandInsertNotifyCommand(batch).convert2Command());
+            } catch (Exception e) {
+                logger.warn("Notify master command inserted error, the commands will be fetched later", e);
+            }
+        }
+    }
+
     @Override
     public List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot) {
         if (masterCount <= 0) {
@@ -116,6 +271,14 @@ public class CommandServiceImpl implements CommandService {
         return commandMapper.queryCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
     }
 
+    @Override
+    public List<Command> findCommandPageBySlotRanges(int pageSize, int slotCount, List<CommandSlotRange> slotRanges) {
+        if (slotCount <= 0 || CollectionUtils.isEmpty(slotRanges)) {
+            return Lists.newArrayList();
+        }
+        return commandMapper.queryCommandPageBySlotRanges(pageSize, slotCount, slotRanges);
+    }
+
     @Override
     public boolean verifyIsNeedCreateCommand(Command command) {
         boolean isNeedCreate = true;
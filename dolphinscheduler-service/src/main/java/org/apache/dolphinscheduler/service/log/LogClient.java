@@ -20,20 +20,28 @@ package org.apache.dolphinscheduler.service.log;
 import static org.apache.dolphinscheduler.common.constants.Constants.APPID_COLLECT;
 import static org.apache.dolphinscheduler.common.constants.Constants.DEFAULT_COLLECT_WAY;
 
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.task.api.utils.LogUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.log.GetAppIdRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetAppIdResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogChunkPushCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogSubscribeRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogSubscribeResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogUnsubscribeRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogByOffsetRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogByOffsetResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
@@ -41,7 +49,12 @@ import org.apache.dolphinscheduler.remote.factory.NettyRemotingClientFactory;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.service.utils.LoggerUtils;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 import javax.annotation.Nullable;
 
@@ -51,6 +64,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import io.netty.channel.Channel;
+
 @Service
 public class LogClient implements AutoCloseable {
 
@@ -62,8 +77,105 @@ public class LogClient implements AutoCloseable {
 
     private static final long LOG_REQUEST_TIMEOUT = 10 * 1000L;
 
+    private static final int LOG_BYTES_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * The listeners of the log subscriptions, key is the subscription id.
+     */
+    private final Map<String, OrderedLogChunkListener> logSubscriptionListeners = new ConcurrentHashMap<>();
+
+    /**
+     * Handle the pushed log chunks in one thread, so the chunks are delivered in the received order and the listener
+     * is never called concurrently.
+     */
+    private final ExecutorService logChunkPushExecutor =
+            ThreadUtils.newDaemonFixedThreadExecutor("LogChunkPushThread", 1);
+
     public LogClient() {
         client = NettyRemotingClientFactory.buildNettyRemotingClient();
+        client.registerProcessor(CommandType.LOG_CHUNK_PUSH, this::onLogChunkPush, logChunkPushExecutor);
+    }
+
+    /**
+     * subscribe the appended log of the given log file, the appended log will be pushed to the listener until
+     * {@link #unsubscribeLog(String, int, String)} is called or the subscription is closed by the server
+     *
+     * @param host host
+     * @param port port
+     * @param path path
+     * @param offset the byte offset to start pushing from
+     * @param subscriptionId the unique subscription id
+     * @param listener the listener of the pushed log, the log is delivered in the order of offset and the listener is
+     *                 never called concurrently
+     * @return whether the subscription is accepted
+     */
+    public boolean subscribeLog(String host, int port, String path, long offset, @NonNull String subscriptionId,
+                                @NonNull Consumer<LogChunkPushCommand> listener) {
+        logger.info("Subscribe log from host : {}, port : {}, path {}, offset {}, subscriptionId {}", host, port,
+                path, offset, subscriptionId);
+        logSubscriptionListeners.put(subscriptionId, new OrderedLogChunkListener(subscriptionId, offset, listener));
+        final Host address = new Host(host, port);
+        try {
+            Command command = new LogSubscribeRequestCommand(subscriptionId, path, offset).convert2Command();
+            Command response = client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
+            if (response != null) {
+                LogSubscribeResponseCommand logSubscribeResponse =
+                        JSONUtils.parseObject(response.getBody(), LogSubscribeResponseCommand.class);
+                if (logSubscribeResponse.isSuccess()) {
+                    return true;
+                }
+                logger.warn("Subscribe log from host : {}, port : {}, path {} is rejected: {}", host, port, path,
+                        logSubscribeResponse.getMsg());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.error(
+                    "Subscribe log from host : {}, port : {}, path {} error, the current thread has been interrupted",
+                    host, port, path, ex);
+        } catch (Exception e) {
+            logger.error("Subscribe log from host : {}, port : {}, path {} error", host, port, path, e);
+        }
+        logSubscriptionListeners.remove(subscriptionId);
+        return false;
+    }
+
+    /**
+     * cancel the log subscription
+     *
+     * @param host host
+     * @param port port
+     * @param subscriptionId the subscription id
+     */
+    public void unsubscribeLog(String host, int port, @NonNull String subscriptionId) {
+        if (logSubscriptionListeners.remove(subscriptionId) == null) {
+            return;
+        }
+        logger.info("Unsubscribe log from host : {}, port : {}, subscriptionId {}", host, port, subscriptionId);
+        try {
+            client.send(new Host(host, port), new LogUnsubscribeRequestCommand(subscriptionId).convert2Command());
+        } catch (Exception e) {
+            logger.warn("Unsubscribe log from host : {}, port : {}, subscriptionId {} error", host, port,
+                    subscriptionId, e);
+        }
+    }
+
+    private void onLogChunkPush(Channel channel, Command command) {
+        LogChunkPushCommand logChunkPush = JSONUtils.parseObject(command.getBody(), LogChunkPushCommand.class);
+        if (logChunkPush == null) {
+            return;
+        }
+        OrderedLogChunkListener listener = logSubscriptionListeners.get(logChunkPush.getSubscriptionId());
+        if (listener == null) {
+            if (!logChunkPush.isClosed()) {
+                // the subscription has been canceled, tell the server to stop pushing
+                channel.writeAndFlush(
+                        new LogUnsubscribeRequestCommand(logChunkPush.getSubscriptionId()).convert2Command());
+            }
+            return;
+        }
+        if (listener.onChunk(logChunkPush)) {
+            logSubscriptionListeners.remove(logChunkPush.getSubscriptionId());
+        }
     }
 
     /**
@@ -103,6 +215,42 @@ public class LogClient implements AutoCloseable {
         }
     }
 
+    /**
+     * view log from the given byte offset, the caller should use the next offset of the response to tail the log
+     *
+     * @param host host
+     * @param port port
+     * @param path path
+     * @param offset the byte offset to start reading from
+     * @param limit the max bytes to read
+     * @return log content and the next offset, null if failed
+     */
+    public @Nullable ViewLogByOffsetResponseCommand viewLogByOffset(String host, int port, String path, long offset,
+                                                                    int limit) {
+        logger.info("View log by offset from host : {}, port : {}, path {}, offset {} ,limit {}", host, port, path,
+                offset, limit);
+        ViewLogByOffsetRequestCommand request = new ViewLogByOffsetRequestCommand(path, offset, limit);
+        final Host address = new Host(host, port);
+        try {
+            Command command = request.convert2Command();
+            Command response = client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
+            if (response != null) {
+                return JSONUtils.parseObject(response.getBody(), ViewLogByOffsetResponseCommand.class);
+            }
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.error(
+                    "View log by offset from host : {}, port : {}, path {}, offset {} ,limit {} error, the current thread has been interrupted",
+                    host, port, path, offset, limit, ex);
+            return null;
+        } catch (Exception e) {
+            logger.error("View log by offset from host : {}, port : {}, path {}, offset {} ,limit {} error", host,
+                    port, path, offset, limit, e);
+            return null;
+        }
+    }
+
     /**
      * view log
      *
@@ -149,17 +297,30 @@ public class LogClient implements AutoCloseable {
      */
     public byte[] getLogBytes(String host, int port, String path) {
         logger.info("Get log bytes from host: {}, port: {}, logPath {}", host, port, path);
-        GetLogBytesRequestCommand request = new GetLogBytesRequestCommand(path);
         final Host address = new Host(host, port);
         try {
-            Command command = request.convert2Command();
-            Command response = this.client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
-            if (response != null) {
+            // fetch the log file chunk by chunk, so the server doesn't need to load the whole file at once
+            ByteArrayOutputStream logBytes = new ByteArrayOutputStream();
+            long offset = 0;
+            while (true) {
+                Command command = new GetLogBytesRequestCommand(path, offset, LOG_BYTES_CHUNK_SIZE).convert2Command();
+                Command response = this.client.sendSync(address, command, LOG_REQUEST_TIMEOUT);
+                if (response == null) {
+                    break;
+                }
                 GetLogBytesResponseCommand getLog =
                         JSONUtils.parseObject(response.getBody(), GetLogBytesResponseCommand.class);
-                return getLog.getData() == null ? EMPTY_BYTE_ARRAY : getLog.getData();
+                if (getLog.getData() == null || getLog.getData().length == 0) {
+                    break;
+                }
+                logBytes.write(getLog.getData());
+                if (getLog.getNextOffset() <= offset) {
+                    // the server doesn't support reading by chunk, the whole file has been returned
+                    break;
+                }
+                offset = getLog.getNextOffset();
             }
-            return EMPTY_BYTE_ARRAY;
+            return logBytes.size() == 0 ? EMPTY_BYTE_ARRAY : logBytes.toByteArray();
         } catch (InterruptedException ex) {
             Thread.currentThread().interrupt();
             logger.error(
@@ -231,6 +392,7 @@ public class LogClient implements AutoCloseable {
     @Override
     public void close() {
         this.client.close();
+        this.logChunkPushExecutor.shutdownNow();
         logger.info("LogClientService closed");
     }
 
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.remote.command.log.LogChunkPushCommand;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.Channel;
+
+/**
+ * Manage the log subscriptions, the appended log of the subscribed log files is pushed to the subscriber channels.
+ * <p>
+ * All the subscriptions are served by one push thread, it checks the subscribed log files periodically and only reads
+ * the bytes appended after the last pushed offset. The subscription is removed when it's canceled by the subscriber,
+ * the subscriber channel is inactive or the log file has been removed.
+ */
+public class LogSubscriptionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogSubscriptionManager.class);
+
+    private static final int MAX_SUBSCRIPTION_SIZE = 1000;
+
+    private static final long PUSH_INTERVAL_MILLS = 500L;
+
+    private static final int PUSH_CHUNK_SIZE = 65535;
+
+    /**
+     * The max chunks pushed to one subscriber in one round, avoid a chatty log starving the other subscriptions.
+     */
+    private static final int MAX_PUSH_CHUNKS_PER_ROUND = 16;
+
+    private final Map<String, LogSubscription> subscriptions = new ConcurrentHashMap<>();
+
+    private final TaskLogFileReader taskLogFileReader;
+
+    private ScheduledExecutorService pushExecutor;
+
+    public LogSubscriptionManager(TaskLogFileReader taskLogFileReader) {
+        this.taskLogFileReader = taskLogFileReader;
+    }
+
+    /**
+     * Subscribe the appended log of the given log file.
+     *
+     * @return false if there are too many subscriptions
+     */
+    public boolean subscribe(String subscriptionId, String path, long offset, Channel channel) {
+        if (subscriptions.size() >= MAX_SUBSCRIPTION_SIZE && !subscriptions.containsKey(subscriptionId)) {
+            logger.warn("The log subscriptions exceed the max size: {}, reject subscription: {}",
+                    MAX_SUBSCRIPTION_SIZE, subscriptionId);
+            return false;
+        }
+        subscriptions.put(subscriptionId, new LogSubscription(subscriptionId, path, Math.max(0, offset), channel));
+        logger.info("Subscribe log: {} from offset: {}, subscriptionId: {}", path, offset, subscriptionId);
+        return true;
+    }
+
+    public void unsubscribe(String subscriptionId) {
+        if (subscriptions.remove(subscriptionId) != null) {
+            logger.info("Unsubscribe log, subscriptionId: {}", subscriptionId);
+        }
+    }
+
+    public int getSubscriptionSize() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Start the push thread.
+     */
+    public synchronized void start() {
+        if (pushExecutor != null) {
+            return;
+        }
+        pushExecutor = ThreadUtils.newDaemonScheduledExecutorService("Log-Subscription-Push-Thread", 1);
+        pushExecutor.scheduleWithFixedDelay(this::pushAppendedLogs, PUSH_INTERVAL_MILLS, PUSH_INTERVAL_MILLS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Push the appended log of all the subscriptions.
+     */
+    void pushAppendedLogs() {
+        Iterator<LogSubscription> iterator = subscriptions.values().iterator();
+        while (iterator.hasNext()) {
+            LogSubscription subscription = iterator.next();
+            try {
+                if (!subscription.channel.isActive()) {
+                    logger.info("The subscriber channel is inactive, remove the log subscription: {}",
+                            subscription.subscriptionId);
+                    iterator.remove();
+                    continue;
+                }
+                if (!new File(subscription.path).exists()) {
+                    logger.info("The log file: {} doesn't exist, remove the log subscription: {}",
+                            subscription.path, subscription.subscriptionId);
+                    subscription.channel.writeAndFlush(new LogChunkPushCommand(subscription.subscriptionId, "",
+                            subscription.offset, subscription.offset, true).convert2Command());
+                    iterator.remove();
+                    continue;
+                }
+                pushAppendedLog(subscription);
+            } catch (Exception ex) {
+                logger.error("Push the appended log to the subscriber error, subscriptionId: {}",
+                        subscription.subscriptionId, ex);
+            }
+        }
+    }
+
+    private void pushAppendedLog(LogSubscription subscription) throws Exception {
+        for (int i = 0; i < MAX_PUSH_CHUNKS_PER_ROUND; i++) {
+            // don't push more log if the subscriber can't consume them in time
+            if (!subscription.channel.isWritable()) {
+                return;
+            }
+            TaskLogFileReader.LogPage logPage =
+                    taskLogFileReader.readByOffset(subscription.path, subscription.offset, PUSH_CHUNK_SIZE);
+            if (logPage.getContent().length == 0) {
+                return;
+            }
+            subscription.channel.writeAndFlush(new LogChunkPushCommand(subscription.subscriptionId,
+                    new String(logPage.getContent(), StandardCharsets.UTF_8),
+                    subscription.offset,
+                    logPage.getNextOffset(),
+                    false).convert2Command());
+            subscription.offset = logPage.getNextOffset();
+            if (logPage.getNextOffset() >= logPage.getFileLength()) {
+                return;
+            }
+        }
+    }
+
+    private static class LogSubscription {
+
+        private final String subscriptionId;
+
+        private final String path;
+
+        private final Channel channel;
+
+        /**
+         * The byte offset to push from, only accessed by the push thread.
+         */
+        private long offset;
+
+        private LogSubscription(String subscriptionId, String path, long offset, Channel channel) {
+            this.subscriptionId = subscriptionId;
+            this.path = path;
+            this.offset = offset;
+            this.channel = channel;
+        }
+    }
+}
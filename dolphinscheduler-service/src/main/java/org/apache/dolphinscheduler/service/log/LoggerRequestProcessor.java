@@ -29,10 +29,15 @@ import org.apache.dolphinscheduler.remote.command.log.GetAppIdRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetAppIdResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogSubscribeRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogSubscribeResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogUnsubscribeRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogByOffsetRequestCommand;
+import org.apache.dolphinscheduler.remote.command.log.ViewLogByOffsetResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
@@ -48,14 +53,10 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,11 +72,26 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
 
     private final Logger logger = LoggerFactory.getLogger(LoggerRequestProcessor.class);
 
+    /**
+     * The max bytes of the log returned in one response.
+     */
+    private static final int MAX_RESPONSE_LOG_SIZE = 65535;
+
+    /**
+     * The max bytes of the log file returned in one download response.
+     */
+    private static final int MAX_DOWNLOAD_CHUNK_SIZE = 4 * 1024 * 1024;
+
     private final ExecutorService executor;
 
+    private final TaskLogFileReader taskLogFileReader = new TaskLogFileReader();
+
+    private final LogSubscriptionManager logSubscriptionManager = new LogSubscriptionManager(taskLogFileReader);
+
     public LoggerRequestProcessor() {
         this.executor = Executors.newFixedThreadPool(Constants.CPUS * 2 + 1,
                 new NamedThreadFactory("Log-Request-Process-Thread"));
+        this.logSubscriptionManager.start();
     }
 
     @Override
@@ -92,8 +108,13 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                 if (!checkPathSecurity(path)) {
                     throw new IllegalArgumentException("Illegal path: " + path);
                 }
-                byte[] bytes = getFileContentBytes(path);
-                GetLogBytesResponseCommand getLogResponse = new GetLogBytesResponseCommand(bytes);
+                GetLogBytesResponseCommand getLogResponse;
+                if (getLogRequest.getLimit() <= 0 && getLogRequest.getOffset() == 0) {
+                    // the request from the old client, return the whole file
+                    getLogResponse = new GetLogBytesResponseCommand(getFileContentBytes(path));
+                } else {
+                    getLogResponse = getFileContentChunk(path, getLogRequest.getOffset(), getLogRequest.getLimit());
+                }
                 channel.writeAndFlush(getLogResponse.convert2Command(command.getOpaque()));
                 break;
             case VIEW_WHOLE_LOG_REQUEST:
@@ -119,22 +140,22 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                 List<String> lines = readPartFileContent(rollViewLogPath,
                         rollViewLogRequest.getSkipLineNum(), rollViewLogRequest.getLimit());
                 StringBuilder builder = new StringBuilder();
-                final int MaxResponseLogSize = 65535;
                 int totalLogByteSize = 0;
                 for (String line : lines) {
                     // If a single line of log is exceed max response size, cut off the line
                     final int lineByteSize = line.getBytes(StandardCharsets.UTF_8).length;
-                    if (lineByteSize >= MaxResponseLogSize) {
-                        builder.append(line, 0, MaxResponseLogSize)
+                    if (lineByteSize >= MAX_RESPONSE_LOG_SIZE) {
+                        builder.append(line, 0, MAX_RESPONSE_LOG_SIZE)
                                 .append(" [this line's size ").append(lineByteSize).append(" bytes is exceed ")
-                                .append(MaxResponseLogSize).append(" bytes, so only ")
-                                .append(MaxResponseLogSize).append(" characters are reserved for performance reasons.]")
+                                .append(MAX_RESPONSE_LOG_SIZE).append(" bytes, so only ")
+                                .append(MAX_RESPONSE_LOG_SIZE)
+                                .append(" characters are reserved for performance reasons.]")
                                 .append("\r\n");
                     } else {
                         builder.append(line).append("\r\n");
                     }
                     totalLogByteSize += lineByteSize;
-                    if (totalLogByteSize >= MaxResponseLogSize) {
+                    if (totalLogByteSize >= MAX_RESPONSE_LOG_SIZE) {
                         break;
                     }
                 }
@@ -142,6 +163,36 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                         new RollViewLogResponseCommand(builder.toString());
                 channel.writeAndFlush(rollViewLogRequestResponse.convert2Command(command.getOpaque()));
                 break;
+            case VIEW_LOG_BY_OFFSET_REQUEST:
+                ViewLogByOffsetRequestCommand viewLogByOffsetRequest = JSONUtils.parseObject(
+                        command.getBody(), ViewLogByOffsetRequestCommand.class);
+                String viewLogByOffsetPath = viewLogByOffsetRequest.getPath();
+                if (!checkPathSecurity(viewLogByOffsetPath)) {
+                    throw new IllegalArgumentException("Illegal path: " + viewLogByOffsetPath);
+                }
+                ViewLogByOffsetResponseCommand viewLogByOffsetResponse = readFileContentByOffset(viewLogByOffsetPath,
+                        viewLogByOffsetRequest.getOffset(), viewLogByOffsetRequest.getLimit());
+                channel.writeAndFlush(viewLogByOffsetResponse.convert2Command(command.getOpaque()));
+                break;
+            case LOG_SUBSCRIBE_REQUEST:
+                LogSubscribeRequestCommand logSubscribeRequest = JSONUtils.parseObject(
+                        command.getBody(), LogSubscribeRequestCommand.class);
+                String subscribeLogPath = logSubscribeRequest.getPath();
+                if (!checkPathSecurity(subscribeLogPath)) {
+                    throw new IllegalArgumentException("Illegal path: " + subscribeLogPath);
+                }
+                boolean subscribed = logSubscriptionManager.subscribe(logSubscribeRequest.getSubscriptionId(),
+                        subscribeLogPath, logSubscribeRequest.getOffset(), channel);
+                LogSubscribeResponseCommand logSubscribeResponse = subscribed
+                        ? new LogSubscribeResponseCommand(true, null)
+                        : new LogSubscribeResponseCommand(false, "Too many log subscriptions");
+                channel.writeAndFlush(logSubscribeResponse.convert2Command(command.getOpaque()));
+                break;
+            case LOG_UNSUBSCRIBE_REQUEST:
+                LogUnsubscribeRequestCommand logUnsubscribeRequest = JSONUtils.parseObject(
+                        command.getBody(), LogUnsubscribeRequestCommand.class);
+                logSubscriptionManager.unsubscribe(logUnsubscribeRequest.getSubscriptionId());
+                break;
             case REMOVE_TAK_LOG_REQUEST:
                 RemoveTaskLogRequestCommand removeTaskLogRequest = JSONUtils.parseObject(
                         command.getBody(), RemoveTaskLogRequestCommand.class);
@@ -159,6 +210,7 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                 } catch (Exception e) {
                     status = false;
                 }
+                taskLogFileReader.invalidate(taskLogPath);
 
                 RemoveTaskLogResponseCommand removeTaskLogResponse = new RemoveTaskLogResponseCommand(status);
                 channel.writeAndFlush(removeTaskLogResponse.convert2Command(command.getOpaque()));
@@ -225,6 +277,45 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
         return new byte[0];
     }
 
+    /**
+     * get a chunk of the file content bytes for download file
+     *
+     * @param filePath file path
+     * @param offset the byte offset to start reading from
+     * @param limit the max bytes to read
+     * @return the chunk and the offset of the next chunk
+     */
+    private GetLogBytesResponseCommand getFileContentChunk(String filePath, long offset, int limit) {
+        int chunkSize = limit <= 0 ? MAX_DOWNLOAD_CHUNK_SIZE : Math.min(limit, MAX_DOWNLOAD_CHUNK_SIZE);
+        try {
+            TaskLogFileReader.LogPage logPage = taskLogFileReader.readByOffset(filePath, offset, chunkSize);
+            return new GetLogBytesResponseCommand(logPage.getContent(), logPage.getNextOffset());
+        } catch (IOException e) {
+            logger.error("get file bytes error", e);
+        }
+        return new GetLogBytesResponseCommand(new byte[0], offset);
+    }
+
+    /**
+     * read file content from the given byte offset, the content is cut at the last line break
+     *
+     * @param filePath file path
+     * @param offset the byte offset to start reading from
+     * @param limit the max bytes to read
+     * @return the content and the offset of the next page
+     */
+    private ViewLogByOffsetResponseCommand readFileContentByOffset(String filePath, long offset, int limit) {
+        int pageSize = limit <= 0 ? MAX_RESPONSE_LOG_SIZE : Math.min(limit, MAX_RESPONSE_LOG_SIZE);
+        try {
+            TaskLogFileReader.LogPage logPage = taskLogFileReader.readByOffset(filePath, offset, pageSize);
+            return new ViewLogByOffsetResponseCommand(new String(logPage.getContent(), StandardCharsets.UTF_8),
+                    logPage.getNextOffset(), logPage.getFileLength());
+        } catch (IOException e) {
+            logger.error("read file error", e);
+        }
+        return new ViewLogByOffsetResponseCommand("", offset, 0);
+    }
+
     /**
      * read part file content，can skip any line and read some lines
      *
@@ -238,8 +329,8 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                                              int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try {
+                return taskLogFileReader.readLines(filePath, skipLine, limit);
             } catch (IOException e) {
                 logger.error("read file error", e);
             }
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import org.apache.dolphinscheduler.remote.command.log.LogChunkPushCommand;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import lombok.NonNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deliver the pushed log chunks of one subscription to the listener in the order of their offsets. The server pushes
+ * several chunks back to back, so a chunk may arrive before the chunks in front of it, then it is held until the gap
+ * is filled. The chunks before the delivered offset are duplicated and will be dropped.
+ */
+class OrderedLogChunkListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderedLogChunkListener.class);
+
+    /**
+     * If the gap is not filled after this count of chunks, the missing chunk is considered lost and skipped.
+     */
+    static final int MAX_PENDING_CHUNKS = 64;
+
+    private final String subscriptionId;
+
+    private final Consumer<LogChunkPushCommand> listener;
+
+    /**
+     * offset -> the chunks arrived before the chunks in front of them
+     */
+    private final TreeMap<Long, LogChunkPushCommand> pendingChunks = new TreeMap<>();
+
+    private long nextOffset;
+
+    private boolean closed;
+
+    OrderedLogChunkListener(@NonNull String subscriptionId, long offset,
+                            @NonNull Consumer<LogChunkPushCommand> listener) {
+        this.subscriptionId = subscriptionId;
+        this.nextOffset = Math.max(0, offset);
+        this.listener = listener;
+    }
+
+    /**
+     * @return true if the subscription has been closed by the server and all its chunks have been delivered
+     */
+    synchronized boolean onChunk(@NonNull LogChunkPushCommand chunk) {
+        if (closed) {
+            return true;
+        }
+        if (chunk.getOffset() < nextOffset) {
+            logger.debug("Drop the duplicated log chunk, subscriptionId: {}, offset: {}, expected offset: {}",
+                    subscriptionId, chunk.getOffset(), nextOffset);
+            return false;
+        }
+        pendingChunks.put(chunk.getOffset(), chunk);
+        if (!pendingChunks.containsKey(nextOffset) && pendingChunks.size() > MAX_PENDING_CHUNKS) {
+            logger.warn("The log chunks from offset: {} to {} are lost, skip them, subscriptionId: {}", nextOffset,
+                    pendingChunks.firstKey(), subscriptionId);
+            nextOffset = pendingChunks.firstKey();
+        }
+        Map.Entry<Long, LogChunkPushCommand> entry;
+        while ((entry = pendingChunks.firstEntry()) != null && entry.getKey() == nextOffset) {
+            LogChunkPushCommand nextChunk = pendingChunks.pollFirstEntry().getValue();
+            listener.accept(nextChunk);
+            if (nextChunk.isClosed()) {
+                closed = true;
+                pendingChunks.clear();
+                return true;
+            }
+            nextOffset = Math.max(nextOffset, nextChunk.getNextOffset());
+        }
+        return false;
+    }
+}
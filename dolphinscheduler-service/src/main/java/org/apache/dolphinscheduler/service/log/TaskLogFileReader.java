@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Read the task log file by byte offset or by line, the log file is never read from the beginning unless it's
+ * requested.
+ * <p>
+ * A sparse line index is kept for each recently read log file, it records the byte offset of every
+ * {@link #LINE_INDEX_INTERVAL} lines. Since the log file is append only, the index is extended incrementally, and
+ * reading from a line number only needs to scan at most {@link #LINE_INDEX_INTERVAL} lines.
+ */
+public class TaskLogFileReader {
+
+    static final int LINE_INDEX_INTERVAL = 1000;
+
+    private static final int MAX_CACHED_LINE_INDEX = 1024;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final Cache<String, LineIndex> lineIndexCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_LINE_INDEX)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Read at most limit bytes from the given offset, the content is cut at the last line break, so that a line
+     * will not be split into two pages unless the line is longer than the limit.
+     *
+     * @param filePath file path
+     * @param offset the byte offset to start reading from
+     * @param limit the max bytes to read
+     * @return the log page, the content is empty if there is no new log
+     */
+    public LogPage readByOffset(String filePath, long offset, int limit) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile()) {
+            return new LogPage(new byte[0], offset, 0);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileLength = channel.size();
+            long position = Math.max(0, offset);
+            if (limit <= 0 || position >= fileLength) {
+                return new LogPage(new byte[0], position, fileLength);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(limit, fileLength - position));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            int size = buffer.position();
+            byte[] bytes = buffer.array();
+            int end = size;
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--;
+            }
+            if (end == 0) {
+                // there is no complete line in this page, return the whole page but don't split a character
+                end = size;
+                while (end > 0 && (bytes[end - 1] & 0xC0) == 0x80) {
+                    end--;
+                }
+                if (end > 0 && (bytes[end - 1] & 0x80) != 0) {
+                    end--;
+                }
+                if (end == 0) {
+                    end = size;
+                }
+            }
+            byte[] content = end == bytes.length ? bytes : Arrays.copyOf(bytes, end);
+            return new LogPage(content, position + end, fileLength);
+        }
+    }
+
+    /**
+     * Read part of the file content, skip some lines and then read at most limit lines.
+     *
+     * @param filePath file path
+     * @param skipLine skip line
+     * @param limit read lines limit
+     * @return the lines
+     */
+    public List<String> readLines(String filePath, int skipLine, int limit) throws IOException {
+        File file = new File(filePath);
+        if (!file.exists() || !file.isFile() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long startOffset;
+            int linesToSkip;
+            LineIndex lineIndex = getLineIndex(filePath);
+            synchronized (lineIndex) {
+                lineIndex.extend(channel, Math.max(0, skipLine));
+                int checkpoint = Math.min(Math.max(0, skipLine) / LINE_INDEX_INTERVAL,
+                        lineIndex.checkpoints.size() - 1);
+                startOffset = lineIndex.checkpoints.get(checkpoint);
+                linesToSkip = Math.max(0, skipLine) - checkpoint * LINE_INDEX_INTERVAL;
+            }
+            channel.position(startOffset);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            for (int i = 0; i < linesToSkip; i++) {
+                if (reader.readLine() == null) {
+                    return Collections.emptyList();
+                }
+            }
+            List<String> lines = new ArrayList<>(Math.min(limit, LINE_INDEX_INTERVAL));
+            String line;
+            while (lines.size() < limit && (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Drop the line index of the given file, should be called when the file is removed.
+     */
+    public void invalidate(String filePath) {
+        lineIndexCache.invalidate(toCacheKey(filePath));
+    }
+
+    private String toCacheKey(String filePath) {
+        return Paths.get(filePath).normalize().toString();
+    }
+
+    private LineIndex getLineIndex(String filePath) throws IOException {
+        try {
+            return lineIndexCache.get(toCacheKey(filePath), LineIndex::new);
+        } catch (ExecutionException e) {
+            throw new IOException("Get the line index of " + filePath + " error", e.getCause());
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class LogPage {
+
+        private byte[] content;
+
+        /**
+         * The byte offset to read the next page from.
+         */
+        private long nextOffset;
+
+        private long fileLength;
+    }
+
+    /**
+     * The byte offsets of the line 0, {@link #LINE_INDEX_INTERVAL}, 2 * {@link #LINE_INDEX_INTERVAL}...
+     */
+    private static class LineIndex {
+
+        private final List<Long> checkpoints = new ArrayList<>();
+
+        /**
+         * The complete lines have been scanned.
+         */
+        private int scannedLines;
+
+        /**
+         * The byte offset after the last scanned line break.
+         */
+        private long scannedOffset;
+
+        private LineIndex() {
+            checkpoints.add(0L);
+        }
+
+        /**
+         * Scan the file from the last scanned offset until the target line is indexed or reaching the end of file.
+         */
+        private void extend(FileChannel channel, int targetLine) throws IOException {
+            if (channel.size() < scannedOffset) {
+                // the file has been truncated or rewritten, rebuild the index
+                checkpoints.clear();
+                checkpoints.add(0L);
+                scannedLines = 0;
+                scannedOffset = 0;
+            }
+            if (scannedLines >= targetLine) {
+                return;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            long position = scannedOffset;
+            int read;
+            while (scannedLines < targetLine && (read = channel.read(buffer, position)) > 0) {
+                byte[] bytes = buffer.array();
+                for (int i = 0; i < read && scannedLines < targetLine; i++) {
+                    if (bytes[i] == '\n') {
+                        scannedLines++;
+                        scannedOffset = position + i + 1;
+                        if (scannedLines % LINE_INDEX_INTERVAL == 0) {
+                            checkpoints.add(scannedOffset);
+                        }
+                    }
+                }
+                position += read;
+                buffer.clear();
+            }
+        }
+    }
+}
@@ -21,19 +21,27 @@ import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import com.google.common.base.Preconditions;
 
 /**
  * Task instances priority queue implementation
  * All the task instances are in the same process instance.
+ * <p>
+ * The queue is an indexed binary heap keyed by processInstanceId + taskCode + version, so contains is O(1) and
+ * put/remove/update are O(log n). The queue also tracks the dirty task instances, which are the task instances whose
+ * dependencies may be changed and need to be re-evaluated.
  */
 public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInstance> {
 
@@ -42,22 +50,43 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      */
     private static final Integer QUEUE_MAX_SIZE = 3000;
 
+    private static final Comparator<TaskInstance> TASK_INFO_COMPARATOR = new TaskInfoComparator();
+
+    /**
+     * binary heap of the task instances
+     */
+    private final List<TaskInstance> heap = new ArrayList<>(QUEUE_MAX_SIZE);
+
     /**
-     * queue
+     * task instance identify -> index in the heap
      */
-    private final PriorityQueue<TaskInstance> queue = new PriorityQueue<>(QUEUE_MAX_SIZE, new TaskInfoComparator());
-    private final Set<String> taskInstanceIdentifySet = Collections.synchronizedSet(new HashSet<>());
+    private final Map<String, Integer> heapIndexes = new HashMap<>();
 
     /**
-     * put task instance to priority queue
+     * the identify of the task instances need to be re-evaluated
+     */
+    private final Set<String> dirtyTaskInstanceIdentifies = new HashSet<>();
+
+    /**
+     * put task instance to priority queue, the task instance will be marked as dirty.
+     * If the task instance is already in the queue, it will be replaced.
      *
      * @param taskInstance taskInstance
      */
     @Override
-    public void put(TaskInstance taskInstance) {
+    public synchronized void put(TaskInstance taskInstance) {
         Preconditions.checkNotNull(taskInstance);
-        queue.add(taskInstance);
-        taskInstanceIdentifySet.add(getTaskInstanceIdentify(taskInstance));
+        String identify = getTaskInstanceIdentify(taskInstance);
+        dirtyTaskInstanceIdentifies.add(identify);
+        Integer index = heapIndexes.get(identify);
+        if (index != null) {
+            setAt(index, taskInstance);
+            siftUp(siftDown(index));
+            return;
+        }
+        heap.add(taskInstance);
+        heapIndexes.put(identify, heap.size() - 1);
+        siftUp(heap.size() - 1);
     }
 
     /**
@@ -67,11 +96,12 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      * @throws TaskPriorityQueueException
      */
     @Override
-    public TaskInstance take() throws TaskPriorityQueueException {
-        TaskInstance taskInstance = queue.poll();
-        if (taskInstance != null) {
-            taskInstanceIdentifySet.remove(getTaskInstanceIdentify(taskInstance));
+    public synchronized TaskInstance take() throws TaskPriorityQueueException {
+        if (heap.isEmpty()) {
+            return null;
         }
+        TaskInstance taskInstance = heap.get(0);
+        removeAt(0);
         return taskInstance;
     }
 
@@ -98,8 +128,8 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      *
      * @return task instance
      */
-    public TaskInstance peek() {
-        return queue.peek();
+    public synchronized TaskInstance peek() {
+        return heap.isEmpty() ? null : heap.get(0);
     }
 
     /**
@@ -108,17 +138,18 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      * @return size
      */
     @Override
-    public int size() {
-        return queue.size();
+    public synchronized int size() {
+        return heap.size();
     }
 
     /**
      * clear task
      *
      */
-    public void clear() {
-        queue.clear();
-        taskInstanceIdentifySet.clear();
+    public synchronized void clear() {
+        heap.clear();
+        heapIndexes.clear();
+        dirtyTaskInstanceIdentifies.clear();
     }
 
     /**
@@ -127,9 +158,9 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      * @param taskInstance task instance
      * @return true is contains
      */
-    public boolean contains(TaskInstance taskInstance) {
+    public synchronized boolean contains(TaskInstance taskInstance) {
         Preconditions.checkNotNull(taskInstance);
-        return taskInstanceIdentifySet.contains(getTaskInstanceIdentify(taskInstance));
+        return heapIndexes.containsKey(getTaskInstanceIdentify(taskInstance));
     }
 
     /**
@@ -138,28 +169,129 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
      * @param taskInstance task instance
      * @return true if remove success
      */
-    public boolean remove(TaskInstance taskInstance) {
+    public synchronized boolean remove(TaskInstance taskInstance) {
+        Preconditions.checkNotNull(taskInstance);
+        Integer index = heapIndexes.get(getTaskInstanceIdentify(taskInstance));
+        if (index == null) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Mark the task instance as dirty, it should be called when the dependencies of the task instance changed.
+     *
+     * @param taskInstance task instance
+     * @return true if the task instance is in the queue
+     */
+    public synchronized boolean markDirty(TaskInstance taskInstance) {
         Preconditions.checkNotNull(taskInstance);
-        taskInstanceIdentifySet.remove(getTaskInstanceIdentify(taskInstance));
-        return queue.remove(taskInstance);
+        String identify = getTaskInstanceIdentify(taskInstance);
+        if (!heapIndexes.containsKey(identify)) {
+            return false;
+        }
+        dirtyTaskInstanceIdentifies.add(identify);
+        return true;
+    }
+
+    /**
+     * Mark all the task instances in the queue as dirty.
+     */
+    public synchronized void markAllDirty() {
+        dirtyTaskInstanceIdentifies.addAll(heapIndexes.keySet());
+    }
+
+    /**
+     * Get the dirty task instances in priority order and clear the dirty marks, the task instances are still in the
+     * queue.
+     *
+     * @return dirty task instances
+     */
+    public synchronized List<TaskInstance> pollDirtyTaskInstances() {
+        if (dirtyTaskInstanceIdentifies.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<TaskInstance> dirtyTaskInstances = dirtyTaskInstanceIdentifies.stream()
+                .map(identify -> heap.get(heapIndexes.get(identify)))
+                .sorted(TASK_INFO_COMPARATOR)
+                .collect(Collectors.toList());
+        dirtyTaskInstanceIdentifies.clear();
+        return dirtyTaskInstances;
     }
 
     /**
-     * get iterator
+     * get iterator, the iterator is based on a snapshot of the queue and is not in priority order
      *
      * @return Iterator
      */
-    public Iterator<TaskInstance> iterator() {
-        return queue.iterator();
+    public synchronized Iterator<TaskInstance> iterator() {
+        return Collections.unmodifiableList(new ArrayList<>(heap)).iterator();
+    }
+
+    private void removeAt(int index) {
+        TaskInstance removed = heap.get(index);
+        String identify = getTaskInstanceIdentify(removed);
+        heapIndexes.remove(identify);
+        dirtyTaskInstanceIdentifies.remove(identify);
+        TaskInstance last = heap.remove(heap.size() - 1);
+        if (index == heap.size()) {
+            return;
+        }
+        setAt(index, last);
+        siftUp(siftDown(index));
+    }
+
+    private int siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (TASK_INFO_COMPARATOR.compare(heap.get(index), heap.get(parent)) >= 0) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+        return index;
+    }
+
+    private int siftDown(int index) {
+        int size = heap.size();
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && TASK_INFO_COMPARATOR.compare(heap.get(left), heap.get(smallest)) < 0) {
+                smallest = left;
+            }
+            if (right < size && TASK_INFO_COMPARATOR.compare(heap.get(right), heap.get(smallest)) < 0) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return index;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        TaskInstance taskInstance = heap.get(i);
+        setAt(i, heap.get(j));
+        setAt(j, taskInstance);
+    }
+
+    private void setAt(int index, TaskInstance taskInstance) {
+        heap.set(index, taskInstance);
+        heapIndexes.put(getTaskInstanceIdentify(taskInstance), index);
     }
 
     // since the task instance will not contain taskInstanceId until insert into database
     // So we use processInstanceId + taskCode + version to identify a taskInstance.
     private String getTaskInstanceIdentify(TaskInstance taskInstance) {
-        return String.join(
+        return String.join("-",
                 String.valueOf(taskInstance.getProcessInstanceId()),
                 String.valueOf(taskInstance.getTaskCode()),
-                String.valueOf(taskInstance.getTaskDefinitionVersion()), "-");
+                String.valueOf(taskInstance.getTaskDefinitionVersion()));
     }
 
     /**
@@ -72,8 +72,14 @@ public class TaskPriority implements Comparable<TaskPriority> {
 
     private int taskGroupPriority;
 
+    /**
+     * the time when the task is submitted to the queue, used to measure the dispatch latency
+     */
+    private long submitTime;
+
     public TaskPriority() {
         this.checkpoint = System.currentTimeMillis();
+        this.submitTime = this.checkpoint;
     }
 
     public TaskPriority(int processInstancePriority,
@@ -88,6 +94,7 @@ public class TaskPriority implements Comparable<TaskPriority> {
         this.taskGroupPriority = taskGroupPriority;
         this.groupName = groupName;
         this.checkpoint = System.currentTimeMillis();
+        this.submitTime = this.checkpoint;
     }
 
     public int getProcessInstancePriority() {
@@ -162,6 +169,14 @@ public class TaskPriority implements Comparable<TaskPriority> {
         this.taskGroupPriority = taskGroupPriority;
     }
 
+    public long getSubmitTime() {
+        return submitTime;
+    }
+
+    public void setSubmitTime(long submitTime) {
+        this.submitTime = submitTime;
+    }
+
     @Override
     public int compareTo(TaskPriority other) {
         if (this.getProcessInstancePriority() > other.getProcessInstancePriority()) {
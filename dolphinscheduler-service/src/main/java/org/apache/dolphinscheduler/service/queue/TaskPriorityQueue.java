@@ -60,4 +60,20 @@ public interface TaskPriorityQueue<T> {
      * @throws TaskPriorityQueueException
      */
     int size() throws TaskPriorityQueueException;
+
+    /**
+     * Park the tasks of the given group, they will not be taken until {@link #unparkAllPartitions()} is called or the
+     * park time is reached. Only the queue partitioned by group supports this, others ignore it.
+     *
+     * @param group      the group of the tasks
+     * @param parkMillis max park time
+     */
+    default void parkPartition(String group, long parkMillis) {
+    }
+
+    /**
+     * Unpark the tasks of all the groups, see {@link #parkPartition(String, long)}.
+     */
+    default void unparkAllPartitions() {
+    }
 }
@@ -14,27 +14,61 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.dolphinscheduler.service.queue;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.stereotype.Service;
 
 /**
- * A singleton of a task queue implemented using PriorityBlockingQueue
+ * A singleton of a task queue partitioned by worker group, each partition is a PriorityBlockingQueue.
+ * <p>
+ * The partitions are drained in round-robin, so the tasks of a worker group cannot block the tasks of other worker
+ * groups. A partition can be parked when its worker group has no capacity, the parked partition will not be polled
+ * until it is unparked or the park time is reached.
  */
 @Service
 public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
 
     /**
-     * Task queue, this queue is unbounded, this means it will cause OutOfMemoryError.
-     * The master will stop to generate the task if memory is too high.
+     * The max wait time of a poller in one round, make sure the poller can see the partition whose park time reached.
      */
-    private final PriorityBlockingQueue<TaskPriority> queue = new PriorityBlockingQueue<>(3000);
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(Constants.SLEEP_TIME_MILLIS_SHORT);
+
+    /**
+     * Task queue partitions, key is the worker group. The partitions are unbounded, this means it will cause
+     * OutOfMemoryError. The master will stop to generate the task if memory is too high.
+     */
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * The same partitions as {@link #partitions} in creation order, the partitions are rarely created, so the pollers
+     * can iterate them without copying.
+     */
+    private final List<Partition> partitionList = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger roundRobinIndex = new AtomicInteger();
+
+    /**
+     * Wake up the waiting pollers, each partition is guarded by its own queue, the producers only release a permit when
+     * there is a waiting poller.
+     */
+    private final Semaphore notEmpty = new Semaphore(0);
+
+    private final AtomicInteger waitingPollers = new AtomicInteger();
 
     /**
      * put task takePriorityInfo
@@ -43,7 +77,8 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public void put(TaskPriority taskPriorityInfo) {
-        queue.put(taskPriorityInfo);
+        getOrCreatePartition(getPartitionKey(taskPriorityInfo)).put(taskPriorityInfo);
+        signalNotEmpty();
     }
 
     /**
@@ -54,7 +89,11 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public TaskPriority take() throws TaskPriorityQueueException, InterruptedException {
-        return queue.take();
+        TaskPriority taskPriority;
+        do {
+            taskPriority = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } while (taskPriority == null);
+        return taskPriority;
     }
 
     /**
@@ -68,7 +107,26 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public TaskPriority poll(long timeout, TimeUnit unit) throws TaskPriorityQueueException, InterruptedException {
-        return queue.poll(timeout, unit);
+        long remainingNanos = unit.toNanos(timeout);
+        while (true) {
+            TaskPriority taskPriority = pollFromPartitions();
+            if (taskPriority != null || remainingNanos <= 0) {
+                return taskPriority;
+            }
+            waitingPollers.incrementAndGet();
+            try {
+                // check again after registered as a waiting poller, avoid missing the signal of put
+                taskPriority = pollFromPartitions();
+                if (taskPriority != null) {
+                    return taskPriority;
+                }
+                long waitStartTime = System.nanoTime();
+                notEmpty.tryAcquire(Math.min(remainingNanos, MAX_WAIT_NANOS), TimeUnit.NANOSECONDS);
+                remainingNanos -= System.nanoTime() - waitStartTime;
+            } finally {
+                waitingPollers.decrementAndGet();
+            }
+        }
     }
 
     /**
@@ -79,6 +137,132 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public int size() throws TaskPriorityQueueException {
-        return queue.size();
+        return partitions.values().stream().mapToInt(Partition::size).sum();
+    }
+
+    /**
+     * Park the partition of the given worker group, the tasks of this worker group will not be polled until
+     * {@link #unparkAllPartitions()} is called or the park time is reached.
+     *
+     * @param workerGroup worker group
+     * @param parkMillis  max park time
+     */
+    @Override
+    public void parkPartition(String workerGroup, long parkMillis) {
+        getOrCreatePartition(getPartitionKey(workerGroup)).park(System.currentTimeMillis() + parkMillis);
+    }
+
+    /**
+     * Unpark all the partitions, should be called when the capacity of the workers changed.
+     */
+    @Override
+    public void unparkAllPartitions() {
+        partitionList.forEach(Partition::unpark);
+        int pollers = waitingPollers.get();
+        if (pollers > 0) {
+            notEmpty.release(pollers);
+        }
+    }
+
+    public boolean isPartitionParked(String workerGroup) {
+        Partition partition = partitions.get(getPartitionKey(workerGroup));
+        return partition != null && partition.isParked(System.currentTimeMillis());
+    }
+
+    private TaskPriority pollFromPartitions() {
+        // the partitions are never removed, so the size can only grow during the iteration
+        int partitionCount = partitionList.size();
+        if (partitionCount == 0) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(roundRobinIndex.getAndIncrement(), partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            Partition partition = partitionList.get((start + i) % partitionCount);
+            if (partition.isParked(now)) {
+                continue;
+            }
+            TaskPriority taskPriority = partition.poll();
+            if (taskPriority != null) {
+                return taskPriority;
+            }
+        }
+        return null;
+    }
+
+    private void signalNotEmpty() {
+        int pollers = waitingPollers.get();
+        if (pollers > 0 && notEmpty.availablePermits() < pollers) {
+            notEmpty.release();
+        }
+    }
+
+    private Partition getOrCreatePartition(String partitionKey) {
+        Partition partition = partitions.get(partitionKey);
+        if (partition != null) {
+            return partition;
+        }
+        return partitions.computeIfAbsent(partitionKey, key -> {
+            Partition newPartition = new Partition(key);
+            partitionList.add(newPartition);
+            return newPartition;
+        });
+    }
+
+    private String getPartitionKey(TaskPriority taskPriority) {
+        TaskExecutionContext taskExecutionContext = taskPriority.getTaskExecutionContext();
+        if (taskExecutionContext != null && StringUtils.isNotEmpty(taskExecutionContext.getWorkerGroup())) {
+            return taskExecutionContext.getWorkerGroup();
+        }
+        return getPartitionKey(taskPriority.getGroupName());
+    }
+
+    private String getPartitionKey(String workerGroup) {
+        return StringUtils.isEmpty(workerGroup) ? Constants.DEFAULT_WORKER_GROUP : workerGroup;
+    }
+
+    /**
+     * The task queue of a worker group.
+     */
+    private static class Partition {
+
+        private final String workerGroup;
+
+        private final PriorityBlockingQueue<TaskPriority> queue = new PriorityBlockingQueue<>();
+
+        private volatile long parkUntil;
+
+        Partition(String workerGroup) {
+            this.workerGroup = workerGroup;
+        }
+
+        void put(TaskPriority taskPriority) {
+            queue.put(taskPriority);
+        }
+
+        TaskPriority poll() {
+            return queue.poll();
+        }
+
+        int size() {
+            return queue.size();
+        }
+
+        void park(long parkUntil) {
+            this.parkUntil = parkUntil;
+        }
+
+        void unpark() {
+            this.parkUntil = 0;
+        }
+
+        boolean isParked(long now) {
+            return parkUntil > now;
+        }
+
+        @Override
+        public String toString() {
+            return "Partition{workerGroup='" + workerGroup + "', size=" + queue.size() + "}";
+        }
     }
 }
@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.C
 import static org.apache.dolphinscheduler.common.constants.CommandKeyConstants.CMD_PARAM_RECOVER_PROCESS_ID_STRING;
 import static org.mockito.ArgumentMatchers.anyString;
 
+import org.apache.dolphinscheduler.common.constants.Constants;
 import org.apache.dolphinscheduler.common.enums.CommandType;
 import org.apache.dolphinscheduler.common.enums.Flag;
 import org.apache.dolphinscheduler.common.enums.WarningType;
@@ -31,12 +32,15 @@ import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstanceMap;
+import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.mapper.CommandMapper;
 import org.apache.dolphinscheduler.dao.mapper.ProcessDefinitionMapper;
 import org.apache.dolphinscheduler.dao.mapper.ScheduleMapper;
+import org.apache.dolphinscheduler.service.cache.CacheNotifyService;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -70,6 +74,9 @@ class CommandServiceImplTest {
     @Mock
     private ScheduleMapper scheduleMapper;
 
+    @Mock
+    private CacheNotifyService cacheNotifyService;
+
     @Test
     public void testCreateSubCommand() {
         ProcessInstance parentInstance = new ProcessInstance();
@@ -214,6 +221,75 @@ class CommandServiceImplTest {
         Mockito.verify(commandMapper, Mockito.times(1)).insert(command);
     }
 
+    @Test
+    public void testCreateCommandNotifyMaster() {
+        Command command = new Command();
+        command.setCommandType(CommandType.START_PROCESS);
+        Mockito.when(commandMapper.insert(command)).thenAnswer(invocation -> {
+            command.setId(11);
+            return 1;
+        });
+        Assertions.assertEquals(1, commandService.createCommand(command));
+        // the notify is sent asynchronously
+        Mockito.verify(cacheNotifyService, Mockito.timeout(1000).times(1))
+                .notifyMaster(Mockito.argThat(notifyCommand -> notifyCommand
+                        .getType() == org.apache.dolphinscheduler.remote.command.CommandType.COMMAND_INSERT_NOTIFY));
+    }
+
+    @Test
+    public void testBatchCreateCommand() {
+        Assertions.assertEquals(0, commandService.batchCreateCommand(new ArrayList<>()));
+
+        Schedule schedule = new Schedule();
+        schedule.setProcessDefinitionCode(123);
+        schedule.setTimezoneId("Asia/Shanghai");
+        Mockito.when(scheduleMapper.querySchedulesByProcessDefinitionCodes(Mockito.anyList()))
+                .thenReturn(Collections.singletonList(schedule));
+        List<Command> commands = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Command command = new Command();
+            command.setCommandType(CommandType.SCHEDULER);
+            command.setProcessDefinitionCode(123);
+            commands.add(command);
+        }
+        Mockito.when(commandMapper.batchInsert(Mockito.anyList())).thenAnswer(invocation -> {
+            List<Command> batch = invocation.getArgument(0);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(i + 1);
+            }
+            return batch.size();
+        });
+
+        Assertions.assertEquals(3, commandService.batchCreateCommand(commands));
+        commands.forEach(command -> Assertions.assertEquals("Asia/Shanghai",
+                JSONUtils.toMap(command.getCommandParam()).get(Constants.SCHEDULE_TIMEZONE)));
+        Mockito.verify(commandMapper, Mockito.times(1)).batchInsert(Mockito.anyList());
+        // notify the masters once for the whole batch
+        Mockito.verify(cacheNotifyService, Mockito.timeout(1000).times(1)).notifyMaster(Mockito.any());
+    }
+
+    @Test
+    public void testBatchCreateScheduleCommands() {
+        Date scheduleTime = new Date();
+        Map<Integer, Command> scheduleCommands = new HashMap<>();
+        for (int scheduleId = 1; scheduleId <= 3; scheduleId++) {
+            Command command = new Command();
+            command.setCommandType(CommandType.SCHEDULER);
+            command.setProcessDefinitionCode(scheduleId);
+            command.setScheduleTime(scheduleTime);
+            scheduleCommands.put(scheduleId, command);
+        }
+        // the fire of schedule 2 has been created by another master
+        Mockito.when(scheduleMapper.updateLastFireTime(Mockito.anyInt(), Mockito.eq(scheduleTime)))
+                .thenAnswer(invocation -> invocation.getArgument(0, Integer.class) == 2 ? 0 : 1);
+        Mockito.when(commandMapper.batchInsert(Mockito.anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0, List.class).size());
+
+        Assertions.assertEquals(2, commandService.batchCreateScheduleCommands(scheduleCommands));
+        Mockito.verify(commandMapper).batchInsert(
+                Mockito.argThat(commands -> commands.size() == 2 && !commands.contains(scheduleCommands.get(2))));
+    }
+
     @Test
     public void testFindCommandPageBySlot() {
         int pageSize = 1;
@@ -224,4 +300,10 @@ class CommandServiceImplTest {
         Assertions.assertEquals(0, commandList.size());
     }
 
+    @Test
+    public void testFindCommandPageBySlotRanges() {
+        List<Command> commandList = commandService.findCommandPageBySlotRanges(1, 1024, new ArrayList<>());
+        Assertions.assertEquals(0, commandList.size());
+    }
+
 }
@@ -21,23 +21,33 @@ import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogChunkPushCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogSubscribeResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.factory.NettyRemotingClientFactory;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.service.utils.LoggerUtils;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.netty.channel.Channel;
+
 @ExtendWith(MockitoExtension.class)
 public class LogClientTest {
 
@@ -155,4 +165,41 @@ public class LogClientTest {
             Assertions.assertTrue(status);
         }
     }
+
+    @Test
+    public void testSubscribeLogInOrder() throws Exception {
+        try (
+                MockedStatic<NettyRemotingClientFactory> mockedNettyRemotingClientFactory =
+                        Mockito.mockStatic(NettyRemotingClientFactory.class)) {
+            NettyRemotingClient remotingClient = Mockito.mock(NettyRemotingClient.class);
+            mockedNettyRemotingClientFactory.when(NettyRemotingClientFactory::buildNettyRemotingClient)
+                    .thenReturn(remotingClient);
+            Command command = new Command();
+            command.setBody(JSONUtils.toJsonByteArray(new LogSubscribeResponseCommand(true, null)));
+            Mockito.when(
+                    remotingClient.sendSync(Mockito.any(Host.class), Mockito.any(Command.class), Mockito.anyLong()))
+                    .thenReturn(command);
+
+            LogClient logClient = new LogClient();
+            // the pushed chunks are handled by a dedicated executor instead of the shared default executor
+            ArgumentCaptor<NettyRequestProcessor> processorCaptor =
+                    ArgumentCaptor.forClass(NettyRequestProcessor.class);
+            Mockito.verify(remotingClient).registerProcessor(Mockito.eq(CommandType.LOG_CHUNK_PUSH),
+                    processorCaptor.capture(), Mockito.any(ExecutorService.class));
+
+            List<String> logs = new ArrayList<>();
+            Assertions.assertTrue(logClient.subscribeLog("localhost", 1234, "/tmp/log", 0, "1",
+                    logChunk -> logs.add(logChunk.getMsg())));
+            Channel channel = Mockito.mock(Channel.class);
+            NettyRequestProcessor processor = processorCaptor.getValue();
+            processor.process(channel, new LogChunkPushCommand("1", "line2\n", 6, 12, false).convert2Command());
+            processor.process(channel, new LogChunkPushCommand("1", "line1\n", 0, 6, false).convert2Command());
+            processor.process(channel, new LogChunkPushCommand("1", "line1\n", 0, 6, false).convert2Command());
+
+            Assertions.assertEquals(2, logs.size());
+            Assertions.assertEquals("line1\n", logs.get(0));
+            Assertions.assertEquals("line2\n", logs.get(1));
+            logClient.close();
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.log.LogChunkPushCommand;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import io.netty.channel.Channel;
+
+public class LogSubscriptionManagerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final LogSubscriptionManager logSubscriptionManager =
+            new LogSubscriptionManager(new TaskLogFileReader());
+
+    @Test
+    public void testPushAppendedLogs() throws IOException {
+        Path logFile = tempDir.resolve("a.log");
+        Files.write(logFile, "line1\n".getBytes(StandardCharsets.UTF_8));
+        Channel channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.isActive()).thenReturn(true);
+        Mockito.when(channel.isWritable()).thenReturn(true);
+
+        Assertions.assertTrue(logSubscriptionManager.subscribe("1", logFile.toString(), 0, channel));
+        logSubscriptionManager.pushAppendedLogs();
+        Files.write(logFile, "line2\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        logSubscriptionManager.pushAppendedLogs();
+        // nothing appended
+        logSubscriptionManager.pushAppendedLogs();
+
+        ArgumentCaptor<Command> commandCaptor = ArgumentCaptor.forClass(Command.class);
+        Mockito.verify(channel, Mockito.times(2)).writeAndFlush(commandCaptor.capture());
+        LogChunkPushCommand firstChunk =
+                JSONUtils.parseObject(commandCaptor.getAllValues().get(0).getBody(), LogChunkPushCommand.class);
+        Assertions.assertEquals(CommandType.LOG_CHUNK_PUSH, commandCaptor.getAllValues().get(0).getType());
+        Assertions.assertEquals("line1\n", firstChunk.getMsg());
+        Assertions.assertEquals(6, firstChunk.getNextOffset());
+        LogChunkPushCommand secondChunk =
+                JSONUtils.parseObject(commandCaptor.getAllValues().get(1).getBody(), LogChunkPushCommand.class);
+        Assertions.assertEquals("line2\n", secondChunk.getMsg());
+        Assertions.assertEquals(6, secondChunk.getOffset());
+        Assertions.assertEquals(12, secondChunk.getNextOffset());
+
+        logSubscriptionManager.unsubscribe("1");
+        Assertions.assertEquals(0, logSubscriptionManager.getSubscriptionSize());
+    }
+
+    @Test
+    public void testRemoveSubscription() throws IOException {
+        Path logFile = tempDir.resolve("b.log");
+        Files.write(logFile, "line1\n".getBytes(StandardCharsets.UTF_8));
+        Channel inactiveChannel = Mockito.mock(Channel.class);
+        Mockito.when(inactiveChannel.isActive()).thenReturn(false);
+        Channel channel = Mockito.mock(Channel.class);
+        Mockito.when(channel.isActive()).thenReturn(true);
+
+        logSubscriptionManager.subscribe("1", logFile.toString(), 0, inactiveChannel);
+        logSubscriptionManager.subscribe("2", tempDir.resolve("not-exist.log").toString(), 0, channel);
+        logSubscriptionManager.pushAppendedLogs();
+
+        Assertions.assertEquals(0, logSubscriptionManager.getSubscriptionSize());
+        Mockito.verify(inactiveChannel, Mockito.never()).writeAndFlush(Mockito.any());
+        ArgumentCaptor<Command> commandCaptor = ArgumentCaptor.forClass(Command.class);
+        Mockito.verify(channel).writeAndFlush(commandCaptor.capture());
+        Assertions.assertTrue(
+                JSONUtils.parseObject(commandCaptor.getValue().getBody(), LogChunkPushCommand.class).isClosed());
+    }
+}
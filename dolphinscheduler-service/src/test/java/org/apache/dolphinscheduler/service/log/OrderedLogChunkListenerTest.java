@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import org.apache.dolphinscheduler.remote.command.log.LogChunkPushCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OrderedLogChunkListenerTest {
+
+    private final List<LogChunkPushCommand> deliveredChunks = new ArrayList<>();
+
+    private OrderedLogChunkListener orderedLogChunkListener;
+
+    @BeforeEach
+    public void before() {
+        orderedLogChunkListener = new OrderedLogChunkListener("1", 0, deliveredChunks::add);
+    }
+
+    @Test
+    public void testReorderChunks() {
+        Assertions.assertFalse(orderedLogChunkListener.onChunk(chunk(6, 12)));
+        Assertions.assertFalse(orderedLogChunkListener.onChunk(chunk(12, 18)));
+        Assertions.assertTrue(deliveredChunks.isEmpty());
+
+        Assertions.assertFalse(orderedLogChunkListener.onChunk(chunk(0, 6)));
+        Assertions.assertEquals(3, deliveredChunks.size());
+        Assertions.assertEquals(0, deliveredChunks.get(0).getOffset());
+        Assertions.assertEquals(6, deliveredChunks.get(1).getOffset());
+        Assertions.assertEquals(12, deliveredChunks.get(2).getOffset());
+    }
+
+    @Test
+    public void testDropDuplicatedChunks() {
+        orderedLogChunkListener.onChunk(chunk(0, 6));
+        orderedLogChunkListener.onChunk(chunk(0, 6));
+        orderedLogChunkListener.onChunk(chunk(6, 12));
+
+        Assertions.assertEquals(2, deliveredChunks.size());
+    }
+
+    @Test
+    public void testDeliverClosedChunkAfterTheLog() {
+        LogChunkPushCommand closedChunk = new LogChunkPushCommand("1", "", 6, 6, true);
+        Assertions.assertFalse(orderedLogChunkListener.onChunk(closedChunk));
+
+        Assertions.assertTrue(orderedLogChunkListener.onChunk(chunk(0, 6)));
+        Assertions.assertEquals(2, deliveredChunks.size());
+        Assertions.assertSame(closedChunk, deliveredChunks.get(1));
+        // nothing is delivered after closed
+        Assertions.assertTrue(orderedLogChunkListener.onChunk(chunk(6, 12)));
+        Assertions.assertEquals(2, deliveredChunks.size());
+    }
+
+    @Test
+    public void testSkipLostChunk() {
+        // the chunk from 0 to 6 is lost
+        for (int i = 1; i <= OrderedLogChunkListener.MAX_PENDING_CHUNKS; i++) {
+            orderedLogChunkListener.onChunk(chunk(i * 6L, (i + 1) * 6L));
+        }
+        Assertions.assertTrue(deliveredChunks.isEmpty());
+
+        orderedLogChunkListener.onChunk(chunk((OrderedLogChunkListener.MAX_PENDING_CHUNKS + 1) * 6L,
+                (OrderedLogChunkListener.MAX_PENDING_CHUNKS + 2) * 6L));
+        Assertions.assertEquals(OrderedLogChunkListener.MAX_PENDING_CHUNKS + 1, deliveredChunks.size());
+        Assertions.assertEquals(6, deliveredChunks.get(0).getOffset());
+    }
+
+    private LogChunkPushCommand chunk(long offset, long nextOffset) {
+        return new LogChunkPushCommand("1", "log", offset, nextOffset, false);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskLogFileReaderTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final TaskLogFileReader taskLogFileReader = new TaskLogFileReader();
+
+    @Test
+    public void testReadLines() throws IOException {
+        Path logFile = writeLines(tempDir.resolve("a.log"), 0, 2500);
+        String path = logFile.toString();
+
+        List<String> lines = taskLogFileReader.readLines(path, 0, 3);
+        Assertions.assertEquals(3, lines.size());
+        Assertions.assertEquals("line-0", lines.get(0));
+
+        lines = taskLogFileReader.readLines(path, 1999, 3);
+        Assertions.assertEquals("line-1999", lines.get(0));
+        Assertions.assertEquals("line-2001", lines.get(2));
+
+        // read a smaller line number after the index has been extended
+        lines = taskLogFileReader.readLines(path, 1001, 1);
+        Assertions.assertEquals("line-1001", lines.get(0));
+
+        lines = taskLogFileReader.readLines(path, 2498, 10);
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertTrue(taskLogFileReader.readLines(path, 3000, 10).isEmpty());
+
+        // the log file is appended
+        writeLines(logFile, 2500, 3500);
+        lines = taskLogFileReader.readLines(path, 3100, 1);
+        Assertions.assertEquals("line-3100", lines.get(0));
+    }
+
+    @Test
+    public void testReadByOffset() throws IOException {
+        Path logFile = tempDir.resolve("b.log");
+        Files.write(logFile, "line1\nline2\nline3".getBytes(StandardCharsets.UTF_8));
+        String path = logFile.toString();
+
+        // cut at the last line break
+        TaskLogFileReader.LogPage logPage = taskLogFileReader.readByOffset(path, 0, 14);
+        Assertions.assertEquals("line1\nline2\n", new String(logPage.getContent(), StandardCharsets.UTF_8));
+        Assertions.assertEquals(12, logPage.getNextOffset());
+        Assertions.assertEquals(17, logPage.getFileLength());
+
+        // no line break, return the rest of the file
+        logPage = taskLogFileReader.readByOffset(path, logPage.getNextOffset(), 1024);
+        Assertions.assertEquals("line3", new String(logPage.getContent(), StandardCharsets.UTF_8));
+        Assertions.assertEquals(17, logPage.getNextOffset());
+
+        // no more log
+        logPage = taskLogFileReader.readByOffset(path, logPage.getNextOffset(), 1024);
+        Assertions.assertEquals(0, logPage.getContent().length);
+        Assertions.assertEquals(17, logPage.getNextOffset());
+
+        logPage = taskLogFileReader.readByOffset(tempDir.resolve("not-exist.log").toString(), 0, 1024);
+        Assertions.assertEquals(0, logPage.getContent().length);
+    }
+
+    @Test
+    public void testReadByOffsetNotSplitCharacter() throws IOException {
+        Path logFile = tempDir.resolve("c.log");
+        Files.write(logFile, "日志".getBytes(StandardCharsets.UTF_8));
+        String path = logFile.toString();
+
+        TaskLogFileReader.LogPage logPage = taskLogFileReader.readByOffset(path, 0, 4);
+        Assertions.assertEquals("日", new String(logPage.getContent(), StandardCharsets.UTF_8));
+        Assertions.assertEquals(3, logPage.getNextOffset());
+    }
+
+    private Path writeLines(Path logFile, int from, int to) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = from; i < to; i++) {
+            builder.append("line-").append(i).append('\n');
+        }
+        Files.write(logFile, builder.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        return logFile;
+    }
+}
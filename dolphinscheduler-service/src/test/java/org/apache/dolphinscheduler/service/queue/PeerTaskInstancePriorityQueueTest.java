@@ -21,6 +21,10 @@ import org.apache.dolphinscheduler.common.enums.Priority;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
@@ -127,6 +131,66 @@ public class PeerTaskInstancePriorityQueueTest {
         Assertions.assertFalse(queue.contains(taskInstanceMediumPriority));
     }
 
+    @Test
+    public void removeKeepPriorityOrder() throws Exception {
+        PeerTaskInstancePriorityQueue queue = new PeerTaskInstancePriorityQueue();
+        List<TaskInstance> taskInstances = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            TaskInstance taskInstance = createTaskInstance("task" + i, Priority.values()[i % 5], i);
+            taskInstances.add(taskInstance);
+            queue.put(taskInstance);
+        }
+        for (int i = 0; i < taskInstances.size(); i += 3) {
+            Assertions.assertTrue(queue.remove(taskInstances.get(i)));
+            Assertions.assertFalse(queue.contains(taskInstances.get(i)));
+        }
+        Assertions.assertFalse(queue.remove(taskInstances.get(0)));
+
+        TaskInstance previous = queue.take();
+        while (queue.size() > 0) {
+            TaskInstance current = queue.take();
+            Assertions.assertTrue(previous.getTaskInstancePriority().compareTo(current.getTaskInstancePriority()) < 0
+                    || (previous.getTaskInstancePriority() == current.getTaskInstancePriority()
+                            && previous.getTaskGroupPriority() >= current.getTaskGroupPriority()));
+            previous = current;
+        }
+    }
+
+    @Test
+    public void putExistTaskInstance() {
+        PeerTaskInstancePriorityQueue queue = new PeerTaskInstancePriorityQueue();
+        queue.put(createTaskInstance("high", Priority.HIGH, 1));
+        TaskInstance taskInstance = createTaskInstance("medium", Priority.MEDIUM, 1);
+        queue.put(taskInstance);
+        taskInstance.setTaskInstancePriority(Priority.HIGHEST);
+        queue.put(taskInstance);
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertEquals("medium", queue.peek().getName());
+    }
+
+    @Test
+    public void pollDirtyTaskInstances() {
+        PeerTaskInstancePriorityQueue queue = new PeerTaskInstancePriorityQueue();
+        TaskInstance taskInstanceHigPriority = createTaskInstance("high", Priority.HIGH, 1);
+        TaskInstance taskInstanceMediumPriority = createTaskInstance("medium", Priority.MEDIUM, 1);
+        queue.put(taskInstanceMediumPriority);
+        queue.put(taskInstanceHigPriority);
+        Assertions.assertEquals(Arrays.asList(taskInstanceHigPriority, taskInstanceMediumPriority),
+                queue.pollDirtyTaskInstances());
+        Assertions.assertTrue(queue.pollDirtyTaskInstances().isEmpty());
+
+        Assertions.assertTrue(queue.markDirty(taskInstanceMediumPriority));
+        Assertions.assertEquals(Collections.singletonList(taskInstanceMediumPriority),
+                queue.pollDirtyTaskInstances());
+
+        queue.markAllDirty();
+        queue.remove(taskInstanceHigPriority);
+        Assertions.assertFalse(queue.markDirty(taskInstanceHigPriority));
+        Assertions.assertEquals(Collections.singletonList(taskInstanceMediumPriority),
+                queue.pollDirtyTaskInstances());
+        Assertions.assertEquals(1, queue.size());
+    }
+
     /**
      * get queue
      *
@@ -154,6 +218,7 @@ public class PeerTaskInstancePriorityQueueTest {
     private TaskInstance createTaskInstance(String name, Priority priority, int taskGroupPriority) {
         TaskInstance taskInstance = new TaskInstance();
         taskInstance.setName(name);
+        taskInstance.setTaskCode(name.hashCode());
         taskInstance.setTaskInstancePriority(priority);
         taskInstance.setTaskGroupPriority(taskGroupPriority);
         return taskInstance;
@@ -19,10 +19,12 @@ package org.apache.dolphinscheduler.service.queue;
 
 import org.apache.dolphinscheduler.common.enums.Priority;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -133,6 +135,89 @@ public class TaskPriorityQueueImplTest {
         Assertions.assertEquals(2, getPriorityQueue().size());
     }
 
+    @Test
+    public void testPollWorkerGroupsInRoundRobin() throws Exception {
+        TaskPriorityQueueImpl queue = new TaskPriorityQueueImpl();
+        queue.put(new TaskPriority(0, 1, 0, 1, 1, "group_a"));
+        queue.put(new TaskPriority(0, 1, 0, 2, 1, "group_a"));
+        queue.put(new TaskPriority(0, 1, 0, 3, 1, "group_a"));
+        queue.put(new TaskPriority(0, 2, 0, 4, 1, "group_b"));
+
+        List<String> groups = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            groups.add(queue.poll(0, TimeUnit.MILLISECONDS).getGroupName());
+        }
+        // the tasks of group_b will not wait for all the tasks of group_a
+        Assertions.assertTrue(groups.contains("group_a"));
+        Assertions.assertTrue(groups.contains("group_b"));
+        Assertions.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void testParkPartition() throws Exception {
+        TaskPriorityQueueImpl queue = new TaskPriorityQueueImpl();
+        queue.put(new TaskPriority(0, 1, 0, 1, 1, "group_a"));
+        queue.put(new TaskPriority(0, 2, 0, 2, 1, "group_b"));
+        queue.parkPartition("group_a", 60_000);
+        Assertions.assertTrue(queue.isPartitionParked("group_a"));
+
+        Assertions.assertEquals("group_b", queue.poll(0, TimeUnit.MILLISECONDS).getGroupName());
+        Assertions.assertNull(queue.poll(200, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(1, queue.size());
+
+        queue.unparkAllPartitions();
+        Assertions.assertFalse(queue.isPartitionParked("group_a"));
+        Assertions.assertEquals("group_a", queue.poll(0, TimeUnit.MILLISECONDS).getGroupName());
+    }
+
+    @Test
+    public void testPollWakeUpByPut() throws Exception {
+        TaskPriorityQueueImpl queue = new TaskPriorityQueueImpl();
+        Thread producer = new Thread(() -> queue.put(createTaskPriority(Priority.HIGH.getCode(), 1)));
+        producer.start();
+        Assertions.assertNotNull(queue.poll(10, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    public void testConcurrentPutAndPoll() throws Exception {
+        TaskPriorityQueueImpl queue = new TaskPriorityQueueImpl();
+        int producerCount = 4;
+        int taskCountPerProducer = 1000;
+        List<Thread> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            String group = "group_" + i;
+            producers.add(new Thread(() -> {
+                for (int j = 0; j < taskCountPerProducer; j++) {
+                    queue.put(new TaskPriority(0, 1, 0, j, 1, group));
+                }
+            }));
+        }
+        AtomicInteger polledCount = new AtomicInteger();
+        List<Thread> consumers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            consumers.add(new Thread(() -> {
+                try {
+                    while (queue.poll(1, TimeUnit.SECONDS) != null) {
+                        polledCount.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        consumers.forEach(Thread::start);
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        for (Thread consumer : consumers) {
+            consumer.join();
+        }
+        Assertions.assertEquals(producerCount * taskCountPerProducer, polledCount.get());
+        Assertions.assertEquals(0, queue.size());
+    }
+
     /**
      * get queue
      *
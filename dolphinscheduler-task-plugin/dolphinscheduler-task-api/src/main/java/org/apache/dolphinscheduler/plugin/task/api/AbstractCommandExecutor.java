@@ -28,17 +28,12 @@ import org.apache.dolphinscheduler.plugin.task.api.utils.OSUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.SystemUtils;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
@@ -46,8 +41,6 @@ import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
 /**
  * abstract command executor
  */
@@ -58,6 +51,12 @@ public abstract class AbstractCommandExecutor {
      */
     protected static final Pattern SETVALUE_REGEX = Pattern.compile(TaskConstants.SETVALUE_REGEX);
 
+    /**
+     * The max time to wait for the rest output to be pumped after the process exited, the output may not be exhausted
+     * if the child processes still hold the output pipe.
+     */
+    private static final long OUTPUT_PUMP_FINISH_TIMEOUT_SECONDS = 10;
+
     protected StringBuilder varPool = new StringBuilder();
     /**
      * process
@@ -79,7 +78,12 @@ public abstract class AbstractCommandExecutor {
      */
     protected LinkedBlockingQueue<String> logBuffer;
 
-    protected boolean logOutputIsSuccess = false;
+    protected volatile boolean logOutputIsSuccess = false;
+
+    /**
+     * the handle to stop pumping the process output
+     */
+    private volatile ProcessOutputPump.PumpHandle outputPumpHandle;
 
     /*
      * SHELL result string
@@ -234,6 +238,13 @@ public abstract class AbstractCommandExecutor {
             result.setExitStatusCode(EXIT_CODE_FAILURE);
         }
 
+        // wait for the rest output to be handled, so the var pool set by the last lines will not be lost
+        if (!outputPumpHandle.awaitFinish(OUTPUT_PUMP_FINISH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            logger.warn("The process output hasn't been exhausted in {}s, stop pumping, the var pool may be incomplete",
+                    OUTPUT_PUMP_FINISH_TIMEOUT_SECONDS);
+            outputPumpHandle.stop();
+        }
+
         logger.info(
                 "process has exited, execute path:{}, processId:{} ,exitStatusCode:{} ,processWaitForStatus:{} ,processExitValue:{}",
                 taskRequest.getExecutePath(), processId, result.getExitStatusCode(), status, process.exitValue());
@@ -255,8 +266,10 @@ public abstract class AbstractCommandExecutor {
             return;
         }
 
-        // clear log
-        clear();
+        // stop pumping the output, the buffered log will be flushed before the process is killed
+        if (outputPumpHandle != null) {
+            outputPumpHandle.stop();
+        }
 
         int processId = getProcessId(process);
 
@@ -340,53 +353,37 @@ public abstract class AbstractCommandExecutor {
     }
 
     /**
-     * get the standard output of the process
+     * get the standard output of the process, the output is pumped by the shared {@link ProcessOutputPump}
      *
      * @param process process
      */
     private void parseProcessOutput(Process process) {
-        String threadLoggerInfoName = taskRequest.getTaskLogName();
-        ExecutorService getOutputLogService = newDaemonSingleThreadExecutor(threadLoggerInfoName);
-        getOutputLogService.submit(() -> {
-            try (BufferedReader inReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = inReader.readLine()) != null) {
-                    if (line.startsWith("${setValue(") || line.startsWith("#{setValue(")) {
-                        varPool.append(findVarPool(line));
-                        varPool.append("$VarPool$");
-                    } else {
-                        logBuffer.add(line);
-                        taskResultString = line;
+        outputPumpHandle = ProcessOutputPump.pump(process, taskRequest.getTaskLogName(),
+                new ProcessOutputPump.ProcessOutputHandler() {
+
+                    @Override
+                    public void onLine(String line) {
+                        if (line.startsWith("${setValue(") || line.startsWith("#{setValue(")) {
+                            varPool.append(findVarPool(line));
+                            varPool.append("$VarPool$");
+                        } else {
+                            logBuffer.add(line);
+                            taskResultString = line;
+                        }
                     }
-                }
-                logOutputIsSuccess = true;
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-                logOutputIsSuccess = true;
-            }
-        });
 
-        getOutputLogService.shutdown();
+                    @Override
+                    public void onFlush() {
+                        logHandler.accept(logBuffer);
+                        logBuffer.clear();
+                    }
 
-        ExecutorService parseProcessOutputExecutorService = newDaemonSingleThreadExecutor(threadLoggerInfoName);
-        parseProcessOutputExecutorService.submit(() -> {
-            try {
-                long lastFlushTime = System.currentTimeMillis();
-                while (logBuffer.size() > 0 || !logOutputIsSuccess) {
-                    if (logBuffer.size() > 0) {
-                        lastFlushTime = flush(lastFlushTime);
-                    } else {
-                        Thread.sleep(TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL);
+                    @Override
+                    public void onFinish() {
+                        logOutputIsSuccess = true;
+                        clear();
                     }
-                }
-            } catch (Exception e) {
-                Thread.currentThread().interrupt();
-                logger.error(e.getMessage(), e);
-            } finally {
-                clear();
-            }
-        });
-        parseProcessOutputExecutorService.shutdown();
+                });
     }
 
     /**
@@ -440,39 +437,9 @@ public abstract class AbstractCommandExecutor {
         return processId;
     }
 
-    /**
-     * when log buffer siz or flush time reach condition , then flush
-     *
-     * @param lastFlushTime last flush time
-     * @return last flush time
-     */
-    private long flush(long lastFlushTime) {
-        long now = System.currentTimeMillis();
-
-        /*
-         * when log buffer siz or flush time reach condition , then flush
-         */
-        if (logBuffer.size() >= TaskConstants.DEFAULT_LOG_ROWS_NUM
-                || now - lastFlushTime > TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL) {
-            lastFlushTime = now;
-            logHandler.accept(logBuffer);
-
-            logBuffer.clear();
-        }
-        return lastFlushTime;
-    }
-
     protected abstract String buildCommandFilePath();
 
     protected abstract void createCommandFileIfNotExists(String execCommand, String commandFile) throws IOException;
 
-    ExecutorService newDaemonSingleThreadExecutor(String threadName) {
-        ThreadFactory threadFactory = new ThreadFactoryBuilder()
-                .setDaemon(true)
-                .setNameFormat(threadName)
-                .build();
-        return Executors.newSingleThreadExecutor(threadFactory);
-    }
-
     protected abstract String commandInterpreter();
 }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.plugin.task.api.model.ApplicationInfo;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.List;
 
 public abstract class AbstractRemoteTask extends AbstractTask {
@@ -51,10 +52,22 @@ public abstract class AbstractRemoteTask extends AbstractTask {
      */
     @Override
     public void handle(TaskCallBack taskCallBack) throws TaskException {
-        // if appIds is not empty, just track application status, avoid resubmitting remote task
+        startApplication(taskCallBack);
+
+        // keep tracking application status
+        trackApplicationStatus();
+    }
+
+    /**
+     * Submit a new remote application and report the application info, if appIds is not empty, just take over the
+     * submitted application, avoid resubmitting remote task.
+     *
+     * @param taskCallBack
+     * @throws TaskException
+     */
+    public void startApplication(TaskCallBack taskCallBack) throws TaskException {
         if (StringUtils.isNotEmpty(taskRequest.getAppIds())) {
             setAppIds(taskRequest.getAppIds());
-            trackApplicationStatus();
             return;
         }
 
@@ -66,9 +79,34 @@ public abstract class AbstractRemoteTask extends AbstractTask {
             // callback to update remote application info
             taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
         }
+    }
 
-        // keep tracking application status
-        trackApplicationStatus();
+    /**
+     * Whether the application status can be tracked asynchronously. If true, the worker may call
+     * {@link #startApplication(TaskCallBack)} and then poll {@link #queryApplicationStatus()} in a shared poller rather
+     * than calling {@link #handle(TaskCallBack)}, so the execute thread will not be occupied while the remote
+     * application is running.
+     */
+    public boolean isAsyncTrackSupported() {
+        return false;
+    }
+
+    /**
+     * Query the application status once, and set the exit status code if the application is finished, this is only
+     * called when {@link #isAsyncTrackSupported()} returns true.
+     *
+     * @return true if the application is finished
+     * @throws TaskException
+     */
+    public boolean queryApplicationStatus() throws TaskException {
+        throw new TaskException("The task doesn't support tracking the application status asynchronously");
+    }
+
+    /**
+     * The interval between two {@link #queryApplicationStatus()}.
+     */
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofSeconds(10);
     }
 
     /**
@@ -0,0 +1,470 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Pump the output of the task processes with a bounded count of shared threads, rather than a reader thread and a
+ * flush thread for each task process.
+ * <p>
+ * The process pipes are not selectable, so the read threads poll them: each round reads the bytes already available
+ * from one process without blocking, and the process is checked again after {@link #IDLE_CHECK_INTERVAL_MILLIS} if
+ * it has no output. The read chunks are queued to the handle threads, which split them into lines, hand the lines
+ * over to the {@link ProcessOutputHandler} and flush them in batch. At most {@link #MAX_PENDING_CHUNKS} chunks of one
+ * process are queued, once the handler can't keep up the process is not read anymore, so it will be blocked by its
+ * full pipe rather than buffering the output in memory or delaying the other processes.
+ * <p>
+ * The lines of the processes which have no more output are flushed by one shared flush thread once the
+ * {@link TaskConstants#DEFAULT_LOG_FLUSH_INTERVAL} is reached.
+ */
+public class ProcessOutputPump {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessOutputPump.class);
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * The line longer than this will be split into multiple lines.
+     */
+    private static final int MAX_LINE_BYTES = 1024 * 1024;
+
+    /**
+     * The max read but not handled chunks of one process.
+     */
+    static final int MAX_PENDING_CHUNKS = 16;
+
+    /**
+     * The interval to check the process again if it has no output or its handler can't keep up.
+     */
+    static final long IDLE_CHECK_INTERVAL_MILLIS = 10;
+
+    private static final int PUMP_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final ScheduledExecutorService READ_EXECUTOR = Executors.newScheduledThreadPool(PUMP_THREADS,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ProcessOutputReadThread-%d").build());
+
+    private static final ExecutorService HANDLE_EXECUTOR = Executors.newFixedThreadPool(PUMP_THREADS,
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ProcessOutputHandleThread-%d").build());
+
+    private static final ScheduledExecutorService FLUSH_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ProcessOutputFlushThread").build());
+
+    private static final Set<PumpTask> PUMPING_TASKS = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicInteger PUMPING_PROCESS_COUNT = new AtomicInteger(0);
+
+    private static final AtomicLong PUMPED_LINES = new AtomicLong(0);
+
+    private static final AtomicLong PUMPED_BYTES = new AtomicLong(0);
+
+    private static final AtomicLong PAUSED_READS = new AtomicLong(0);
+
+    private static volatile PumpFinishListener pumpFinishListener;
+
+    static {
+        FLUSH_EXECUTOR.scheduleWithFixedDelay(ProcessOutputPump::flushPumpingTasks,
+                TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL, TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private ProcessOutputPump() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Start pumping the output of the given process.
+     *
+     * @param process the task process
+     * @param taskLogName the task log name, the handler is called with this thread name so the log can be written to
+     *                    the task log file
+     * @param outputHandler the output handler
+     * @return the handle to stop pumping
+     */
+    public static PumpHandle pump(Process process, String taskLogName, ProcessOutputHandler outputHandler) {
+        PumpTask pumpTask = new PumpTask(process, taskLogName, outputHandler);
+        PUMPING_PROCESS_COUNT.incrementAndGet();
+        PUMPING_TASKS.add(pumpTask);
+        READ_EXECUTOR.execute(pumpTask::readRound);
+        return pumpTask;
+    }
+
+    /**
+     * Set the listener called once the output of each process has been pumped, e.g. to record the throughput metrics.
+     */
+    public static void setPumpFinishListener(PumpFinishListener listener) {
+        pumpFinishListener = listener;
+    }
+
+    public static int getPumpingProcessCount() {
+        return PUMPING_PROCESS_COUNT.get();
+    }
+
+    public static long getPumpedLines() {
+        return PUMPED_LINES.get();
+    }
+
+    public static long getPumpedBytes() {
+        return PUMPED_BYTES.get();
+    }
+
+    /**
+     * @return the times the read of a process is paused because its handler can't keep up
+     */
+    public static long getPausedReads() {
+        return PAUSED_READS.get();
+    }
+
+    private static void flushPumpingTasks() {
+        for (PumpTask pumpTask : PUMPING_TASKS) {
+            try {
+                pumpTask.flushIfIdle();
+            } catch (Throwable throwable) {
+                logger.error("Flush the process output error, task: {}", pumpTask.taskLogName, throwable);
+            }
+        }
+    }
+
+    /**
+     * Handle the output of the process, all the methods are called by one thread at a time.
+     */
+    public interface ProcessOutputHandler {
+
+        /**
+         * Handle one line of the output.
+         */
+        void onLine(String line);
+
+        /**
+         * Flush the handled lines, called when {@link TaskConstants#DEFAULT_LOG_ROWS_NUM} lines have been handled or
+         * the {@link TaskConstants#DEFAULT_LOG_FLUSH_INTERVAL} is reached.
+         */
+        void onFlush();
+
+        /**
+         * Called once after the output is exhausted or the pumping is stopped, the handler will not be called anymore.
+         */
+        void onFinish();
+    }
+
+    public interface PumpHandle {
+
+        /**
+         * Stop pumping, the handled lines will be flushed and then {@link ProcessOutputHandler#onFinish()} is called.
+         */
+        void stop();
+
+        /**
+         * Wait until {@link ProcessOutputHandler#onFinish()} has been called.
+         *
+         * @return false if the waiting time elapsed before the pumping is finished
+         */
+        boolean awaitFinish(long timeout, TimeUnit unit) throws InterruptedException;
+    }
+
+    public interface PumpFinishListener {
+
+        /**
+         * @param lines the output lines of the process
+         * @param bytes the output bytes of the process
+         * @param costMillis the time from the pumping started to finished
+         */
+        void onPumpFinished(long lines, long bytes, long costMillis);
+    }
+
+    private static class PumpTask implements PumpHandle {
+
+        private final Process process;
+
+        private final InputStream inputStream;
+
+        private final String taskLogName;
+
+        private final ProcessOutputHandler outputHandler;
+
+        private final long startTime = System.currentTimeMillis();
+
+        private final CountDownLatch finishLatch = new CountDownLatch(1);
+
+        private final BlockingQueue<byte[]> pendingChunks = new ArrayBlockingQueue<>(MAX_PENDING_CHUNKS);
+
+        private final AtomicBoolean handleScheduled = new AtomicBoolean(false);
+
+        /**
+         * The handler and the fields below are only accessed with this lock held.
+         */
+        private final ReentrantLock handleLock = new ReentrantLock();
+
+        private volatile boolean readFinished;
+
+        private volatile boolean finished;
+
+        /**
+         * Only accessed by the read round, which is executed by one read thread at a time.
+         */
+        private boolean exitObserved;
+
+        private byte[] lineBuffer = new byte[256];
+
+        private int lineLength;
+
+        private int unflushedLines;
+
+        private long lastFlushTime = System.currentTimeMillis();
+
+        private long lines;
+
+        private long bytes;
+
+        private PumpTask(Process process, String taskLogName, ProcessOutputHandler outputHandler) {
+            this.process = process;
+            this.inputStream = process.getInputStream();
+            this.taskLogName = taskLogName;
+            this.outputHandler = outputHandler;
+        }
+
+        @Override
+        public void stop() {
+            finish();
+        }
+
+        @Override
+        public boolean awaitFinish(long timeout, TimeUnit unit) throws InterruptedException {
+            return finishLatch.await(timeout, unit);
+        }
+
+        /**
+         * Read the available output once, and schedule the next round, only one round of a process is scheduled at a
+         * time.
+         */
+        private void readRound() {
+            if (finished) {
+                return;
+            }
+            long nextRoundDelay;
+            try {
+                nextRoundDelay = read();
+            } catch (Throwable throwable) {
+                // the stream may be closed by destroying the process after the pumping is stopped
+                if (!finished) {
+                    logger.error("Pump the process output error, task: {}", taskLogName, throwable);
+                }
+                nextRoundDelay = -1;
+            }
+            if (nextRoundDelay < 0) {
+                readFinished = true;
+                scheduleHandle();
+            } else if (nextRoundDelay == 0) {
+                READ_EXECUTOR.execute(this::readRound);
+            } else {
+                READ_EXECUTOR.schedule(this::readRound, nextRoundDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * @return the delay of the next read round, -1 if the output is exhausted
+         */
+        private long read() throws IOException {
+            if (pendingChunks.remainingCapacity() == 0) {
+                // push back on the reader, the process will be blocked by its full pipe until the handler catches up
+                PAUSED_READS.incrementAndGet();
+                return IDLE_CHECK_INTERVAL_MILLIS;
+            }
+            int available = inputStream.available();
+            if (available <= 0) {
+                if (process.isAlive()) {
+                    return IDLE_CHECK_INTERVAL_MILLIS;
+                }
+                // once the process exited the JDK drains the rest of its pipe into memory, then the read returns -1
+                // rather than blocking even if a child process still holds the pipe, give it a round to drain
+                if (!exitObserved) {
+                    exitObserved = true;
+                    return IDLE_CHECK_INTERVAL_MILLIS;
+                }
+            }
+            byte[] chunk = new byte[available > 0 ? Math.min(available, READ_BUFFER_SIZE) : READ_BUFFER_SIZE];
+            int read = inputStream.read(chunk);
+            if (read < 0) {
+                return -1;
+            }
+            if (read > 0) {
+                pendingChunks.add(read == chunk.length ? chunk : Arrays.copyOf(chunk, read));
+                scheduleHandle();
+            }
+            return 0;
+        }
+
+        private void scheduleHandle() {
+            if (handleScheduled.compareAndSet(false, true)) {
+                HANDLE_EXECUTOR.execute(this::handle);
+            }
+        }
+
+        /**
+         * Handle at most {@link #MAX_PENDING_CHUNKS} chunks, then give the handle thread to the other processes.
+         */
+        private void handle() {
+            handleLock.lock();
+            try {
+                if (!finished) {
+                    byte[] chunk;
+                    for (int i = 0; i < MAX_PENDING_CHUNKS && (chunk = pendingChunks.poll()) != null; i++) {
+                        append(chunk);
+                        flushIfNeeded(false);
+                    }
+                    if (readFinished && pendingChunks.isEmpty()) {
+                        finish();
+                    }
+                }
+            } catch (Throwable throwable) {
+                logger.error("Handle the process output error, task: {}", taskLogName, throwable);
+                finish();
+            } finally {
+                handleLock.unlock();
+                handleScheduled.set(false);
+            }
+            if (!finished && (readFinished || !pendingChunks.isEmpty())) {
+                scheduleHandle();
+            }
+        }
+
+        private void flushIfIdle() {
+            // skip the process whose handler is busy, it will be flushed by its handle thread
+            if (!handleLock.tryLock()) {
+                return;
+            }
+            try {
+                if (!finished) {
+                    flushIfNeeded(false);
+                }
+            } finally {
+                handleLock.unlock();
+            }
+        }
+
+        private void append(byte[] buffer) {
+            bytes += buffer.length;
+            PUMPED_BYTES.addAndGet(buffer.length);
+            for (byte b : buffer) {
+                if (b == '\n') {
+                    emitLine();
+                    continue;
+                }
+                if (lineLength == lineBuffer.length) {
+                    if (lineLength >= MAX_LINE_BYTES) {
+                        emitLine();
+                    } else {
+                        lineBuffer = Arrays.copyOf(lineBuffer, Math.min(lineLength * 2, MAX_LINE_BYTES));
+                    }
+                }
+                lineBuffer[lineLength++] = b;
+            }
+        }
+
+        private void emitLine() {
+            int length = lineLength;
+            if (length > 0 && lineBuffer[length - 1] == '\r') {
+                length--;
+            }
+            outputHandler.onLine(new String(lineBuffer, 0, length, Charset.defaultCharset()));
+            lineLength = 0;
+            unflushedLines++;
+            lines++;
+            PUMPED_LINES.incrementAndGet();
+        }
+
+        private void flushIfNeeded(boolean force) {
+            long now = System.currentTimeMillis();
+            if (unflushedLines == 0) {
+                lastFlushTime = now;
+                return;
+            }
+            if (force || unflushedLines >= TaskConstants.DEFAULT_LOG_ROWS_NUM
+                    || now - lastFlushTime >= TaskConstants.DEFAULT_LOG_FLUSH_INTERVAL) {
+                Thread currentThread = Thread.currentThread();
+                String threadName = currentThread.getName();
+                try {
+                    // set the thread name to make sure the log be written to the task log file
+                    currentThread.setName(taskLogName);
+                    outputHandler.onFlush();
+                } finally {
+                    currentThread.setName(threadName);
+                }
+                unflushedLines = 0;
+                lastFlushTime = now;
+            }
+        }
+
+        private void finish() {
+            handleLock.lock();
+            Thread currentThread = Thread.currentThread();
+            String threadName = currentThread.getName();
+            try {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                PUMPING_TASKS.remove(this);
+                PUMPING_PROCESS_COUNT.decrementAndGet();
+                // the chunks have been read are still handled if the pumping is stopped
+                byte[] chunk;
+                while ((chunk = pendingChunks.poll()) != null) {
+                    append(chunk);
+                }
+                if (lineLength > 0) {
+                    emitLine();
+                }
+                flushIfNeeded(true);
+                currentThread.setName(taskLogName);
+                long costTime = Math.max(1, System.currentTimeMillis() - startTime);
+                logger.info("The process output has been pumped, lines: {}, bytes: {}, cost: {}ms, {} lines/s",
+                        lines, bytes, costTime, lines * 1000 / costTime);
+                PumpFinishListener listener = pumpFinishListener;
+                if (listener != null) {
+                    listener.onPumpFinished(lines, bytes, costTime);
+                }
+                outputHandler.onFinish();
+            } finally {
+                currentThread.setName(threadName);
+                finishLatch.countDown();
+                handleLock.unlock();
+            }
+        }
+    }
+}
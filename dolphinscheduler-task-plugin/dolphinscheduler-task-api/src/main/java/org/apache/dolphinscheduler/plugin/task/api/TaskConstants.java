@@ -308,6 +308,20 @@ public class TaskConstants {
      */
     public static final int DEFAULT_DISPLAY_ROWS = 10;
 
+    /**
+     * the jdbc fetch size of the sql task query, 0 means using the driver default
+     */
+    public static final String SQL_TASK_FETCH_SIZE = "sql.task.fetch.size";
+
+    public static final int DEFAULT_SQL_TASK_FETCH_SIZE = 1000;
+
+    /**
+     * the max bytes of the sql task query result sent by alert and used as out parameters
+     */
+    public static final String SQL_TASK_RESULT_MAX_BYTES = "sql.task.result.max.bytes";
+
+    public static final long DEFAULT_SQL_TASK_RESULT_MAX_BYTES = 1024 * 1024;
+
     /**
      * jar
      */
@@ -35,6 +35,10 @@ import lombok.NonNull;
  * This class is the base class for all loop task type.
  * <p>
  * The loop task type means, we will submit a task, and loop the task status until the task is finished.
+ * <p>
+ * The loop task supports tracking the task status asynchronously, see {@link #isAsyncTrackSupported()}. The subclass
+ * should not override {@link #handle(TaskCallBack)}, otherwise it should override {@link #isAsyncTrackSupported()} to
+ * return false.
  */
 public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
 
@@ -56,9 +60,7 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
     public void handle(TaskCallBack taskCallBack) throws TaskException {
         try {
             final long loopInterval = getTaskInstanceStatusQueryInterval().toMillis();
-            loopTaskInstanceInfo = submitLoopTask();
-            this.setAppIds(loopTaskInstanceInfo.getTaskInstanceId());
-            taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
+            startLoopTask(taskCallBack);
 
             // loop the task status until the task is finished or task has been canceled.
             // we use retry utils here to avoid the task status query failure due to network failure.
@@ -71,13 +73,7 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
                 }
                 Thread.sleep(loopInterval);
             }
-            if (loopTaskInstanceStatus != null && loopTaskInstanceStatus.isSuccess()) {
-                setExitStatusCode(TaskConstants.EXIT_CODE_SUCCESS);
-                logger.info("The task instance: {} execute successfully.", appIds);
-            } else {
-                setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
-                logger.info("The task instance: {} is execute failure.", appIds);
-            }
+            finishLoopTask(loopTaskInstanceStatus);
         } catch (InterruptedException e) {
             setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
             logger.error("The current loop thread has been interrupted", e);
@@ -95,6 +91,65 @@ public abstract class BaseLoopTaskExecutor extends AbstractRemoteTask {
         }
     }
 
+    /**
+     * Submit the loop task and report the application info to the master.
+     *
+     * @return the submitted task instance info
+     */
+    public @NonNull LoopTaskInstanceInfo startLoopTask(TaskCallBack taskCallBack) throws TaskException {
+        loopTaskInstanceInfo = submitLoopTask();
+        this.setAppIds(loopTaskInstanceInfo.getTaskInstanceId());
+        taskCallBack.updateRemoteApplicationInfo(taskRequest.getTaskInstanceId(), new ApplicationInfo(getAppIds()));
+        return loopTaskInstanceInfo;
+    }
+
+    /**
+     * Set the exit status code by the final task status.
+     *
+     * @param loopTaskInstanceStatus the final task status, null means the task has been canceled
+     */
+    public void finishLoopTask(@Nullable LoopTaskInstanceStatus loopTaskInstanceStatus) {
+        if (loopTaskInstanceStatus != null && loopTaskInstanceStatus.isSuccess()) {
+            setExitStatusCode(TaskConstants.EXIT_CODE_SUCCESS);
+            logger.info("The task instance: {} execute successfully.", appIds);
+        } else {
+            setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+            logger.info("The task instance: {} is execute failure.", appIds);
+        }
+    }
+
+    @Override
+    public void startApplication(TaskCallBack taskCallBack) throws TaskException {
+        startLoopTask(taskCallBack);
+    }
+
+    @Override
+    public boolean isAsyncTrackSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        if (loopTaskInstanceInfo == null) {
+            throw new TaskException("The loop task has not been submitted");
+        }
+        if (cancel) {
+            finishLoopTask(null);
+            return true;
+        }
+        LoopTaskInstanceStatus loopTaskInstanceStatus = queryTaskInstanceStatus(loopTaskInstanceInfo);
+        if (!loopTaskInstanceStatus.isFinished()) {
+            return false;
+        }
+        finishLoopTask(loopTaskInstanceStatus);
+        return true;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return getTaskInstanceStatusQueryInterval();
+    }
+
     /**
      * Submit the loop task, if submit failed, directly throw exception
      */
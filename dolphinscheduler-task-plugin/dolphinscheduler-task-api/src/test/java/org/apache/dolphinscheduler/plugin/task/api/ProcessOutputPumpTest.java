@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.api;
+
+import org.apache.commons.lang3.SystemUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+public class ProcessOutputPumpTest {
+
+    @Test
+    public void testPumpProcessOutput() throws Exception {
+        Assumptions.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        Process process = new ProcessBuilder("/bin/sh", "-c", "printf 'line1\\r\\nline2\\n\\nline3'").start();
+        CollectingHandler handler = new CollectingHandler();
+        ProcessOutputPump.pump(process, "test-task-log", handler);
+
+        Assertions.assertTrue(handler.finished.await(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(Arrays.asList("line1", "line2", "", "line3"), handler.flushedLines);
+        Assertions.assertEquals(1, handler.finishTimes.get());
+        Assertions.assertEquals("test-task-log", handler.finishThreadName);
+    }
+
+    @Test
+    public void testStopPumping() throws Exception {
+        Assumptions.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        Process process = new ProcessBuilder("/bin/sh", "-c", "echo started; sleep 30").start();
+        CollectingHandler handler = new CollectingHandler();
+        ProcessOutputPump.PumpHandle pumpHandle = ProcessOutputPump.pump(process, "test-task-log", handler);
+        try {
+            pumpHandle.stop();
+            Assertions.assertTrue(handler.finished.await(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, handler.finishTimes.get());
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    public void testAwaitFinish() throws Exception {
+        Assumptions.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        Process process = new ProcessBuilder("/bin/sh", "-c",
+                "i=0; while [ $i -lt 1000 ]; do echo line$i; i=$((i+1)); done; printf '${setValue(a=1)}'").start();
+        CollectingHandler handler = new CollectingHandler();
+        ProcessOutputPump.PumpHandle pumpHandle = ProcessOutputPump.pump(process, "test-task-log", handler);
+        process.waitFor(10, TimeUnit.SECONDS);
+
+        // the last line without the line separator is handled once the pumping finished
+        Assertions.assertTrue(pumpHandle.awaitFinish(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1001, handler.flushedLines.size());
+        Assertions.assertEquals("${setValue(a=1)}", handler.flushedLines.get(1000));
+        Assertions.assertEquals(1, handler.finishTimes.get());
+    }
+
+    @Test
+    public void testFlushIdleProcessOutput() throws Exception {
+        Assumptions.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        Process process = new ProcessBuilder("/bin/sh", "-c", "echo started; sleep 30").start();
+        CollectingHandler handler = new CollectingHandler();
+        ProcessOutputPump.PumpHandle pumpHandle = ProcessOutputPump.pump(process, "test-task-log", handler);
+        try {
+            // the output is flushed by the flush thread even if the process has no more output
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (handler.flushedLines.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Assertions.assertEquals(Arrays.asList("started"), handler.flushedLines);
+            Assertions.assertFalse(pumpHandle.awaitFinish(0, TimeUnit.SECONDS));
+        } finally {
+            pumpHandle.stop();
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    public void testPauseReadingIfHandlerCannotKeepUp() throws Exception {
+        Assumptions.assumeFalse(SystemUtils.IS_OS_WINDOWS);
+        Process process = new ProcessBuilder("/bin/sh", "-c", "yes line | head -n 200000").start();
+        CountDownLatch flushAllowed = new CountDownLatch(1);
+        CollectingHandler handler = new CollectingHandler() {
+
+            @Override
+            public void onFlush() {
+                try {
+                    flushAllowed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onFlush();
+            }
+        };
+        long pausedReads = ProcessOutputPump.getPausedReads();
+        ProcessOutputPump.PumpHandle pumpHandle = ProcessOutputPump.pump(process, "test-task-log", handler);
+        try {
+            // the process is blocked by its full pipe rather than buffering all the output in memory
+            Assertions.assertFalse(process.waitFor(1, TimeUnit.SECONDS));
+            Assertions.assertTrue(ProcessOutputPump.getPausedReads() > pausedReads);
+
+            flushAllowed.countDown();
+            Assertions.assertTrue(pumpHandle.awaitFinish(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(200000, handler.flushedLines.size());
+        } finally {
+            flushAllowed.countDown();
+            process.destroyForcibly();
+        }
+    }
+
+    private static class CollectingHandler implements ProcessOutputPump.ProcessOutputHandler {
+
+        private final List<String> bufferedLines = new ArrayList<>();
+
+        private final List<String> flushedLines = new CopyOnWriteArrayList<>();
+
+        private final AtomicInteger finishTimes = new AtomicInteger(0);
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        private volatile String finishThreadName;
+
+        @Override
+        public void onLine(String line) {
+            bufferedLines.add(line);
+        }
+
+        @Override
+        public void onFlush() {
+            flushedLines.addAll(bufferedLines);
+            bufferedLines.clear();
+        }
+
+        @Override
+        public void onFinish() {
+            finishThreadName = Thread.currentThread().getName();
+            finishTimes.incrementAndGet();
+            finished.countDown();
+        }
+    }
+}
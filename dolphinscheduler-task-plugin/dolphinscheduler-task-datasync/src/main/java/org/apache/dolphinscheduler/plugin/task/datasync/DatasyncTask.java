@@ -32,6 +32,7 @@ import software.amazon.awssdk.services.datasync.model.TaskExecutionStatus;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -129,6 +130,29 @@ public class DatasyncTask extends AbstractRemoteTask {
         }
     }
 
+    @Override
+    public boolean isAsyncTrackSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        checkApplicationId();
+        TaskExecutionStatus status = hook.queryDatasyncTaskExecStatus();
+        if (status == null) {
+            return false;
+        }
+        if (TaskExecutionStatus.SUCCESS.equals(status)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+            return true;
+        }
+        if (Arrays.asList(DatasyncHook.doneStatus).contains(status)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
+            return true;
+        }
+        return false;
+    }
+
     /**
      * check datasync applicationId or get it from appId
      */
@@ -33,6 +33,7 @@ import org.apache.dolphinscheduler.plugin.task.api.parser.ParameterUtils;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 
@@ -116,6 +117,41 @@ public class DmsTask extends AbstractRemoteTask {
         }
     }
 
+    @Override
+    public boolean isAsyncTrackSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        initAppId();
+        dmsHook.setReplicationTaskArn(appId.getReplicationTaskArn());
+        ReplicationTask replicationTask = dmsHook.describeReplicationTasks();
+        // if CdcStopPosition is not set, the task will not continue to check the running status
+        if (isStopTaskWhenCdc(replicationTask)) {
+            logger.info(
+                    "This is a cdc task and cdcStopPosition is not set, the task will not continue to check the running status");
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+            return true;
+        }
+        if (!DmsHook.STATUS.STOPPED.equals(replicationTask.getStatus())) {
+            return false;
+        }
+        String stopReason = replicationTask.getStopReason();
+        if (stopReason != null && stopReason.endsWith(DmsHook.STATUS.FINISH_END_TOKEN)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+        } else {
+            logger.error("DMS task failed, stop reason: {}", stopReason);
+            exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
+        }
+        return true;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofMillis(DmsHook.CONSTANTS.CHECK_INTERVAL);
+    }
+
     /**
      * init DMS remote AppId if null
      */
@@ -199,7 +235,10 @@ public class DmsTask extends AbstractRemoteTask {
      * @return true if stop task when cdc type and cdcStopPosition is not set, else return false
      */
     public Boolean isStopTaskWhenCdc() {
-        ReplicationTask replicationTask = dmsHook.describeReplicationTasks();
+        return isStopTaskWhenCdc(dmsHook.describeReplicationTasks());
+    }
+
+    private boolean isStopTaskWhenCdc(ReplicationTask replicationTask) {
         String migrationType = replicationTask.getMigrationType();
         return migrationType.contains("cdc") && parameters.getCdcStopPosition() == null;
     }
@@ -115,6 +115,23 @@ public class EmrAddStepsTask extends AbstractEmrTask {
         }
     }
 
+    @Override
+    public boolean isAsyncTrackSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        StepStatus stepStatus = getStepStatus();
+        if (waitingStateSet.contains(stepStatus.getState())) {
+            return false;
+        }
+        final int exitStatusCode = calculateExitStatusCode(stepStatus);
+        setExitStatusCode(exitStatusCode);
+        logger.info("emr task finished with step status : {}", stepStatus);
+        return true;
+    }
+
     /**
      * parse json string to AddJobFlowStepsRequest
      *
@@ -109,6 +109,23 @@ public class EmrJobFlowTask extends AbstractEmrTask {
         }
     }
 
+    @Override
+    public boolean isAsyncTrackSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        ClusterStatus clusterStatus = getClusterStatus();
+        if (waitingStateSet.contains(clusterStatus.getState())) {
+            return false;
+        }
+        final int exitStatusCode = calculateExitStatusCode(clusterStatus);
+        setExitStatusCode(exitStatusCode);
+        logger.info("emr task finished with cluster status : {}", clusterStatus);
+        return true;
+    }
+
     /**
      * parse json string to RunJobFlowRequest
      *
@@ -159,6 +159,28 @@ public class EmrAddStepsTaskTest {
         });
     }
 
+    @Test
+    public void testQueryApplicationStatus() throws Exception {
+        Mockito.when(step.getStatus()).thenReturn(pendingState, pendingState, runningState, completedState);
+
+        emrAddStepsTask.startApplication(taskCallBack);
+        Assertions.assertTrue(emrAddStepsTask.isAsyncTrackSupported());
+        Assertions.assertFalse(emrAddStepsTask.queryApplicationStatus());
+        Assertions.assertFalse(emrAddStepsTask.queryApplicationStatus());
+        Assertions.assertTrue(emrAddStepsTask.queryApplicationStatus());
+        Assertions.assertEquals(EXIT_CODE_SUCCESS, emrAddStepsTask.getExitStatusCode());
+    }
+
+    @Test
+    public void testQueryApplicationStatusUserRequestTerminate() throws Exception {
+        Mockito.when(step.getStatus()).thenReturn(pendingState, runningState, cancelledState);
+
+        emrAddStepsTask.startApplication(taskCallBack);
+        Assertions.assertFalse(emrAddStepsTask.queryApplicationStatus());
+        Assertions.assertTrue(emrAddStepsTask.queryApplicationStatus());
+        Assertions.assertEquals(EXIT_CODE_KILL, emrAddStepsTask.getExitStatusCode());
+    }
+
     private EmrParameters buildEmrTaskParameters() {
         EmrParameters emrParameters = new EmrParameters();
         String stepsDefineJson;
@@ -33,6 +33,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -88,21 +89,36 @@ public class KubeflowTask extends AbstractRemoteTask {
         logger.info("Kubeflow task get command: \n{}", command);
         do {
             ThreadUtils.sleep(KubeflowHelper.CONSTANTS.TRACK_INTERVAL);
-            String message = runCommand(command);
-            String phase = kubeflowHelper.parseGetMessage(message);
-            if (KubeflowHelper.STATUS.FAILED_SET.contains(phase)) {
-                exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
-                logger.info("Kubeflow task get Failed result: \n{}", message);
-                break;
-            } else if (KubeflowHelper.STATUS.SUCCESS_SET.contains(phase)) {
-                exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
-                logger.info("Kubeflow task get Succeeded result: \n{}", message);
-                break;
-            }
-        } while (true);
+        } while (!queryApplicationStatus());
 
     }
 
+    @Override
+    public boolean isAsyncTrackSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        String message = runCommand(kubeflowHelper.buildGetCommand(yamlPath.toString()));
+        String phase = kubeflowHelper.parseGetMessage(message);
+        if (KubeflowHelper.STATUS.FAILED_SET.contains(phase)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
+            logger.info("Kubeflow task get Failed result: \n{}", message);
+            return true;
+        } else if (KubeflowHelper.STATUS.SUCCESS_SET.contains(phase)) {
+            exitStatusCode = TaskConstants.EXIT_CODE_SUCCESS;
+            logger.info("Kubeflow task get Succeeded result: \n{}", message);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofMillis(KubeflowHelper.CONSTANTS.TRACK_INTERVAL);
+    }
+
     @Override
     public void cancelApplication() throws TaskException {
         String command = kubeflowHelper.buildDeleteCommand(yamlPath.toString());
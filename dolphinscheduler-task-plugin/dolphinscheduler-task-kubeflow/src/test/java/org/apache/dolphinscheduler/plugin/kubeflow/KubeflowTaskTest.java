@@ -99,6 +99,30 @@ public class KubeflowTaskTest {
         Assertions.assertEquals(task.getExitStatusCode(), TaskConstants.EXIT_CODE_SUCCESS);
     }
 
+    @Test
+    public void TestQueryApplicationStatus() throws IOException {
+        KubeflowParameters kubeflowParameters = createKubeflowParameters();
+
+        TaskExecutionContext taskExecutionContext = createTaskExecutionContext(kubeflowParameters);
+        TestTask task = Mockito.spy(new TestTask(taskExecutionContext));
+        Mockito.when(task.runCommand(Mockito.anyString())).thenReturn("track_result");
+        task.init();
+
+        KubeflowHelper kubeflowHelper = Mockito.mock(KubeflowHelper.class);
+        Mockito.when(kubeflowHelper.buildGetCommand(Mockito.anyString())).thenReturn("");
+        task.setKubeflowHelper(kubeflowHelper);
+
+        Assertions.assertTrue(task.isAsyncTrackSupported());
+        Mockito.when(kubeflowHelper.parseGetMessage(Mockito.anyString())).thenReturn("Running", "Succeeded");
+        Assertions.assertFalse(task.queryApplicationStatus());
+        Assertions.assertTrue(task.queryApplicationStatus());
+        Assertions.assertEquals(task.getExitStatusCode(), TaskConstants.EXIT_CODE_SUCCESS);
+
+        Mockito.when(kubeflowHelper.parseGetMessage(Mockito.anyString())).thenReturn("Failed");
+        Assertions.assertTrue(task.queryApplicationStatus());
+        Assertions.assertEquals(task.getExitStatusCode(), TaskConstants.EXIT_CODE_FAILURE);
+    }
+
     @Test
     public void TestCancel() throws IOException {
         KubeflowParameters kubeflowParameters = createKubeflowParameters();
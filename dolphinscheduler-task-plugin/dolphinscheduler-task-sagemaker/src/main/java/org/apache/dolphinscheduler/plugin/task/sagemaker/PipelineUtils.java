@@ -67,12 +67,24 @@ public class PipelineUtils {
     }
 
     public int checkPipelineExecutionStatus(AmazonSageMaker client, PipelineId pipelineId) {
+        Integer exitStatusCode;
+        while ((exitStatusCode = queryPipelineExecutionStatus(client, pipelineId)) == null) {
+            ThreadUtils.sleep(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
+        }
+        return exitStatusCode;
+    }
+
+    /**
+     * Query the pipeline execution status once.
+     *
+     * @return the exit status code, or null if the pipeline is still executing
+     */
+    public Integer queryPipelineExecutionStatus(AmazonSageMaker client, PipelineId pipelineId) {
         String pipelineStatus = describePipelineExecution(client, pipelineId);
-        while (EXECUTING.equals(pipelineStatus)) {
+        if (EXECUTING.equals(pipelineStatus)) {
             logger.info("check Pipeline Steps running");
             listPipelineExecutionSteps(client, pipelineId);
-            ThreadUtils.sleep(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
-            describePipelineExecution(client, pipelineId);
+            return null;
         }
 
         int exitStatusCode = TaskConstants.EXIT_CODE_FAILURE;
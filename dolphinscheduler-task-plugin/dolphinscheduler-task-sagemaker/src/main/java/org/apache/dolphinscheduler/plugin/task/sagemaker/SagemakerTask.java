@@ -34,6 +34,7 @@ import org.apache.dolphinscheduler.plugin.task.api.parser.ParameterUtils;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -127,6 +128,27 @@ public class SagemakerTask extends AbstractRemoteTask {
         exitStatusCode = utils.checkPipelineExecutionStatus(client, pipelineId);
     }
 
+    @Override
+    public boolean isAsyncTrackSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean queryApplicationStatus() throws TaskException {
+        initPipelineId();
+        Integer pipelineExitStatusCode = utils.queryPipelineExecutionStatus(client, pipelineId);
+        if (pipelineExitStatusCode == null) {
+            return false;
+        }
+        exitStatusCode = pipelineExitStatusCode;
+        return true;
+    }
+
+    @Override
+    public Duration getApplicationStatusQueryInterval() {
+        return Duration.ofMillis(SagemakerConstants.CHECK_PIPELINE_EXECUTION_STATUS_INTERVAL);
+    }
+
     /**
      * init sagemaker applicationId if null
      */
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Spool the rows of the sql query result into a local file, one json row per line, so the result set is never fully
+ * held in memory. The rows are spooled within a byte budget, the result used by the alert and the out parameters is
+ * built from the spool file.
+ */
+public class SqlResultSpool implements Closeable {
+
+    private static final String SPOOL_FILE_PREFIX = "sql_result_";
+
+    private static final String SPOOL_FILE_SUFFIX = ".json";
+
+    private final Path spoolFile;
+
+    private final BufferedWriter writer;
+
+    private final long maxBytes;
+
+    private long bytes;
+
+    private int rowCount;
+
+    private boolean truncated;
+
+    /**
+     * @param spoolDir the directory of the spool file, use the default temp directory if it's null
+     * @param maxBytes the max bytes of the spooled rows, not including the array brackets and separators
+     */
+    public SqlResultSpool(Path spoolDir, long maxBytes) throws IOException {
+        this.spoolFile = spoolDir == null
+                ? Files.createTempFile(SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX)
+                : Files.createTempFile(spoolDir, SPOOL_FILE_PREFIX, SPOOL_FILE_SUFFIX);
+        this.writer = Files.newBufferedWriter(spoolFile, StandardCharsets.UTF_8);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Append a row to the spool file if it doesn't exceed the byte budget.
+     *
+     * @param row the row in json, should not contain line separators
+     * @return false if the row is dropped due to the byte budget, the later rows should not be fetched anymore
+     */
+    public boolean write(String row) throws IOException {
+        if (truncated) {
+            return false;
+        }
+        long rowBytes = row.getBytes(StandardCharsets.UTF_8).length;
+        if (bytes + rowBytes > maxBytes) {
+            truncated = true;
+            return false;
+        }
+        writer.write(row);
+        writer.newLine();
+        bytes += rowBytes;
+        rowCount++;
+        return true;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Whether some rows have been dropped due to the byte budget.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Read the spooled rows as a json array.
+     *
+     * @return the json array of the spooled rows
+     */
+    public String readAsJsonArray() throws IOException {
+        writer.flush();
+        StringBuilder result = new StringBuilder("[");
+        int readRows = 0;
+        try (BufferedReader reader = Files.newBufferedReader(spoolFile, StandardCharsets.UTF_8)) {
+            String row;
+            while ((row = reader.readLine()) != null) {
+                if (readRows > 0) {
+                    result.append(',');
+                }
+                result.append(row);
+                readRows++;
+            }
+        }
+        return result.append(']').toString();
+    }
+
+    /**
+     * Close the writer and delete the spool file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.close();
+        } finally {
+            Files.deleteIfExists(spoolFile);
+        }
+    }
+}
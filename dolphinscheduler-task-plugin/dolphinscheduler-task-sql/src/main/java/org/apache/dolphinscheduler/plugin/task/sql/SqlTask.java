@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.plugin.task.sql;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.plugin.DataSourceClientProvider;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.CommonUtils;
 import org.apache.dolphinscheduler.plugin.datasource.api.utils.DataSourceUtils;
@@ -44,6 +45,9 @@ import org.apache.dolphinscheduler.spi.enums.DbType;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -279,46 +283,54 @@ public class SqlTask extends AbstractTask {
     }
 
     /**
-     * result process
+     * result process, the rows are spooled into a local file rather than held in memory, the rows are fetched until
+     * the result exceeds {@link TaskConstants#SQL_TASK_RESULT_MAX_BYTES}
      *
      * @param resultSet resultSet
+     * @param limit the max rows of the result
      * @throws Exception Exception
      */
-    private String resultProcess(ResultSet resultSet) throws Exception {
-        ArrayNode resultJSONArray = JSONUtils.createArrayNode();
-        if (resultSet != null) {
-            ResultSetMetaData md = resultSet.getMetaData();
-            int num = md.getColumnCount();
-
-            int rowCount = 0;
-            int limit = sqlParameters.getLimit() == 0 ? QUERY_LIMIT : sqlParameters.getLimit();
-
-            while (resultSet.next()) {
-                if (rowCount == limit) {
-                    logger.info("sql result limit : {} exceeding results are filtered", limit);
-                    break;
-                }
-                ObjectNode mapOfColValues = JSONUtils.createObjectNode();
-                for (int i = 1; i <= num; i++) {
-                    mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
+    private String resultProcess(ResultSet resultSet, int limit) throws Exception {
+        String result;
+        long maxBytes = PropertyUtils.getLong(TaskConstants.SQL_TASK_RESULT_MAX_BYTES,
+                TaskConstants.DEFAULT_SQL_TASK_RESULT_MAX_BYTES);
+        try (SqlResultSpool resultSpool = new SqlResultSpool(getSpoolDir(), maxBytes)) {
+            if (resultSet != null) {
+                ResultSetMetaData md = resultSet.getMetaData();
+                int num = md.getColumnCount();
+
+                int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
+                        : TaskConstants.DEFAULT_DISPLAY_ROWS;
+                logger.info("display sql result {} rows at most as follows:", displayRows);
+
+                while (resultSet.next()) {
+                    if (resultSpool.getRowCount() == limit) {
+                        logger.info("sql result limit : {} exceeding results are filtered", limit);
+                        break;
+                    }
+                    ObjectNode mapOfColValues = JSONUtils.createObjectNode();
+                    for (int i = 1; i <= num; i++) {
+                        mapOfColValues.set(md.getColumnLabel(i), JSONUtils.toJsonNode(resultSet.getObject(i)));
+                    }
+                    String row = JSONUtils.toJsonString(mapOfColValues);
+                    if (!resultSpool.write(row)) {
+                        logger.warn("sql result of {} rows exceeds {} bytes, exceeding rows are dropped",
+                                resultSpool.getRowCount(), maxBytes);
+                        break;
+                    }
+                    if (resultSpool.getRowCount() <= displayRows) {
+                        logger.info("row {} : {}", resultSpool.getRowCount(), row);
+                    }
                 }
-                resultJSONArray.add(mapOfColValues);
-                rowCount++;
             }
 
-            int displayRows = sqlParameters.getDisplayRows() > 0 ? sqlParameters.getDisplayRows()
-                    : TaskConstants.DEFAULT_DISPLAY_ROWS;
-            displayRows = Math.min(displayRows, rowCount);
-            logger.info("display sql result {} rows as follows:", displayRows);
-            for (int i = 0; i < displayRows; i++) {
-                String row = JSONUtils.toJsonString(resultJSONArray.get(i));
-                logger.info("row {} : {}", i + 1, row);
+            if (resultSpool.getRowCount() == 0 && !resultSpool.isTruncated()) {
+                result = JSONUtils.toJsonString(generateEmptyRow(resultSet));
+            } else {
+                result = resultSpool.readAsJsonArray();
             }
         }
 
-        String result = resultJSONArray.isEmpty() ? JSONUtils.toJsonString(generateEmptyRow(resultSet))
-                : JSONUtils.toJsonString(resultJSONArray);
-
         if (sqlParameters.getSendEmail() == null || sqlParameters.getSendEmail()) {
             sendAttachment(sqlParameters.getGroupId(), StringUtils.isNotEmpty(sqlParameters.getTitle())
                     ? sqlParameters.getTitle()
@@ -328,6 +340,17 @@ public class SqlTask extends AbstractTask {
         return result;
     }
 
+    /**
+     * spool the query result into the task execute path, the file left by a killed worker is cleaned up with the task
+     */
+    private Path getSpoolDir() {
+        String executePath = taskExecutionContext.getExecutePath();
+        if (StringUtils.isEmpty(executePath) || !Files.isDirectory(Paths.get(executePath))) {
+            return null;
+        }
+        return Paths.get(executePath);
+    }
+
     /**
      * generate empty Results as ArrayNode
      */
@@ -365,9 +388,23 @@ public class SqlTask extends AbstractTask {
 
     private String executeQuery(Connection connection, SqlBinds sqlBinds, String handlerType) throws Exception {
         try (PreparedStatement statement = prepareStatementAndBind(connection, sqlBinds)) {
-            logger.info("{} statement execute query, for sql: {}", handlerType, sqlBinds.getSql());
+            int fetchSize = PropertyUtils.getInt(TaskConstants.SQL_TASK_FETCH_SIZE,
+                    TaskConstants.DEFAULT_SQL_TASK_FETCH_SIZE);
+            int limit = sqlParameters.getLimit() == 0 ? QUERY_LIMIT : sqlParameters.getLimit();
+            // limit the rows sent by the database, one more row to know whether the result is limited
+            statement.setMaxRows(limit == Integer.MAX_VALUE ? 0 : limit + 1);
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+                if (DbType.MYSQL == DbType.valueOf(sqlParameters.getType())
+                        && !StringUtils.containsIgnoreCase(connection.getMetaData().getURL(), "useCursorFetch=true")) {
+                    logger.info("The fetch size is ignored by the mysql driver without useCursorFetch=true, "
+                            + "at most {} rows of the result will be read into memory at once", limit + 1);
+                }
+            }
+            logger.info("{} statement execute query, fetch size: {}, for sql: {}", handlerType, fetchSize,
+                    sqlBinds.getSql());
             ResultSet resultSet = statement.executeQuery();
-            return resultProcess(resultSet);
+            return resultProcess(resultSet, limit);
         }
     }
 
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.plugin.task.sql;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SqlResultSpoolTest {
+
+    @TempDir
+    public Path spoolDir;
+
+    @Test
+    public void testReadAsJsonArray() throws IOException {
+        try (SqlResultSpool resultSpool = new SqlResultSpool(spoolDir, 1024)) {
+            Assertions.assertTrue(resultSpool.write("{\"id\":1}"));
+            Assertions.assertTrue(resultSpool.write("{\"id\":2}"));
+            Assertions.assertEquals(2, resultSpool.getRowCount());
+            Assertions.assertEquals("[{\"id\":1},{\"id\":2}]", resultSpool.readAsJsonArray());
+            Assertions.assertFalse(resultSpool.isTruncated());
+        }
+    }
+
+    @Test
+    public void testWriteExceedsMaxBytes() throws IOException {
+        try (SqlResultSpool resultSpool = new SqlResultSpool(spoolDir, 20)) {
+            Assertions.assertTrue(resultSpool.write("{\"id\":1}"));
+            Assertions.assertTrue(resultSpool.write("{\"id\":2}"));
+            Assertions.assertFalse(resultSpool.write("{\"id\":3}"));
+            Assertions.assertTrue(resultSpool.isTruncated());
+            // the rows after the dropped one are dropped too, even if they fit in the budget
+            Assertions.assertFalse(resultSpool.write("{}"));
+            Assertions.assertEquals(2, resultSpool.getRowCount());
+            Assertions.assertEquals("[{\"id\":1},{\"id\":2}]", resultSpool.readAsJsonArray());
+        }
+        try (SqlResultSpool resultSpool = new SqlResultSpool(spoolDir, 5)) {
+            Assertions.assertFalse(resultSpool.write("{\"id\":1}"));
+            Assertions.assertTrue(resultSpool.isTruncated());
+            Assertions.assertEquals("[]", resultSpool.readAsJsonArray());
+        }
+    }
+
+    @Test
+    public void testSpoolFileDeletedAfterClose() throws IOException {
+        SqlResultSpool resultSpool = new SqlResultSpool(spoolDir, 1024);
+        resultSpool.write("{\"id\":1}");
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            Assertions.assertEquals(1, files.count());
+        }
+        resultSpool.close();
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+}
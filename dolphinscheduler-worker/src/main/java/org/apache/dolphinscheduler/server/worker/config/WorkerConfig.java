@@ -19,6 +19,7 @@ package org.apache.dolphinscheduler.server.worker.config;
 
 import static org.apache.dolphinscheduler.common.constants.Constants.REGISTRY_DOLPHINSCHEDULER_WORKERS;
 
+import org.apache.dolphinscheduler.common.thread.ExecutorThreadMode;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.registry.api.ConnectStrategyProperties;
 
@@ -43,7 +44,26 @@ public class WorkerConfig implements Validator {
     private Logger logger = LoggerFactory.getLogger(WorkerConfig.class);
 
     private int listenPort = 1234;
+    /**
+     * Whether to send the task running and result commands by the binary codec when the peer supports.
+     */
+    private boolean rpcBinaryCodecEnabled = false;
     private int execThreads = 10;
+    /**
+     * The thread mode of the task execute threads, with the virtual thread the exec-threads can be much bigger since
+     * most of the tasks are waiting for the remote job or the child process.
+     * The virtual thread needs JDK 21+, will fall back to the platform thread on the lower JDK.
+     */
+    private ExecutorThreadMode executorThreadMode = ExecutorThreadMode.PLATFORM;
+    /**
+     * Whether to poll the status of the submitted remote tasks(e.g. the loop tasks, EMR) in a shared poller and release
+     * the exec thread.
+     */
+    private boolean loopTaskAsyncPollEnabled = true;
+    /**
+     * The thread number of the shared remote task status poller.
+     */
+    private int loopTaskPollThreads = 4;
     private Duration heartbeatInterval = Duration.ofSeconds(10);
     private int hostWeight = 100;
     private boolean tenantAutoCreate = true;
@@ -73,6 +93,9 @@ public class WorkerConfig implements Validator {
         if (workerConfig.getExecThreads() <= 0) {
             errors.rejectValue("exec-threads", null, "should be a positive value");
         }
+        if (workerConfig.getLoopTaskPollThreads() <= 0) {
+            errors.rejectValue("loop-task-poll-threads", null, "should be a positive value");
+        }
         if (workerConfig.getHeartbeatInterval().getSeconds() <= 0) {
             errors.rejectValue("heartbeat-interval", null, "shoule be a valid duration");
         }
@@ -87,7 +110,11 @@ public class WorkerConfig implements Validator {
 
     private void printConfig() {
         logger.info("Worker config: listenPort -> {}", listenPort);
+        logger.info("Worker config: rpcBinaryCodecEnabled -> {}", rpcBinaryCodecEnabled);
         logger.info("Worker config: execThreads -> {}", execThreads);
+        logger.info("Worker config: executorThreadMode -> {}", executorThreadMode);
+        logger.info("Worker config: loopTaskAsyncPollEnabled -> {}", loopTaskAsyncPollEnabled);
+        logger.info("Worker config: loopTaskPollThreads -> {}", loopTaskPollThreads);
         logger.info("Worker config: heartbeatInterval -> {}", heartbeatInterval);
         logger.info("Worker config: hostWeight -> {}", hostWeight);
         logger.info("Worker config: tenantAutoCreate -> {}", tenantAutoCreate);
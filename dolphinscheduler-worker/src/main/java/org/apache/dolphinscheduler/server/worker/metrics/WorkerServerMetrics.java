@@ -23,6 +23,7 @@ import java.util.function.Supplier;
 import lombok.experimental.UtilityClass;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
@@ -67,6 +68,13 @@ public class WorkerServerMetrics {
                     .description("size of downloaded resource files on worker")
                     .register(Metrics.globalRegistry);
 
+    private final DistributionSummary processOutputThroughputDistribution =
+            DistributionSummary.builder("ds.worker.process.output.throughput")
+                    .baseUnit("lines/s")
+                    .publishPercentiles(0.5, 0.75, 0.95, 0.99)
+                    .description("output throughput of each task process")
+                    .register(Metrics.globalRegistry);
+
     public void incWorkerOverloadCount() {
         workerOverloadCounter.increment();
     }
@@ -97,4 +105,33 @@ public class WorkerServerMetrics {
                 .register(Metrics.globalRegistry);
     }
 
+    public void registerWorkerPollingTaskGauge(final Supplier<Number> supplier) {
+        Gauge.builder("ds.worker.loop.task.polling", supplier)
+                .description("number of submitted remote tasks whose status is polled without occupying exec threads")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void registerProcessOutputPumpMetrics(final Supplier<Number> pumpingProcessSupplier,
+                                                 final Supplier<Number> pumpedLinesSupplier,
+                                                 final Supplier<Number> pumpedBytesSupplier,
+                                                 final Supplier<Number> pausedReadsSupplier) {
+        Gauge.builder("ds.worker.process.output.pumping", pumpingProcessSupplier)
+                .description("number of task processes whose output is being pumped")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.worker.process.output.lines", pumpedLinesSupplier, s -> s.get().doubleValue())
+                .description("total lines of the task process output")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.worker.process.output.bytes", pumpedBytesSupplier, s -> s.get().doubleValue())
+                .baseUnit("bytes")
+                .description("total bytes of the task process output")
+                .register(Metrics.globalRegistry);
+        FunctionCounter.builder("ds.worker.process.output.paused", pausedReadsSupplier, s -> s.get().doubleValue())
+                .description("total times the read of a task process output is paused as its handler can't keep up")
+                .register(Metrics.globalRegistry);
+    }
+
+    public void recordProcessOutputThroughput(final long lines, final long costMillis) {
+        processOutputThroughputDistribution.record(lines * 1000D / Math.max(1, costMillis));
+    }
+
 }
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskBatchDispatchCommand;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.base.Preconditions;
+
+import io.micrometer.core.annotation.Counted;
+import io.netty.channel.Channel;
+
+/**
+ * Used to handle {@link CommandType#TASK_BATCH_DISPATCH_REQUEST}, each task in the batch will be handled as a
+ * {@link CommandType#TASK_DISPATCH_REQUEST}.
+ */
+@Component
+public class TaskBatchDispatchProcessor implements NettyRequestProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBatchDispatchProcessor.class);
+
+    @Autowired
+    private TaskDispatchProcessor taskDispatchProcessor;
+
+    @Counted(value = "ds.task.batch.dispatch.count", description = "task batch dispatch total count")
+    @Override
+    public void process(Channel channel, Command command) {
+        Preconditions.checkArgument(CommandType.TASK_BATCH_DISPATCH_REQUEST == command.getType(),
+                String.format("invalid command type : %s", command.getType()));
+
+        TaskBatchDispatchCommand taskBatchDispatchCommand =
+                command.parseBody(TaskBatchDispatchCommand.class);
+        if (taskBatchDispatchCommand == null
+                || CollectionUtils.isEmpty(taskBatchDispatchCommand.getTaskExecutionContexts())) {
+            logger.error("task batch dispatch request command content is empty");
+            return;
+        }
+        final String workflowMasterAddress = taskBatchDispatchCommand.getMessageSenderAddress();
+        logger.info("Receive task batch dispatch request, master: {}, task size: {}", workflowMasterAddress,
+                taskBatchDispatchCommand.getTaskExecutionContexts().size());
+
+        for (TaskExecutionContext taskExecutionContext : taskBatchDispatchCommand.getTaskExecutionContexts()) {
+            if (taskExecutionContext == null) {
+                logger.error("task execution context is null");
+                continue;
+            }
+            taskDispatchProcessor.dispatchTask(taskExecutionContext, workflowMasterAddress);
+        }
+    }
+
+}
@@ -18,7 +18,6 @@
 package org.apache.dolphinscheduler.server.worker.processor;
 
 import org.apache.dolphinscheduler.common.utils.DateUtils;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContextCacheManager;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
@@ -29,6 +28,7 @@ import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.metrics.TaskMetrics;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
+import org.apache.dolphinscheduler.server.worker.runner.LoopTaskStatusPoller;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerDelayTaskExecuteRunnable;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerManagerThread;
 import org.apache.dolphinscheduler.server.worker.runner.WorkerTaskExecuteRunnableFactoryBuilder;
@@ -84,6 +84,9 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
     @Autowired(required = false)
     private StorageOperate storageOperate;
 
+    @Autowired
+    private LoopTaskStatusPoller loopTaskStatusPoller;
+
     @Counted(value = "ds.task.execution.count", description = "task execute total count")
     @Timed(value = "ds.task.execution.duration", percentiles = {0.5, 0.75, 0.95, 0.99}, histogram = true)
     @Override
@@ -91,7 +94,7 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.TASK_DISPATCH_REQUEST == command.getType(),
                 String.format("invalid command type : %s", command.getType()));
 
-        TaskDispatchCommand taskDispatchCommand = JSONUtils.parseObject(command.getBody(), TaskDispatchCommand.class);
+        TaskDispatchCommand taskDispatchCommand = command.parseBody(TaskDispatchCommand.class);
 
         if (taskDispatchCommand == null) {
             logger.error("task execute request command content is null");
@@ -106,6 +109,17 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
             logger.error("task execution context is null");
             return;
         }
+        dispatchTask(taskExecutionContext, workflowMasterAddress);
+    }
+
+    /**
+     * Submit the dispatched task to the worker manager, if the worker cannot accept the task, a task reject message
+     * will be sent to the workflow master.
+     *
+     * @param taskExecutionContext  task execution context
+     * @param workflowMasterAddress the master which dispatch the task
+     */
+    public void dispatchTask(TaskExecutionContext taskExecutionContext, String workflowMasterAddress) {
         try {
             LoggerUtils.setWorkflowAndTaskInstanceIDMDC(taskExecutionContext.getProcessInstanceId(),
                     taskExecutionContext.getTaskInstanceId());
@@ -134,7 +148,8 @@ public class TaskDispatchProcessor implements NettyRequestProcessor {
                             workerMessageSender,
                             alertClientService,
                             taskPluginManager,
-                            storageOperate)
+                            storageOperate,
+                            loopTaskStatusPoller)
                     .createWorkerTaskExecuteRunnable();
             // submit task to manager
             boolean offer = workerManager.offer(workerTaskExecuteRunnable);
@@ -23,6 +23,7 @@ import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.processor.TaskExecuteResultAckProcessor;
 import org.apache.dolphinscheduler.server.worker.processor.TaskExecuteRunningAckProcessor;
 import org.apache.dolphinscheduler.server.worker.processor.TaskRejectAckProcessor;
@@ -40,6 +41,9 @@ public class WorkerRpcClient implements AutoCloseable {
 
     private final Logger logger = LoggerFactory.getLogger(WorkerRpcClient.class);
 
+    @Autowired
+    private WorkerConfig workerConfig;
+
     @Autowired
     private TaskExecuteRunningAckProcessor taskExecuteRunningAckProcessor;
 
@@ -54,6 +58,7 @@ public class WorkerRpcClient implements AutoCloseable {
     public void start() {
         logger.info("Worker rpc client starting");
         NettyClientConfig nettyClientConfig = new NettyClientConfig();
+        nettyClientConfig.setBinaryCodecEnabled(workerConfig.isRpcBinaryCodecEnabled());
         this.nettyRemotingClient = new NettyRemotingClient(nettyClientConfig);
         // we only use the client to handle the ack message, we can optimize this, send ack to the nettyServer.
         this.nettyRemotingClient.registerProcessor(CommandType.TASK_EXECUTE_RUNNING_ACK,
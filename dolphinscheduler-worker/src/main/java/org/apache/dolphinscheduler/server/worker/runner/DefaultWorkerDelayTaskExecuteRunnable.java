@@ -17,7 +17,9 @@
 
 package org.apache.dolphinscheduler.server.worker.runner;
 
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
 import org.apache.dolphinscheduler.plugin.task.api.TaskCallBack;
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
 import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
@@ -25,6 +27,7 @@ import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.service.alert.AlertClientService;
 import org.apache.dolphinscheduler.service.storage.StorageOperate;
 import org.apache.dolphinscheduler.service.task.TaskPluginManager;
+import org.apache.dolphinscheduler.service.utils.LoggerUtils;
 
 import javax.annotation.Nullable;
 
@@ -38,9 +41,10 @@ public class DefaultWorkerDelayTaskExecuteRunnable extends WorkerDelayTaskExecut
                                                  @NonNull WorkerMessageSender workerMessageSender,
                                                  @NonNull AlertClientService alertClientService,
                                                  @NonNull TaskPluginManager taskPluginManager,
-                                                 @Nullable StorageOperate storageOperate) {
+                                                 @Nullable StorageOperate storageOperate,
+                                                 @Nullable LoopTaskStatusPoller loopTaskStatusPoller) {
         super(taskExecutionContext, workerConfig, workflowMaster, workerMessageSender, alertClientService,
-                taskPluginManager, storageOperate);
+                taskPluginManager, storageOperate, loopTaskStatusPoller);
     }
 
     @Override
@@ -48,9 +52,53 @@ public class DefaultWorkerDelayTaskExecuteRunnable extends WorkerDelayTaskExecut
         if (task == null) {
             throw new TaskException("The task plugin instance is not initialized");
         }
+        if (task instanceof AbstractRemoteTask && loopTaskStatusPoller != null && loopTaskStatusPoller.isEnabled()
+                && ((AbstractRemoteTask) task).isAsyncTrackSupported()) {
+            executeRemoteTaskAsync((AbstractRemoteTask) task, taskCallBack);
+            return;
+        }
         task.handle(taskCallBack);
     }
 
+    /**
+     * Submit the remote task in the current thread, and hand the status polling over to the shared poller, the task
+     * result will be sent by the poll thread once the remote task is finished.
+     */
+    private void executeRemoteTaskAsync(AbstractRemoteTask remoteTask,
+                                        TaskCallBack taskCallBack) throws TaskException {
+        remoteTask.startApplication(taskCallBack);
+        logger.info("The remote task has been submitted, will poll the task status asynchronously");
+        asyncCompletion = loopTaskStatusPoller.poll(remoteTask, taskExecutionContext.getTaskLogName())
+                .handle((result, throwable) -> {
+                    onRemoteTaskFinished(remoteTask, throwable);
+                    return null;
+                });
+    }
+
+    private void onRemoteTaskFinished(AbstractRemoteTask remoteTask, Throwable throwable) {
+        Thread currentThread = Thread.currentThread();
+        String threadName = currentThread.getName();
+        try {
+            // set the thread name to make sure the log be written to the task log file
+            currentThread.setName(taskExecutionContext.getTaskLogName());
+            LoggerUtils.setWorkflowAndTaskInstanceIDMDC(taskExecutionContext.getProcessInstanceId(),
+                    taskExecutionContext.getTaskInstanceId());
+            if (throwable != null) {
+                remoteTask.setExitStatusCode(TaskConstants.EXIT_CODE_FAILURE);
+                logger.error("Remote task execute error", throwable);
+                afterThrowing(throwable);
+                return;
+            }
+            afterExecute();
+        } catch (Throwable ex) {
+            logger.error("Task execute failed, due to meet an exception", ex);
+            afterThrowing(ex);
+        } finally {
+            LoggerUtils.removeWorkflowAndTaskInstanceIdMDC();
+            currentThread.setName(threadName);
+        }
+    }
+
     @Override
     protected void afterExecute() {
         super.afterExecute();
@@ -38,9 +38,10 @@ public class DefaultWorkerDelayTaskExecuteRunnableFactory
                                                            @NonNull WorkerMessageSender workerMessageSender,
                                                            @NonNull AlertClientService alertClientService,
                                                            @NonNull TaskPluginManager taskPluginManager,
-                                                           @Nullable StorageOperate storageOperate) {
+                                                           @Nullable StorageOperate storageOperate,
+                                                           @Nullable LoopTaskStatusPoller loopTaskStatusPoller) {
         super(taskExecutionContext, workerConfig, workflowMasterAddress, workerMessageSender, alertClientService,
-                taskPluginManager, storageOperate);
+                taskPluginManager, storageOperate, loopTaskStatusPoller);
     }
 
     @Override
@@ -52,6 +53,7 @@ public class DefaultWorkerDelayTaskExecuteRunnableFactory
                 workerMessageSender,
                 alertClientService,
                 taskPluginManager,
-                storageOperate);
+                storageOperate,
+                loopTaskStatusPoller);
     }
 }
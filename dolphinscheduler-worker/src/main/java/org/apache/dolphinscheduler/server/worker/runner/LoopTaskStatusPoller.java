@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import lombok.NonNull;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Poll the status of the submitted remote tasks in one shared scheduled pool, so the remote tasks which support
+ * {@link AbstractRemoteTask#isAsyncTrackSupported()}, e.g. the loop tasks, EMR, DMS, DataSync, SageMaker and Kubeflow,
+ * don't need to occupy a worker execute thread while the remote application is running.
+ */
+@Component
+public class LoopTaskStatusPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoopTaskStatusPoller.class);
+
+    /**
+     * The max consecutive query failure times, the same as the default retry times of the blocking loop.
+     */
+    private static final int MAX_QUERY_FAILURE_TIMES = 3;
+
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    private ScheduledExecutorService pollExecutor;
+
+    private final AtomicInteger pollingTaskCount = new AtomicInteger(0);
+
+    @PostConstruct
+    public void start() {
+        this.pollExecutor = ThreadUtils.newDaemonScheduledExecutorService("LoopTaskStatusPollThread",
+                workerConfig.getLoopTaskPollThreads());
+        WorkerServerMetrics.registerWorkerPollingTaskGauge(pollingTaskCount::get);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pollExecutor != null) {
+            pollExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return workerConfig.isLoopTaskAsyncPollEnabled();
+    }
+
+    /**
+     * Poll the status of the given submitted remote task until it is finished, the exit status code is set by the task
+     * once it is finished.
+     *
+     * @param remoteTask the submitted remote task
+     * @param taskLogName the task log name, the query logs will be written to the task log file
+     * @return the future completed once the remote task is finished
+     */
+    public CompletableFuture<Void> poll(@NonNull AbstractRemoteTask remoteTask, @NonNull String taskLogName) {
+        if (!remoteTask.isAsyncTrackSupported()) {
+            throw new IllegalArgumentException("The remote task doesn't support tracking the status asynchronously");
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pollingTaskCount.incrementAndGet();
+        future.whenComplete((result, throwable) -> pollingTaskCount.decrementAndGet());
+        schedulePoll(new PollingTask(remoteTask, taskLogName, future));
+        return future;
+    }
+
+    private void schedulePoll(PollingTask pollingTask) {
+        try {
+            pollExecutor.schedule(() -> doPoll(pollingTask),
+                    pollingTask.remoteTask.getApplicationStatusQueryInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            pollingTask.future.completeExceptionally(e);
+        }
+    }
+
+    private void doPoll(PollingTask pollingTask) {
+        Thread currentThread = Thread.currentThread();
+        String threadName = currentThread.getName();
+        try {
+            // set the thread name to make sure the log be written to the task log file
+            currentThread.setName(pollingTask.taskLogName);
+            boolean finished;
+            try {
+                finished = pollingTask.remoteTask.queryApplicationStatus();
+                pollingTask.failureTimes = 0;
+            } catch (Exception e) {
+                if (++pollingTask.failureTimes >= MAX_QUERY_FAILURE_TIMES) {
+                    pollingTask.future.completeExceptionally(
+                            new TaskException("Query the remote task status failed " + pollingTask.failureTimes
+                                    + " times", e));
+                    return;
+                }
+                logger.warn("Query the remote task status failed, will retry later, failure times: {}",
+                        pollingTask.failureTimes, e);
+                schedulePoll(pollingTask);
+                return;
+            }
+            if (finished) {
+                pollingTask.future.complete(null);
+                return;
+            }
+            schedulePoll(pollingTask);
+        } catch (Throwable throwable) {
+            pollingTask.future.completeExceptionally(throwable);
+        } finally {
+            currentThread.setName(threadName);
+        }
+    }
+
+    private static class PollingTask {
+
+        private final AbstractRemoteTask remoteTask;
+
+        private final String taskLogName;
+
+        private final CompletableFuture<Void> future;
+
+        // only accessed by the poll thread which handles this task, the polls of one task never overlap
+        private int failureTimes;
+
+        private PollingTask(AbstractRemoteTask remoteTask,
+                            String taskLogName,
+                            CompletableFuture<Void> future) {
+            this.remoteTask = remoteTask;
+            this.taskLogName = taskLogName;
+            this.future = future;
+        }
+    }
+}
@@ -40,9 +40,10 @@ public abstract class WorkerDelayTaskExecuteRunnable extends WorkerTaskExecuteRu
                                              @NonNull WorkerMessageSender workerMessageSender,
                                              @NonNull AlertClientService alertClientService,
                                              @NonNull TaskPluginManager taskPluginManager,
-                                             @Nullable StorageOperate storageOperate) {
+                                             @Nullable StorageOperate storageOperate,
+                                             @Nullable LoopTaskStatusPoller loopTaskStatusPoller) {
         super(taskExecutionContext, workerConfig, masterAddress, workerMessageSender, alertClientService,
-                taskPluginManager, storageOperate);
+                taskPluginManager, storageOperate, loopTaskStatusPoller);
     }
 
     @Override
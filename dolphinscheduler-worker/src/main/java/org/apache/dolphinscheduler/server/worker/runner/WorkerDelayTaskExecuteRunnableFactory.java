@@ -39,6 +39,7 @@ public abstract class WorkerDelayTaskExecuteRunnableFactory<T extends WorkerDela
     protected final @NonNull AlertClientService alertClientService;
     protected final @NonNull TaskPluginManager taskPluginManager;
     protected final @Nullable StorageOperate storageOperate;
+    protected final @Nullable LoopTaskStatusPoller loopTaskStatusPoller;
 
     protected WorkerDelayTaskExecuteRunnableFactory(
                                                     @NonNull TaskExecutionContext taskExecutionContext,
@@ -47,7 +48,8 @@ public abstract class WorkerDelayTaskExecuteRunnableFactory<T extends WorkerDela
                                                     @NonNull WorkerMessageSender workerMessageSender,
                                                     @NonNull AlertClientService alertClientService,
                                                     @NonNull TaskPluginManager taskPluginManager,
-                                                    @Nullable StorageOperate storageOperate) {
+                                                    @Nullable StorageOperate storageOperate,
+                                                    @Nullable LoopTaskStatusPoller loopTaskStatusPoller) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
         this.workflowMasterAddress = workflowMasterAddress;
@@ -55,6 +57,7 @@ public abstract class WorkerDelayTaskExecuteRunnableFactory<T extends WorkerDela
         this.alertClientService = alertClientService;
         this.taskPluginManager = taskPluginManager;
         this.storageOperate = storageOperate;
+        this.loopTaskStatusPoller = loopTaskStatusPoller;
     }
 
     public abstract T createWorkerTaskExecuteRunnable();
@@ -17,9 +17,11 @@
 
 package org.apache.dolphinscheduler.server.worker.runner;
 
+import org.apache.dolphinscheduler.plugin.task.api.ProcessOutputPump;
 import org.apache.dolphinscheduler.server.worker.metrics.WorkerServerMetrics;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -58,6 +60,11 @@ public class WorkerExecService {
         this.listeningExecutorService = MoreExecutors.listeningDecorator(this.execService);
         this.taskExecuteThreadMap = taskExecuteThreadMap;
         WorkerServerMetrics.registerWorkerRunningTaskGauge(taskExecuteThreadMap::size);
+        WorkerServerMetrics.registerProcessOutputPumpMetrics(ProcessOutputPump::getPumpingProcessCount,
+                ProcessOutputPump::getPumpedLines, ProcessOutputPump::getPumpedBytes,
+                ProcessOutputPump::getPausedReads);
+        ProcessOutputPump.setPumpFinishListener(
+                (lines, bytes, costMillis) -> WorkerServerMetrics.recordProcessOutputThroughput(lines, costMillis));
     }
 
     public void submit(final WorkerTaskExecuteRunnable taskExecuteThread) {
@@ -67,6 +74,13 @@ public class WorkerExecService {
 
             @Override
             public void onSuccess(Object o) {
+                CompletableFuture<Void> asyncCompletion = taskExecuteThread.getAsyncCompletion();
+                if (asyncCompletion != null) {
+                    // keep the task in the running map until the async execution finished, so it can still be killed
+                    asyncCompletion.whenComplete((result, throwable) -> taskExecuteThreadMap
+                            .remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId()));
+                    return;
+                }
                 taskExecuteThreadMap.remove(taskExecuteThread.getTaskExecutionContext().getTaskInstanceId());
             }
 
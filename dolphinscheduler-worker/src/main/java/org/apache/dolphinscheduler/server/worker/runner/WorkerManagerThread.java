@@ -59,7 +59,8 @@ public class WorkerManagerThread implements Runnable {
         workerExecThreads = workerConfig.getExecThreads();
         this.waitSubmitQueue = new DelayQueue<>();
         workerExecService = new WorkerExecService(
-                ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", workerConfig.getExecThreads()),
+                ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", workerConfig.getExecThreads(),
+                        workerConfig.getExecutorThreadMode()),
                 taskExecuteThreadMap);
     }
 
@@ -53,6 +53,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.NoSuchFileException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
@@ -76,9 +77,16 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
     protected final AlertClientService alertClientService;
     protected final TaskPluginManager taskPluginManager;
     protected final @Nullable StorageOperate storageOperate;
+    protected final @Nullable LoopTaskStatusPoller loopTaskStatusPoller;
 
     protected @Nullable AbstractTask task;
 
+    /**
+     * If the task is executed asynchronously, this future will be completed after the task result has been sent, and
+     * the execute thread will not wait for it.
+     */
+    protected volatile @Nullable CompletableFuture<Void> asyncCompletion;
+
     protected WorkerTaskExecuteRunnable(
                                         @NonNull TaskExecutionContext taskExecutionContext,
                                         @NonNull WorkerConfig workerConfig,
@@ -86,7 +94,8 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
                                         @NonNull WorkerMessageSender workerMessageSender,
                                         @NonNull AlertClientService alertClientService,
                                         @NonNull TaskPluginManager taskPluginManager,
-                                        @Nullable StorageOperate storageOperate) {
+                                        @Nullable StorageOperate storageOperate,
+                                        @Nullable LoopTaskStatusPoller loopTaskStatusPoller) {
         this.taskExecutionContext = taskExecutionContext;
         this.workerConfig = workerConfig;
         this.masterAddress = masterAddress;
@@ -94,6 +103,7 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
         this.alertClientService = alertClientService;
         this.taskPluginManager = taskPluginManager;
         this.storageOperate = storageOperate;
+        this.loopTaskStatusPoller = loopTaskStatusPoller;
         String taskLogName =
                 LoggerUtils.buildTaskId(DateUtils.timeStampToDate(taskExecutionContext.getFirstSubmitTime()),
                         taskExecutionContext.getProcessDefineCode(),
@@ -179,6 +189,11 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
                     .masterAddress(masterAddress).build();
             executeTask(taskCallBack);
 
+            if (asyncCompletion != null) {
+                logger.info("The task is executing asynchronously, release the current execute thread");
+                return;
+            }
+
             afterExecute();
 
         } catch (Throwable ex) {
@@ -314,4 +329,8 @@ public abstract class WorkerTaskExecuteRunnable implements Runnable {
         return task;
     }
 
+    public @Nullable CompletableFuture<Void> getAsyncCompletion() {
+        return asyncCompletion;
+    }
+
 }
@@ -38,14 +38,16 @@ public class WorkerTaskExecuteRunnableFactoryBuilder {
                                                                                                        @NonNull WorkerMessageSender workerMessageSender,
                                                                                                        @NonNull AlertClientService alertClientService,
                                                                                                        @NonNull TaskPluginManager taskPluginManager,
-                                                                                                       @Nullable StorageOperate storageOperate) {
+                                                                                                       @Nullable StorageOperate storageOperate,
+                                                                                                       @Nullable LoopTaskStatusPoller loopTaskStatusPoller) {
         return new DefaultWorkerDelayTaskExecuteRunnableFactory(taskExecutionContext,
                 workerConfig,
                 workflowMasterAddress,
                 workerMessageSender,
                 alertClientService,
                 taskPluginManager,
-                storageOperate);
+                storageOperate,
+                loopTaskStatusPoller);
     }
 
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.server.worker.processor;
+
+import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskBatchDispatchCommand;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.netty.channel.Channel;
+
+/**
+ * test task batch dispatch processor
+ */
+@ExtendWith(MockitoExtension.class)
+public class TaskBatchDispatchProcessorTest {
+
+    @InjectMocks
+    private TaskBatchDispatchProcessor taskBatchDispatchProcessor;
+
+    @Mock
+    private TaskDispatchProcessor taskDispatchProcessor;
+
+    @Test
+    public void process() {
+        Channel channel = Mockito.mock(Channel.class);
+        TaskExecutionContext taskExecutionContext1 = new TaskExecutionContext();
+        taskExecutionContext1.setTaskInstanceId(1);
+        TaskExecutionContext taskExecutionContext2 = new TaskExecutionContext();
+        taskExecutionContext2.setTaskInstanceId(2);
+        Command command = new TaskBatchDispatchCommand(
+                Arrays.asList(taskExecutionContext1, taskExecutionContext2),
+                "localhost:5678",
+                "localhost:1234",
+                System.currentTimeMillis()).convert2Command();
+
+        taskBatchDispatchProcessor.process(channel, command);
+
+        Mockito.verify(taskDispatchProcessor, Mockito.times(2))
+                .dispatchTask(Mockito.any(TaskExecutionContext.class), Mockito.eq("localhost:5678"));
+    }
+}
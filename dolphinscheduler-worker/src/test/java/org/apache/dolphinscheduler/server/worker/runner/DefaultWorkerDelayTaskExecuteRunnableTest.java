@@ -18,17 +18,30 @@
 package org.apache.dolphinscheduler.server.worker.runner;
 
 import org.apache.dolphinscheduler.common.constants.Constants;
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
+import org.apache.dolphinscheduler.plugin.task.api.TaskCallBack;
+import org.apache.dolphinscheduler.plugin.task.api.TaskConstants;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
 import org.apache.dolphinscheduler.plugin.task.api.TaskExecutionContext;
 import org.apache.dolphinscheduler.plugin.task.api.enums.TaskExecutionStatus;
+import org.apache.dolphinscheduler.plugin.task.api.parameters.AbstractParameters;
+import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.rpc.WorkerMessageSender;
 import org.apache.dolphinscheduler.service.alert.AlertClientService;
 import org.apache.dolphinscheduler.service.storage.StorageOperate;
 import org.apache.dolphinscheduler.service.task.TaskPluginManager;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class DefaultWorkerDelayTaskExecuteRunnableTest {
 
@@ -46,6 +59,9 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
 
     private StorageOperate storageOperate = Mockito.mock(StorageOperate.class);
 
+    private TaskCallBack taskCallBack = (taskInstanceId, applicationInfo) -> {
+    };
+
     @Test
     public void testDryRun() {
         TaskExecutionContext taskExecutionContext = TaskExecutionContext.builder()
@@ -62,7 +78,8 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
                 workerMessageSender,
                 alertClientService,
                 taskPluginManager,
-                storageOperate);
+                storageOperate,
+                null);
 
         Assertions.assertAll(workerTaskExecuteRunnable::run);
         Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskExecutionContext.getCurrentExecutionStatus());
@@ -88,9 +105,162 @@ public class DefaultWorkerDelayTaskExecuteRunnableTest {
                 workerMessageSender,
                 alertClientService,
                 taskPluginManager,
-                storageOperate);
+                storageOperate,
+                null);
 
         Assertions.assertAll(workerTaskExecuteRunnable::run);
         Assertions.assertEquals(TaskExecutionStatus.FAILURE, taskExecutionContext.getCurrentExecutionStatus());
     }
+
+    @Test
+    public void testExecuteRemoteTaskAsync() throws Exception {
+        TaskExecutionContext taskExecutionContext = createRemoteTaskExecutionContext();
+        LoopTaskStatusPoller loopTaskStatusPoller = createLoopTaskStatusPoller();
+        try {
+            DefaultWorkerDelayTaskExecuteRunnable workerTaskExecuteRunnable =
+                    createExecuteRunnable(taskExecutionContext, loopTaskStatusPoller);
+            TestRemoteTask remoteTask = new TestRemoteTask(taskExecutionContext);
+            workerTaskExecuteRunnable.task = remoteTask;
+
+            workerTaskExecuteRunnable.executeTask(taskCallBack);
+
+            // the execute thread is released before the remote task finished
+            CompletableFuture<Void> asyncCompletion = workerTaskExecuteRunnable.getAsyncCompletion();
+            Assertions.assertNotNull(asyncCompletion);
+            Assertions.assertFalse(asyncCompletion.isDone());
+            Mockito.verify(workerMessageSender, Mockito.never()).sendMessageWithRetry(taskExecutionContext,
+                    masterAddress, CommandType.TASK_EXECUTE_RESULT);
+
+            // the task result is sent by the poll thread once the remote task finished
+            remoteTask.finish(TaskConstants.EXIT_CODE_SUCCESS);
+            asyncCompletion.get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(TaskExecutionStatus.SUCCESS, taskExecutionContext.getCurrentExecutionStatus());
+            Mockito.verify(workerMessageSender).sendMessageWithRetry(taskExecutionContext, masterAddress,
+                    CommandType.TASK_EXECUTE_RESULT);
+        } finally {
+            loopTaskStatusPoller.stop();
+        }
+    }
+
+    @Test
+    public void testKillRemoteTaskAsync() throws Exception {
+        TaskExecutionContext taskExecutionContext = createRemoteTaskExecutionContext();
+        LoopTaskStatusPoller loopTaskStatusPoller = createLoopTaskStatusPoller();
+        try {
+            DefaultWorkerDelayTaskExecuteRunnable workerTaskExecuteRunnable =
+                    createExecuteRunnable(taskExecutionContext, loopTaskStatusPoller);
+            TestRemoteTask remoteTask = new TestRemoteTask(taskExecutionContext);
+            workerTaskExecuteRunnable.task = remoteTask;
+
+            workerTaskExecuteRunnable.executeTask(taskCallBack);
+            CompletableFuture<Void> asyncCompletion = workerTaskExecuteRunnable.getAsyncCompletion();
+            Assertions.assertNotNull(asyncCompletion);
+
+            // the task can still be killed after the execute thread is released
+            workerTaskExecuteRunnable.cancelTask();
+            Assertions.assertTrue(remoteTask.canceled);
+
+            asyncCompletion.get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(TaskExecutionStatus.KILL, taskExecutionContext.getCurrentExecutionStatus());
+            Mockito.verify(workerMessageSender).sendMessageWithRetry(taskExecutionContext, masterAddress,
+                    CommandType.TASK_EXECUTE_RESULT);
+        } finally {
+            loopTaskStatusPoller.stop();
+        }
+    }
+
+    private TaskExecutionContext createRemoteTaskExecutionContext() {
+        return TaskExecutionContext.builder()
+                .dryRun(Constants.DRY_RUN_FLAG_NO)
+                .taskInstanceId(0)
+                .processDefineId(0)
+                .firstSubmitTime(System.currentTimeMillis())
+                .taskLogName("TestLogName")
+                .taskParams("{\"localParams\":[]}")
+                .build();
+    }
+
+    private DefaultWorkerDelayTaskExecuteRunnable createExecuteRunnable(TaskExecutionContext taskExecutionContext,
+                                                                        LoopTaskStatusPoller loopTaskStatusPoller) {
+        return new DefaultWorkerDelayTaskExecuteRunnable(
+                taskExecutionContext,
+                workerConfig,
+                masterAddress,
+                workerMessageSender,
+                alertClientService,
+                taskPluginManager,
+                storageOperate,
+                loopTaskStatusPoller);
+    }
+
+    private LoopTaskStatusPoller createLoopTaskStatusPoller() {
+        Mockito.when(workerConfig.isLoopTaskAsyncPollEnabled()).thenReturn(true);
+        Mockito.when(workerConfig.getLoopTaskPollThreads()).thenReturn(1);
+        LoopTaskStatusPoller loopTaskStatusPoller = new LoopTaskStatusPoller();
+        ReflectionTestUtils.setField(loopTaskStatusPoller, "workerConfig", workerConfig);
+        loopTaskStatusPoller.start();
+        return loopTaskStatusPoller;
+    }
+
+    private static class TestRemoteTask extends AbstractRemoteTask {
+
+        private final AbstractParameters parameters = Mockito.mock(AbstractParameters.class);
+
+        private volatile Integer finishedExitStatusCode;
+
+        private volatile boolean canceled;
+
+        private TestRemoteTask(TaskExecutionContext taskExecutionContext) {
+            super(taskExecutionContext);
+        }
+
+        private void finish(int exitStatusCode) {
+            this.finishedExitStatusCode = exitStatusCode;
+        }
+
+        @Override
+        public List<String> getApplicationIds() throws TaskException {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void cancelApplication() throws TaskException {
+            canceled = true;
+            finish(TaskConstants.EXIT_CODE_KILL);
+        }
+
+        @Override
+        public void submitApplication() throws TaskException {
+            setAppIds("test_application");
+        }
+
+        @Override
+        public void trackApplicationStatus() throws TaskException {
+            throw new TaskException("The remote task should be tracked asynchronously");
+        }
+
+        @Override
+        public boolean isAsyncTrackSupported() {
+            return true;
+        }
+
+        @Override
+        public boolean queryApplicationStatus() throws TaskException {
+            if (finishedExitStatusCode == null) {
+                return false;
+            }
+            setExitStatusCode(finishedExitStatusCode);
+            return true;
+        }
+
+        @Override
+        public Duration getApplicationStatusQueryInterval() {
+            return Duration.ofMillis(10);
+        }
+
+        @Override
+        public AbstractParameters getParameters() {
+            return parameters;
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.runner;
+
+import org.apache.dolphinscheduler.plugin.task.api.AbstractRemoteTask;
+import org.apache.dolphinscheduler.plugin.task.api.TaskException;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class LoopTaskStatusPollerTest {
+
+    private static final String TASK_LOG_NAME = "TestLogName";
+
+    @InjectMocks
+    private LoopTaskStatusPoller loopTaskStatusPoller;
+
+    @Mock
+    private WorkerConfig workerConfig;
+
+    private AbstractRemoteTask remoteTask;
+
+    @BeforeEach
+    public void before() {
+        Mockito.when(workerConfig.getLoopTaskPollThreads()).thenReturn(2);
+        loopTaskStatusPoller.start();
+
+        remoteTask = Mockito.mock(AbstractRemoteTask.class);
+        Mockito.lenient().when(remoteTask.isAsyncTrackSupported()).thenReturn(true);
+        Mockito.lenient().when(remoteTask.getApplicationStatusQueryInterval()).thenReturn(Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    public void after() {
+        loopTaskStatusPoller.stop();
+    }
+
+    @Test
+    public void testPollUntilFinished() throws Exception {
+        Mockito.when(remoteTask.queryApplicationStatus()).thenReturn(false, false, true);
+
+        CompletableFuture<Void> future = loopTaskStatusPoller.poll(remoteTask, TASK_LOG_NAME);
+        future.get(10, TimeUnit.SECONDS);
+
+        Mockito.verify(remoteTask, Mockito.times(3)).queryApplicationStatus();
+    }
+
+    @Test
+    public void testPollRetryWhenQueryFailed() throws Exception {
+        Mockito.when(remoteTask.queryApplicationStatus())
+                .thenThrow(new TaskException("query failed"))
+                .thenThrow(new TaskException("query failed"))
+                .thenReturn(false, true);
+
+        CompletableFuture<Void> future = loopTaskStatusPoller.poll(remoteTask, TASK_LOG_NAME);
+        future.get(10, TimeUnit.SECONDS);
+
+        Mockito.verify(remoteTask, Mockito.times(4)).queryApplicationStatus();
+    }
+
+    @Test
+    public void testPollFailedWhenQueryFailedContinuously() {
+        Mockito.when(remoteTask.queryApplicationStatus()).thenThrow(new TaskException("query failed"));
+
+        CompletableFuture<Void> future = loopTaskStatusPoller.poll(remoteTask, TASK_LOG_NAME);
+        ExecutionException exception =
+                Assertions.assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+
+        Assertions.assertTrue(exception.getCause() instanceof TaskException);
+        Mockito.verify(remoteTask, Mockito.times(3)).queryApplicationStatus();
+    }
+
+    @Test
+    public void testPollNotSupportedTask() {
+        Mockito.when(remoteTask.isAsyncTrackSupported()).thenReturn(false);
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> loopTaskStatusPoller.poll(remoteTask, TASK_LOG_NAME));
+        Mockito.verify(remoteTask, Mockito.never()).queryApplicationStatus();
+    }
+}